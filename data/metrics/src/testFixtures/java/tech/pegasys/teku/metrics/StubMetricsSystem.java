@@ -27,6 +27,7 @@ public class StubMetricsSystem implements MetricsSystem {
 
   private Map<MetricCategory, Map<String, StubCounter>> counters = new ConcurrentHashMap<>();
   private Map<MetricCategory, Map<String, StubGauge>> gauges = new ConcurrentHashMap<>();
+  private Map<MetricCategory, Map<String, StubTimer>> timers = new ConcurrentHashMap<>();
 
   @Override
   public LabelledMetric<Counter> createLabelledCounter(
@@ -60,7 +61,9 @@ public class StubMetricsSystem implements MetricsSystem {
       final String name,
       final String help,
       final String... labelNames) {
-    throw new UnsupportedOperationException("Timers not supported");
+    return timers
+        .computeIfAbsent(category, __ -> new ConcurrentHashMap<>())
+        .computeIfAbsent(name, __ -> new StubTimer());
   }
 
   public StubGauge getGauge(final MetricCategory category, final String name) {
@@ -75,4 +78,10 @@ public class StubMetricsSystem implements MetricsSystem {
         .orElseThrow(
             () -> new IllegalArgumentException("Unknown counter: " + category + " " + name));
   }
+
+  public StubTimer getTimer(final MetricCategory category, final String name) {
+    return Optional.ofNullable(timers.get(category))
+        .map(categoryTimers -> categoryTimers.get(name))
+        .orElseThrow(() -> new IllegalArgumentException("Unknown timer: " + category + " " + name));
+  }
 }
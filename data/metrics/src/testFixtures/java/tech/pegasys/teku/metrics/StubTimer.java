@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.metrics;
+
+import static java.util.Arrays.asList;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+public class StubTimer implements LabelledMetric<OperationTimer> {
+  private final Map<List<String>, AtomicLong> completedTimings = new ConcurrentHashMap<>();
+
+  @Override
+  public OperationTimer labels(final String... labels) {
+    final AtomicLong timingCount =
+        completedTimings.computeIfAbsent(asList(labels), __ -> new AtomicLong());
+    return () -> {
+      final long startTimeNanos = System.nanoTime();
+      return () -> {
+        timingCount.incrementAndGet();
+        return (System.nanoTime() - startTimeNanos) / 1_000_000_000d;
+      };
+    };
+  }
+
+  public long getTimingCount(final String... labels) {
+    return Optional.ofNullable(completedTimings.get(asList(labels)))
+        .map(AtomicLong::get)
+        .orElse(0L);
+  }
+}
@@ -14,6 +14,7 @@
 package tech.pegasys.teku.benchmarks;
 
 import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -25,6 +26,7 @@ import org.openjdk.jmh.infra.Blackhole;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.datastructures.blocks.BeaconBlock;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.teku.util.config.Constants;
 
 @BenchmarkMode(Mode.AverageTime)
@@ -40,6 +42,11 @@ public class BeaconBlockBenchmark {
       dataStructureUtil.randomBeaconBlock(100, Bytes32.random(), true);
   private static final BeaconBlock sparseBeaconBlock =
       dataStructureUtil.randomBeaconBlock(100, Bytes32.random(), false);
+  private static final Bytes fullBeaconBlockSsz = SimpleOffsetSerializer.serialize(fullBeaconBlock);
+
+  // Block import requests the root of a newly received block several times (gossip validation,
+  // state transition, fork choice and storage)
+  private static final int ROOT_REQUESTS_PER_IMPORT = 5;
 
   public BeaconBlockBenchmark() {
     Constants.setConstants("mainnet");
@@ -54,4 +61,20 @@ public class BeaconBlockBenchmark {
   public void hashSparseBlocks(Blackhole bh) {
     bh.consume(sparseBeaconBlock.hash_tree_root());
   }
+
+  @Benchmark
+  public void hashNewFullBlock(Blackhole bh) {
+    final BeaconBlock block =
+        SimpleOffsetSerializer.deserialize(fullBeaconBlockSsz, BeaconBlock.class);
+    bh.consume(block.hash_tree_root());
+  }
+
+  @Benchmark
+  public void hashNewFullBlockDuringImport(Blackhole bh) {
+    final BeaconBlock block =
+        SimpleOffsetSerializer.deserialize(fullBeaconBlockSsz, BeaconBlock.class);
+    for (int i = 0; i < ROOT_REQUESTS_PER_IMPORT; i++) {
+      bh.consume(block.hash_tree_root());
+    }
+  }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks;
+
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_beacon_proposer_index;
+
+import com.google.common.primitives.UnsignedLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.core.CommitteeAssignmentUtil;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.BeaconStateCache;
+import tech.pegasys.teku.datastructures.state.EpochDutyIndex;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.util.config.Constants;
+
+/**
+ * Compares calculating the duties of every validator in an epoch by searching the committees
+ * separately for each validator against building an {@link EpochDutyIndex} once.
+ */
+@Fork(0)
+@BenchmarkMode(Mode.SingleShotTime)
+@State(Scope.Thread)
+public class DutyCalculationBenchmark {
+  private static final UnsignedLong EPOCH = UnsignedLong.valueOf(10);
+
+  @Param({"16384", "32768"})
+  int validatorCount;
+
+  private BeaconState state;
+
+  public DutyCalculationBenchmark() {
+    Constants.setConstants("mainnet");
+  }
+
+  @Setup(Level.Trial)
+  public void init() {
+    state =
+        new DataStructureUtil()
+            .randomBeaconState(validatorCount)
+            .updated(
+                mutableState -> {
+                  mutableState.setSlot(compute_start_slot_at_epoch(EPOCH));
+                  for (int i = 0; i < mutableState.getValidators().size(); i++) {
+                    mutableState
+                        .getValidators()
+                        .update(
+                            i,
+                            validator ->
+                                validator
+                                    .withActivation_eligibility_epoch(UnsignedLong.ZERO)
+                                    .withActivation_epoch(UnsignedLong.ZERO)
+                                    .withExit_epoch(Constants.FAR_FUTURE_EPOCH)
+                                    .withWithdrawable_epoch(Constants.FAR_FUTURE_EPOCH));
+                  }
+                });
+  }
+
+  @Setup(Level.Invocation)
+  public void clearCaches() {
+    // Each invocation should model the first duties request for a new state
+    BeaconStateCache.getTransitionCaches(state).invalidate();
+  }
+
+  @Benchmark
+  @Warmup(iterations = 2)
+  @Measurement(iterations = 5)
+  public void searchCommitteesPerValidator(Blackhole bh) {
+    final UnsignedLong startSlot = compute_start_slot_at_epoch(EPOCH);
+    for (int i = 0; i < Constants.SLOTS_PER_EPOCH; i++) {
+      bh.consume(get_beacon_proposer_index(state, startSlot.plus(UnsignedLong.valueOf(i))));
+    }
+    for (int validatorIndex = 0; validatorIndex < validatorCount; validatorIndex++) {
+      bh.consume(CommitteeAssignmentUtil.get_committee_assignment(state, EPOCH, validatorIndex));
+    }
+  }
+
+  @Benchmark
+  @Warmup(iterations = 2)
+  @Measurement(iterations = 5)
+  public void buildEpochDutyIndex(Blackhole bh) {
+    final EpochDutyIndex dutyIndex = CommitteeAssignmentUtil.getEpochDutyIndex(state, EPOCH);
+    for (int validatorIndex = 0; validatorIndex < validatorCount; validatorIndex++) {
+      bh.consume(dutyIndex.getCommitteeAssignment(validatorIndex));
+      bh.consume(dutyIndex.getCommitteePosition(validatorIndex));
+      bh.consume(dutyIndex.getProposalSlots(validatorIndex));
+    }
+  }
+}
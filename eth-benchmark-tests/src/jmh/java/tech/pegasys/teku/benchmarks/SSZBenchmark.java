@@ -13,18 +13,26 @@
 
 package tech.pegasys.teku.benchmarks;
 
+import static tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer.deserialize;
 import static tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer.serialize;
 
 import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.datastructures.state.BeaconStateImpl;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
 import tech.pegasys.teku.ssz.sos.SimpleOffsetSerializable;
 
 public class SSZBenchmark {
 
   private static SimpleOffsetSerializable state = new DataStructureUtil().randomBeaconState();
+  private static Bytes stateBytes = serialize(state);
+  private static Bytes blockBytes =
+      serialize(new DataStructureUtil().randomSignedBeaconBlock(100));
 
   @Benchmark
   @Warmup(iterations = 2, time = 100, timeUnit = TimeUnit.MILLISECONDS)
@@ -32,4 +40,18 @@ public class SSZBenchmark {
   public void BeaconStateSerialization() {
     serialize(state);
   }
+
+  @Benchmark
+  @Warmup(iterations = 2, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 5, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  public void BeaconStateDeserialization(Blackhole bh) {
+    bh.consume(deserialize(stateBytes, BeaconStateImpl.class));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 2, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 5, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  public void SignedBeaconBlockDeserialization(Blackhole bh) {
+    bh.consume(deserialize(blockBytes, SignedBeaconBlock.class));
+  }
 }
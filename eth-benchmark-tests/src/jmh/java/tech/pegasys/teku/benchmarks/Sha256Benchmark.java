@@ -24,6 +24,7 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.ssz.backing.tree.MerkleHasher;
 
 @State(Scope.Thread)
 public class Sha256Benchmark {
@@ -32,6 +33,12 @@ public class Sha256Benchmark {
   private byte[] dataArray = new byte[33];
   private int cnt = 0;
 
+  private final Bytes32 left = Bytes32.random();
+  private final Bytes32 right = Bytes32.random();
+  private final int levelChunkCount = 1 << 16;
+  private final byte[] levelChunks = Bytes.random(levelChunkCount * Bytes32.SIZE).toArray();
+  private final byte[] levelScratch = new byte[levelChunks.length];
+
   @Benchmark
   @Warmup(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
   @Measurement(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
@@ -51,4 +58,26 @@ public class Sha256Benchmark {
     byte[] hash = Hash.sha2_256(dataArray);
     bh.consume(hash);
   }
+
+  @Benchmark
+  @Warmup(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  public void sha256ofPairConcatenated(Blackhole bh) {
+    bh.consume(Hash.sha2_256(Bytes.concatenate(left, right)));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  public void sha256ofPairMerkleHasher(Blackhole bh) {
+    bh.consume(MerkleHasher.hashPair(left, right));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void merkleize64kChunks(Blackhole bh) {
+    System.arraycopy(levelChunks, 0, levelScratch, 0, levelChunks.length);
+    bh.consume(MerkleHasher.merkleize(levelScratch, levelChunkCount, 16));
+  }
 }
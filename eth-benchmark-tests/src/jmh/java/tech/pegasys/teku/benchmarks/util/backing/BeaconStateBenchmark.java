@@ -16,8 +16,11 @@ package tech.pegasys.teku.benchmarks.util.backing;
 import com.google.common.primitives.UnsignedLong;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
@@ -25,6 +28,7 @@ import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.state.Validator;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.ssz.backing.tree.ParallelTreeHasher;
 import tech.pegasys.teku.util.config.Constants;
 
 @State(Scope.Thread)
@@ -86,4 +90,68 @@ public class BeaconStateBenchmark {
             });
     bh.consume(stateW.hashTreeRoot());
   }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void updateValidatorsAndHash(Blackhole bh) {
+    BeaconState stateW =
+        beaconState.updated(
+            state -> {
+              int size = state.getValidators().size();
+              UnsignedLong exitEpoch = UnsignedLong.valueOf(777);
+              for (int i = 0; i < size; i++) {
+                state.getValidators().update(i, v -> v.withExit_epoch(exitEpoch));
+              }
+            });
+    bh.consume(stateW.hashTreeRoot());
+  }
+
+  @Benchmark
+  @Warmup(iterations = 2, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void hashUpdatedBalancesSequential(LargeState largeState, Blackhole bh) {
+    bh.consume(largeState.updatedState.getBackingNode().hashTreeRoot());
+  }
+
+  @Benchmark
+  @Warmup(iterations = 2, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void hashUpdatedBalancesParallel(LargeState largeState, Blackhole bh) {
+    bh.consume(
+        ParallelTreeHasher.getDefault().hashTreeRoot(largeState.updatedState.getBackingNode()));
+  }
+
+  @State(Scope.Benchmark)
+  public static class LargeState {
+    @Param({"1048576"})
+    int validatorCount;
+
+    BeaconState state;
+    BeaconState updatedState;
+    private int updatedCount = 0;
+
+    @Setup(Level.Trial)
+    public void createState() {
+      Constants.setConstants("mainnet");
+      state = dataStructureUtil.randomBeaconState(validatorCount);
+      state.hashTreeRoot();
+    }
+
+    @Setup(Level.Invocation)
+    public void updateBalances() {
+      // Every balance changes during epoch processing, leaving the whole subtree to rehash, and
+      // process_slots always changes the slot
+      updatedState =
+          state.updated(
+              mutableState -> {
+                updatedCount++;
+                mutableState.setSlot(UnsignedLong.valueOf(updatedCount));
+                final UnsignedLong balance = UnsignedLong.valueOf(777 + updatedCount);
+                for (int i = 0; i < validatorCount; i++) {
+                  mutableState.getBalances().set(i, balance);
+                }
+              });
+    }
+  }
 }
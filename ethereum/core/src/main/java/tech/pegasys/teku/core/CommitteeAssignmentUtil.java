@@ -15,16 +15,20 @@ package tech.pegasys.teku.core;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_beacon_proposer_index;
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_committee_count_per_slot;
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_current_epoch;
 import static tech.pegasys.teku.datastructures.util.CommitteeUtil.get_beacon_committee;
+import static tech.pegasys.teku.util.config.Constants.GENESIS_SLOT;
 import static tech.pegasys.teku.util.config.Constants.SLOTS_PER_EPOCH;
 
 import com.google.common.primitives.UnsignedLong;
 import java.util.List;
 import java.util.Optional;
 import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.BeaconStateCache;
 import tech.pegasys.teku.datastructures.state.CommitteeAssignment;
+import tech.pegasys.teku.datastructures.state.EpochDutyIndex;
 
 public class CommitteeAssignmentUtil {
 
@@ -62,4 +66,44 @@ public class CommitteeAssignmentUtil {
     }
     return Optional.empty();
   }
+
+  /**
+   * Return the committee assignments and block proposals for every validator in ``epoch``,
+   * calculated in a single pass over the epoch's committees and cached with the state.
+   *
+   * <p>No proposer is calculated for the genesis slot as a block is never proposed for it.
+   *
+   * @param state the BeaconState.
+   * @param epoch either on or between previous or current epoch.
+   * @return the duties for all validators in the epoch.
+   */
+  public static EpochDutyIndex getEpochDutyIndex(BeaconState state, UnsignedLong epoch) {
+    UnsignedLong next_epoch = get_current_epoch(state).plus(UnsignedLong.ONE);
+    checkArgument(epoch.compareTo(next_epoch) <= 0, "getEpochDutyIndex: Epoch number too high");
+
+    return BeaconStateCache.getTransitionCaches(state)
+        .getEpochDutyIndex()
+        .get(epoch, __ -> calculateEpochDutyIndex(state, epoch));
+  }
+
+  private static EpochDutyIndex calculateEpochDutyIndex(
+      final BeaconState state, final UnsignedLong epoch) {
+    final EpochDutyIndex.Builder builder = EpochDutyIndex.builder(state.getValidators().size());
+    final UnsignedLong startSlot = compute_start_slot_at_epoch(epoch);
+    final UnsignedLong endSlot = startSlot.plus(UnsignedLong.valueOf(SLOTS_PER_EPOCH));
+    final UnsignedLong committeeCountPerSlot = get_committee_count_per_slot(state, epoch);
+    for (UnsignedLong slot = startSlot;
+        slot.compareTo(endSlot) < 0;
+        slot = slot.plus(UnsignedLong.ONE)) {
+      for (UnsignedLong index = UnsignedLong.ZERO;
+          index.compareTo(committeeCountPerSlot) < 0;
+          index = index.plus(UnsignedLong.ONE)) {
+        builder.committee(get_beacon_committee(state, slot, index), index, slot);
+      }
+      if (slot.compareTo(UnsignedLong.valueOf(GENESIS_SLOT)) > 0) {
+        builder.proposer(get_beacon_proposer_index(state, slot), slot);
+      }
+    }
+    return builder.build();
+  }
 }
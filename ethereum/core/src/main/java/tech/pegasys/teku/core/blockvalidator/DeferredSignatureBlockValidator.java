@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.blockvalidator;
+
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+
+/**
+ * Block validator for processing a sequence of blocks which collects the BLS signatures from every
+ * block it validates into a single {@link BatchSignatureVerifier}. All other checks are performed
+ * immediately but signatures are assumed to be valid until {@link #verifySignatures()} is called.
+ *
+ * <p>Like {@link BatchSignatureVerifier} every instance is disposable.
+ */
+public class DeferredSignatureBlockValidator implements BlockValidator {
+  private final BatchSignatureVerifier signatureVerifier = new BatchSignatureVerifier();
+  private final SimpleBlockValidator blockValidator =
+      new SimpleBlockValidator(true, true, true, signatureVerifier);
+  private boolean hasValidatedBlocks = false;
+
+  @Override
+  public SafeFuture<BlockValidationResult> validatePreState(
+      final BeaconState preState, final SignedBeaconBlock block) {
+    hasValidatedBlocks = true;
+    return blockValidator.validatePreState(preState, block);
+  }
+
+  @Override
+  public SafeFuture<BlockValidationResult> validatePostState(
+      final BeaconState postState, final SignedBeaconBlock block) {
+    return blockValidator.validatePostState(postState, block);
+  }
+
+  /**
+   * Verifies all signatures collected from the blocks validated so far in a single batch.
+   *
+   * @return true if every signature is valid, otherwise false
+   */
+  public boolean verifySignatures() {
+    return !hasValidatedBlocks || signatureVerifier.batchVerify();
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.signatures;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.core.signatures.record.ValidatorSigningRecord;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+
+/**
+ * Stores each validator's signing record in a separate file, synchronously flushing every update
+ * to disk before it is acknowledged.
+ */
+public class FileSigningRecordStore implements SigningRecordStore {
+
+  private final SyncDataAccessor dataAccessor;
+  private final Path slashingProtectionBaseDir;
+
+  public FileSigningRecordStore(
+      final SyncDataAccessor dataAccessor, final Path slashingProtectionBaseDir) {
+    this.dataAccessor = dataAccessor;
+    this.slashingProtectionBaseDir = slashingProtectionBaseDir;
+  }
+
+  @Override
+  public Optional<ValidatorSigningRecord> load(final BLSPublicKey validator) throws IOException {
+    return dataAccessor.read(validatorRecordPath(validator)).map(ValidatorSigningRecord::fromBytes);
+  }
+
+  @Override
+  public SafeFuture<Void> store(final BLSPublicKey validator, final ValidatorSigningRecord record) {
+    return SafeFuture.fromRunnable(
+        () -> dataAccessor.syncedWrite(validatorRecordPath(validator), record.toBytes()));
+  }
+
+  private Path validatorRecordPath(final BLSPublicKey validator) {
+    return slashingProtectionBaseDir.resolve(
+        validator.toBytesCompressed().toUnprefixedHexString() + ".yml");
+  }
+}
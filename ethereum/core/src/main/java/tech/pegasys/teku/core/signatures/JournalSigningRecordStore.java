@@ -0,0 +1,449 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.signatures;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes48;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.core.signatures.record.ValidatorSigningRecord;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+
+/**
+ * Stores signing records for all validators in a single append-only journal.
+ *
+ * <p>Updates are queued and written by a dedicated thread which appends every update waiting in
+ * the queue and then flushes the journal to disk once for the whole batch, instead of once per
+ * update. Each entry is a fixed size and includes a checksum so an entry which was only partially
+ * written before a crash is detected and discarded on restart. That is safe because the update was
+ * never acknowledged, so nothing was signed using it.
+ *
+ * <p>The journal is compacted to a single entry per validator at startup and whenever it grows
+ * large enough. Records from the per-validator files used by {@link FileSigningRecordStore} are
+ * imported as validators are loaded and the latest records are exported back to those files after
+ * each compaction and when the store is closed. Records written since the last compaction are only
+ * in the journal if the process is killed, so {@link #exportJournal(SyncDataAccessor, Path)} must
+ * be used before switching back to the per-validator files.
+ */
+public class JournalSigningRecordStore implements SigningRecordStore {
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final String JOURNAL_FILE_NAME = "slashing-protection.journal";
+  static final int ENTRY_SIZE = Bytes48.SIZE + ValidatorSigningRecord.COMPACT_SIZE + Integer.BYTES;
+  private static final int MAX_BATCH_SIZE = 4096;
+  private static final long MIN_COMPACTION_ENTRY_COUNT = 100_000;
+  private static final PendingWrite STOP = new PendingWrite(null, null);
+
+  private final Path journalPath;
+  private final FileSigningRecordStore legacyStore;
+  private final long minCompactionEntryCount;
+  private final Map<BLSPublicKey, ValidatorSigningRecord> persistedRecords =
+      new ConcurrentHashMap<>();
+  private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+  // Only accessed while loading, by the writer thread and after the writer has stopped
+  private final Map<BLSPublicKey, ValidatorSigningRecord> exportedRecords = new HashMap<>();
+
+  // Only accessed by the writer thread once started
+  private FileChannel journal;
+  private long journalEntryCount = 0;
+
+  private boolean running = false;
+  private volatile boolean failed = false;
+  private ExecutorService writerExecutor;
+
+  @VisibleForTesting
+  JournalSigningRecordStore(
+      final Path slashingProtectionBaseDir,
+      final FileSigningRecordStore legacyStore,
+      final long minCompactionEntryCount) {
+    this.journalPath = slashingProtectionBaseDir.resolve(JOURNAL_FILE_NAME);
+    this.legacyStore = legacyStore;
+    this.minCompactionEntryCount = minCompactionEntryCount;
+  }
+
+  /**
+   * Load the journal from the specified directory, creating it if it doesn't exist, and start
+   * writing updates.
+   *
+   * @param dataAccessor the accessor used to import and export per-validator record files
+   * @param slashingProtectionBaseDir the directory containing the journal and per-validator files
+   * @return the started store
+   */
+  public static JournalSigningRecordStore create(
+      final SyncDataAccessor dataAccessor, final Path slashingProtectionBaseDir) {
+    final JournalSigningRecordStore store =
+        new JournalSigningRecordStore(
+            slashingProtectionBaseDir,
+            new FileSigningRecordStore(dataAccessor, slashingProtectionBaseDir),
+            MIN_COMPACTION_ENTRY_COUNT);
+    store.start();
+    return store;
+  }
+
+  /**
+   * Exports the records from an existing journal in the specified directory to the per-validator
+   * files and then removes the journal, so {@link FileSigningRecordStore} sees every update even if
+   * the journal store wasn't closed cleanly. Does nothing if there is no journal.
+   *
+   * @param dataAccessor the accessor used to write per-validator record files
+   * @param slashingProtectionBaseDir the directory containing the journal and per-validator files
+   * @throws IllegalStateException if the records could not all be exported
+   */
+  public static void exportJournal(
+      final SyncDataAccessor dataAccessor, final Path slashingProtectionBaseDir) {
+    final Path journalPath = slashingProtectionBaseDir.resolve(JOURNAL_FILE_NAME);
+    if (!journalPath.toFile().exists()) {
+      return;
+    }
+    LOG.info("Exporting slashing protection journal {} to per-validator files", journalPath);
+    final JournalSigningRecordStore store =
+        new JournalSigningRecordStore(
+            slashingProtectionBaseDir,
+            new FileSigningRecordStore(dataAccessor, slashingProtectionBaseDir),
+            MIN_COMPACTION_ENTRY_COUNT);
+    store.start();
+    store.close();
+    if (!store.exportedRecords.equals(store.persistedRecords)) {
+      throw new IllegalStateException(
+          "Failed to export slashing protection journal "
+              + journalPath
+              + " to per-validator files");
+    }
+    try {
+      Files.delete(journalPath);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed to remove slashing protection journal", e);
+    }
+  }
+
+  @VisibleForTesting
+  synchronized void start() {
+    checkState(!running, "Journal already started");
+    try {
+      loadJournal();
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed to load slashing protection journal", e);
+    }
+    running = true;
+    writerExecutor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("slashing-protection-journal-%d")
+                .setDaemon(true)
+                .build());
+    writerExecutor.execute(this::processWrites);
+  }
+
+  @Override
+  public Optional<ValidatorSigningRecord> load(final BLSPublicKey validator) throws IOException {
+    final Optional<ValidatorSigningRecord> journalRecord =
+        Optional.ofNullable(persistedRecords.get(validator));
+    final Optional<ValidatorSigningRecord> legacyRecord = legacyStore.load(validator);
+    if (journalRecord.isPresent() && legacyRecord.isPresent()) {
+      // The legacy file may have been updated since the journal was last used
+      return Optional.of(journalRecord.get().mergeWith(legacyRecord.get()));
+    }
+    return journalRecord.or(() -> legacyRecord);
+  }
+
+  @Override
+  public SafeFuture<Void> store(final BLSPublicKey validator, final ValidatorSigningRecord record) {
+    final PendingWrite write = new PendingWrite(validator, record);
+    synchronized (this) {
+      if (!running || failed) {
+        return SafeFuture.failedFuture(
+            new IllegalStateException("Slashing protection journal is not available"));
+      }
+      queue.add(write);
+    }
+    return write.result;
+  }
+
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (!running) {
+        return;
+      }
+      running = false;
+      queue.add(STOP);
+    }
+    writerExecutor.shutdown();
+    try {
+      if (!writerExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+        LOG.warn("Timed out waiting for slashing protection journal writes to complete");
+        return;
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    // Anything still queued was added before the stop marker, so write it from this thread
+    final List<PendingWrite> remainingWrites = new ArrayList<>();
+    queue.drainTo(remainingWrites);
+    remainingWrites.remove(STOP);
+    writeBatch(remainingWrites);
+    exportToLegacyStore();
+    try {
+      journal.close();
+    } catch (final IOException e) {
+      LOG.warn("Failed to close slashing protection journal", e);
+    }
+  }
+
+  private void loadJournal() throws IOException {
+    final File parentDirectory = journalPath.getParent().toFile();
+    if (!parentDirectory.mkdirs() && !parentDirectory.isDirectory()) {
+      throw new IOException("Unable to create directory " + parentDirectory);
+    }
+    if (!journalPath.toFile().exists()) {
+      journal = openJournal();
+      return;
+    }
+    final Bytes data = Bytes.wrap(Files.readAllBytes(journalPath));
+    int offset = 0;
+    while (offset + ENTRY_SIZE <= data.size() && isValidEntry(data.slice(offset, ENTRY_SIZE))) {
+      final Bytes entry = data.slice(offset, ENTRY_SIZE);
+      persistedRecords.put(
+          BLSPublicKey.fromBytesCompressed(Bytes48.wrap(entry.slice(0, Bytes48.SIZE))),
+          ValidatorSigningRecord.fromCompactBytes(
+              entry.slice(Bytes48.SIZE, ValidatorSigningRecord.COMPACT_SIZE)));
+      offset += ENTRY_SIZE;
+      journalEntryCount++;
+    }
+    if (offset < data.size()) {
+      checkOnlyTailIsInvalid(data, offset);
+      LOG.warn(
+          "Discarding {} bytes of incomplete updates at the end of the slashing protection journal",
+          data.size() - offset);
+    }
+    // Always compact on startup, which also removes any incomplete entries
+    compact();
+  }
+
+  private void checkOnlyTailIsInvalid(final Bytes data, final int invalidEntryOffset) {
+    for (int offset = invalidEntryOffset + ENTRY_SIZE;
+        offset + ENTRY_SIZE <= data.size();
+        offset += ENTRY_SIZE) {
+      if (isValidEntry(data.slice(offset, ENTRY_SIZE))) {
+        throw new IllegalStateException(
+            "Slashing protection journal "
+                + journalPath
+                + " is corrupt at offset "
+                + invalidEntryOffset);
+      }
+    }
+  }
+
+  private void processWrites() {
+    final List<PendingWrite> batch = new ArrayList<>();
+    boolean stopRequested = false;
+    while (!stopRequested) {
+      try {
+        batch.add(queue.take());
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+      stopRequested = batch.remove(STOP);
+      try {
+        writeBatch(batch);
+      } catch (final Throwable t) {
+        LOG.error("Unexpected error while writing slashing protection journal", t);
+      }
+      batch.clear();
+    }
+  }
+
+  private void writeBatch(final List<PendingWrite> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    if (failed) {
+      final Exception error =
+          new IllegalStateException("Slashing protection journal is not available");
+      batch.forEach(write -> write.result.completeExceptionally(error));
+      return;
+    }
+    final ByteBuffer buffer = ByteBuffer.allocate(batch.size() * ENTRY_SIZE);
+    batch.forEach(write -> buffer.put(encodeEntry(write.validator, write.record).toArrayUnsafe()));
+    buffer.flip();
+    long originalSize = -1;
+    try {
+      originalSize = journal.size();
+      while (buffer.hasRemaining()) {
+        journal.write(buffer);
+      }
+      // Single flush to disk for the whole batch
+      journal.force(true);
+    } catch (final IOException e) {
+      removePartialWrite(originalSize);
+      batch.forEach(write -> write.result.completeExceptionally(e));
+      return;
+    }
+    journalEntryCount += batch.size();
+    batch.forEach(write -> persistedRecords.put(write.validator, write.record));
+    batch.forEach(write -> write.result.complete(null));
+    if (journalEntryCount > Math.max(minCompactionEntryCount, 2L * persistedRecords.size())) {
+      try {
+        compact();
+      } catch (final IOException e) {
+        LOG.warn("Failed to compact slashing protection journal", e);
+      }
+    }
+  }
+
+  private void removePartialWrite(final long originalSize) {
+    if (originalSize < 0) {
+      return;
+    }
+    try {
+      journal.truncate(originalSize);
+      journal.force(true);
+    } catch (final IOException e) {
+      // Entries written after a partial entry would be rejected as corrupt on restart
+      LOG.error("Failed to remove partially written slashing protection journal entries", e);
+      failed = true;
+    }
+  }
+
+  private void compact() throws IOException {
+    final Path tempPath = journalPath.resolveSibling(JOURNAL_FILE_NAME + ".tmp");
+    final ByteBuffer buffer = ByteBuffer.allocate(persistedRecords.size() * ENTRY_SIZE);
+    persistedRecords.forEach(
+        (validator, record) -> buffer.put(encodeEntry(validator, record).toArrayUnsafe()));
+    buffer.flip();
+    try (final FileChannel compacted =
+        FileChannel.open(
+            tempPath,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        compacted.write(buffer);
+      }
+      compacted.force(true);
+    }
+    if (journal != null) {
+      journal.close();
+    }
+    try {
+      Files.move(
+          tempPath,
+          journalPath,
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+      syncDirectory(journalPath.toAbsolutePath().getParent());
+      journalEntryCount = persistedRecords.size();
+    } finally {
+      journal = openJournal();
+    }
+    // Keep the per-validator files up to date in case the journal is disabled after a crash
+    exportToLegacyStore();
+  }
+
+  private void syncDirectory(final Path directory) throws IOException {
+    // The rename is only durable once the directory entry is flushed, otherwise the old journal
+    // could reappear after a crash
+    try (final FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (final AccessDeniedException e) {
+      // Some platforms, such as Windows, don't allow directories to be opened for syncing
+      LOG.debug("Unable to sync slashing protection directory {}", directory, e);
+    }
+  }
+
+  private void exportToLegacyStore() {
+    persistedRecords.forEach(
+        (validator, record) -> {
+          if (record.equals(exportedRecords.get(validator))) {
+            return;
+          }
+          try {
+            // The legacy file may have been updated since the journal was last used
+            final ValidatorSigningRecord mergedRecord =
+                legacyStore.load(validator).map(record::mergeWith).orElse(record);
+            legacyStore.store(validator, mergedRecord).join();
+            exportedRecords.put(validator, record);
+          } catch (final Exception e) {
+            LOG.error("Failed to export slashing protection record for validator {}", validator, e);
+          }
+        });
+  }
+
+  private FileChannel openJournal() throws IOException {
+    return FileChannel.open(
+        journalPath,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND);
+  }
+
+  private static Bytes encodeEntry(
+      final BLSPublicKey validator, final ValidatorSigningRecord record) {
+    final Bytes content = Bytes.concatenate(validator.toBytesCompressed(), record.toCompactBytes());
+    return Bytes.concatenate(content, Bytes.ofUnsignedInt(checksum(content)));
+  }
+
+  private static boolean isValidEntry(final Bytes entry) {
+    final int checksumOffset = ENTRY_SIZE - Integer.BYTES;
+    return entry.slice(checksumOffset, Integer.BYTES).toLong()
+        == checksum(entry.slice(0, checksumOffset));
+  }
+
+  private static long checksum(final Bytes content) {
+    final CRC32 crc = new CRC32();
+    crc.update(content.toArrayUnsafe());
+    return crc.getValue();
+  }
+
+  private static class PendingWrite {
+    private final BLSPublicKey validator;
+    private final ValidatorSigningRecord record;
+    private final SafeFuture<Void> result = new SafeFuture<>();
+
+    private PendingWrite(final BLSPublicKey validator, final ValidatorSigningRecord record) {
+      this.validator = validator;
+      this.record = record;
+    }
+  }
+}
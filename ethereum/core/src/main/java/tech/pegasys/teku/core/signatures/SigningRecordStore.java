@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.signatures;
+
+import java.io.IOException;
+import java.util.Optional;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.core.signatures.record.ValidatorSigningRecord;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+
+/** Persistent storage for the {@link ValidatorSigningRecord} used by {@link SlashingProtector}. */
+public interface SigningRecordStore {
+
+  /**
+   * Load the last persisted signing record for a validator.
+   *
+   * @param validator the validator to load the record for
+   * @return the record or empty if nothing has been signed by the validator
+   * @throws IOException if an IO error occurs while reading
+   */
+  Optional<ValidatorSigningRecord> load(BLSPublicKey validator) throws IOException;
+
+  /**
+   * Persist a new signing record for a validator.
+   *
+   * @param validator the validator the record is for
+   * @param record the new record
+   * @return a future which completes once the record has been flushed to hardware storage
+   */
+  SafeFuture<Void> store(BLSPublicKey validator, ValidatorSigningRecord record);
+
+  default void close() {}
+}
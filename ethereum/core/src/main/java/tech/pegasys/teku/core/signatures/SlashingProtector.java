@@ -14,57 +14,75 @@
 package tech.pegasys.teku.core.signatures;
 
 import com.google.common.primitives.UnsignedLong;
+import com.google.common.util.concurrent.Striped;
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.core.signatures.record.ValidatorSigningRecord;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 
+/**
+ * Tracks the blocks and attestations signed by each validator to prevent signing anything which
+ * could lead to the validator being slashed.
+ *
+ * <p>Requests for different validators are processed concurrently, while requests for the same
+ * validator are serialized by a lock striped by validator. The in-memory record is updated before
+ * the new record is persisted so later requests are always checked against it, but signing is
+ * only allowed once the {@link SigningRecordStore} confirms the record is on disk.
+ */
 public class SlashingProtector {
+  private static final int LOCK_STRIPES = 64;
 
-  private final Map<BLSPublicKey, ValidatorSigningRecord> signingRecords = new HashMap<>();
+  private final Map<BLSPublicKey, ValidatorSigningRecord> signingRecords =
+      new ConcurrentHashMap<>();
+  private final Striped<Lock> validatorLocks = Striped.lock(LOCK_STRIPES);
 
-  private final SyncDataAccessor dataAccessor;
-  private final Path slashingProtectionBaseDir;
+  private final SigningRecordStore recordStore;
 
   public SlashingProtector(
       final SyncDataAccessor dataAccessor, final Path slashingProtectionBaseDir) {
-    this.dataAccessor = dataAccessor;
-    this.slashingProtectionBaseDir = slashingProtectionBaseDir;
+    this(new FileSigningRecordStore(dataAccessor, slashingProtectionBaseDir));
+  }
+
+  public SlashingProtector(final SigningRecordStore recordStore) {
+    this.recordStore = recordStore;
   }
 
-  public synchronized SafeFuture<Boolean> maySignBlock(
-      final BLSPublicKey validator, final UnsignedLong slot) {
-    return SafeFuture.of(
-        () -> {
-          final ValidatorSigningRecord signingRecord = loadSigningRecord(validator);
-          return handleResult(validator, signingRecord.maySignBlock(slot));
-        });
+  public SafeFuture<Boolean> maySignBlock(final BLSPublicKey validator, final UnsignedLong slot) {
+    return updateSigningRecord(validator, signingRecord -> signingRecord.maySignBlock(slot));
   }
 
-  public synchronized SafeFuture<Boolean> maySignAttestation(
+  public SafeFuture<Boolean> maySignAttestation(
       final BLSPublicKey validator,
       final UnsignedLong sourceEpoch,
       final UnsignedLong targetEpoch) {
-    return SafeFuture.of(
-        () -> {
-          final ValidatorSigningRecord signingRecord = loadSigningRecord(validator);
-          return handleResult(
-              validator, signingRecord.maySignAttestation(sourceEpoch, targetEpoch));
-        });
+    return updateSigningRecord(
+        validator, signingRecord -> signingRecord.maySignAttestation(sourceEpoch, targetEpoch));
   }
 
-  private Boolean handleResult(
-      final BLSPublicKey validator, final Optional<ValidatorSigningRecord> newRecord)
-      throws IOException {
-    if (newRecord.isEmpty()) {
-      return false;
+  private SafeFuture<Boolean> updateSigningRecord(
+      final BLSPublicKey validator,
+      final Function<ValidatorSigningRecord, Optional<ValidatorSigningRecord>> update) {
+    final Lock lock = validatorLocks.get(validator);
+    lock.lock();
+    try {
+      final Optional<ValidatorSigningRecord> newRecord =
+          update.apply(loadSigningRecord(validator));
+      if (newRecord.isEmpty()) {
+        return SafeFuture.completedFuture(false);
+      }
+      signingRecords.put(validator, newRecord.get());
+      return recordStore.store(validator, newRecord.get()).thenApply(__ -> true);
+    } catch (final IOException | RuntimeException e) {
+      return SafeFuture.failedFuture(e);
+    } finally {
+      lock.unlock();
     }
-    writeSigningRecord(validator, newRecord.get());
-    return true;
   }
 
   private ValidatorSigningRecord loadSigningRecord(final BLSPublicKey validator)
@@ -73,23 +91,8 @@ public class SlashingProtector {
     if (record != null) {
       return record;
     }
-    record =
-        dataAccessor
-            .read(validatorRecordPath(validator))
-            .map(ValidatorSigningRecord::fromBytes)
-            .orElseGet(ValidatorSigningRecord::new);
+    record = recordStore.load(validator).orElseGet(ValidatorSigningRecord::new);
     signingRecords.put(validator, record);
     return record;
   }
-
-  private void writeSigningRecord(final BLSPublicKey validator, final ValidatorSigningRecord record)
-      throws IOException {
-    dataAccessor.syncedWrite(validatorRecordPath(validator), record.toBytes());
-    signingRecords.put(validator, record);
-  }
-
-  private Path validatorRecordPath(final BLSPublicKey validator) {
-    return slashingProtectionBaseDir.resolve(
-        validator.toBytesCompressed().toUnprefixedHexString() + ".yml");
-  }
 }
@@ -31,6 +31,7 @@ import org.apache.tuweni.bytes.Bytes;
 public class ValidatorSigningRecord {
 
   public static final UnsignedLong NEVER_SIGNED = UnsignedLong.MAX_VALUE;
+  public static final int COMPACT_SIZE = 3 * Long.BYTES;
 
   private final UnsignedLong blockSlot;
 
@@ -59,6 +60,47 @@ public class ValidatorSigningRecord {
     return ValidatorSigningRecordSerialization.writeRecord(this);
   }
 
+  public static ValidatorSigningRecord fromCompactBytes(final Bytes data) {
+    return ValidatorSigningRecordSerialization.readCompactRecord(data);
+  }
+
+  /**
+   * Serializes this record to a fixed size binary format which is cheaper to produce and parse than
+   * {@link #toBytes()}.
+   *
+   * @return the record in compact binary form, always {@link #COMPACT_SIZE} bytes long
+   */
+  public Bytes toCompactBytes() {
+    return ValidatorSigningRecordSerialization.writeCompactRecord(this);
+  }
+
+  /**
+   * Combine this record with another record for the same validator, producing a record which only
+   * allows signing if both records would.
+   *
+   * @param other the record to combine with
+   * @return the most restrictive combination of the two records
+   */
+  public ValidatorSigningRecord mergeWith(final ValidatorSigningRecord other) {
+    return new ValidatorSigningRecord(
+        max(blockSlot, other.blockSlot),
+        maxSigned(attestationSourceEpoch, other.attestationSourceEpoch),
+        maxSigned(attestationTargetEpoch, other.attestationTargetEpoch));
+  }
+
+  private static UnsignedLong maxSigned(final UnsignedLong a, final UnsignedLong b) {
+    if (a.equals(NEVER_SIGNED)) {
+      return b;
+    } else if (b.equals(NEVER_SIGNED)) {
+      return a;
+    }
+    return max(a, b);
+  }
+
+  private static UnsignedLong max(final UnsignedLong a, final UnsignedLong b) {
+    return a.compareTo(b) >= 0 ? a : b;
+  }
+
   /**
    * Determine if it is safe to sign a block at the specified slot.
    *
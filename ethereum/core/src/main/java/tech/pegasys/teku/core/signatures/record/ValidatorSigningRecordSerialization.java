@@ -13,6 +13,8 @@
 
 package tech.pegasys.teku.core.signatures.record;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
@@ -67,6 +69,24 @@ class ValidatorSigningRecordSerialization {
     }
   }
 
+  static ValidatorSigningRecord readCompactRecord(final Bytes data) {
+    checkArgument(
+        data.size() == ValidatorSigningRecord.COMPACT_SIZE,
+        "Invalid compact signing record length %s",
+        data.size());
+    return new ValidatorSigningRecord(
+        UnsignedLong.fromLongBits(data.getLong(0)),
+        UnsignedLong.fromLongBits(data.getLong(Long.BYTES)),
+        UnsignedLong.fromLongBits(data.getLong(2 * Long.BYTES)));
+  }
+
+  static Bytes writeCompactRecord(final ValidatorSigningRecord record) {
+    return Bytes.concatenate(
+        Bytes.ofUnsignedLong(record.getBlockSlot().longValue()),
+        Bytes.ofUnsignedLong(record.getAttestationSourceEpoch().longValue()),
+        Bytes.ofUnsignedLong(record.getAttestationTargetEpoch().longValue()));
+  }
+
   private static class ValidatorSigningRecordSerializer
       extends JsonSerializer<ValidatorSigningRecord> {
 
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core;
+
+import static com.google.common.primitives.UnsignedLong.ZERO;
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_beacon_proposer_index;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.CommitteeAssignment;
+import tech.pegasys.teku.datastructures.state.EpochDutyIndex;
+import tech.pegasys.teku.datastructures.state.Validator;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.ssz.SSZTypes.SSZMutableList;
+import tech.pegasys.teku.util.config.Constants;
+
+class CommitteeAssignmentUtilTest {
+  private static final UnsignedLong EPOCH = UnsignedLong.valueOf(3);
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final BeaconState state =
+      createStateWithActiveValidators(compute_start_slot_at_epoch(EPOCH));
+
+  @Test
+  public void getEpochDutyIndex_shouldMatchCommitteeAssignmentForEveryValidator() {
+    final EpochDutyIndex dutyIndex = CommitteeAssignmentUtil.getEpochDutyIndex(state, EPOCH);
+
+    for (int validatorIndex = 0; validatorIndex < state.getValidators().size(); validatorIndex++) {
+      final CommitteeAssignment expected =
+          CommitteeAssignmentUtil.get_committee_assignment(state, EPOCH, validatorIndex)
+              .orElseThrow();
+      final CommitteeAssignment actual =
+          dutyIndex.getCommitteeAssignment(validatorIndex).orElseThrow();
+      assertThat(actual.getCommittee()).isEqualTo(expected.getCommittee());
+      assertThat(actual.getCommitteeIndex()).isEqualTo(expected.getCommitteeIndex());
+      assertThat(actual.getSlot()).isEqualTo(expected.getSlot());
+      assertThat(dutyIndex.getCommitteePosition(validatorIndex))
+          .contains(expected.getCommittee().indexOf(validatorIndex));
+    }
+  }
+
+  @Test
+  public void getEpochDutyIndex_shouldIncludeProposerForEverySlot() {
+    final EpochDutyIndex dutyIndex = CommitteeAssignmentUtil.getEpochDutyIndex(state, EPOCH);
+
+    final UnsignedLong startSlot = compute_start_slot_at_epoch(EPOCH);
+    for (int i = 0; i < Constants.SLOTS_PER_EPOCH; i++) {
+      final UnsignedLong slot = startSlot.plus(UnsignedLong.valueOf(i));
+      assertThat(dutyIndex.getProposalSlots(get_beacon_proposer_index(state, slot)))
+          .contains(slot);
+    }
+    final List<UnsignedLong> allProposalSlots = new ArrayList<>();
+    for (int validatorIndex = 0; validatorIndex < state.getValidators().size(); validatorIndex++) {
+      allProposalSlots.addAll(dutyIndex.getProposalSlots(validatorIndex));
+    }
+    assertThat(allProposalSlots).hasSize(Constants.SLOTS_PER_EPOCH);
+  }
+
+  @Test
+  public void getEpochDutyIndex_shouldNotIncludeProposerForGenesisSlot() {
+    final BeaconState genesisEpochState = createStateWithActiveValidators(ZERO);
+    final EpochDutyIndex dutyIndex =
+        CommitteeAssignmentUtil.getEpochDutyIndex(genesisEpochState, ZERO);
+
+    for (int validatorIndex = 0;
+        validatorIndex < genesisEpochState.getValidators().size();
+        validatorIndex++) {
+      assertThat(dutyIndex.getProposalSlots(validatorIndex)).doesNotContain(ZERO);
+    }
+  }
+
+  @Test
+  public void getEpochDutyIndex_shouldReturnEmptyForUnknownValidator() {
+    final EpochDutyIndex dutyIndex = CommitteeAssignmentUtil.getEpochDutyIndex(state, EPOCH);
+    final int unknownIndex = state.getValidators().size();
+
+    assertThat(dutyIndex.getCommitteeAssignment(unknownIndex)).isEmpty();
+    assertThat(dutyIndex.getCommitteePosition(unknownIndex)).isEmpty();
+    assertThat(dutyIndex.getProposalSlots(unknownIndex)).isEmpty();
+  }
+
+  @Test
+  public void getEpochDutyIndex_shouldReuseCachedIndex() {
+    final EpochDutyIndex dutyIndex = CommitteeAssignmentUtil.getEpochDutyIndex(state, EPOCH);
+
+    assertThat(CommitteeAssignmentUtil.getEpochDutyIndex(state, EPOCH)).isSameAs(dutyIndex);
+  }
+
+  private BeaconState createStateWithActiveValidators(final UnsignedLong slot) {
+    return dataStructureUtil
+        .randomBeaconState(32)
+        .updated(
+            state -> {
+              state.setSlot(slot);
+              final SSZMutableList<Validator> validators = state.getValidators();
+              for (int i = 0; i < validators.size(); i++) {
+                validators.update(
+                    i,
+                    validator ->
+                        validator
+                            .withActivation_eligibility_epoch(ZERO)
+                            .withActivation_epoch(ZERO)
+                            .withExit_epoch(Constants.FAR_FUTURE_EPOCH)
+                            .withWithdrawable_epoch(Constants.FAR_FUTURE_EPOCH));
+              }
+            });
+  }
+}
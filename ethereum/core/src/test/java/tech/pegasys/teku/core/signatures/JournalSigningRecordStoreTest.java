@@ -0,0 +1,201 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.signatures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.primitives.UnsignedLong;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.core.signatures.record.ValidatorSigningRecord;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+
+class JournalSigningRecordStoreTest {
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final BLSPublicKey validator1 = dataStructureUtil.randomPublicKey();
+  private final BLSPublicKey validator2 = dataStructureUtil.randomPublicKey();
+
+  @TempDir Path baseDir;
+
+  private JournalSigningRecordStore store;
+
+  @AfterEach
+  void tearDown() {
+    if (store != null) {
+      store.close();
+    }
+  }
+
+  @Test
+  void shouldLoadStoredRecordsAfterRestart() throws Exception {
+    store = startStore();
+    store(validator1, record(1, 2, 3));
+    store(validator2, record(4, 5, 6));
+    store(validator1, record(7, 8, 9));
+    store.close();
+
+    store = startStore();
+    assertThat(store.load(validator1)).contains(record(7, 8, 9));
+    assertThat(store.load(validator2)).contains(record(4, 5, 6));
+  }
+
+  @Test
+  void shouldImportRecordsFromLegacyFiles() throws Exception {
+    legacyStore().store(validator1, record(1, 2, 3)).join();
+
+    store = startStore();
+    assertThat(store.load(validator1)).contains(record(1, 2, 3));
+    assertThat(store.load(validator2)).isEmpty();
+  }
+
+  @Test
+  void shouldCombineJournalAndLegacyRecords() throws Exception {
+    store = startStore();
+    store(validator1, record(10, 2, 3));
+    store.close();
+    legacyStore().store(validator1, record(5, 4, 6)).join();
+
+    store = startStore();
+    assertThat(store.load(validator1)).contains(record(10, 4, 6));
+  }
+
+  @Test
+  void shouldExportRecordsToLegacyFilesWhenClosed() throws Exception {
+    store = startStore();
+    store(validator1, record(1, 2, 3));
+    store.close();
+
+    assertThat(legacyStore().load(validator1)).contains(record(1, 2, 3));
+  }
+
+  @Test
+  void shouldExportRecordsToLegacyFilesWhenCompactingAfterUncleanShutdown() throws Exception {
+    // Never closed, as if the process was killed
+    final JournalSigningRecordStore killedStore = startStore();
+    killedStore.store(validator1, record(1, 2, 3)).get(10, TimeUnit.SECONDS);
+    assertThat(legacyStore().load(validator1)).isEmpty();
+
+    store = startStore();
+    assertThat(legacyStore().load(validator1)).contains(record(1, 2, 3));
+  }
+
+  @Test
+  void shouldExportAndRemoveJournalAfterUncleanShutdown() throws Exception {
+    // Never closed, as if the process was killed
+    final JournalSigningRecordStore killedStore = startStore();
+    killedStore.store(validator1, record(1, 2, 3)).get(10, TimeUnit.SECONDS);
+    legacyStore().store(validator1, record(0, 4, 5)).join();
+
+    JournalSigningRecordStore.exportJournal(new SyncDataAccessor(), baseDir);
+
+    assertThat(legacyStore().load(validator1)).contains(record(1, 4, 5));
+    assertThat(journalPath()).doesNotExist();
+  }
+
+  @Test
+  void shouldRejectUpdatesAfterClose() {
+    store = startStore();
+    store.close();
+
+    assertThat(store.store(validator1, record(1, 2, 3))).isCompletedExceptionally();
+  }
+
+  @Test
+  void shouldDiscardIncompleteEntryAtEndOfJournal() throws Exception {
+    store = startStore();
+    store(validator1, record(1, 2, 3));
+    store.close();
+    Files.write(
+        journalPath(),
+        Bytes.random(JournalSigningRecordStore.ENTRY_SIZE / 2).toArrayUnsafe(),
+        StandardOpenOption.APPEND);
+
+    store = startStore();
+    assertThat(store.load(validator1)).contains(record(1, 2, 3));
+    store(validator1, record(4, 5, 6));
+    store.close();
+
+    store = startStore();
+    assertThat(store.load(validator1)).contains(record(4, 5, 6));
+  }
+
+  @Test
+  void shouldFailToStartWhenJournalIsCorruptBeforeLastEntry() throws Exception {
+    store = startStore();
+    store(validator1, record(1, 2, 3));
+    store(validator2, record(4, 5, 6));
+    store.close();
+    store = null;
+    final byte[] journal = Files.readAllBytes(journalPath());
+    journal[0] ^= 1;
+    Files.write(journalPath(), journal);
+
+    final JournalSigningRecordStore corruptStore = createStore(Long.MAX_VALUE);
+    assertThatThrownBy(corruptStore::start).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void shouldCompactJournal() throws Exception {
+    store = createStore(2);
+    store.start();
+    for (int i = 1; i <= 10; i++) {
+      store(validator1, record(i, i, i));
+    }
+    store.close();
+
+    assertThat(Files.size(journalPath()))
+        .isLessThanOrEqualTo(2L * JournalSigningRecordStore.ENTRY_SIZE);
+    store = startStore();
+    assertThat(store.load(validator1)).contains(record(10, 10, 10));
+  }
+
+  private void store(final BLSPublicKey validator, final ValidatorSigningRecord record)
+      throws Exception {
+    store.store(validator, record).get(10, TimeUnit.SECONDS);
+  }
+
+  private JournalSigningRecordStore startStore() {
+    final JournalSigningRecordStore journalStore = createStore(Long.MAX_VALUE);
+    journalStore.start();
+    return journalStore;
+  }
+
+  private JournalSigningRecordStore createStore(final long minCompactionEntryCount) {
+    return new JournalSigningRecordStore(baseDir, legacyStore(), minCompactionEntryCount);
+  }
+
+  private FileSigningRecordStore legacyStore() {
+    return new FileSigningRecordStore(new SyncDataAccessor(), baseDir);
+  }
+
+  private Path journalPath() {
+    return baseDir.resolve(JournalSigningRecordStore.JOURNAL_FILE_NAME);
+  }
+
+  private ValidatorSigningRecord record(
+      final int blockSlot, final int sourceEpoch, final int targetEpoch) {
+    return new ValidatorSigningRecord(
+        UnsignedLong.valueOf(blockSlot),
+        UnsignedLong.valueOf(sourceEpoch),
+        UnsignedLong.valueOf(targetEpoch));
+  }
+}
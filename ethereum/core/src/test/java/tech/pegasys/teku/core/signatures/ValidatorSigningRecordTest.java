@@ -46,6 +46,41 @@ class ValidatorSigningRecordTest {
     assertThat(result).isEqualToComparingFieldByField(record);
   }
 
+  @Test
+  void shouldRoundTripToCompactBytes() {
+    final ValidatorSigningRecord record =
+        new ValidatorSigningRecord(
+            UnsignedLong.valueOf(10),
+            UnsignedLong.valueOf(20),
+            ValidatorSigningRecord.NEVER_SIGNED);
+    final Bytes bytes = record.toCompactBytes();
+    assertThat(bytes.size()).isEqualTo(ValidatorSigningRecord.COMPACT_SIZE);
+    assertThat(ValidatorSigningRecord.fromCompactBytes(bytes)).isEqualTo(record);
+  }
+
+  @Test
+  void mergeWith_shouldUseMostRestrictiveValues() {
+    final ValidatorSigningRecord record1 =
+        new ValidatorSigningRecord(
+            UnsignedLong.valueOf(10), UnsignedLong.valueOf(2), UnsignedLong.valueOf(8));
+    final ValidatorSigningRecord record2 =
+        new ValidatorSigningRecord(
+            UnsignedLong.valueOf(5), UnsignedLong.valueOf(4), UnsignedLong.valueOf(6));
+    assertThat(record1.mergeWith(record2))
+        .isEqualTo(
+            new ValidatorSigningRecord(
+                UnsignedLong.valueOf(10), UnsignedLong.valueOf(4), UnsignedLong.valueOf(8)));
+  }
+
+  @Test
+  void mergeWith_shouldIgnoreNeverSignedAttestations() {
+    final ValidatorSigningRecord record =
+        new ValidatorSigningRecord(
+            UnsignedLong.valueOf(10), UnsignedLong.valueOf(2), UnsignedLong.valueOf(8));
+    assertThat(record.mergeWith(new ValidatorSigningRecord())).isEqualTo(record);
+    assertThat(new ValidatorSigningRecord().mergeWith(record)).isEqualTo(record);
+  }
+
   @ParameterizedTest(name = "signBlock({0})")
   @MethodSource("blockCases")
   void signBlock(
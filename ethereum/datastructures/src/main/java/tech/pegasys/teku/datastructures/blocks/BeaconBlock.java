@@ -18,6 +18,7 @@ import com.google.common.primitives.UnsignedLong;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import jdk.jfr.Label;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.ssz.SSZ;
@@ -42,6 +43,9 @@ public final class BeaconBlock implements Merkleizable, SimpleOffsetSerializable
   // Body
   private BeaconBlockBody body;
 
+  @Label("sos-ignore")
+  private volatile CachedHashTreeRoot cachedHashTreeRoot;
+
   public BeaconBlock(
       UnsignedLong slot,
       UnsignedLong proposer_index,
@@ -146,14 +150,25 @@ public final class BeaconBlock implements Merkleizable, SimpleOffsetSerializable
 
   @Override
   public Bytes32 hash_tree_root() {
-    return HashTreeUtil.merkleize(
-        Arrays.asList(
-            HashTreeUtil.hash_tree_root(SSZTypes.BASIC, SSZ.encodeUInt64(slot.longValue())),
-            HashTreeUtil.hash_tree_root(
-                SSZTypes.BASIC, SSZ.encodeUInt64(proposer_index.longValue())),
-            HashTreeUtil.hash_tree_root(SSZTypes.VECTOR_OF_BASIC, parent_root),
-            HashTreeUtil.hash_tree_root(SSZTypes.VECTOR_OF_BASIC, state_root),
-            body.hash_tree_root()));
+    // The state root can be replaced and the body modified in place so the cached root is only
+    // reused while the state root and body root it was calculated from are unchanged
+    final Bytes32 currentStateRoot = state_root;
+    final Bytes32 bodyRoot = body.hash_tree_root();
+    final CachedHashTreeRoot cached = cachedHashTreeRoot;
+    if (cached != null && cached.isValidFor(currentStateRoot, bodyRoot)) {
+      return cached.root;
+    }
+    final Bytes32 root =
+        HashTreeUtil.merkleize(
+            Arrays.asList(
+                HashTreeUtil.hash_tree_root(SSZTypes.BASIC, SSZ.encodeUInt64(slot.longValue())),
+                HashTreeUtil.hash_tree_root(
+                    SSZTypes.BASIC, SSZ.encodeUInt64(proposer_index.longValue())),
+                HashTreeUtil.hash_tree_root(SSZTypes.VECTOR_OF_BASIC, parent_root),
+                HashTreeUtil.hash_tree_root(SSZTypes.VECTOR_OF_BASIC, currentStateRoot),
+                bodyRoot));
+    cachedHashTreeRoot = new CachedHashTreeRoot(currentStateRoot, bodyRoot, root);
+    return root;
   }
 
   @Override
@@ -167,4 +182,21 @@ public final class BeaconBlock implements Merkleizable, SimpleOffsetSerializable
         .add("body", body.hash_tree_root())
         .toString();
   }
+
+  private static class CachedHashTreeRoot {
+    private final Bytes32 stateRoot;
+    private final Bytes32 bodyRoot;
+    private final Bytes32 root;
+
+    private CachedHashTreeRoot(
+        final Bytes32 stateRoot, final Bytes32 bodyRoot, final Bytes32 root) {
+      this.stateRoot = stateRoot;
+      this.bodyRoot = bodyRoot;
+      this.root = root;
+    }
+
+    private boolean isValidFor(final Bytes32 stateRoot, final Bytes32 bodyRoot) {
+      return this.stateRoot.equals(stateRoot) && this.bodyRoot.equals(bodyRoot);
+    }
+  }
 }
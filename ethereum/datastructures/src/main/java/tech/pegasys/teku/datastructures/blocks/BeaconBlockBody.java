@@ -18,6 +18,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import jdk.jfr.Label;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.ssz.SSZ;
@@ -52,6 +54,9 @@ public class BeaconBlockBody implements SimpleOffsetSerializable, SSZContainer,
   private final SSZList<Deposit> deposits; // List bounded by MAX_DEPOSITS
   private final SSZList<SignedVoluntaryExit> voluntary_exits; // List bounded by MAX_VOLUNTARY_EXITS
 
+  @Label("sos-ignore")
+  private volatile CachedHashTreeRoot cachedHashTreeRoot;
+
   public BeaconBlockBody(
       BLSSignature randao_reveal,
       Eth1Data eth1_data,
@@ -186,15 +191,54 @@ public class BeaconBlockBody implements SimpleOffsetSerializable, SSZContainer,
 
   @Override
   public Bytes32 hash_tree_root() {
-    return HashTreeUtil.merkleize(
-        Arrays.asList(
-            HashTreeUtil.hash_tree_root(SSZTypes.VECTOR_OF_BASIC, randao_reveal.toSSZBytes()),
-            eth1_data.hash_tree_root(),
-            HashTreeUtil.hash_tree_root(SSZTypes.VECTOR_OF_BASIC, graffiti),
-            HashTreeUtil.hash_tree_root(SSZTypes.LIST_OF_COMPOSITE, proposer_slashings),
-            HashTreeUtil.hash_tree_root(SSZTypes.LIST_OF_COMPOSITE, attester_slashings),
-            HashTreeUtil.hash_tree_root(SSZTypes.LIST_OF_COMPOSITE, attestations),
-            HashTreeUtil.hash_tree_root(SSZTypes.LIST_OF_COMPOSITE, deposits),
-            HashTreeUtil.hash_tree_root(SSZTypes.LIST_OF_COMPOSITE, voluntary_exits)));
+    // The lists and their elements can be modified in place so the cached root is only reused
+    // while the roots of every element are unchanged. Attestations, which make up most of the
+    // body, cache their own roots so checking them is much cheaper than merkleizing the lists.
+    final Bytes32 eth1DataRoot = eth1_data.hash_tree_root();
+    final List<List<Bytes32>> elementRoots =
+        List.of(
+            getElementRoots(proposer_slashings),
+            getElementRoots(attester_slashings),
+            getElementRoots(attestations),
+            getElementRoots(deposits),
+            getElementRoots(voluntary_exits));
+    final CachedHashTreeRoot cached = cachedHashTreeRoot;
+    if (cached != null && cached.isValidFor(eth1DataRoot, elementRoots)) {
+      return cached.root;
+    }
+    final Bytes32 root =
+        HashTreeUtil.merkleize(
+            Arrays.asList(
+                HashTreeUtil.hash_tree_root(SSZTypes.VECTOR_OF_BASIC, randao_reveal.toSSZBytes()),
+                eth1DataRoot,
+                HashTreeUtil.hash_tree_root(SSZTypes.VECTOR_OF_BASIC, graffiti),
+                HashTreeUtil.hash_tree_root(SSZTypes.LIST_OF_COMPOSITE, proposer_slashings),
+                HashTreeUtil.hash_tree_root(SSZTypes.LIST_OF_COMPOSITE, attester_slashings),
+                HashTreeUtil.hash_tree_root(SSZTypes.LIST_OF_COMPOSITE, attestations),
+                HashTreeUtil.hash_tree_root(SSZTypes.LIST_OF_COMPOSITE, deposits),
+                HashTreeUtil.hash_tree_root(SSZTypes.LIST_OF_COMPOSITE, voluntary_exits)));
+    cachedHashTreeRoot = new CachedHashTreeRoot(eth1DataRoot, elementRoots, root);
+    return root;
+  }
+
+  private static List<Bytes32> getElementRoots(final SSZList<? extends Merkleizable> list) {
+    return list.stream().map(Merkleizable::hash_tree_root).collect(Collectors.toList());
+  }
+
+  private static class CachedHashTreeRoot {
+    private final Bytes32 eth1DataRoot;
+    private final List<List<Bytes32>> elementRoots;
+    private final Bytes32 root;
+
+    private CachedHashTreeRoot(
+        final Bytes32 eth1DataRoot, final List<List<Bytes32>> elementRoots, final Bytes32 root) {
+      this.eth1DataRoot = eth1DataRoot;
+      this.elementRoots = elementRoots;
+      this.root = root;
+    }
+
+    private boolean isValidFor(final Bytes32 eth1DataRoot, final List<List<Bytes32>> elementRoots) {
+      return this.eth1DataRoot.equals(eth1DataRoot) && this.elementRoots.equals(elementRoots);
+    }
   }
 }
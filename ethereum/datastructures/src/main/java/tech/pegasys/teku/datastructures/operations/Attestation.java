@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import jdk.jfr.Label;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.bls.BLSSignature;
@@ -43,6 +44,9 @@ public class Attestation implements Merkleizable, SimpleOffsetSerializable, SSZC
   private AttestationData data;
   private BLSSignature signature;
 
+  @Label("sos-ignore")
+  private volatile CachedHashTreeRoot cachedHashTreeRoot;
+
   public Attestation(Bitlist aggregation_bits, AttestationData data, BLSSignature signature) {
     this.aggregation_bits = aggregation_bits;
     this.data = data;
@@ -164,11 +168,48 @@ public class Attestation implements Merkleizable, SimpleOffsetSerializable, SSZC
 
   @Override
   public Bytes32 hash_tree_root() {
-    return HashTreeUtil.merkleize(
-        Arrays.asList(
-            HashTreeUtil.hash_tree_root_bitlist(aggregation_bits),
-            data.hash_tree_root(),
-            HashTreeUtil.hash_tree_root(
-                SSZTypes.VECTOR_OF_BASIC, SimpleOffsetSerializer.serialize(signature))));
+    // Aggregation bits can be modified in place so the cached root is only reused while the bits,
+    // data and signature it was calculated from are unchanged
+    final CachedHashTreeRoot cached = cachedHashTreeRoot;
+    if (cached != null && cached.isValidFor(aggregation_bits, data, signature)) {
+      return cached.root;
+    }
+    final Bitlist bits = aggregation_bits.copy();
+    final AttestationData currentData = data;
+    final BLSSignature currentSignature = signature;
+    final Bytes32 root =
+        HashTreeUtil.merkleize(
+            Arrays.asList(
+                HashTreeUtil.hash_tree_root_bitlist(bits),
+                currentData.hash_tree_root(),
+                HashTreeUtil.hash_tree_root(
+                    SSZTypes.VECTOR_OF_BASIC, SimpleOffsetSerializer.serialize(currentSignature))));
+    cachedHashTreeRoot = new CachedHashTreeRoot(bits, currentData, currentSignature, root);
+    return root;
+  }
+
+  private static class CachedHashTreeRoot {
+    private final Bitlist aggregationBits;
+    private final AttestationData data;
+    private final BLSSignature signature;
+    private final Bytes32 root;
+
+    private CachedHashTreeRoot(
+        final Bitlist aggregationBits,
+        final AttestationData data,
+        final BLSSignature signature,
+        final Bytes32 root) {
+      this.aggregationBits = aggregationBits;
+      this.data = data;
+      this.signature = signature;
+      this.root = root;
+    }
+
+    private boolean isValidFor(
+        final Bitlist aggregationBits, final AttestationData data, final BLSSignature signature) {
+      return this.data.equals(data)
+          && this.signature.equals(signature)
+          && this.aggregationBits.equals(aggregationBits);
+    }
   }
 }
@@ -34,6 +34,7 @@ import tech.pegasys.teku.ssz.backing.ContainerViewRead;
 import tech.pegasys.teku.ssz.backing.ViewRead;
 import tech.pegasys.teku.ssz.backing.cache.IntCache;
 import tech.pegasys.teku.ssz.backing.cache.SoftRefIntCache;
+import tech.pegasys.teku.ssz.backing.tree.ParallelTreeHasher;
 import tech.pegasys.teku.ssz.backing.tree.TreeNode;
 import tech.pegasys.teku.ssz.backing.type.CompositeViewType;
 import tech.pegasys.teku.ssz.backing.type.ContainerViewType;
@@ -365,6 +366,12 @@ public class BeaconStateImpl extends ContainerViewReadImpl
     return hashTreeRoot();
   }
 
+  @Override
+  public Bytes32 hashTreeRoot() {
+    // Epoch processing can leave millions of nodes to rehash so split large subtrees across cores
+    return ParallelTreeHasher.getDefault().hashTreeRoot(getBackingNode());
+  }
+
   @Override
   public TransitionCaches getTransitionCaches() {
     return transitionCaches;
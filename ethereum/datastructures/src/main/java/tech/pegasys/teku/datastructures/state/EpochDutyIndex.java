@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.datastructures.state;
+
+import static java.util.Collections.emptyList;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The committee assignments and block proposals for every validator in a single epoch, allowing
+ * the duties of any number of validators to be looked up without rescanning the committees.
+ */
+public class EpochDutyIndex {
+  private static final int NO_POSITION = -1;
+
+  private final CommitteeAssignment[] committeeAssignments;
+  private final int[] committeePositions;
+  private final Map<Integer, List<UnsignedLong>> proposalSlotsByValidatorIndex;
+
+  private EpochDutyIndex(
+      final CommitteeAssignment[] committeeAssignments,
+      final int[] committeePositions,
+      final Map<Integer, List<UnsignedLong>> proposalSlotsByValidatorIndex) {
+    this.committeeAssignments = committeeAssignments;
+    this.committeePositions = committeePositions;
+    this.proposalSlotsByValidatorIndex = proposalSlotsByValidatorIndex;
+  }
+
+  public static Builder builder(final int validatorCount) {
+    return new Builder(validatorCount);
+  }
+
+  public Optional<CommitteeAssignment> getCommitteeAssignment(final int validatorIndex) {
+    return isInRange(validatorIndex)
+        ? Optional.ofNullable(committeeAssignments[validatorIndex])
+        : Optional.empty();
+  }
+
+  /**
+   * Returns the position of the validator within its assigned committee.
+   *
+   * @param validatorIndex the validator index
+   * @return the position in the committee or empty if the validator has no committee assignment
+   */
+  public Optional<Integer> getCommitteePosition(final int validatorIndex) {
+    if (!isInRange(validatorIndex) || committeePositions[validatorIndex] == NO_POSITION) {
+      return Optional.empty();
+    }
+    return Optional.of(committeePositions[validatorIndex]);
+  }
+
+  public List<UnsignedLong> getProposalSlots(final int validatorIndex) {
+    return proposalSlotsByValidatorIndex.getOrDefault(validatorIndex, emptyList());
+  }
+
+  private boolean isInRange(final int validatorIndex) {
+    return validatorIndex >= 0 && validatorIndex < committeeAssignments.length;
+  }
+
+  public static class Builder {
+    private final CommitteeAssignment[] committeeAssignments;
+    private final int[] committeePositions;
+    private final Map<Integer, List<UnsignedLong>> proposalSlotsByValidatorIndex = new HashMap<>();
+
+    private Builder(final int validatorCount) {
+      committeeAssignments = new CommitteeAssignment[validatorCount];
+      committeePositions = new int[validatorCount];
+      Arrays.fill(committeePositions, NO_POSITION);
+    }
+
+    public Builder committee(
+        final List<Integer> committee, final UnsignedLong committeeIndex, final UnsignedLong slot) {
+      final CommitteeAssignment assignment =
+          new CommitteeAssignment(committee, committeeIndex, slot);
+      for (int position = 0; position < committee.size(); position++) {
+        final int validatorIndex = committee.get(position);
+        committeeAssignments[validatorIndex] = assignment;
+        committeePositions[validatorIndex] = position;
+      }
+      return this;
+    }
+
+    public Builder proposer(final int validatorIndex, final UnsignedLong slot) {
+      proposalSlotsByValidatorIndex
+          .computeIfAbsent(validatorIndex, __ -> new ArrayList<>())
+          .add(slot);
+      return this;
+    }
+
+    public EpochDutyIndex build() {
+      return new EpochDutyIndex(
+          committeeAssignments, committeePositions, proposalSlotsByValidatorIndex);
+    }
+  }
+}
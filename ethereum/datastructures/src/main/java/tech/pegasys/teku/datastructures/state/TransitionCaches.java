@@ -30,6 +30,7 @@ public class TransitionCaches {
   private static int MAX_BEACON_COMMITTEE_CACHE = 64 * 64;
   private static int MAX_TOTAL_ACTIVE_BALANCE_CACHE = 1;
   private static int MAX_COMMITTEE_SHUFFLE_CACHE = 2;
+  private static int MAX_EPOCH_DUTY_INDEX_CACHE = 2;
 
   private static final TransitionCaches NO_OP_INSTANCE =
       new TransitionCaches(
@@ -39,6 +40,7 @@ public class TransitionCaches {
           NoOpCache.getNoOpCache(),
           NoOpCache.getNoOpCache(),
           NoOpCache.getNoOpCache(),
+          NoOpCache.getNoOpCache(),
           NoOpCache.getNoOpCache()) {
 
         @Override
@@ -64,6 +66,7 @@ public class TransitionCaches {
   private final Cache<UnsignedLong, BLSPublicKey> validatorsPubKeys;
   private final Cache<BLSPublicKey, Integer> validatorIndex;
   private final Cache<Bytes32, List<Integer>> committeeShuffle;
+  private final Cache<UnsignedLong, EpochDutyIndex> epochDutyIndex;
 
   private TransitionCaches() {
     activeValidators = new LRUCache<>(MAX_ACTIVE_VALIDATORS_CACHE);
@@ -73,6 +76,7 @@ public class TransitionCaches {
     validatorsPubKeys = new LRUCache<>(Integer.MAX_VALUE - 1);
     validatorIndex = new LRUCache<>(Integer.MAX_VALUE - 1);
     committeeShuffle = new LRUCache<>(MAX_COMMITTEE_SHUFFLE_CACHE);
+    epochDutyIndex = new LRUCache<>(MAX_EPOCH_DUTY_INDEX_CACHE);
   }
 
   public TransitionCaches(
@@ -82,7 +86,8 @@ public class TransitionCaches {
       Cache<UnsignedLong, Pair<UnsignedLong, UnsignedLong>> totalActiveBalance,
       Cache<UnsignedLong, BLSPublicKey> validatorsPubKeys,
       Cache<BLSPublicKey, Integer> validatorIndex,
-      Cache<Bytes32, List<Integer>> committeeShuffle) {
+      Cache<Bytes32, List<Integer>> committeeShuffle,
+      Cache<UnsignedLong, EpochDutyIndex> epochDutyIndex) {
     this.activeValidators = activeValidators;
     this.beaconProposerIndex = beaconProposerIndex;
     this.beaconCommittee = beaconCommittee;
@@ -90,6 +95,7 @@ public class TransitionCaches {
     this.validatorsPubKeys = validatorsPubKeys;
     this.validatorIndex = validatorIndex;
     this.committeeShuffle = committeeShuffle;
+    this.epochDutyIndex = epochDutyIndex;
   }
 
   /** (epoch) -> (active validators) cache */
@@ -133,6 +139,11 @@ public class TransitionCaches {
     return committeeShuffle;
   }
 
+  /** (epoch) -> (committee assignments and proposers for every validator) cache */
+  public Cache<UnsignedLong, EpochDutyIndex> getEpochDutyIndex() {
+    return epochDutyIndex;
+  }
+
   public void invalidate() {
     activeValidators.clear();
     beaconProposerIndex.clear();
@@ -140,6 +151,7 @@ public class TransitionCaches {
     totalActiveBalance.clear();
     validatorsPubKeys.clear();
     committeeShuffle.clear();
+    epochDutyIndex.clear();
   }
 
   /**
@@ -154,6 +166,7 @@ public class TransitionCaches {
         totalActiveBalance.copy(),
         validatorsPubKeys,
         validatorIndex,
-        committeeShuffle.copy());
+        committeeShuffle.copy(),
+        epochDutyIndex.copy());
   }
 }
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.datastructures.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer.isBitvector;
+import static tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer.isPrimitive;
+import static tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer.isVariable;
+import static tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer.isVector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.apache.tuweni.ssz.SSZReader;
+import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
+import tech.pegasys.teku.ssz.SSZTypes.Bitvector;
+import tech.pegasys.teku.ssz.SSZTypes.SSZContainer;
+import tech.pegasys.teku.ssz.SSZTypes.SSZList;
+import tech.pegasys.teku.ssz.SSZTypes.SSZMutableList;
+import tech.pegasys.teku.ssz.SSZTypes.SSZVector;
+import tech.pegasys.teku.ssz.sos.ReflectionInformation;
+
+/**
+ * A deserializer for one SSZ container type, compiled once from its {@link ReflectionInformation}.
+ *
+ * <p>All per-field type dispatch, element type and size lookups and nested container resolution
+ * happen when the deserializer is built, leaving only the decoding steps themselves at runtime.
+ * Instances are created through a {@link MethodHandle} rather than reflective {@code
+ * Constructor} calls.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class ContainerDeserializer {
+  private final MethodHandle constructor;
+  private final boolean variable;
+  private final FixedDecoder[] fixedDecoders;
+  private final int[] variableFieldIndices;
+  private final VariableDecoder[] variableDecoders;
+
+  private ContainerDeserializer(
+      final MethodHandle constructor,
+      final boolean variable,
+      final FixedDecoder[] fixedDecoders,
+      final int[] variableFieldIndices,
+      final VariableDecoder[] variableDecoders) {
+    this.constructor = constructor;
+    this.variable = variable;
+    this.fixedDecoders = fixedDecoders;
+    this.variableFieldIndices = variableFieldIndices;
+    this.variableDecoders = variableDecoders;
+  }
+
+  /**
+   * Compiles deserializers for every container type with reflection information.
+   *
+   * @param reflectionInfo the reflection information for each supported type
+   * @return the deserializer for each type
+   */
+  static Map<Class, ContainerDeserializer> compileAll(
+      final Map<Class, ReflectionInformation> reflectionInfo) {
+    final Map<Class, ContainerDeserializer> deserializers = new HashMap<>();
+    for (Class type : reflectionInfo.keySet()) {
+      compile(type, reflectionInfo, deserializers);
+    }
+    return deserializers;
+  }
+
+  private static ContainerDeserializer compile(
+      final Class type,
+      final Map<Class, ReflectionInformation> reflectionInfo,
+      final Map<Class, ContainerDeserializer> deserializers) {
+    final ContainerDeserializer existing = deserializers.get(type);
+    if (existing != null) {
+      return existing;
+    }
+    final ReflectionInformation info = reflectionInfo.get(type);
+    checkArgument(
+        info != null, "Unable to find reflection information for class " + type.getSimpleName());
+    final Field[] fields = info.getFields();
+    final FixedDecoder[] fixedDecoders = new FixedDecoder[info.getParameterCount()];
+    final List<Integer> variableFieldIndices = new ArrayList<>();
+    final List<VariableDecoder> variableDecoders = new ArrayList<>();
+    int vectorCounter = 0;
+    int bitvectorCounter = 0;
+    int listCounter = 0;
+    int bitlistCounter = 0;
+    for (int i = 0; i < fixedDecoders.length; i++) {
+      final Class fieldClass = fields[i].getType();
+      if (isVariable(fieldClass)) {
+        variableFieldIndices.add(i);
+        if (fieldClass == SSZList.class) {
+          variableDecoders.add(
+              listDecoder(
+                  info.getListElementTypes().get(listCounter),
+                  info.getListElementMaxSizes().get(listCounter),
+                  reflectionInfo,
+                  deserializers));
+          listCounter++;
+        } else if (fieldClass == Bitlist.class) {
+          variableDecoders.add(
+              bitlistDecoder(info.getBitlistElementMaxSizes().get(bitlistCounter)));
+          bitlistCounter++;
+        } else if (isContainer(fieldClass)) {
+          final ContainerDeserializer field = compile(fieldClass, reflectionInfo, deserializers);
+          variableDecoders.add(field::decode);
+        } else {
+          variableDecoders.add((reader, pointer, endByte) -> null);
+        }
+      } else if (isPrimitive(fieldClass)) {
+        fixedDecoders[i] = SimpleOffsetSerializer.primitiveDecoder(fieldClass);
+      } else if (isContainer(fieldClass)) {
+        fixedDecoders[i] = fixedContainerDecoder(fieldClass, reflectionInfo, deserializers);
+      } else if (isVector(fieldClass)) {
+        fixedDecoders[i] =
+            vectorDecoder(
+                info.getVectorElementTypes().get(vectorCounter),
+                info.getVectorLengths().get(vectorCounter),
+                reflectionInfo,
+                deserializers);
+        vectorCounter++;
+      } else if (isBitvector(fieldClass)) {
+        final int size = info.getBitvectorSizes().get(bitvectorCounter);
+        final int byteSize = (size + 7) / 8;
+        fixedDecoders[i] =
+            (reader, pointer) -> {
+              pointer.add(byteSize);
+              return Bitvector.fromBytes(reader.readFixedBytes(byteSize), size);
+            };
+        bitvectorCounter++;
+      }
+    }
+    final ContainerDeserializer deserializer =
+        new ContainerDeserializer(
+            createConstructorHandle(info),
+            info.isVariable(),
+            fixedDecoders,
+            variableFieldIndices.stream().mapToInt(Integer::intValue).toArray(),
+            variableDecoders.toArray(new VariableDecoder[0]));
+    deserializers.put(type, deserializer);
+    return deserializer;
+  }
+
+  private static VariableDecoder listDecoder(
+      final Class elementType,
+      final long maxSize,
+      final Map<Class, ReflectionInformation> reflectionInfo,
+      final Map<Class, ContainerDeserializer> deserializers) {
+    if (isVariable(elementType)) {
+      final ContainerDeserializer element = compile(elementType, reflectionInfo, deserializers);
+      return (reader, pointer, endByte) -> {
+        final SSZMutableList list = SSZList.createMutable(elementType, maxSize);
+        element.decodeVariableElements(reader, pointer, endByte, list);
+        return list;
+      };
+    }
+    final FixedDecoder element;
+    if (isContainer(elementType)) {
+      element = fixedContainerDecoder(elementType, reflectionInfo, deserializers);
+    } else if (isPrimitive(elementType)) {
+      element = SimpleOffsetSerializer.primitiveDecoder(elementType);
+    } else {
+      element = null;
+    }
+    return (reader, pointer, endByte) -> {
+      final SSZMutableList list = SSZList.createMutable(elementType, maxSize);
+      if (element != null) {
+        while (pointer.intValue() < endByte) {
+          list.add(element.decode(reader, pointer));
+        }
+      }
+      return list;
+    };
+  }
+
+  private static FixedDecoder fixedContainerDecoder(
+      final Class type,
+      final Map<Class, ReflectionInformation> reflectionInfo,
+      final Map<Class, ContainerDeserializer> deserializers) {
+    if (!reflectionInfo.containsKey(type)) {
+      // Fail when the type is actually encountered, as the reflective implementation did
+      return (reader, pointer) -> {
+        throw new IllegalArgumentException(
+            "Unable to find reflection information for class " + type.getSimpleName());
+      };
+    }
+    return compile(type, reflectionInfo, deserializers)::decodeFixed;
+  }
+
+  private static VariableDecoder bitlistDecoder(final long maxSize) {
+    return (reader, pointer, endByte) -> {
+      final int numBytesToRead = endByte - pointer.intValue();
+      pointer.add(numBytesToRead);
+      return Bitlist.fromBytes(reader.readFixedBytes(numBytesToRead), maxSize);
+    };
+  }
+
+  private static FixedDecoder vectorDecoder(
+      final Class elementType,
+      final int length,
+      final Map<Class, ReflectionInformation> reflectionInfo,
+      final Map<Class, ContainerDeserializer> deserializers) {
+    final FixedDecoder element;
+    if (isPrimitive(elementType)) {
+      element = SimpleOffsetSerializer.primitiveDecoder(elementType);
+    } else if (isContainer(elementType) && !isVariable(elementType)) {
+      element = fixedContainerDecoder(elementType, reflectionInfo, deserializers);
+    } else {
+      element = null;
+    }
+    return (reader, pointer) -> {
+      final List elements = new ArrayList<>(length);
+      if (element != null) {
+        for (int i = 0; i < length; i++) {
+          elements.add(element.decode(reader, pointer));
+        }
+      }
+      return SSZVector.createMutable(elements, elementType);
+    };
+  }
+
+  private static MethodHandle createConstructorHandle(final ReflectionInformation info) {
+    try {
+      return MethodHandles.publicLookup()
+          .unreflectConstructor(info.getConstructor())
+          .asSpreader(Object[].class, info.getParameterCount())
+          .asType(MethodType.methodType(Object.class, Object[].class));
+    } catch (final IllegalAccessException e) {
+      throw new IllegalStateException(
+          "Unable to access SSZ constructor for " + info.getClassInfo().getSimpleName(), e);
+    }
+  }
+
+  private static boolean isContainer(final Class type) {
+    return SSZContainer.class.isAssignableFrom(type);
+  }
+
+  Object decodeFixed(final SSZReader reader, final MutableInt pointer)
+      throws InstantiationException, InvocationTargetException {
+    // The end byte is only necessary for variable size containers
+    return decode(reader, pointer, 0);
+  }
+
+  Object decode(final SSZReader reader, final MutableInt pointer, final int endByte)
+      throws InstantiationException, InvocationTargetException {
+    final int startByte = pointer.intValue();
+    final Object[] params = new Object[fixedDecoders.length];
+    final int[] offsets = new int[variableFieldIndices.length];
+    int variableFieldCount = 0;
+    for (int i = 0; i < fixedDecoders.length; i++) {
+      if (variableFieldCount < variableFieldIndices.length
+          && variableFieldIndices[variableFieldCount] == i) {
+        offsets[variableFieldCount++] = readOffset(reader, pointer);
+      } else if (fixedDecoders[i] != null) {
+        params[i] = fixedDecoders[i].decode(reader, pointer);
+      }
+    }
+
+    if (variable) {
+      for (int i = 0; i < variableFieldIndices.length; i++) {
+        final int fieldEndByte =
+            i + 1 == variableFieldIndices.length ? endByte : startByte + offsets[i + 1];
+        params[variableFieldIndices[i]] = variableDecoders[i].decode(reader, pointer, fieldEndByte);
+      }
+    }
+
+    for (int i = 0; i < params.length; i++) {
+      if (params[i] == null) {
+        throw new InstantiationException("Parameter is null: " + i);
+      }
+    }
+    try {
+      return constructor.invokeExact(params);
+    } catch (final Throwable t) {
+      // Match the exception reflective Constructor.newInstance would have thrown
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  private void decodeVariableElements(
+      final SSZReader reader,
+      final MutableInt pointer,
+      final int endByte,
+      final SSZMutableList list)
+      throws InstantiationException, InvocationTargetException {
+    final int startByte = pointer.intValue();
+    if (startByte == endByte) {
+      return;
+    }
+
+    final List<Integer> offsets = new ArrayList<>();
+    final int variablePartStartByte = startByte + readOffset(reader, pointer);
+    offsets.add(variablePartStartByte);
+    while (pointer.intValue() < variablePartStartByte) {
+      offsets.add(readOffset(reader, pointer));
+    }
+
+    for (int i = 0; i < offsets.size(); i++) {
+      // Get the end byte of current variable size container either using offset
+      // or the end of the outer object you're in
+      final int elementEndByte =
+          (i + 1) == offsets.size() ? endByte : startByte + offsets.get(i + 1);
+      list.add(decode(reader, pointer, elementEndByte));
+    }
+  }
+
+  private static int readOffset(final SSZReader reader, final MutableInt pointer) {
+    pointer.add(4);
+    return reader.readInt32();
+  }
+
+  @FunctionalInterface
+  interface FixedDecoder {
+    Object decode(SSZReader reader, MutableInt pointer)
+        throws InstantiationException, InvocationTargetException;
+  }
+
+  @FunctionalInterface
+  private interface VariableDecoder {
+    Object decode(SSZReader reader, MutableInt pointer, int endByte)
+        throws InstantiationException, InvocationTargetException;
+  }
+}
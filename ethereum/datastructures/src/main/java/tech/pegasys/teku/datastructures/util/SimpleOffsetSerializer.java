@@ -18,16 +18,17 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static tech.pegasys.teku.util.config.Constants.BYTES_PER_LENGTH_OFFSET;
 
 import com.google.common.primitives.UnsignedLong;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.mutable.MutableInt;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.ssz.SSZ;
@@ -68,23 +69,25 @@ import tech.pegasys.teku.datastructures.state.HistoricalBatch;
 import tech.pegasys.teku.datastructures.state.PendingAttestation;
 import tech.pegasys.teku.datastructures.state.SigningData;
 import tech.pegasys.teku.datastructures.state.Validator;
+import tech.pegasys.teku.datastructures.util.ContainerDeserializer.FixedDecoder;
 import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
 import tech.pegasys.teku.ssz.SSZTypes.Bitvector;
 import tech.pegasys.teku.ssz.SSZTypes.Bytes4;
 import tech.pegasys.teku.ssz.SSZTypes.SSZContainer;
 import tech.pegasys.teku.ssz.SSZTypes.SSZList;
-import tech.pegasys.teku.ssz.SSZTypes.SSZMutableList;
 import tech.pegasys.teku.ssz.SSZTypes.SSZVector;
 import tech.pegasys.teku.ssz.sos.ReflectionInformation;
 import tech.pegasys.teku.ssz.sos.SimpleOffsetSerializable;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class SimpleOffsetSerializer {
+  private static final Logger LOG = LogManager.getLogger();
 
   static final int UNSIGNED_LONG_SIZE = 8;
   static final int BOOLEAN_SIZE = 1;
   public static HashMap<Class, ReflectionInformation> classReflectionInfo = new HashMap<>();
   public static HashMap<Class, LengthBounds> classLengthBounds = new HashMap<>();
+  private static volatile Map<Class, ContainerDeserializer> classDeserializers = Map.of();
 
   public static void setConstants() {
     List<Class> classes =
@@ -131,6 +134,8 @@ public class SimpleOffsetSerializer {
     for (Class classItem : classes) {
       classLengthBounds.put(classItem, LengthBoundCalculator.calculateLengthBounds(classItem));
     }
+
+    classDeserializers = ContainerDeserializer.compileAll(classReflectionInfo);
   }
 
   static {
@@ -238,236 +243,19 @@ public class SimpleOffsetSerializer {
   private static <T> T deserializeContainerErrorWrapper(
       Class<T> classInfo, SSZReader reader, MutableInt bytePointer, int bytesEndByte) {
     try {
-      return deserializeContainer(classInfo, reader, bytePointer, bytesEndByte);
-    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-      System.out.println(
-          "Deserialization error with class: "
-              + classInfo.getSimpleName()
-              + "\n Error: "
-              + e.toString());
+      return (T) getRequiredDeserializer(classInfo).decode(reader, bytePointer, bytesEndByte);
+    } catch (InstantiationException | InvocationTargetException e) {
+      LOG.debug("Deserialization error with class: {}", classInfo.getSimpleName(), e);
     }
     return null;
   }
 
-  private static <T> T deserializeContainer(
-      Class<T> classInfo, SSZReader reader, MutableInt bytesPointer, int bytesEndByte)
-      throws InstantiationException, IllegalAccessException, InvocationTargetException {
-    int currentObjectStartByte = bytesPointer.intValue();
-    ReflectionInformation reflectionInformation = getRequiredReflectionInfo(classInfo);
-    List<Integer> offsets = new ArrayList<>();
-    List<Integer> variableFieldIndices = new ArrayList<>();
-
-    Object[] params =
-        deserializeFixedParts(
-            reflectionInformation, reader, bytesPointer, offsets, variableFieldIndices);
-
-    if (isVariable(classInfo)) {
-      deserializeVariableParts(
-          reflectionInformation,
-          reader,
-          bytesPointer,
-          variableFieldIndices,
-          offsets,
-          currentObjectStartByte,
-          params,
-          bytesEndByte);
-    }
-
-    for (int i = 0; i < params.length; i++) {
-      if (params[i] == null) {
-        throw new InstantiationException("Parameter is null: " + i);
-      }
-    }
-    Constructor constructor = reflectionInformation.getConstructor();
-    return (T) constructor.newInstance(params);
-  }
-
-  private static <T> T deserializeFixedContainer(
-      Class<T> classInfo, SSZReader reader, MutableInt bytePointer)
-      throws InstantiationException, InvocationTargetException, IllegalAccessException {
-    // bytesEndByte is only necessary for variable size containers
-    return deserializeContainer(classInfo, reader, bytePointer, 0);
-  }
-
-  private static Object[] deserializeFixedParts(
-      ReflectionInformation reflectionInformation,
-      SSZReader reader,
-      MutableInt bytesPointer,
-      List<Integer> offsets,
-      List<Integer> variableFieldIndices)
-      throws InstantiationException, InvocationTargetException, IllegalAccessException {
-
-    int numParams = reflectionInformation.getParameterCount();
-    Field[] fields = reflectionInformation.getFields();
-    Object[] params = new Object[numParams];
-    int vectorCounter = 0;
-    int bitvectorCounter = 0;
-
-    for (int i = 0; i < numParams; i++) {
-      Class fieldClass = fields[i].getType();
-      Object fieldObject = null;
-      if (isVariable(fieldClass)) {
-        variableFieldIndices.add(i);
-        offsets.add(readOffset(reader, bytesPointer));
-      } else if (isPrimitive(fieldClass)) {
-        fieldObject = deserializePrimitive(fieldClass, reader, bytesPointer);
-      } else if (isContainer(fieldClass)) {
-        fieldObject = deserializeFixedContainer(fieldClass, reader, bytesPointer);
-      } else if (isVector(fieldClass)) {
-        fieldObject =
-            deserializeFixedElementVector(
-                reflectionInformation.getVectorElementTypes().get(vectorCounter),
-                reflectionInformation.getVectorLengths().get(vectorCounter),
-                reader,
-                bytesPointer);
-        vectorCounter++;
-      } else if (isBitvector(fieldClass)) {
-        fieldObject =
-            deserializeBitvector(
-                reflectionInformation.getBitvectorSizes().get(bitvectorCounter),
-                reader,
-                bytesPointer);
-        bitvectorCounter++;
-      }
-      params[i] = fieldObject;
-    }
-    return params;
-  }
-
-  private static void deserializeVariableParts(
-      ReflectionInformation reflectionInformation,
-      SSZReader reader,
-      MutableInt bytesPointer,
-      List<Integer> variableFieldIndices,
-      List<Integer> offsets,
-      int currentObjectStartByte,
-      Object[] params,
-      int bytesEndByte)
-      throws InstantiationException, InvocationTargetException, IllegalAccessException {
-
-    int variableObjectCounter = 0;
-    int bitlistCounter = 0;
-    int sszListCounter = 0;
-    for (Integer variableFieldIndex : variableFieldIndices) {
-      Class fieldClass = reflectionInformation.getFields()[variableFieldIndex].getType();
-
-      int currentObjectEndByte =
-          (variableObjectCounter + 1) == variableFieldIndices.size()
-              ? bytesEndByte
-              : currentObjectStartByte + offsets.get(variableObjectCounter + 1);
-      Object fieldObject = null;
-      if (fieldClass == SSZList.class) {
-        Class listElementType = reflectionInformation.getListElementTypes().get(sszListCounter);
-        Long listElementMaxSize =
-            reflectionInformation.getListElementMaxSizes().get(sszListCounter);
-        SSZMutableList newSSZList = SSZList.createMutable(listElementType, listElementMaxSize);
-        if (!isVariable(listElementType)) {
-          // If SSZList element is fixed size
-          deserializeFixedElementList(
-              reader, bytesPointer, listElementType, currentObjectEndByte, newSSZList);
-
-        } else {
-          // If SSZList element is variable size
-          deserializeVariableElementList(
-              reader, bytesPointer, listElementType, currentObjectEndByte, newSSZList);
-        }
-        sszListCounter++;
-        fieldObject = newSSZList;
-      } else if (fieldClass == Bitlist.class) {
-        fieldObject =
-            deserializeBitlist(
-                reflectionInformation, reader, bytesPointer, bitlistCounter, currentObjectEndByte);
-        bitlistCounter++;
-
-      } else if (isContainer(fieldClass)) {
-        fieldObject = deserializeContainer(fieldClass, reader, bytesPointer, currentObjectEndByte);
-      }
-      variableObjectCounter++;
-      params[variableFieldIndex] = fieldObject;
-    }
-  }
-
-  private static Bitvector deserializeBitvector(
-      int bitvectorSize, SSZReader reader, MutableInt bytesPointer) {
-    int bitvectorByteSize = (bitvectorSize + 7) / 8;
-    bytesPointer.add(bitvectorByteSize);
-    return Bitvector.fromBytes(reader.readFixedBytes(bitvectorByteSize), bitvectorSize);
-  }
-
-  private static Bitlist deserializeBitlist(
-      ReflectionInformation reflectionInformation,
-      SSZReader reader,
-      MutableInt bytesPointer,
-      int variableObjectCounter,
-      int currentObjectEndByte) {
-    Long bitlistElementMaxSize =
-        reflectionInformation.getBitlistElementMaxSizes().get(variableObjectCounter);
-    int numBytesToRead = currentObjectEndByte - bytesPointer.intValue();
-    bytesPointer.add(numBytesToRead);
-    return Bitlist.fromBytes(reader.readFixedBytes(numBytesToRead), bitlistElementMaxSize);
-  }
-
-  private static void deserializeVariableElementList(
-      SSZReader reader,
-      MutableInt bytesPointer,
-      Class listElementType,
-      int bytesEndByte,
-      SSZMutableList newSSZList)
-      throws InstantiationException, InvocationTargetException, IllegalAccessException {
-
-    int currentObjectStartByte = bytesPointer.intValue();
-
-    if (currentObjectStartByte == bytesEndByte) {
-      return;
-    }
-
-    List<Integer> offsets = new ArrayList<>();
-
-    int variablePartStartByte = currentObjectStartByte + readOffset(reader, bytesPointer);
-    offsets.add(variablePartStartByte);
-
-    while (bytesPointer.intValue() < variablePartStartByte) {
-      offsets.add(readOffset(reader, bytesPointer));
-    }
-
-    for (int i = 0; i < offsets.size(); i++) {
-      // Get the end byte of current variable size container either using offset
-      // or the end of the outer object you're in
-      int currentObjectEndByte =
-          (i + 1) == offsets.size() ? bytesEndByte : currentObjectStartByte + offsets.get(i + 1);
-      newSSZList.add(
-          deserializeContainer(listElementType, reader, bytesPointer, currentObjectEndByte));
-    }
-  }
-
-  private static void deserializeFixedElementList(
-      SSZReader reader,
-      MutableInt bytesPointer,
-      Class listElementType,
-      int currentObjectEndByte,
-      SSZMutableList newSSZList)
-      throws InstantiationException, InvocationTargetException, IllegalAccessException {
-    while (bytesPointer.intValue() < currentObjectEndByte) {
-      if (isContainer(listElementType)) {
-        newSSZList.add(deserializeFixedContainer(listElementType, reader, bytesPointer));
-      } else if (isPrimitive(listElementType)) {
-        newSSZList.add(deserializePrimitive(listElementType, reader, bytesPointer));
-      }
-    }
-  }
-
-  private static SSZVector deserializeFixedElementVector(
-      Class classInfo, int numElements, SSZReader reader, MutableInt bytePointer)
-      throws InstantiationException, InvocationTargetException, IllegalAccessException {
-    List newList = new ArrayList<>();
-    for (int i = 0; i < numElements; i++) {
-      if (isPrimitive(classInfo)) {
-        newList.add(deserializePrimitive(classInfo, reader, bytePointer));
-      } else if (isContainer(classInfo) && !getRequiredReflectionInfo(classInfo).isVariable()) {
-        newList.add(deserializeFixedContainer(classInfo, reader, bytePointer));
-      }
-    }
-    return SSZVector.createMutable(newList, classInfo);
+  private static ContainerDeserializer getRequiredDeserializer(Class classInfo) {
+    final ContainerDeserializer deserializer = classDeserializers.get(classInfo);
+    checkArgument(
+        deserializer != null,
+        "Unable to find reflection information for class " + classInfo.getSimpleName());
+    return deserializer;
   }
 
   static ReflectionInformation getRequiredReflectionInfo(Class classInfo) {
@@ -484,38 +272,58 @@ public class SimpleOffsetSerializer {
 
   private static Object deserializePrimitive(
       Class classInfo, SSZReader reader, MutableInt bytePointer) {
+    try {
+      return primitiveDecoder(classInfo).decode(reader, bytePointer);
+    } catch (InstantiationException | InvocationTargetException e) {
+      // Primitive decoders never create containers
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static FixedDecoder primitiveDecoder(Class classInfo) {
     switch (classInfo.getSimpleName()) {
       case "UnsignedLong":
-        bytePointer.add(UNSIGNED_LONG_SIZE);
-        return UnsignedLong.fromLongBits(reader.readUInt64());
+        return (reader, bytePointer) -> {
+          bytePointer.add(UNSIGNED_LONG_SIZE);
+          return UnsignedLong.fromLongBits(reader.readUInt64());
+        };
       case "ArrayWrappingBytes32":
       case "Bytes32":
-        bytePointer.add(Bytes32.SIZE);
-        return Bytes32.wrap(reader.readFixedBytes(Bytes32.SIZE));
+        return (reader, bytePointer) -> {
+          bytePointer.add(Bytes32.SIZE);
+          return Bytes32.wrap(reader.readFixedBytes(Bytes32.SIZE));
+        };
       case "Bytes4":
-        bytePointer.add(Bytes4.SIZE);
-        return new Bytes4(reader.readFixedBytes(Bytes4.SIZE));
+        return (reader, bytePointer) -> {
+          bytePointer.add(Bytes4.SIZE);
+          return new Bytes4(reader.readFixedBytes(Bytes4.SIZE));
+        };
       case "BLSSignature":
-        bytePointer.add(BLSSignature.SSZ_BLS_SIGNATURE_SIZE);
-        return BLSSignature.fromSSZBytes(
-            reader.readFixedBytes(BLSSignature.SSZ_BLS_SIGNATURE_SIZE));
+        return (reader, bytePointer) -> {
+          bytePointer.add(BLSSignature.SSZ_BLS_SIGNATURE_SIZE);
+          return BLSSignature.fromSSZBytes(
+              reader.readFixedBytes(BLSSignature.SSZ_BLS_SIGNATURE_SIZE));
+        };
       case "BLSPublicKey":
-        bytePointer.add(BLSPublicKey.SSZ_BLS_PUBKEY_SIZE);
-        return BLSPublicKey.fromSSZBytes(reader.readFixedBytes(BLSPublicKey.SSZ_BLS_PUBKEY_SIZE));
+        return (reader, bytePointer) -> {
+          bytePointer.add(BLSPublicKey.SSZ_BLS_PUBKEY_SIZE);
+          return BLSPublicKey.fromSSZBytes(
+              reader.readFixedBytes(BLSPublicKey.SSZ_BLS_PUBKEY_SIZE));
+        };
       case "Boolean":
       case "boolean":
-        bytePointer.add(BOOLEAN_SIZE);
-        return reader.readBoolean();
+        return (reader, bytePointer) -> {
+          bytePointer.add(BOOLEAN_SIZE);
+          return reader.readBoolean();
+        };
       default:
-        throw new IllegalArgumentException("Unable to deserialize " + classInfo.getSimpleName());
+        return (reader, bytePointer) -> {
+          throw new IllegalArgumentException(
+              "Unable to deserialize " + classInfo.getSimpleName());
+        };
     }
   }
 
-  private static int readOffset(SSZReader reader, MutableInt bytesPointer) {
-    bytesPointer.add(4);
-    return reader.readInt32();
-  }
-
   static boolean isVariable(Class classInfo) {
     if (classInfo == SSZList.class || classInfo == Bitlist.class) {
       return true;
@@ -540,8 +348,4 @@ public class SimpleOffsetSerializer {
   static boolean isBitvector(Class classInfo) {
     return classInfo == Bitvector.class;
   }
-
-  private static boolean isContainer(Class classInfo) {
-    return SSZContainer.class.isAssignableFrom(classInfo);
-  }
 }
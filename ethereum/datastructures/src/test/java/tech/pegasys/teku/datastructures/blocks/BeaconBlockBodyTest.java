@@ -202,4 +202,36 @@ class BeaconBlockBodyTest {
             SimpleOffsetSerializer.serialize(beaconBlockBody), BeaconBlockBody.class);
     assertEquals(beaconBlockBody, newBeaconBlockBody);
   }
+
+  @Test
+  void hashTreeRootUpdatesWhenListIsModifiedInPlace() {
+    final Bytes32 originalRoot = beaconBlockBody.hash_tree_root();
+
+    attestations.add(dataStructureUtil.randomAttestation());
+
+    assertNotEquals(originalRoot, beaconBlockBody.hash_tree_root());
+    assertEquals(createBeaconBlockBody().hash_tree_root(), beaconBlockBody.hash_tree_root());
+  }
+
+  @Test
+  void hashTreeRootUpdatesWhenListElementIsModifiedInPlace() {
+    final Bytes32 originalRoot = beaconBlockBody.hash_tree_root();
+
+    attestations.get(0).setAggregate_signature(dataStructureUtil.randomSignature());
+
+    assertNotEquals(originalRoot, beaconBlockBody.hash_tree_root());
+    assertEquals(createBeaconBlockBody().hash_tree_root(), beaconBlockBody.hash_tree_root());
+  }
+
+  private BeaconBlockBody createBeaconBlockBody() {
+    return new BeaconBlockBody(
+        blsSignature,
+        eth1Data,
+        graffiti,
+        proposerSlashings,
+        attesterSlashings,
+        attestations,
+        deposits,
+        voluntaryExits);
+  }
 }
@@ -108,4 +108,20 @@ class BeaconBlockTest {
     final BeaconBlock result = SimpleOffsetSerializer.deserialize(ssz, BeaconBlock.class);
     assertThat(result).isEqualTo(beaconBlock);
   }
+
+  @Test
+  void hashTreeRoot_shouldUpdateWhenStateRootChanges() {
+    final BeaconBlock block =
+        new BeaconBlock(slot, proposer_index, previous_root, state_root, body);
+    final Bytes32 originalRoot = block.hash_tree_root();
+    final Bytes32 newStateRoot = dataStructureUtil.randomBytes32();
+
+    block.setState_root(newStateRoot);
+
+    assertThat(block.hash_tree_root()).isNotEqualTo(originalRoot);
+    assertThat(block.hash_tree_root())
+        .isEqualTo(
+            new BeaconBlock(slot, proposer_index, previous_root, newStateRoot, body)
+                .hash_tree_root());
+  }
 }
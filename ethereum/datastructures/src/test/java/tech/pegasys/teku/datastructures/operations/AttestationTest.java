@@ -26,6 +26,7 @@ import tech.pegasys.teku.datastructures.state.Checkpoint;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
 import tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
+import tech.pegasys.teku.util.config.Constants;
 
 class AttestationTest {
   private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
@@ -128,4 +129,29 @@ class AttestationTest {
             SimpleOffsetSerializer.serialize(attestation), Attestation.class);
     assertEquals(attestation, newAttestation);
   }
+
+  @Test
+  void hashTreeRoot_shouldUpdateWhenAggregationBitsAreModified() {
+    final Bitlist bits = new Bitlist(10, Constants.MAX_VALIDATORS_PER_COMMITTEE);
+    final Attestation attestation = new Attestation(bits, data, aggregateSignature);
+    final Bytes32 originalRoot = attestation.hash_tree_root();
+
+    bits.setBit(3);
+
+    assertThat(attestation.hash_tree_root()).isNotEqualTo(originalRoot);
+    assertThat(attestation.hash_tree_root())
+        .isEqualTo(new Attestation(bits.copy(), data, aggregateSignature).hash_tree_root());
+  }
+
+  @Test
+  void hashTreeRoot_shouldUpdateWhenSignatureIsReplaced() {
+    final Bytes32 originalRoot = attestation.hash_tree_root();
+    final BLSSignature newSignature = dataStructureUtil.randomSignature();
+
+    attestation.setAggregate_signature(newSignature);
+
+    assertThat(attestation.hash_tree_root()).isNotEqualTo(originalRoot);
+    assertThat(attestation.hash_tree_root())
+        .isEqualTo(new Attestation(aggregationBitfield, data, newSignature).hash_tree_root());
+  }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+
+package tech.pegasys.teku.datastructures.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.datastructures.blocks.BeaconBlockBody;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.datastructures.operations.Attestation;
+import tech.pegasys.teku.datastructures.operations.AttesterSlashing;
+import tech.pegasys.teku.datastructures.operations.IndexedAttestation;
+import tech.pegasys.teku.datastructures.state.Checkpoint;
+import tech.pegasys.teku.ssz.sos.SimpleOffsetSerializable;
+
+class ContainerDeserializerTest {
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+
+  @Test
+  public void shouldRoundTripFixedSizeContainer() {
+    assertRoundTrip(dataStructureUtil.randomCheckpoint(), Checkpoint.class);
+  }
+
+  @Test
+  public void shouldRoundTripContainerWithBitlist() {
+    assertRoundTrip(dataStructureUtil.randomAttestation(), Attestation.class);
+  }
+
+  @Test
+  public void shouldRoundTripContainerWithListOfPrimitives() {
+    assertRoundTrip(dataStructureUtil.randomIndexedAttestation(), IndexedAttestation.class);
+  }
+
+  @Test
+  public void shouldRoundTripContainerWithVariableSizeContainers() {
+    assertRoundTrip(dataStructureUtil.randomAttesterSlashing(), AttesterSlashing.class);
+  }
+
+  @Test
+  public void shouldRoundTripContainerWithListsOfVariableSizeContainers() {
+    final BeaconBlockBody body = dataStructureUtil.randomFullBeaconBlockBody();
+    final BeaconBlockBody result = assertRoundTrip(body, BeaconBlockBody.class);
+
+    assertThat(result.getAttester_slashings().getMaxSize())
+        .isEqualTo(body.getAttester_slashings().getMaxSize());
+    assertThat(result.getAttestations().getMaxSize())
+        .isEqualTo(body.getAttestations().getMaxSize());
+  }
+
+  @Test
+  public void shouldRoundTripContainerWithEmptyLists() {
+    assertRoundTrip(new BeaconBlockBody(), BeaconBlockBody.class);
+  }
+
+  @Test
+  public void shouldRoundTripNestedVariableSizeContainer() {
+    assertRoundTrip(
+        dataStructureUtil.randomSignedBeaconBlock(1, dataStructureUtil.randomBytes32(), true),
+        SignedBeaconBlock.class);
+  }
+
+  private <T extends SimpleOffsetSerializable> T assertRoundTrip(
+      final T original, final Class<T> type) {
+    final Bytes data = SimpleOffsetSerializer.serialize(original);
+    final T result = SimpleOffsetSerializer.deserialize(data, type);
+    assertThat(result).isEqualTo(original);
+    assertThat(SimpleOffsetSerializer.serialize(result)).isEqualTo(data);
+    return result;
+  }
+}
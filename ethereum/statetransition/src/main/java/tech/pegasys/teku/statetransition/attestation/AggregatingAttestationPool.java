@@ -18,16 +18,17 @@ import static tech.pegasys.teku.util.config.Constants.SLOTS_PER_EPOCH;
 
 import com.google.common.primitives.UnsignedLong;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.core.operationvalidators.AttestationDataStateTransitionValidator;
 import tech.pegasys.teku.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.datastructures.blocks.BeaconBlockBodyLists;
@@ -36,87 +37,107 @@ import tech.pegasys.teku.datastructures.operations.AttestationData;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.ssz.SSZTypes.SSZList;
 import tech.pegasys.teku.ssz.SSZTypes.SSZMutableList;
+import tech.pegasys.teku.util.time.TimeProvider;
 import tech.pegasys.teku.util.time.channels.SlotEventsChannel;
 
 /**
  * Maintains a pool of attestations. Attestations can be retrieved either for inclusion in a block
  * or as an aggregate to publish as part of the naive attestation aggregation algorithm. In both
  * cases the returned attestations are aggregated to maximise the number of validators that can be
- * included.
+ * included. Attestations for blocks are chosen by {@link AttestationPacker} to credit as many new
+ * validators as possible.
+ *
+ * <p>There is no pool-wide lock. Attestations are grouped by data root and each {@link
+ * MatchingDataAttestationGroup} is only created, modified or discarded while the map entry for its
+ * data root is locked, so gossip for different attestation data never contends. Reads work on
+ * snapshots of each group's aggregates so block production and aggregation duties never block
+ * incoming attestations.
  */
 public class AggregatingAttestationPool implements SlotEventsChannel {
 
-  private final Map<Bytes, MatchingDataAttestationGroup> attestationGroupByDataHash =
-      new HashMap<>();
-  private final NavigableMap<UnsignedLong, Set<Bytes>> dataHashBySlot = new TreeMap<>();
+  private final ConcurrentMap<Bytes, MatchingDataAttestationGroup> attestationGroupByDataHash =
+      new ConcurrentHashMap<>();
+  private final ConcurrentNavigableMap<UnsignedLong, Set<Bytes>> dataHashBySlot =
+      new ConcurrentSkipListMap<>();
   private final AttestationDataStateTransitionValidator attestationDataValidator;
+  private final AttestationPacker attestationPacker;
 
   public AggregatingAttestationPool(
-      final AttestationDataStateTransitionValidator attestationDataValidator) {
+      final AttestationDataStateTransitionValidator attestationDataValidator,
+      final MetricsSystem metricsSystem,
+      final TimeProvider timeProvider) {
     this.attestationDataValidator = attestationDataValidator;
+    this.attestationPacker =
+        new AttestationPacker(
+            metricsSystem, timeProvider, AttestationPacker.DEFAULT_TIME_BUDGET_MILLIS);
   }
 
-  public synchronized void add(final ValidateableAttestation attestation) {
+  public void add(final ValidateableAttestation attestation) {
     final AttestationData attestationData = attestation.getAttestation().getData();
     final Bytes32 dataRoot = attestationData.hash_tree_root();
-    attestationGroupByDataHash
-        .computeIfAbsent(dataRoot, key -> new MatchingDataAttestationGroup(attestationData))
-        .add(attestation);
-
-    dataHashBySlot
-        .computeIfAbsent(attestationData.getSlot(), slot -> new HashSet<>())
-        .add(dataRoot);
+    attestationGroupByDataHash.compute(
+        dataRoot,
+        (key, group) -> {
+          final MatchingDataAttestationGroup updatedGroup;
+          if (group == null) {
+            updatedGroup = new MatchingDataAttestationGroup(attestationData);
+            dataHashBySlot
+                .computeIfAbsent(attestationData.getSlot(), slot -> ConcurrentHashMap.newKeySet())
+                .add(dataRoot);
+          } else {
+            updatedGroup = group;
+          }
+          updatedGroup.add(attestation);
+          return updatedGroup;
+        });
   }
 
   @Override
-  public synchronized void onSlot(final UnsignedLong slot) {
+  public void onSlot(final UnsignedLong slot) {
     final UnsignedLong attestationRetentionSlots =
         UnsignedLong.valueOf(SLOTS_PER_EPOCH * ATTESTATION_RETENTION_EPOCHS);
     if (slot.compareTo(attestationRetentionSlots) <= 0) {
       return;
     }
     final UnsignedLong firstValidAttestationSlot = slot.minus(attestationRetentionSlots);
-    final Collection<Set<Bytes>> dataHashesToRemove =
-        dataHashBySlot.headMap(firstValidAttestationSlot, false).values();
-    dataHashesToRemove.stream().flatMap(Set::stream).forEach(attestationGroupByDataHash::remove);
-    dataHashesToRemove.clear();
+    dataHashBySlot.headMap(firstValidAttestationSlot, false).clear();
+    // Check the groups directly so any added for an old slot while pruning are still removed
+    attestationGroupByDataHash
+        .values()
+        .removeIf(
+            group -> group.getAttestationData().getSlot().compareTo(firstValidAttestationSlot) < 0);
   }
 
-  public synchronized void remove(final Attestation attestation) {
+  public void remove(final Attestation attestation) {
     final AttestationData attestationData = attestation.getData();
     final Bytes32 dataRoot = attestationData.hash_tree_root();
-    final MatchingDataAttestationGroup attestations = attestationGroupByDataHash.get(dataRoot);
-    if (attestations == null) {
-      return;
-    }
-    attestations.remove(attestation);
-    if (attestations.isEmpty()) {
-      attestationGroupByDataHash.remove(dataRoot);
-      removeFromSlotMappings(attestationData.getSlot(), dataRoot);
-    }
-  }
-
-  private void removeFromSlotMappings(final UnsignedLong slot, final Bytes32 dataRoot) {
-    final Set<Bytes> dataHashesForSlot = dataHashBySlot.get(slot);
-    if (dataHashesForSlot != null) {
-      dataHashesForSlot.remove(dataRoot);
-      if (dataHashesForSlot.isEmpty()) {
-        dataHashBySlot.remove(slot);
-      }
-    }
+    attestationGroupByDataHash.computeIfPresent(
+        dataRoot,
+        (key, group) -> {
+          group.remove(attestation);
+          if (!group.isEmpty()) {
+            return group;
+          }
+          // Empty slot entries are left in place and dropped when the slot is pruned
+          final Set<Bytes> dataHashesForSlot = dataHashBySlot.get(attestationData.getSlot());
+          if (dataHashesForSlot != null) {
+            dataHashesForSlot.remove(dataRoot);
+          }
+          return null;
+        });
   }
 
-  public synchronized SSZList<Attestation> getAttestationsForBlock(
-      final BeaconState stateAtBlockSlot) {
+  public SSZList<Attestation> getAttestationsForBlock(final BeaconState stateAtBlockSlot) {
     final SSZMutableList<Attestation> attestations = BeaconBlockBodyLists.createAttestations();
-    dataHashBySlot.descendingMap().values().stream()
-        .flatMap(Collection::stream)
-        .map(attestationGroupByDataHash::get)
-        .filter(Objects::nonNull)
-        .filter(group -> isValid(stateAtBlockSlot, group.getAttestationData()))
-        .flatMap(MatchingDataAttestationGroup::stream)
-        .limit(attestations.getMaxSize())
-        .map(ValidateableAttestation::getAttestation)
+    final Stream<ValidateableAttestation> candidates =
+        dataHashBySlot.descendingMap().values().stream()
+            .flatMap(Collection::stream)
+            .map(attestationGroupByDataHash::get)
+            .filter(Objects::nonNull)
+            .filter(group -> isValid(stateAtBlockSlot, group.getAttestationData()))
+            .flatMap(MatchingDataAttestationGroup::stream);
+    attestationPacker
+        .pack(stateAtBlockSlot, candidates, Math.toIntExact(attestations.getMaxSize()))
         .forEach(attestations::add);
     return attestations;
   }
@@ -126,7 +147,7 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
     return attestationDataValidator.validate(stateAtBlockSlot, attestationData).isEmpty();
   }
 
-  public synchronized Optional<ValidateableAttestation> createAggregateFor(
+  public Optional<ValidateableAttestation> createAggregateFor(
       final Bytes32 attestationHashTreeRoot) {
     return Optional.ofNullable(attestationGroupByDataHash.get(attestationHashTreeRoot))
         .flatMap(attestations -> attestations.stream().findFirst());
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.attestation;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import tech.pegasys.teku.datastructures.attestation.ValidateableAttestation;
+import tech.pegasys.teku.datastructures.operations.Attestation;
+import tech.pegasys.teku.datastructures.operations.AttestationData;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.PendingAttestation;
+import tech.pegasys.teku.metrics.TekuMetricCategory;
+import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
+import tech.pegasys.teku.util.time.TimeProvider;
+
+/**
+ * Chooses which attestations to include in a block so that as many validators as possible are
+ * credited.
+ *
+ * <p>Each candidate is scored by the number of validators in its committee which aren't already
+ * credited by a {@link PendingAttestation} in the state or by a candidate already selected for the
+ * block. Candidates are selected greedily by score, which is the standard approximation for
+ * maximum coverage. Scores can only decrease as more validators are credited so they are
+ * recalculated lazily, only when a candidate reaches the top of the queue. Candidates which would
+ * credit no new validators are never included.
+ *
+ * <p>If the time budget is exhausted, the remaining slots are filled with candidates in the order
+ * they were supplied.
+ */
+class AttestationPacker {
+  static final long DEFAULT_TIME_BUDGET_MILLIS = 100;
+
+  private final TimeProvider timeProvider;
+  private final long timeBudgetMillis;
+  private final Counter includedAttestationsCounter;
+  private final Counter creditedValidatorsCounter;
+  private final Counter timeBudgetExceededCounter;
+
+  AttestationPacker(
+      final MetricsSystem metricsSystem,
+      final TimeProvider timeProvider,
+      final long timeBudgetMillis) {
+    this.timeProvider = timeProvider;
+    this.timeBudgetMillis = timeBudgetMillis;
+    includedAttestationsCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "block_production_attestations_total",
+            "Number of attestations included in produced blocks");
+    creditedValidatorsCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "block_production_credited_attesters_total",
+            "Number of validators first credited with an attestation by produced blocks");
+    timeBudgetExceededCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "block_production_attestation_packing_timeouts_total",
+            "Number of times attestation packing exceeded its time budget");
+  }
+
+  /**
+   * Selects the attestations to include in a block.
+   *
+   * @param stateAtBlockSlot the state the block will be applied to
+   * @param candidates the valid aggregates available for inclusion, in order of preference
+   * @param maxAttestations the maximum number of attestations to select
+   * @return the selected attestations
+   */
+  List<Attestation> pack(
+      final BeaconState stateAtBlockSlot,
+      final Stream<ValidateableAttestation> candidates,
+      final int maxAttestations) {
+    final long deadline = timeProvider.getTimeInMillis().longValue() + timeBudgetMillis;
+    final Map<CommitteeKey, BitSet> creditedValidators = getCreditedValidators(stateAtBlockSlot);
+
+    final PriorityQueue<Candidate> queue =
+        new PriorityQueue<>(
+            Comparator.<Candidate>comparingInt(candidate -> candidate.score)
+                .reversed()
+                .thenComparingInt(candidate -> candidate.order));
+    candidates
+        .map(ValidateableAttestation::getAttestation)
+        .forEach(
+            attestation -> {
+              final Candidate candidate = new Candidate(attestation, queue.size());
+              candidate.score = candidate.countNewValidators(creditedValidators);
+              if (candidate.score > 0) {
+                queue.add(candidate);
+              }
+            });
+
+    final List<Attestation> selected = new ArrayList<>();
+    int credited = 0;
+    while (selected.size() < maxAttestations && !queue.isEmpty()) {
+      if (timeProvider.getTimeInMillis().longValue() > deadline) {
+        timeBudgetExceededCounter.inc();
+        credited += selectInSuppliedOrder(queue, creditedValidators, selected, maxAttestations);
+        break;
+      }
+      final Candidate candidate = queue.poll();
+      final int score = candidate.countNewValidators(creditedValidators);
+      if (score == 0) {
+        continue;
+      }
+      if (score < candidate.score) {
+        // Some validators are now credited by earlier selections so re-rank
+        candidate.score = score;
+        queue.add(candidate);
+        continue;
+      }
+      credited += candidate.select(creditedValidators);
+      selected.add(candidate.attestation);
+    }
+
+    includedAttestationsCounter.inc(selected.size());
+    creditedValidatorsCounter.inc(credited);
+    return selected;
+  }
+
+  private int selectInSuppliedOrder(
+      final PriorityQueue<Candidate> queue,
+      final Map<CommitteeKey, BitSet> creditedValidators,
+      final List<Attestation> selected,
+      final int maxAttestations) {
+    final List<Candidate> remaining = new ArrayList<>(queue);
+    remaining.sort(Comparator.comparingInt(candidate -> candidate.order));
+    int credited = 0;
+    for (Candidate candidate : remaining) {
+      if (selected.size() >= maxAttestations) {
+        break;
+      }
+      final int score = candidate.select(creditedValidators);
+      if (score > 0) {
+        credited += score;
+        selected.add(candidate.attestation);
+      }
+    }
+    return credited;
+  }
+
+  private Map<CommitteeKey, BitSet> getCreditedValidators(final BeaconState state) {
+    final Map<CommitteeKey, BitSet> creditedValidators = new HashMap<>();
+    Stream.concat(
+            state.getPrevious_epoch_attestations().stream(),
+            state.getCurrent_epoch_attestations().stream())
+        .forEach(
+            pendingAttestation -> {
+              final BitSet credited =
+                  creditedValidators.computeIfAbsent(
+                      new CommitteeKey(pendingAttestation.getData()), key -> new BitSet());
+              pendingAttestation.getAggregation_bits().streamAllSetBits().forEach(credited::set);
+            });
+    return creditedValidators;
+  }
+
+  private static class Candidate {
+    private final Attestation attestation;
+    private final CommitteeKey committee;
+    private final int order;
+    private int score;
+
+    private Candidate(final Attestation attestation, final int order) {
+      this.attestation = attestation;
+      this.committee = new CommitteeKey(attestation.getData());
+      this.order = order;
+    }
+
+    private int countNewValidators(final Map<CommitteeKey, BitSet> creditedValidators) {
+      final BitSet credited = creditedValidators.get(committee);
+      final Bitlist bits = attestation.getAggregation_bits();
+      if (credited == null) {
+        return bits.getBitCount();
+      }
+      return (int) bits.streamAllSetBits().filter(index -> !credited.get(index)).count();
+    }
+
+    /** Marks this candidate's validators as credited and returns how many were newly credited. */
+    private int select(final Map<CommitteeKey, BitSet> creditedValidators) {
+      final BitSet credited = creditedValidators.computeIfAbsent(committee, key -> new BitSet());
+      final int previouslyCredited = credited.cardinality();
+      attestation.getAggregation_bits().streamAllSetBits().forEach(credited::set);
+      return credited.cardinality() - previouslyCredited;
+    }
+  }
+
+  /** Attestations for the same slot and committee index share aggregation bit positions. */
+  private static class CommitteeKey {
+    private final UnsignedLong slot;
+    private final UnsignedLong index;
+
+    private CommitteeKey(final AttestationData data) {
+      this.slot = data.getSlot();
+      this.index = data.getIndex();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final CommitteeKey that = (CommitteeKey) o;
+      return Objects.equals(slot, that.slot) && Objects.equals(index, that.index);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(slot, index);
+    }
+  }
+}
@@ -13,10 +13,13 @@
 
 package tech.pegasys.teku.statetransition.attestation;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
@@ -25,25 +28,36 @@ import java.util.stream.StreamSupport;
 import tech.pegasys.teku.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.datastructures.operations.Attestation;
 import tech.pegasys.teku.datastructures.operations.AttestationData;
+import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
 
 /**
  * Maintains an aggregated collection of attestations which all share the same {@link
  * AttestationData}.
  *
- * <p>So that the added attestations can be aggregated into the smallest number of aggregates, even
- * as the contents of the collection change, aggregation is actually done during iteration.
- * Aggregation starts with the attestation that already includes the most validators then continues
- * adding attestations in order of the number of validators they contain.
+ * <p>The aggregates are maintained incrementally as attestations are added: a new attestation is
+ * ignored if an existing aggregate already includes all its validators, otherwise it is merged
+ * into the largest aggregate it doesn't overlap with or kept as a new aggregate. When attestations
+ * are removed the aggregates are recalculated from scratch on the next read, starting with the
+ * attestation that already includes the most validators then continuing in order of the number of
+ * validators each attestation contains.
+ *
+ * <p>Modifications are synchronized on the group, while reads return an immutable snapshot of the
+ * current aggregates so they never block or observe a partially updated group.
  *
  * <p>Note that the resulting aggregate will be invalid if attestations with different
  * AttestationData are added.
  */
 class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation> {
+  private static final Comparator<ValidateableAttestation> MOST_VALIDATORS_FIRST =
+      Comparator.comparingInt(MatchingDataAttestationGroup::getValidatorCount).reversed();
 
   private final NavigableMap<Integer, Set<ValidateableAttestation>> attestationsByValidatorCount =
       new TreeMap<>(Comparator.reverseOrder()); // Most validators first
   private final AttestationData attestationData;
 
+  // Null when the aggregates need to be recalculated
+  private volatile List<ValidateableAttestation> aggregates = Collections.emptyList();
+
   public MatchingDataAttestationGroup(final AttestationData attestationData) {
     this.attestationData = attestationData;
   }
@@ -54,21 +68,24 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
 
   /**
    * Adds an attestation to this group. When possible, the attestation will be aggregated with
-   * others during iteration.
+   * others.
    *
    * @param attestation the attestation to add
    */
-  public void add(final ValidateableAttestation attestation) {
+  public synchronized void add(final ValidateableAttestation attestation) {
     attestationsByValidatorCount
-        .computeIfAbsent(
-            attestation.getAttestation().getAggregation_bits().getBitCount(),
-            count -> new HashSet<>())
+        .computeIfAbsent(getValidatorCount(attestation), count -> new HashSet<>())
         .add(attestation);
+    final List<ValidateableAttestation> currentAggregates = aggregates;
+    if (currentAggregates != null) {
+      aggregates = addToAggregates(currentAggregates, attestation);
+    }
   }
 
   /**
    * Iterates through the aggregation of attestations in this group. The iterator attempts to create
-   * the minimum number of attestations that include all attestations in the group.
+   * the minimum number of attestations that include all attestations in the group, with the
+   * aggregates that include the most validators first.
    *
    * <p>While it is guaranteed that every validator from an attestation in this group is included in
    * an aggregate produced by this iterator, there is no guarantee that the added attestation
@@ -78,7 +95,7 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
    */
   @Override
   public Iterator<ValidateableAttestation> iterator() {
-    return new AggregatingIterator();
+    return getAggregates().iterator();
   }
 
   public Stream<ValidateableAttestation> stream() {
@@ -90,7 +107,7 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
    *
    * @return true if this group is empty.
    */
-  public boolean isEmpty() {
+  public synchronized boolean isEmpty() {
     return attestationsByValidatorCount.isEmpty();
   }
 
@@ -103,20 +120,78 @@ class MatchingDataAttestationGroup implements Iterable<ValidateableAttestation>
    *
    * @param attestation the attestation to logically remove from the pool.
    */
-  public void remove(final Attestation attestation) {
+  public synchronized void remove(final Attestation attestation) {
     final Collection<Set<ValidateableAttestation>> attestationSets =
         attestationsByValidatorCount.values();
+    final Bitlist removedBits = attestation.getAggregation_bits();
+    boolean removed = false;
     for (Iterator<Set<ValidateableAttestation>> i = attestationSets.iterator(); i.hasNext(); ) {
       final Set<ValidateableAttestation> candidates = i.next();
-      candidates.removeIf(
-          candidate ->
-              attestation
-                  .getAggregation_bits()
-                  .isSuperSetOf(candidate.getAttestation().getAggregation_bits()));
+      final boolean removedCandidates =
+          candidates.removeIf(
+              candidate ->
+                  removedBits.isSuperSetOf(candidate.getAttestation().getAggregation_bits()));
+      removed |= removedCandidates;
       if (candidates.isEmpty()) {
         i.remove();
       }
     }
+    if (removed) {
+      aggregates = null;
+    }
+  }
+
+  private List<ValidateableAttestation> getAggregates() {
+    final List<ValidateableAttestation> currentAggregates = aggregates;
+    if (currentAggregates != null) {
+      return currentAggregates;
+    }
+    synchronized (this) {
+      if (aggregates == null) {
+        aggregates = calculateAggregates();
+      }
+      return aggregates;
+    }
+  }
+
+  private List<ValidateableAttestation> addToAggregates(
+      final List<ValidateableAttestation> currentAggregates,
+      final ValidateableAttestation attestation) {
+    final Bitlist bits = attestation.getAttestation().getAggregation_bits();
+    int mergeIndex = -1;
+    for (int i = 0; i < currentAggregates.size(); i++) {
+      final Bitlist aggregateBits = currentAggregates.get(i).getAttestation().getAggregation_bits();
+      if (aggregateBits.isSuperSetOf(bits)) {
+        // Already fully included
+        return currentAggregates;
+      }
+      if (mergeIndex < 0 && !aggregateBits.intersects(bits)) {
+        mergeIndex = i;
+      }
+    }
+
+    final List<ValidateableAttestation> updatedAggregates = new ArrayList<>(currentAggregates);
+    if (mergeIndex < 0) {
+      updatedAggregates.add(attestation);
+    } else {
+      final AggregateAttestationBuilder builder = new AggregateAttestationBuilder(attestationData);
+      builder.aggregate(currentAggregates.get(mergeIndex));
+      builder.aggregate(attestation);
+      updatedAggregates.set(mergeIndex, builder.buildAggregate());
+    }
+    updatedAggregates.sort(MOST_VALIDATORS_FIRST);
+    return Collections.unmodifiableList(updatedAggregates);
+  }
+
+  private List<ValidateableAttestation> calculateAggregates() {
+    final List<ValidateableAttestation> calculatedAggregates = new ArrayList<>();
+    new AggregatingIterator().forEachRemaining(calculatedAggregates::add);
+    calculatedAggregates.sort(MOST_VALIDATORS_FIRST);
+    return Collections.unmodifiableList(calculatedAggregates);
+  }
+
+  private static int getValidatorCount(final ValidateableAttestation attestation) {
+    return attestation.getAttestation().getAggregation_bits().getBitCount();
   }
 
   private class AggregatingIterator implements Iterator<ValidateableAttestation> {
@@ -15,12 +15,12 @@ package tech.pegasys.teku.statetransition.blockimport;
 
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
 import javax.annotation.CheckReturnValue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import tech.pegasys.teku.core.results.BlockImportResult;
-import tech.pegasys.teku.data.BlockProcessingRecord;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.operations.Attestation;
 import tech.pegasys.teku.datastructures.operations.AttesterSlashing;
@@ -78,13 +78,7 @@ public class BlockImporter {
                     block.getMessage());
                 return result;
               }
-              LOG.trace("Successfully imported block {}", block.getMessage().hash_tree_root());
-
-              final Optional<BlockProcessingRecord> record = result.getBlockProcessingRecord();
-              eventBus.post(new ImportedBlockEvent(block));
-              notifyBlockOperationSubscribers(block);
-              record.ifPresent(eventBus::post);
-
+              onBlockImported(block, result);
               return result;
             })
         .exceptionally(
@@ -94,6 +88,68 @@ public class BlockImporter {
             });
   }
 
+  /**
+   * Imports a sequence of blocks, each of which must be the parent of the next. Unknown blocks are
+   * processed as a single batch by fork choice so the store is only updated once.
+   *
+   * @param blocks the blocks to import, in order
+   * @return the result for each block up to and including the first which failed to import
+   */
+  @CheckReturnValue
+  public SafeFuture<List<BlockImportResult>> importBlocks(final List<SignedBeaconBlock> blocks) {
+    final List<BlockImportResult> results = new ArrayList<>();
+    int firstUnknownBlock = 0;
+    while (firstUnknownBlock < blocks.size()
+        && recentChainData.containsBlock(blocks.get(firstUnknownBlock).getRoot())) {
+      results.add(BlockImportResult.knownBlock(blocks.get(firstUnknownBlock)));
+      firstUnknownBlock++;
+    }
+    if (firstUnknownBlock == blocks.size()) {
+      return SafeFuture.completedFuture(results);
+    }
+
+    final List<SignedBeaconBlock> unknownBlocks = blocks.subList(firstUnknownBlock, blocks.size());
+    LOG.trace(
+        "Import {} blocks from slot {}", unknownBlocks.size(), unknownBlocks.get(0).getSlot());
+    return recentChainData
+        .retrieveBlockState(unknownBlocks.get(0).getParent_root())
+        .thenApply(
+            preState -> {
+              final List<BlockImportResult> batchResults =
+                  forkChoice.onBlocks(unknownBlocks, preState);
+              for (int i = 0; i < batchResults.size(); i++) {
+                final SignedBeaconBlock block = unknownBlocks.get(i);
+                final BlockImportResult result = batchResults.get(i);
+                results.add(result);
+                if (!result.isSuccessful()) {
+                  LOG.trace(
+                      "Failed to import block for reason {}: {}",
+                      result.getFailureReason(),
+                      block.getMessage());
+                  break;
+                }
+                onBlockImported(block, result);
+              }
+              return results;
+            })
+        .exceptionally(
+            (e) -> {
+              LOG.error(
+                  "Internal error while importing blocks from slot "
+                      + unknownBlocks.get(0).getSlot(),
+                  e);
+              results.add(BlockImportResult.internalError(e));
+              return results;
+            });
+  }
+
+  private void onBlockImported(final SignedBeaconBlock block, final BlockImportResult result) {
+    LOG.trace("Successfully imported block {}", block.getMessage().hash_tree_root());
+    eventBus.post(new ImportedBlockEvent(block));
+    notifyBlockOperationSubscribers(block);
+    result.getBlockProcessingRecord().ifPresent(eventBus::post);
+  }
+
   @Subscribe
   @SuppressWarnings("unused")
   private void onBlockProposed(final ProposedBlockEvent blockProposedEvent) {
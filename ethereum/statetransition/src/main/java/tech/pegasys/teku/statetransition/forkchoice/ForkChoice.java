@@ -17,10 +17,14 @@ import static tech.pegasys.teku.core.ForkChoiceUtil.on_attestation;
 import static tech.pegasys.teku.core.ForkChoiceUtil.on_block;
 
 import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.core.StateTransition;
+import tech.pegasys.teku.core.blockvalidator.DeferredSignatureBlockValidator;
 import tech.pegasys.teku.core.results.BlockImportResult;
+import tech.pegasys.teku.data.BlockProcessingRecord;
 import tech.pegasys.teku.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
@@ -101,6 +105,75 @@ public class ForkChoice {
     return result;
   }
 
+  /**
+   * Imports a sequence of blocks, each of which must be the parent of the next, in a single store
+   * transaction. Signatures for all blocks are verified as one batch and fork choice is only
+   * updated once the transaction has been committed. If batch signature verification fails, the
+   * blocks are imported individually so the invalid block can be identified.
+   *
+   * @param blocks the blocks to import, in order
+   * @param preState the state of the parent of the first block
+   * @return the result for each block up to and including the first which failed to import
+   */
+  public synchronized List<BlockImportResult> onBlocks(
+      final List<SignedBeaconBlock> blocks, Optional<BeaconState> preState) {
+    final DeferredSignatureBlockValidator blockValidator = new DeferredSignatureBlockValidator();
+    final StateTransition batchStateTransition = new StateTransition(blockValidator);
+    final PendingBlocksForkChoiceStrategy forkChoiceStrategy =
+        new PendingBlocksForkChoiceStrategy(getForkChoiceStrategy());
+    final StoreTransaction transaction = recentChainData.startStoreTransaction();
+    final List<BlockImportResult> results = new ArrayList<>();
+    Optional<BeaconState> blockPreState = preState;
+    for (SignedBeaconBlock block : blocks) {
+      final BlockImportResult result =
+          on_block(
+              transaction,
+              block,
+              blockPreState,
+              batchStateTransition,
+              forkChoiceStrategy,
+              beaconState ->
+                  transaction.putStateRoot(
+                      beaconState.hash_tree_root(),
+                      new SlotAndBlockRoot(
+                          beaconState.getSlot(),
+                          beaconState.getLatest_block_header().hash_tree_root())));
+      results.add(result);
+      if (!result.isSuccessful()) {
+        break;
+      }
+      final BeaconState postState = result.getBlockProcessingRecord().orElseThrow().getPostState();
+      forkChoiceStrategy.onBlock(block.getMessage(), postState);
+      blockPreState = Optional.of(postState);
+    }
+
+    if (!blockValidator.verifySignatures()) {
+      // Discard the batch and fall back to importing each block to find the invalid signature
+      return importIndividually(blocks, preState);
+    }
+
+    if (!results.isEmpty() && results.get(0).isSuccessful()) {
+      transaction.commit().join();
+      forkChoiceStrategy.applyPendingBlocks();
+    }
+    return results;
+  }
+
+  private List<BlockImportResult> importIndividually(
+      final List<SignedBeaconBlock> blocks, final Optional<BeaconState> preState) {
+    final List<BlockImportResult> results = new ArrayList<>();
+    Optional<BeaconState> blockPreState = preState;
+    for (SignedBeaconBlock block : blocks) {
+      final BlockImportResult result = onBlock(block, blockPreState);
+      results.add(result);
+      if (!result.isSuccessful()) {
+        break;
+      }
+      blockPreState = result.getBlockProcessingRecord().map(BlockProcessingRecord::getPostState);
+    }
+    return results;
+  }
+
   public SafeFuture<AttestationProcessingResult> onAttestation(
       final ValidateableAttestation attestation) {
     return recentChainData
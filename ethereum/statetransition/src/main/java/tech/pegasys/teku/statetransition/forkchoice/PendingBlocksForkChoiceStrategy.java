@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.forkchoice;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.datastructures.blocks.BeaconBlock;
+import tech.pegasys.teku.datastructures.forkchoice.MutableStore;
+import tech.pegasys.teku.datastructures.operations.IndexedAttestation;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.protoarray.ForkChoiceStrategy;
+
+/**
+ * Records blocks imported as part of a batch without adding them to the underlying fork choice
+ * strategy until the batch has been committed. Block lookups include the pending blocks so that
+ * ancestry checks for later blocks in the batch succeed.
+ */
+class PendingBlocksForkChoiceStrategy implements ForkChoiceStrategy {
+  private final ForkChoiceStrategy delegate;
+  private final Map<Bytes32, PendingBlock> pendingBlocks = new LinkedHashMap<>();
+
+  PendingBlocksForkChoiceStrategy(final ForkChoiceStrategy delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Bytes32 findHead(final MutableStore store) {
+    return delegate.findHead(store);
+  }
+
+  @Override
+  public void onAttestation(final MutableStore store, final IndexedAttestation attestation) {
+    delegate.onAttestation(store, attestation);
+  }
+
+  @Override
+  public void onBlock(final BeaconBlock block, final BeaconState state) {
+    pendingBlocks.put(block.hash_tree_root(), new PendingBlock(block, state));
+  }
+
+  @Override
+  public Optional<UnsignedLong> blockSlot(final Bytes32 blockRoot) {
+    final PendingBlock pendingBlock = pendingBlocks.get(blockRoot);
+    return pendingBlock != null
+        ? Optional.of(pendingBlock.block.getSlot())
+        : delegate.blockSlot(blockRoot);
+  }
+
+  @Override
+  public Optional<Bytes32> blockParentRoot(final Bytes32 blockRoot) {
+    final PendingBlock pendingBlock = pendingBlocks.get(blockRoot);
+    return pendingBlock != null
+        ? Optional.of(pendingBlock.block.getParent_root())
+        : delegate.blockParentRoot(blockRoot);
+  }
+
+  @Override
+  public boolean contains(final Bytes32 blockRoot) {
+    return pendingBlocks.containsKey(blockRoot) || delegate.contains(blockRoot);
+  }
+
+  @Override
+  public void save() {
+    delegate.save();
+  }
+
+  /** Adds all pending blocks to the underlying strategy, in the order they were imported. */
+  void applyPendingBlocks() {
+    pendingBlocks.values().forEach(pending -> delegate.onBlock(pending.block, pending.state));
+    pendingBlocks.clear();
+  }
+
+  private static class PendingBlock {
+    private final BeaconBlock block;
+    private final BeaconState state;
+
+    private PendingBlock(final BeaconBlock block, final BeaconState state) {
+      this.block = block;
+      this.state = state;
+    }
+  }
+}
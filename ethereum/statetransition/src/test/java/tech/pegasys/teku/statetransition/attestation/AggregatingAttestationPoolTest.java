@@ -34,8 +34,10 @@ import tech.pegasys.teku.datastructures.operations.Attestation;
 import tech.pegasys.teku.datastructures.operations.AttestationData;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.metrics.StubMetricsSystem;
 import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
 import tech.pegasys.teku.util.config.Constants;
+import tech.pegasys.teku.util.time.StubTimeProvider;
 
 class AggregatingAttestationPoolTest {
 
@@ -45,7 +47,10 @@ class AggregatingAttestationPoolTest {
       mock(AttestationDataStateTransitionValidator.class);
 
   private final AggregatingAttestationPool aggregatingPool =
-      new AggregatingAttestationPool(attestationDataValidator);
+      new AggregatingAttestationPool(
+          attestationDataValidator,
+          new StubMetricsSystem(),
+          StubTimeProvider.withTimeInSeconds(1000));
 
   @AfterEach
   public void tearDown() {
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.attestation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.datastructures.attestation.ValidateableAttestation;
+import tech.pegasys.teku.datastructures.operations.Attestation;
+import tech.pegasys.teku.datastructures.operations.AttestationData;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.PendingAttestation;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.metrics.StubMetricsSystem;
+import tech.pegasys.teku.metrics.TekuMetricCategory;
+import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
+import tech.pegasys.teku.util.config.Constants;
+import tech.pegasys.teku.util.time.StubTimeProvider;
+import tech.pegasys.teku.util.time.TimeProvider;
+
+class AttestationPackerTest {
+  private static final long TIME_BUDGET_MILLIS = 100;
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final AttestationData attestationData = dataStructureUtil.randomAttestationData();
+  private final BeaconState state = dataStructureUtil.randomBeaconState();
+
+  private final AttestationPacker packer =
+      new AttestationPacker(
+          metricsSystem, StubTimeProvider.withTimeInSeconds(1000), TIME_BUDGET_MILLIS);
+
+  @Test
+  public void pack_shouldPreferAttestationsCreditingMoreValidators() {
+    final Attestation little = createAttestation(attestationData, 1, 2);
+    final Attestation big = createAttestation(attestationData, 3, 4, 5);
+
+    assertThat(packer.pack(state, candidates(little, big), 10)).containsExactly(big, little);
+  }
+
+  @Test
+  public void pack_shouldRescoreCandidatesAfterEachSelection() {
+    final Attestation big = createAttestation(attestationData, 1, 2, 3, 4);
+    final Attestation overlapping = createAttestation(attestationData, 1, 2, 3);
+    final Attestation distinct = createAttestation(attestationData, 5, 6);
+
+    assertThat(packer.pack(state, candidates(big, overlapping, distinct), 2))
+        .containsExactly(big, distinct);
+  }
+
+  @Test
+  public void pack_shouldNotIncludeAttestationsAlreadyCreditedInState() {
+    final PendingAttestation pendingAttestation =
+        new PendingAttestation(
+            createBits(1, 2), attestationData, UnsignedLong.ONE, UnsignedLong.ZERO);
+    final BeaconState stateWithAttestation =
+        state.updated(
+            mutableState -> mutableState.getCurrent_epoch_attestations().add(pendingAttestation));
+    final Attestation alreadyIncluded = createAttestation(attestationData, 1, 2);
+    final Attestation partiallyIncluded = createAttestation(attestationData, 2, 3);
+
+    assertThat(
+            packer.pack(stateWithAttestation, candidates(alreadyIncluded, partiallyIncluded), 10))
+        .containsExactly(partiallyIncluded);
+    assertThat(getCounterValue("block_production_credited_attesters_total")).isEqualTo(1);
+  }
+
+  @Test
+  public void pack_shouldTreatDifferentCommitteesIndependently() {
+    final Attestation attestation1 = createAttestation(attestationData, 1, 2);
+    final Attestation attestation2 =
+        createAttestation(dataStructureUtil.randomAttestationData(), 1, 2);
+
+    assertThat(packer.pack(state, candidates(attestation1, attestation2), 10))
+        .containsExactly(attestation1, attestation2);
+    assertThat(getCounterValue("block_production_attestations_total")).isEqualTo(2);
+    assertThat(getCounterValue("block_production_credited_attesters_total")).isEqualTo(4);
+  }
+
+  @Test
+  public void pack_shouldUseSuppliedOrderWhenTimeBudgetExceeded() {
+    final TimeProvider timeProvider = mock(TimeProvider.class);
+    when(timeProvider.getTimeInMillis())
+        .thenReturn(UnsignedLong.ZERO, UnsignedLong.valueOf(TIME_BUDGET_MILLIS + 1));
+    final AttestationPacker packer =
+        new AttestationPacker(metricsSystem, timeProvider, TIME_BUDGET_MILLIS);
+    final Attestation little = createAttestation(attestationData, 1);
+    final Attestation big = createAttestation(attestationData, 2, 3, 4);
+
+    assertThat(packer.pack(state, candidates(little, big), 10)).containsExactly(little, big);
+    assertThat(getCounterValue("block_production_attestation_packing_timeouts_total"))
+        .isEqualTo(1);
+  }
+
+  private long getCounterValue(final String name) {
+    return metricsSystem.getCounter(TekuMetricCategory.BEACON, name).getValue();
+  }
+
+  private Stream<ValidateableAttestation> candidates(final Attestation... attestations) {
+    return Stream.of(attestations).map(ValidateableAttestation::fromAttestation);
+  }
+
+  private Attestation createAttestation(final AttestationData data, final int... validators) {
+    return new Attestation(createBits(validators), data, dataStructureUtil.randomSignature());
+  }
+
+  private Bitlist createBits(final int... validators) {
+    final Bitlist bitlist = new Bitlist(10, Constants.MAX_VALIDATORS_PER_COMMITTEE);
+    IntStream.of(validators).forEach(bitlist::setBit);
+    return bitlist;
+  }
+}
@@ -18,6 +18,9 @@ import static tech.pegasys.teku.statetransition.attestation.AggregatorUtil.aggre
 import static tech.pegasys.teku.util.config.Constants.MAX_VALIDATORS_PER_COMMITTEE;
 
 import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.datastructures.attestation.ValidateableAttestation;
@@ -118,6 +121,46 @@ class MatchingDataAttestationGroupTest {
     assertThat(group).containsExactly(aggregate);
   }
 
+  @Test
+  public void add_shouldMergeIntoLargestAggregateWithoutOverlap() {
+    final ValidateableAttestation bigAttestation = addAttestation(1, 2, 3);
+    final ValidateableAttestation overlappingAttestation = addAttestation(3, 4);
+    final ValidateableAttestation littleAttestation = addAttestation(5);
+
+    assertThat(group)
+        .containsExactly(
+            ValidateableAttestation.fromAttestation(
+                aggregateAttestations(
+                    bigAttestation.getAttestation(), littleAttestation.getAttestation())),
+            overlappingAttestation);
+  }
+
+  @Test
+  public void iterator_shouldNotIncludeAttestationsAddedAfterIteratorCreated() {
+    final ValidateableAttestation attestation1 = addAttestation(1);
+    final Iterator<ValidateableAttestation> iterator = group.iterator();
+    addAttestation(2);
+
+    final List<ValidateableAttestation> result = new ArrayList<>();
+    iterator.forEachRemaining(result::add);
+    assertThat(result).containsExactly(attestation1);
+  }
+
+  @Test
+  public void remove_shouldRecalculateAggregatesFromRemainingAttestations() {
+    final ValidateableAttestation attestation1 = addAttestation(1, 2);
+    final ValidateableAttestation attestation2 = addAttestation(2, 3);
+    final ValidateableAttestation attestation3 = addAttestation(4);
+
+    group.remove(attestation1.getAttestation());
+
+    assertThat(group)
+        .containsExactly(
+            ValidateableAttestation.fromAttestation(
+                aggregateAttestations(
+                    attestation2.getAttestation(), attestation3.getAttestation())));
+  }
+
   private ValidateableAttestation addAttestation(final int... validators) {
     final ValidateableAttestation attestation = createAttestation(validators);
     group.add(attestation);
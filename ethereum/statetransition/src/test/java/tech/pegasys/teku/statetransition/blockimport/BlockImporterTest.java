@@ -297,6 +297,53 @@ public class BlockImporterTest {
     assertImportFailed(result, FailureReason.FAILED_STATE_TRANSITION);
   }
 
+  @Test
+  public void importBlocks_success() throws Exception {
+    final List<SignedBeaconBlock> blocks = createChainOfBlocks(3);
+    localChain.setSlot(blocks.get(2).getSlot());
+
+    final List<BlockImportResult> results = blockImporter.importBlocks(blocks).get();
+    assertThat(results).hasSize(3);
+    results.forEach(this::assertSuccessfulResult);
+    assertThat(recentChainData.containsBlock(blocks.get(2).getRoot())).isTrue();
+  }
+
+  @Test
+  public void importBlocks_shouldSkipKnownBlocks() throws Exception {
+    final List<SignedBeaconBlock> blocks = createChainOfBlocks(3);
+    localChain.setSlot(blocks.get(2).getSlot());
+    assertThat(blockImporter.importBlock(blocks.get(0)).get().isSuccessful()).isTrue();
+
+    final List<BlockImportResult> results = blockImporter.importBlocks(blocks).get();
+    assertThat(results).hasSize(3);
+    results.forEach(this::assertSuccessfulResult);
+    assertThat(recentChainData.containsBlock(blocks.get(2).getRoot())).isTrue();
+  }
+
+  @Test
+  public void importBlocks_shouldImportBlocksBeforeInvalidSignature() throws Exception {
+    final List<SignedBeaconBlock> blocks = createChainOfBlocks(3);
+    final SignedBeaconBlock invalidBlock =
+        new SignedBeaconBlock(blocks.get(1).getMessage(), BLSSignature.random(1));
+    blocks.set(1, invalidBlock);
+    localChain.setSlot(blocks.get(2).getSlot());
+
+    final List<BlockImportResult> results = blockImporter.importBlocks(blocks).get();
+    assertThat(results).hasSize(2);
+    assertSuccessfulResult(results.get(0));
+    assertImportFailed(results.get(1), FailureReason.FAILED_STATE_TRANSITION);
+    assertThat(recentChainData.containsBlock(blocks.get(0).getRoot())).isTrue();
+    assertThat(recentChainData.containsBlock(invalidBlock.getRoot())).isFalse();
+  }
+
+  private List<SignedBeaconBlock> createChainOfBlocks(final int count) throws Exception {
+    final List<SignedBeaconBlock> blocks = new ArrayList<>();
+    for (int slot = 1; slot <= count; slot++) {
+      blocks.add(otherChain.createAndImportBlockAtSlot(slot));
+    }
+    return blocks;
+  }
+
   private void assertImportFailed(
       final BlockImportResult result, final BlockImportResult.FailureReason expectedReason) {
     assertThat(result.isSuccessful()).isFalse();
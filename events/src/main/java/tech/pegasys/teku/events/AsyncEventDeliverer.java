@@ -15,40 +15,85 @@ package tech.pegasys.teku.events;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.Collections.synchronizedMap;
+import static tech.pegasys.teku.metrics.TekuMetricCategory.EVENTBUS;
 
+import com.google.common.base.CaseFormat;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
+import tech.pegasys.teku.events.EventQueueConfig.OverflowPolicy;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 
 public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
   private static final Logger LOG = LogManager.getLogger();
-  private static final int QUEUE_CAPACITY = 500;
 
-  private final Map<T, BlockingQueue<Runnable>> eventQueuesBySubscriber =
+  private final Map<T, SubscriberQueue> eventQueuesBySubscriber =
       synchronizedMap(new IdentityHashMap<>());
   private final AtomicBoolean stopped = new AtomicBoolean(false);
   private final ExecutorService executor;
+  private final EventQueueConfig queueConfig;
+  private final LabelledMetric<Counter> droppedEventCounter;
+  private final LabelledMetric<Counter> coalescedEventCounter;
+  private final LabelledMetric<OperationTimer> queueDelayTimer;
 
   public AsyncEventDeliverer(
+      final Class<T> channelInterface,
       final ExecutorService executor,
       final ChannelExceptionHandler exceptionHandler,
-      final MetricsSystem metricsSystem) {
+      final MetricsSystem metricsSystem,
+      final EventQueueConfig queueConfig) {
     super(exceptionHandler, metricsSystem);
     this.executor = executor;
+    this.queueConfig = queueConfig;
+    droppedEventCounter =
+        metricsSystem.createLabelledCounter(
+            EVENTBUS,
+            "event_dropped_count",
+            "Number of events discarded because the subscriber's queue was full",
+            "channel",
+            "subscriber");
+    coalescedEventCounter =
+        metricsSystem.createLabelledCounter(
+            EVENTBUS,
+            "event_coalesced_count",
+            "Number of events merged into an event for the same method which was already queued",
+            "channel",
+            "subscriber");
+    queueDelayTimer =
+        metricsSystem.createLabelledTimer(
+            EVENTBUS,
+            "event_queue_delay",
+            "Time events spent queued before delivery started",
+            "channel",
+            "subscriber");
+    final String channelName = channelInterface.getSimpleName();
+    metricsSystem.createIntegerGauge(
+        EVENTBUS,
+        CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, channelName) + "_queue_size",
+        "Current number of events queued for subscribers of " + channelName,
+        this::getQueuedEventCount);
   }
 
   @Override
   void subscribe(final T subscriber, final int numberOfThreads) {
-    final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    final SubscriberQueue queue = new SubscriberQueue();
     eventQueuesBySubscriber.put(subscriber, queue);
     super.subscribe(subscriber, numberOfThreads);
     for (int i = 0; i < numberOfThreads; i++) {
@@ -58,7 +103,14 @@ public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
 
   @Override
   protected void deliverTo(final T subscriber, final Method method, final Object[] args) {
-    enqueueDelivery(subscriber, method, () -> super.deliverTo(subscriber, method, args));
+    enqueueDelivery(
+        new QueuedEvent(
+            subscriber,
+            method,
+            args,
+            eventArgs -> super.deliverTo(subscriber, method, eventArgs),
+            () -> {}),
+        true);
   }
 
   @Override
@@ -68,24 +120,37 @@ public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
       final Object[] args,
       final AsyncRunner responseRunner) {
     final SafeFuture<X> result = new SafeFuture<>();
-    enqueueDelivery(
-        subscriber,
-        method,
-        () ->
-            super.<X>deliverToWithResponse(subscriber, method, args, responseRunner)
-                .propagateToAsync(result, responseRunner));
+    final QueuedEvent event =
+        new QueuedEvent(
+            subscriber,
+            method,
+            args,
+            eventArgs ->
+                super.<X>deliverToWithResponse(subscriber, method, eventArgs, responseRunner)
+                    .propagateToAsync(result, responseRunner),
+            () ->
+                SafeFuture.<X>failedFuture(new RejectedExecutionException("Event queue is full"))
+                    .propagateToAsync(result, responseRunner));
+    // Each caller is waiting on its own response so these events must never be coalesced
+    enqueueDelivery(event, false);
     return result;
   }
 
-  private void enqueueDelivery(final T subscriber, final Method method, final Runnable action) {
-    final BlockingQueue<Runnable> queue = checkNotNull(eventQueuesBySubscriber.get(subscriber));
-    while (!stopped.get()) {
-      try {
-        queue.put(action);
-        return;
-      } catch (final InterruptedException e) {
-        LOG.debug("Interrupted while trying to publish event {}", method::getName);
-      }
+  private void enqueueDelivery(final QueuedEvent event, final boolean canCoalesce) {
+    final SubscriberQueue queue = checkNotNull(eventQueuesBySubscriber.get(event.subscriber));
+    final OverflowPolicy overflowPolicy = queueConfig.getOverflowPolicy();
+    if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+      queue.putDroppingOldest(event);
+    } else if (overflowPolicy == OverflowPolicy.COALESCE && canCoalesce) {
+      queue.putCoalescing(event);
+    } else {
+      queue.put(event);
+    }
+  }
+
+  private int getQueuedEventCount() {
+    synchronized (eventQueuesBySubscriber) {
+      return eventQueuesBySubscriber.values().stream().mapToInt(SubscriberQueue::size).sum();
     }
   }
 
@@ -95,10 +160,121 @@ public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
     executor.shutdownNow();
   }
 
+  private void incrementCounter(final LabelledMetric<Counter> counter, final QueuedEvent event) {
+    counter.labels(event.getChannelName(), event.getSubscriberName()).inc();
+  }
+
+  private class SubscriberQueue {
+    private final BlockingQueue<QueuedEvent> queue =
+        new ArrayBlockingQueue<>(queueConfig.getCapacity());
+    // Events which may still have their arguments replaced when coalescing
+    private final Map<Method, QueuedEvent> pendingEventsByMethod = new ConcurrentHashMap<>();
+
+    private void put(final QueuedEvent event) {
+      while (!stopped.get()) {
+        try {
+          queue.put(event);
+          return;
+        } catch (final InterruptedException e) {
+          LOG.debug("Interrupted while trying to publish event {}", event.method::getName);
+        }
+      }
+    }
+
+    private void putDroppingOldest(final QueuedEvent event) {
+      while (!queue.offer(event)) {
+        final QueuedEvent droppedEvent = queue.poll();
+        if (droppedEvent != null) {
+          incrementCounter(droppedEventCounter, droppedEvent);
+          droppedEvent.onDropped.run();
+        }
+      }
+    }
+
+    private void putCoalescing(final QueuedEvent event) {
+      final QueuedEvent pendingEvent = pendingEventsByMethod.get(event.method);
+      if (pendingEvent != null && pendingEvent.replaceArgs(event.args)) {
+        incrementCounter(coalescedEventCounter, event);
+        return;
+      }
+      pendingEventsByMethod.put(event.method, event);
+      put(event);
+    }
+
+    private List<QueuedEvent> take(final int maxEvents) throws InterruptedException {
+      final List<QueuedEvent> events = new ArrayList<>();
+      events.add(queue.take());
+      if (maxEvents > 1) {
+        queue.drainTo(events, maxEvents - 1);
+      }
+      return events;
+    }
+
+    private void deliver(final QueuedEvent event) {
+      pendingEventsByMethod.remove(event.method, event);
+      event.deliver();
+    }
+
+    private int size() {
+      return queue.size();
+    }
+  }
+
+  private class QueuedEvent {
+    private final T subscriber;
+    private final Method method;
+    private final Consumer<Object[]> action;
+    private final Runnable onDropped;
+    private final TimingContext queueDelayTimingContext;
+    private Object[] args;
+    private boolean started = false;
+
+    private QueuedEvent(
+        final T subscriber,
+        final Method method,
+        final Object[] args,
+        final Consumer<Object[]> action,
+        final Runnable onDropped) {
+      this.subscriber = subscriber;
+      this.method = method;
+      this.args = args;
+      this.action = action;
+      this.onDropped = onDropped;
+      this.queueDelayTimingContext =
+          queueDelayTimer.labels(getChannelName(), getSubscriberName()).startTimer();
+    }
+
+    private String getChannelName() {
+      return method.getDeclaringClass().getSimpleName();
+    }
+
+    private String getSubscriberName() {
+      return subscriber.getClass().getSimpleName();
+    }
+
+    private synchronized boolean replaceArgs(final Object[] newArgs) {
+      if (started) {
+        return false;
+      }
+      args = newArgs;
+      return true;
+    }
+
+    private void deliver() {
+      final Object[] eventArgs;
+      synchronized (this) {
+        started = true;
+        eventArgs = args;
+      }
+      queueDelayTimingContext.stopTimer();
+      action.accept(eventArgs);
+    }
+  }
+
   class QueueReader implements Runnable {
-    private final BlockingQueue<Runnable> queue;
+    private final SubscriberQueue queue;
 
-    public QueueReader(final BlockingQueue<Runnable> queue) {
+    private QueueReader(final SubscriberQueue queue) {
       this.queue = queue;
     }
 
@@ -113,8 +289,13 @@ public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
       }
     }
 
+    /**
+     * Waits for the next event and delivers it, along with any further events already queued up to
+     * the configured batch size, so a busy subscriber handles a backlog without waking between each
+     * event.
+     */
     void deliverNextEvent() throws InterruptedException {
-      queue.take().run();
+      queue.take(queueConfig.getMaxBatchSize()).forEach(queue::deliver);
     }
   }
 }
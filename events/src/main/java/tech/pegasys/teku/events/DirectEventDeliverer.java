@@ -15,8 +15,14 @@ package tech.pegasys.teku.events;
 
 import static tech.pegasys.teku.metrics.TekuMetricCategory.EVENTBUS;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
@@ -27,6 +33,7 @@ class DirectEventDeliverer<T> extends EventDeliverer<T> {
   private final ChannelExceptionHandler exceptionHandler;
   private final LabelledMetric<Counter> consumedEventCounter;
   private final LabelledMetric<Counter> failedEventCounter;
+  private final Map<Method, Optional<MethodHandle>> methodHandles = new ConcurrentHashMap<>();
 
   DirectEventDeliverer(
       final ChannelExceptionHandler exceptionHandler, final MetricsSystem metricsSystem) {
@@ -71,6 +78,11 @@ class DirectEventDeliverer<T> extends EventDeliverer<T> {
   private <X> SafeFuture<X> executeMethod(
       final T subscriber, final Method method, final Object[] args) {
     try {
+      final Optional<MethodHandle> handle =
+          methodHandles.computeIfAbsent(method, DirectEventDeliverer::createMethodHandle);
+      if (handle.isPresent()) {
+        return (SafeFuture<X>) invoke(handle.get(), subscriber, args);
+      }
       return (SafeFuture<X>) method.invoke(subscriber, args);
     } catch (IllegalAccessException e) {
       incrementCounter(failedEventCounter, subscriber, method);
@@ -83,6 +95,40 @@ class DirectEventDeliverer<T> extends EventDeliverer<T> {
     }
   }
 
+  /**
+   * Creates a method handle which accepts the subscriber and an argument array, avoiding the
+   * reflective access checks of {@link Method#invoke(Object, Object...)} on every event. If the
+   * method isn't accessible, deliveries fall back to reflection so the access failure is reported
+   * to the exception handler as before.
+   */
+  private static Optional<MethodHandle> createMethodHandle(final Method method) {
+    final int parameterCount = method.getParameterCount();
+    try {
+      return Optional.of(
+          MethodHandles.lookup()
+              .unreflect(method)
+              .asType(MethodType.genericMethodType(parameterCount + 1))
+              .asSpreader(Object[].class, parameterCount));
+    } catch (final IllegalAccessException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Invokes the method handle, wrapping anything the subscriber throws in the same way as {@link
+   * Method#invoke(Object, Object...)} so errors are also reported to the exception handler rather
+   * than escaping to the delivering thread.
+   */
+  private static Object invoke(
+      final MethodHandle handle, final Object subscriber, final Object[] args)
+      throws InvocationTargetException {
+    try {
+      return (Object) handle.invokeExact(subscriber, args);
+    } catch (final Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
   private void incrementCounter(
       final LabelledMetric<Counter> counter, final T subscriber, final Method method) {
     counter
@@ -62,7 +62,8 @@ class EventChannel<T> {
   static <T> EventChannel<T> createAsync(
       final Class<T> channelInterface,
       final ChannelExceptionHandler exceptionHandler,
-      final MetricsSystem metricsSystem) {
+      final MetricsSystem metricsSystem,
+      final EventQueueConfig queueConfig) {
     return createAsync(
         channelInterface,
         Executors.newCachedThreadPool(
@@ -71,23 +72,36 @@ class EventChannel<T> {
                 .setNameFormat(channelInterface.getSimpleName() + "-%d")
                 .build()),
         exceptionHandler,
-        metricsSystem);
+        metricsSystem,
+        queueConfig);
   }
 
   static <T> EventChannel<T> createAsync(
       final Class<T> channelInterface,
       final ExecutorService executor,
       final MetricsSystem metricsSystem) {
-    return createAsync(channelInterface, executor, LOGGING_EXCEPTION_HANDLER, metricsSystem);
+    return createAsync(channelInterface, executor, metricsSystem, EventQueueConfig.DEFAULT);
+  }
+
+  static <T> EventChannel<T> createAsync(
+      final Class<T> channelInterface,
+      final ExecutorService executor,
+      final MetricsSystem metricsSystem,
+      final EventQueueConfig queueConfig) {
+    return createAsync(
+        channelInterface, executor, LOGGING_EXCEPTION_HANDLER, metricsSystem, queueConfig);
   }
 
   static <T> EventChannel<T> createAsync(
       final Class<T> channelInterface,
       final ExecutorService executor,
       final ChannelExceptionHandler exceptionHandler,
-      final MetricsSystem metricsSystem) {
+      final MetricsSystem metricsSystem,
+      final EventQueueConfig queueConfig) {
     return create(
-        channelInterface, new AsyncEventDeliverer<>(executor, exceptionHandler, metricsSystem));
+        channelInterface,
+        new AsyncEventDeliverer<>(
+            channelInterface, executor, exceptionHandler, metricsSystem, queueConfig));
   }
 
   private static <T> EventChannel<T> create(
@@ -13,6 +13,8 @@
 
 package tech.pegasys.teku.events;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -29,9 +31,28 @@ public class EventChannels {
 
   public EventChannels(
       final ChannelExceptionHandler exceptionHandler, final MetricsSystem metricsSystem) {
+    this(exceptionHandler, metricsSystem, Collections.emptyMap());
+  }
+
+  /**
+   * Creates asynchronous event channels where each subscriber has its own event queue.
+   *
+   * @param exceptionHandler the handler to notify of exceptions thrown by subscribers
+   * @param metricsSystem the metrics system
+   * @param queueConfigs the queue configuration for specific channel interfaces. Any channel not
+   *     included uses {@link EventQueueConfig#DEFAULT}
+   */
+  public EventChannels(
+      final ChannelExceptionHandler exceptionHandler,
+      final MetricsSystem metricsSystem,
+      final Map<Class<? extends ChannelInterface>, EventQueueConfig> queueConfigs) {
     this(
         channelInterface ->
-            EventChannel.createAsync(channelInterface, exceptionHandler, metricsSystem));
+            EventChannel.createAsync(
+                channelInterface,
+                exceptionHandler,
+                metricsSystem,
+                queueConfigs.getOrDefault(channelInterface, EventQueueConfig.DEFAULT)));
   }
 
   public static EventChannels createSyncChannels(
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.events;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.MoreObjects;
+
+/** Configures the queue used to hold events for each subscriber of an asynchronous channel. */
+public class EventQueueConfig {
+  public static final EventQueueConfig DEFAULT = new EventQueueConfig(500, OverflowPolicy.BLOCK, 1);
+
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
+  private final int maxBatchSize;
+
+  /**
+   * @param capacity the maximum number of events which can be queued for each subscriber
+   * @param overflowPolicy how to handle new events when a subscriber's queue is full
+   * @param maxBatchSize the maximum number of queued events a subscriber thread will take and
+   *     deliver in a single pass
+   */
+  public EventQueueConfig(
+      final int capacity, final OverflowPolicy overflowPolicy, final int maxBatchSize) {
+    checkArgument(capacity > 0, "Queue capacity must be at least 1");
+    checkArgument(maxBatchSize > 0, "Batch size must be at least 1");
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("capacity", capacity)
+        .add("overflowPolicy", overflowPolicy)
+        .add("maxBatchSize", maxBatchSize)
+        .toString();
+  }
+
+  /**
+   * Determines what happens when an event is published to a subscriber whose queue is full.
+   *
+   * <p>Events for methods which return a future are never coalesced and if dropped, their future
+   * is completed exceptionally so callers are not left waiting.
+   */
+  public enum OverflowPolicy {
+    /** Block the publishing thread until space is available. */
+    BLOCK,
+    /** Discard the oldest queued event to make room for the new one. */
+    DROP_OLDEST,
+    /**
+     * Replace the arguments of an event for the same method which is still waiting in the queue
+     * instead of queuing another. Only suitable for channels where the latest event supersedes any
+     * earlier ones, such as slot updates. Blocks if the queue is still full.
+     */
+    COALESCE
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static tech.pegasys.teku.infrastructure.async.SafeFutureAssert.assertThatSafeFuture;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import tech.pegasys.teku.events.AsyncEventDeliverer.QueueReader;
+import tech.pegasys.teku.events.EventQueueConfig.OverflowPolicy;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.metrics.StubMetricsSystem;
+import tech.pegasys.teku.metrics.TekuMetricCategory;
+
+class AsyncEventDelivererTest {
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final ExecutorService executor = mock(ExecutorService.class);
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final EventWithArgument subscriber = mock(EventWithArgument.class);
+
+  @Test
+  public void shouldDropOldestEventWhenQueueIsFull() throws Exception {
+    final EventWithArgument publisher =
+        subscribe(new EventQueueConfig(2, OverflowPolicy.DROP_OLDEST, 1));
+
+    publisher.method1("Event1");
+    publisher.method1("Event2");
+    publisher.method1("Event3");
+
+    final QueueReader reader = getQueueReader();
+    reader.deliverNextEvent();
+    reader.deliverNextEvent();
+
+    final InOrder inOrder = inOrder(subscriber);
+    inOrder.verify(subscriber).method1("Event2");
+    inOrder.verify(subscriber).method1("Event3");
+    inOrder.verifyNoMoreInteractions();
+    assertThat(getCounterValue("event_dropped_count")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldTimeQueueDelayWhenEventIsDelivered() throws Exception {
+    final EventWithArgument publisher =
+        subscribe(new EventQueueConfig(10, OverflowPolicy.BLOCK, 1));
+
+    publisher.method1("Event1");
+    assertThat(getQueueDelayTimingCount()).isZero();
+
+    getQueueReader().deliverNextEvent();
+    verify(subscriber).method1("Event1");
+    assertThat(getQueueDelayTimingCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldContinueDeliveringBatchWhenSubscriberThrowsError() throws Exception {
+    final EventWithArgument publisher =
+        subscribe(new EventQueueConfig(10, OverflowPolicy.BLOCK, 2));
+    doThrow(new AssertionError("Nope")).when(subscriber).method1("Event1");
+
+    publisher.method1("Event1");
+    publisher.method2("Event2");
+    getQueueReader().deliverNextEvent();
+
+    final InOrder inOrder = inOrder(subscriber);
+    inOrder.verify(subscriber).method1("Event1");
+    inOrder.verify(subscriber).method2("Event2");
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldFailResponseWhenEventIsDropped() throws Exception {
+    final WithFuture futureSubscriber = () -> SafeFuture.completedFuture("Yay");
+    final EventChannel<WithFuture> channel =
+        EventChannel.createAsync(
+            WithFuture.class,
+            executor,
+            metricsSystem,
+            new EventQueueConfig(1, OverflowPolicy.DROP_OLDEST, 1));
+    channel.subscribe(futureSubscriber);
+    final WithFuture publisher = channel.getPublisher(Optional.of(asyncRunner));
+
+    final SafeFuture<String> dropped = publisher.getFutureString();
+    final SafeFuture<String> delivered = publisher.getFutureString();
+    getQueueReader().deliverNextEvent();
+    asyncRunner.executeQueuedActions();
+
+    assertThatSafeFuture(dropped).isCompletedExceptionallyWith(RejectedExecutionException.class);
+    assertThat(delivered).isCompletedWithValue("Yay");
+  }
+
+  @Test
+  public void shouldReplaceQueuedEventForSameMethodWhenCoalescing() throws Exception {
+    final EventWithArgument publisher =
+        subscribe(new EventQueueConfig(10, OverflowPolicy.COALESCE, 1));
+
+    publisher.method1("Event1");
+    publisher.method2("Event2");
+    publisher.method1("Event3");
+
+    final QueueReader reader = getQueueReader();
+    reader.deliverNextEvent();
+    reader.deliverNextEvent();
+
+    final InOrder inOrder = inOrder(subscriber);
+    inOrder.verify(subscriber).method1("Event3");
+    inOrder.verify(subscriber).method2("Event2");
+    inOrder.verifyNoMoreInteractions();
+    assertThat(getCounterValue("event_coalesced_count")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldQueueNewEventWhenCoalescedEventHasAlreadyBeenDelivered() throws Exception {
+    final EventWithArgument publisher =
+        subscribe(new EventQueueConfig(10, OverflowPolicy.COALESCE, 1));
+
+    publisher.method1("Event1");
+    final QueueReader reader = getQueueReader();
+    reader.deliverNextEvent();
+    publisher.method1("Event2");
+    reader.deliverNextEvent();
+
+    final InOrder inOrder = inOrder(subscriber);
+    inOrder.verify(subscriber).method1("Event1");
+    inOrder.verify(subscriber).method1("Event2");
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void shouldDeliverQueuedEventsInBatches() throws Exception {
+    final EventWithArgument publisher =
+        subscribe(new EventQueueConfig(10, OverflowPolicy.BLOCK, 2));
+
+    publisher.method1("Event1");
+    publisher.method2("Event2");
+    publisher.method1("Event3");
+    verifyNoInteractions(subscriber);
+
+    final QueueReader reader = getQueueReader();
+    reader.deliverNextEvent();
+    verify(subscriber).method1("Event1");
+    verify(subscriber).method2("Event2");
+
+    reader.deliverNextEvent();
+    verify(subscriber).method1("Event3");
+  }
+
+  @Test
+  public void shouldReportQueueSize() throws Exception {
+    final EventWithArgument publisher = subscribe(EventQueueConfig.DEFAULT);
+
+    publisher.method1("Event1");
+    publisher.method2("Event2");
+    assertThat(getQueueSize()).isEqualTo(2);
+
+    getQueueReader().deliverNextEvent();
+    assertThat(getQueueSize()).isEqualTo(1);
+  }
+
+  private EventWithArgument subscribe(final EventQueueConfig queueConfig) {
+    final EventChannel<EventWithArgument> channel =
+        EventChannel.createAsync(EventWithArgument.class, executor, metricsSystem, queueConfig);
+    channel.subscribe(subscriber);
+    return channel.getPublisher(Optional.empty());
+  }
+
+  @SuppressWarnings("rawtypes")
+  private QueueReader getQueueReader() {
+    final ArgumentCaptor<QueueReader> consumerCaptor = ArgumentCaptor.forClass(QueueReader.class);
+    verify(executor).execute(consumerCaptor.capture());
+    return consumerCaptor.getValue();
+  }
+
+  private long getCounterValue(final String name) {
+    return metricsSystem
+        .getCounter(TekuMetricCategory.EVENTBUS, name)
+        .getValue(EventWithArgument.class.getSimpleName(), subscriber.getClass().getSimpleName());
+  }
+
+  private long getQueueDelayTimingCount() {
+    return metricsSystem
+        .getTimer(TekuMetricCategory.EVENTBUS, "event_queue_delay")
+        .getTimingCount(
+            EventWithArgument.class.getSimpleName(), subscriber.getClass().getSimpleName());
+  }
+
+  private double getQueueSize() {
+    return metricsSystem
+        .getGauge(TekuMetricCategory.EVENTBUS, "event_with_argument_queue_size")
+        .getValue();
+  }
+
+  private interface EventWithArgument {
+    void method1(String value);
+
+    void method2(String value);
+  }
+
+  private interface WithFuture {
+    SafeFuture<String> getFutureString();
+  }
+}
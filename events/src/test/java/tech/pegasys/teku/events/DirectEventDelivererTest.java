@@ -53,6 +53,19 @@ class DirectEventDelivererTest {
     verifyNoMoreInteractions(exceptionHandler);
   }
 
+  @Test
+  void shouldNotifyExceptionHandlerWhenMethodThrowsError() throws Exception {
+    final AssertionError error = new AssertionError("Nope");
+    doThrow(error).when(target).run();
+
+    final Method method = Runnable.class.getMethod("run");
+    deliverer.deliverTo(target, method, NO_ARGS);
+
+    verify(target).run();
+    verify(exceptionHandler).handleException(error, target, method, NO_ARGS);
+    verifyNoMoreInteractions(exceptionHandler);
+  }
+
   @Test
   void shouldNotifyExceptionHandlerWhenIllegalAccessExceptionOccurs() throws Exception {
     final ClassWithPrivateMethod target = new ClassWithPrivateMethod();
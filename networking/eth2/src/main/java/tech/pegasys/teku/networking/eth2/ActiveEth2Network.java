@@ -33,6 +33,7 @@ import tech.pegasys.teku.datastructures.operations.AttesterSlashing;
 import tech.pegasys.teku.datastructures.operations.ProposerSlashing;
 import tech.pegasys.teku.datastructures.operations.SignedVoluntaryExit;
 import tech.pegasys.teku.datastructures.state.ForkInfo;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.networking.eth2.gossip.AggregateGossipManager;
 import tech.pegasys.teku.networking.eth2.gossip.AttestationGossipManager;
@@ -45,6 +46,7 @@ import tech.pegasys.teku.networking.eth2.gossip.subnets.AttestationSubnetSubscri
 import tech.pegasys.teku.networking.eth2.gossip.topics.GossipedOperationConsumer;
 import tech.pegasys.teku.networking.eth2.gossip.topics.ProcessedAttestationSubscriptionProvider;
 import tech.pegasys.teku.networking.eth2.gossip.topics.VerifiedBlockAttestationsSubscriptionProvider;
+import tech.pegasys.teku.networking.eth2.gossip.topics.validation.AggregatingSignatureVerificationService;
 import tech.pegasys.teku.networking.eth2.gossip.topics.validation.AttestationValidator;
 import tech.pegasys.teku.networking.eth2.gossip.topics.validation.AttesterSlashingValidator;
 import tech.pegasys.teku.networking.eth2.gossip.topics.validation.BlockValidator;
@@ -63,6 +65,7 @@ import tech.pegasys.teku.storage.client.RecentChainData;
 public class ActiveEth2Network extends DelegatingP2PNetwork<Eth2Peer> implements Eth2Network {
 
   private final MetricsSystem metricsSystem;
+  private final AsyncRunner asyncRunner;
   private final DiscoveryNetwork<?> discoveryNetwork;
   private final Eth2PeerManager peerManager;
   private final EventBus eventBus;
@@ -75,6 +78,8 @@ public class ActiveEth2Network extends DelegatingP2PNetwork<Eth2Peer> implements
       verifiedBlockAttestationsSubscriptionProvider;
   private final Set<Integer> pendingSubnetSubscriptions = new HashSet<>();
 
+  private AggregatingSignatureVerificationService signatureVerificationService;
+
   // Gossip managers
   private BlockGossipManager blockGossipManager;
   private AttestationGossipManager attestationGossipManager;
@@ -93,6 +98,7 @@ public class ActiveEth2Network extends DelegatingP2PNetwork<Eth2Peer> implements
 
   public ActiveEth2Network(
       final MetricsSystem metricsSystem,
+      final AsyncRunner asyncRunner,
       final DiscoveryNetwork<?> discoveryNetwork,
       final Eth2PeerManager peerManager,
       final EventBus eventBus,
@@ -108,6 +114,7 @@ public class ActiveEth2Network extends DelegatingP2PNetwork<Eth2Peer> implements
           verifiedBlockAttestationsSubscriptionProvider) {
     super(discoveryNetwork);
     this.metricsSystem = metricsSystem;
+    this.asyncRunner = asyncRunner;
     this.discoveryNetwork = discoveryNetwork;
     this.peerManager = peerManager;
     this.eventBus = eventBus;
@@ -138,10 +145,16 @@ public class ActiveEth2Network extends DelegatingP2PNetwork<Eth2Peer> implements
 
   private synchronized void startup() {
     state.set(State.RUNNING);
-    BlockValidator blockValidator = new BlockValidator(recentChainData, new StateTransition());
-    AttestationValidator attestationValidator = new AttestationValidator(recentChainData);
+    signatureVerificationService =
+        AggregatingSignatureVerificationService.create(metricsSystem, asyncRunner);
+    signatureVerificationService.start();
+    BlockValidator blockValidator =
+        new BlockValidator(recentChainData, new StateTransition(), signatureVerificationService);
+    AttestationValidator attestationValidator =
+        new AttestationValidator(recentChainData, signatureVerificationService);
     SignedAggregateAndProofValidator aggregateValidator =
-        new SignedAggregateAndProofValidator(recentChainData, attestationValidator);
+        new SignedAggregateAndProofValidator(
+            recentChainData, attestationValidator, signatureVerificationService);
     final ForkInfo forkInfo = recentChainData.getHeadForkInfo().orElseThrow();
     VoluntaryExitValidator exitValidator =
         new VoluntaryExitValidator(
@@ -236,6 +249,7 @@ public class ActiveEth2Network extends DelegatingP2PNetwork<Eth2Peer> implements
     proposerSlashingGossipManager.shutdown();
     attesterSlashingGossipManager.shutdown();
     attestationSubnetService.unsubscribe(discoveryNetworkAttestationSubnetsSubscription);
+    signatureVerificationService.stop();
     super.stop();
   }
 
@@ -115,6 +115,7 @@ public class Eth2NetworkBuilder {
 
     return new ActiveEth2Network(
         metricsSystem,
+        asyncRunner,
         network,
         eth2PeerManager,
         eventBus,
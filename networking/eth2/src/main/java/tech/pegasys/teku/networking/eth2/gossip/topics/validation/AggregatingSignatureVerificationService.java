@@ -0,0 +1,323 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.networking.eth2.gossip.topics.validation;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.bls.BatchSemiAggregate;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.metrics.TekuMetricCategory;
+
+/**
+ * Verifies gossip signatures on dedicated threads. A single collector thread groups requests which
+ * arrive within a short window into a batch and hands it to one of the verifier threads, which
+ * checks it with {@link BLS#prepareBatchVerify(int, List, Bytes, BLSSignature)} and {@link
+ * BLS#completeBatchVerify(List)}. If a batch fails it is split in half and each half verified
+ * separately until the invalid signatures are found. Results are completed via the supplied {@link
+ * AsyncRunner} so that dependent processing doesn't run on the verifier threads.
+ *
+ * <p>When the service isn't running or the queue is full, signatures are verified immediately on
+ * the calling thread.
+ */
+public class AggregatingSignatureVerificationService implements AsyncBLSSignatureVerifier {
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final int DEFAULT_MAX_BATCH_SIZE = 250;
+  static final long DEFAULT_BATCH_WINDOW_MILLIS = 5;
+  static final int DEFAULT_MAX_QUEUE_SIZE = 15_000;
+  static final int DEFAULT_THREAD_COUNT =
+      Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+  private final int maxBatchSize;
+  private final long batchWindowNanos;
+  private final int threadCount;
+  private final AsyncRunner asyncRunner;
+  private final BlockingQueue<SignatureTask> queue;
+  private final Semaphore availableVerifiers;
+  private final AtomicBoolean running = new AtomicBoolean(false);
+  private final Counter batchCounter;
+  private final Counter batchedSignatureCounter;
+  private final Counter batchFailureCounter;
+  private final Counter queueLatencyCounter;
+  private final Counter queueFullCounter;
+  private volatile ExecutorService collectorExecutor;
+  private volatile ExecutorService verifierExecutor;
+
+  public AggregatingSignatureVerificationService(
+      final MetricsSystem metricsSystem,
+      final AsyncRunner asyncRunner,
+      final int threadCount,
+      final int maxBatchSize,
+      final long batchWindowMillis,
+      final int maxQueueSize) {
+    checkArgument(threadCount > 0, "Must use at least one verification thread");
+    checkArgument(maxBatchSize > 0, "Max batch size must be positive");
+    this.threadCount = threadCount;
+    this.asyncRunner = asyncRunner;
+    this.availableVerifiers = new Semaphore(threadCount);
+    this.maxBatchSize = maxBatchSize;
+    this.batchWindowNanos = TimeUnit.MILLISECONDS.toNanos(batchWindowMillis);
+    this.queue = new ArrayBlockingQueue<>(maxQueueSize);
+
+    metricsSystem.createIntegerGauge(
+        TekuMetricCategory.NETWORK,
+        "signature_verification_queue_size",
+        "Number of signatures waiting to be verified",
+        queue::size);
+    batchCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.NETWORK,
+            "signature_verification_batches_total",
+            "Number of signature batches verified");
+    batchedSignatureCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.NETWORK,
+            "signature_verification_batched_signatures_total",
+            "Number of signatures verified as part of a batch");
+    batchFailureCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.NETWORK,
+            "signature_verification_batch_failures_total",
+            "Number of signature batches which failed verification and had to be split");
+    queueLatencyCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.NETWORK,
+            "signature_verification_queue_latency_ms_total",
+            "Total time in milliseconds signatures spent waiting in the queue before verification");
+    queueFullCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.NETWORK,
+            "signature_verification_queue_full_total",
+            "Number of signatures verified on the calling thread instead of being queued");
+  }
+
+  public static AggregatingSignatureVerificationService create(
+      final MetricsSystem metricsSystem, final AsyncRunner asyncRunner) {
+    return new AggregatingSignatureVerificationService(
+        metricsSystem,
+        asyncRunner,
+        DEFAULT_THREAD_COUNT,
+        DEFAULT_MAX_BATCH_SIZE,
+        DEFAULT_BATCH_WINDOW_MILLIS,
+        DEFAULT_MAX_QUEUE_SIZE);
+  }
+
+  public void start() {
+    if (!running.compareAndSet(false, true)) {
+      return;
+    }
+    verifierExecutor =
+        Executors.newFixedThreadPool(
+            threadCount,
+            new ThreadFactoryBuilder()
+                .setNameFormat("signature-verifier-%d")
+                .setDaemon(true)
+                .build());
+    collectorExecutor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("signature-batch-collector-%d")
+                .setDaemon(true)
+                .build());
+    collectorExecutor.execute(this::collectBatches);
+  }
+
+  public void stop() {
+    if (!running.compareAndSet(true, false)) {
+      return;
+    }
+    collectorExecutor.shutdownNow();
+    // Batches already handed to a verifier are allowed to complete
+    verifierExecutor.shutdown();
+    // Don't leave any requests hanging, verify whatever is left on the calling thread
+    final List<SignatureTask> remainingTasks = new ArrayList<>();
+    queue.drainTo(remainingTasks);
+    remainingTasks.forEach(task -> task.result.complete(task.verifySingle()));
+  }
+
+  @Override
+  public SafeFuture<Boolean> verify(
+      final List<BLSPublicKey> publicKeys, final Bytes message, final BLSSignature signature) {
+    final SignatureTask task = new SignatureTask(publicKeys, message, signature);
+    if (!running.get() || !queue.offer(task)) {
+      queueFullCounter.inc();
+      task.result.complete(task.verifySingle());
+    }
+    return task.result;
+  }
+
+  private void collectBatches() {
+    while (running.get()) {
+      try {
+        // Wait for a free verifier first so that requests keep accumulating into the next batch
+        availableVerifiers.acquire();
+        dispatchBatch(collectBatch());
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (final Throwable t) {
+        LOG.error("Unexpected error while collecting signatures to verify", t);
+      }
+    }
+  }
+
+  private void dispatchBatch(final List<SignatureTask> batch) {
+    try {
+      verifierExecutor.execute(() -> verifyBatchAndReleaseVerifier(batch));
+    } catch (final RejectedExecutionException e) {
+      // The service is stopping, verify on this thread so the requests aren't left incomplete
+      availableVerifiers.release();
+      batch.forEach(task -> task.result.complete(task.verifySingle()));
+    }
+  }
+
+  private void verifyBatchAndReleaseVerifier(final List<SignatureTask> batch) {
+    try {
+      verifyBatch(batch);
+    } catch (final Throwable t) {
+      LOG.error("Unexpected error while verifying signatures", t);
+    } finally {
+      availableVerifiers.release();
+    }
+  }
+
+  private List<SignatureTask> collectBatch() throws InterruptedException {
+    final List<SignatureTask> batch = new ArrayList<>();
+    batch.add(queue.take());
+    final long deadline = System.nanoTime() + batchWindowNanos;
+    try {
+      while (batch.size() < maxBatchSize) {
+        final long remainingNanos = deadline - System.nanoTime();
+        final SignatureTask task =
+            remainingNanos > 0 ? queue.poll(remainingNanos, TimeUnit.NANOSECONDS) : queue.poll();
+        if (task == null) {
+          break;
+        }
+        batch.add(task);
+      }
+    } catch (final InterruptedException e) {
+      // Still verify the tasks already taken from the queue so they aren't left incomplete
+      Thread.currentThread().interrupt();
+    }
+    return batch;
+  }
+
+  @VisibleForTesting
+  void verifyBatch(final List<SignatureTask> batch) {
+    final long verificationStartTime = System.nanoTime();
+    batchCounter.inc();
+    batchedSignatureCounter.inc(batch.size());
+    batch.forEach(
+        task ->
+            queueLatencyCounter.inc(
+                TimeUnit.NANOSECONDS.toMillis(verificationStartTime - task.creationTime)));
+    final boolean[] results = new boolean[batch.size()];
+    verifyTasks(batch, 0, results);
+    asyncRunner
+        .runAsync(
+            () -> {
+              for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results[i]);
+              }
+              return SafeFuture.COMPLETE;
+            })
+        .finish(
+            error -> {
+              LOG.error("Failed to complete signature verification requests", error);
+              batch.forEach(task -> task.result.completeExceptionally(error));
+            });
+  }
+
+  private void verifyTasks(
+      final List<SignatureTask> tasks, final int offset, final boolean[] results) {
+    if (tasks.size() == 1) {
+      results[offset] = tasks.get(0).verifySingle();
+    } else if (isBatchValid(tasks)) {
+      for (int i = 0; i < tasks.size(); i++) {
+        results[offset + i] = true;
+      }
+    } else {
+      batchFailureCounter.inc();
+      final int midpoint = tasks.size() / 2;
+      verifyTasks(tasks.subList(0, midpoint), offset, results);
+      verifyTasks(tasks.subList(midpoint, tasks.size()), offset + midpoint, results);
+    }
+  }
+
+  private boolean isBatchValid(final List<SignatureTask> batch) {
+    try {
+      final List<BatchSemiAggregate> preparedSignatures = new ArrayList<>();
+      for (int i = 0; i < batch.size(); i++) {
+        final SignatureTask task = batch.get(i);
+        preparedSignatures.add(
+            BLS.prepareBatchVerify(i, task.publicKeys, task.message, task.signature));
+      }
+      return BLS.completeBatchVerify(preparedSignatures);
+    } catch (final RuntimeException e) {
+      // Malformed signatures can't be batched, split the batch to identify them
+      LOG.trace("Failed to batch verify signatures", e);
+      return false;
+    }
+  }
+
+  @VisibleForTesting
+  static class SignatureTask {
+    private final List<BLSPublicKey> publicKeys;
+    private final Bytes message;
+    private final BLSSignature signature;
+    private final long creationTime = System.nanoTime();
+    private final SafeFuture<Boolean> result = new SafeFuture<>();
+
+    SignatureTask(
+        final List<BLSPublicKey> publicKeys, final Bytes message, final BLSSignature signature) {
+      this.publicKeys = publicKeys;
+      this.message = message;
+      this.signature = signature;
+    }
+
+    SafeFuture<Boolean> getResult() {
+      return result;
+    }
+
+    private boolean verifySingle() {
+      try {
+        return BLS.fastAggregateVerify(publicKeys, message, signature);
+      } catch (final RuntimeException e) {
+        LOG.trace("Failed to verify signature", e);
+        return false;
+      }
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.networking.eth2.gossip.topics.validation;
+
+import java.util.Collections;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+
+/**
+ * Asynchronous variant of {@link tech.pegasys.teku.bls.BLSSignatureVerifier} which allows
+ * implementations to defer and batch the actual verification.
+ */
+public interface AsyncBLSSignatureVerifier {
+
+  /** Verifies immediately on the calling thread via {@link BLS#fastAggregateVerify} */
+  AsyncBLSSignatureVerifier SIMPLE =
+      (publicKeys, message, signature) ->
+          SafeFuture.completedFuture(BLS.fastAggregateVerify(publicKeys, message, signature));
+
+  /**
+   * Verifies an aggregate BLS signature against a message using the list of public keys.
+   *
+   * @param publicKeys The list of public keys, not null
+   * @param message The message data to verify, not null
+   * @param signature The aggregate signature, not null
+   * @return A future which completes with true if the verification is successful, false otherwise
+   */
+  SafeFuture<Boolean> verify(List<BLSPublicKey> publicKeys, Bytes message, BLSSignature signature);
+
+  /** Shortcut to {@link #verify(List, Bytes, BLSSignature)} for non-aggregate case */
+  default SafeFuture<Boolean> verify(
+      BLSPublicKey publicKey, Bytes message, BLSSignature signature) {
+    return verify(Collections.singletonList(publicKey), message, signature);
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.networking.eth2.gossip.topics.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.bls.BLSSignatureVerifier;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+
+/**
+ * Implementation which doesn't perform any actual validations on {@link #verify(List, Bytes,
+ * BLSSignature)} call but just collects signatures which are then passed to an {@link
+ * AsyncBLSSignatureVerifier} with the {@link #batchVerify()} call. This allows the existing
+ * synchronous validation code to be reused while deferring the expensive signature checks.
+ *
+ * <p>Every instance of this class is disposable, i.e. it is intended for just a single batch and a
+ * single {@link #batchVerify()} call.
+ */
+public class AsyncBatchBLSSignatureVerifier implements BLSSignatureVerifier {
+
+  private static class Job {
+    final List<BLSPublicKey> publicKeys;
+    final Bytes message;
+    final BLSSignature signature;
+
+    public Job(List<BLSPublicKey> publicKeys, Bytes message, BLSSignature signature) {
+      this.publicKeys = publicKeys;
+      this.message = message;
+      this.signature = signature;
+    }
+  }
+
+  private final AsyncBLSSignatureVerifier delegate;
+  private final List<Job> toVerify = new ArrayList<>();
+  private boolean complete = false;
+
+  private AsyncBatchBLSSignatureVerifier(final AsyncBLSSignatureVerifier delegate) {
+    this.delegate = delegate;
+  }
+
+  public static AsyncBatchBLSSignatureVerifier wrap(final AsyncBLSSignatureVerifier delegate) {
+    return new AsyncBatchBLSSignatureVerifier(delegate);
+  }
+
+  @Override
+  public boolean verify(List<BLSPublicKey> publicKeys, Bytes message, BLSSignature signature) {
+    if (complete) throw new IllegalStateException("Reuse of disposable instance");
+    toVerify.add(new Job(publicKeys, message, signature));
+    return true;
+  }
+
+  /**
+   * Performs verification of all the signatures collected with one or more calls to {@link
+   * #verify(List, Bytes, BLSSignature)}
+   *
+   * @return A future which completes with true if all signatures are valid, false otherwise
+   */
+  public SafeFuture<Boolean> batchVerify() {
+    if (complete) throw new IllegalStateException("Reuse of disposable instance");
+    complete = true;
+    final List<SafeFuture<Boolean>> results = new ArrayList<>();
+    for (Job job : toVerify) {
+      results.add(delegate.verify(job.publicKeys, job.message, job.signature));
+    }
+    return SafeFuture.allOf(results.toArray(SafeFuture[]::new))
+        .thenApply(__ -> results.stream().allMatch(SafeFuture::join));
+  }
+}
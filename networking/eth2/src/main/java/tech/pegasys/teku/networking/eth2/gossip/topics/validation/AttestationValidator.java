@@ -53,9 +53,12 @@ public class AttestationValidator {
       ConcurrentLimitedSet.create(
           VALID_ATTESTATION_SET_SIZE, LimitStrategy.DROP_LEAST_RECENTLY_ACCESSED);
   private final RecentChainData recentChainData;
+  private final AsyncBLSSignatureVerifier signatureVerifier;
 
-  public AttestationValidator(final RecentChainData recentChainData) {
+  public AttestationValidator(
+      final RecentChainData recentChainData, final AsyncBLSSignatureVerifier signatureVerifier) {
     this.recentChainData = recentChainData;
+    this.signatureVerifier = signatureVerifier;
   }
 
   public SafeFuture<InternalValidationResult> validate(
@@ -122,10 +125,10 @@ public class AttestationValidator {
     // If it's not in the store, it may not have been processed yet so save for future.
     return recentChainData
         .retrieveBlockState(attestation.getData().getBeacon_block_root())
-        .thenApply(
+        .thenCompose(
             maybeState -> {
               if (maybeState.isEmpty()) {
-                return SAVE_FOR_FUTURE;
+                return SafeFuture.completedFuture(SAVE_FOR_FUTURE);
               }
 
               final BeaconState state = maybeState.get();
@@ -135,23 +138,28 @@ public class AttestationValidator {
               if (receivedOnSubnetId.isPresent()
                   && computeSubnetForAttestation(state, attestation)
                       != receivedOnSubnetId.getAsInt()) {
-                return REJECT;
+                return SafeFuture.completedFuture(REJECT);
               }
 
               final List<Integer> committee =
                   get_beacon_committee(
                       state, attestation.getData().getSlot(), attestation.getData().getIndex());
               if (committee.size() != attestation.getAggregation_bits().getCurrentSize()) {
-                return REJECT;
+                return SafeFuture.completedFuture(REJECT);
               }
 
               // The signature of attestation is valid.
               final IndexedAttestation indexedAttestation =
                   get_indexed_attestation(state, attestation);
-              if (!is_valid_indexed_attestation(state, indexedAttestation).isSuccessful()) {
-                return REJECT;
+              final AsyncBatchBLSSignatureVerifier batchSignatureVerifier =
+                  AsyncBatchBLSSignatureVerifier.wrap(signatureVerifier);
+              if (!is_valid_indexed_attestation(state, indexedAttestation, batchSignatureVerifier)
+                  .isSuccessful()) {
+                return SafeFuture.completedFuture(REJECT);
               }
-              return ACCEPT;
+              return batchSignatureVerifier
+                  .batchVerify()
+                  .thenApply(signatureValid -> signatureValid ? ACCEPT : REJECT);
             });
   }
 
@@ -28,7 +28,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
-import tech.pegasys.teku.bls.BLS;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.core.StateTransition;
 import tech.pegasys.teku.core.exceptions.EpochProcessingException;
@@ -47,12 +46,17 @@ public class BlockValidator {
 
   private final RecentChainData recentChainData;
   private final StateTransition stateTransition;
+  private final AsyncBLSSignatureVerifier signatureVerifier;
   private final Set<SlotAndProposer> receivedValidBlockInfoSet =
       ConcurrentLimitedSet.create(VALID_BLOCK_SET_SIZE, LimitStrategy.DROP_LEAST_RECENTLY_ACCESSED);
 
-  public BlockValidator(RecentChainData recentChainData, StateTransition stateTransition) {
+  public BlockValidator(
+      RecentChainData recentChainData,
+      StateTransition stateTransition,
+      AsyncBLSSignatureVerifier signatureVerifier) {
     this.recentChainData = recentChainData;
     this.stateTransition = stateTransition;
+    this.signatureVerifier = signatureVerifier;
   }
 
   public SafeFuture<InternalValidationResult> validate(SignedBeaconBlock block) {
@@ -67,29 +71,34 @@ public class BlockValidator {
 
     return recentChainData
         .retrieveBlockState(block.getMessage().getParent_root())
-        .thenApply(
+        .thenCompose(
             preState -> {
               if (preState.isEmpty() || blockIsFromFutureSlot(block)) {
                 LOG.trace(
                     "BlockValidator: Either block pre state does not exist or block is from the future. "
                         + "It will be saved for future processing");
-                return InternalValidationResult.SAVE_FOR_FUTURE;
+                return SafeFuture.completedFuture(InternalValidationResult.SAVE_FOR_FUTURE);
               }
 
+              final BeaconState postState;
               try {
-                BeaconState postState =
+                postState =
                     stateTransition.process_slots(preState.get(), block.getMessage().getSlot());
-                if (blockIsProposedByTheExpectedProposer(block, postState)
-                    && blockSignatureIsValidWithRespectToProposerIndex(
-                        block, preState.get(), postState)) {
-                  return InternalValidationResult.ACCEPT;
-                }
               } catch (EpochProcessingException | SlotProcessingException e) {
                 LOG.error("BlockValidator: Unable to process block state.", e);
-                return InternalValidationResult.REJECT;
+                return SafeFuture.completedFuture(InternalValidationResult.REJECT);
               }
 
-              return InternalValidationResult.REJECT;
+              if (!blockIsProposedByTheExpectedProposer(block, postState)) {
+                return SafeFuture.completedFuture(InternalValidationResult.REJECT);
+              }
+              return blockSignatureIsValidWithRespectToProposerIndex(
+                      block, preState.get(), postState)
+                  .thenApply(
+                      signatureValid ->
+                          signatureValid
+                              ? InternalValidationResult.ACCEPT
+                              : InternalValidationResult.REJECT);
             });
   }
 
@@ -112,18 +121,18 @@ public class BlockValidator {
     return !receivedValidBlockInfoSet.contains(new SlotAndProposer(block));
   }
 
-  private boolean blockSignatureIsValidWithRespectToProposerIndex(
+  private SafeFuture<Boolean> blockSignatureIsValidWithRespectToProposerIndex(
       SignedBeaconBlock block, BeaconState preState, BeaconState postState) {
     final Bytes32 domain = get_domain(preState, DOMAIN_BEACON_PROPOSER);
     final Bytes signing_root = compute_signing_root(block.getMessage(), domain);
     final BLSSignature signature = block.getSignature();
 
-    boolean signatureValid =
-        ValidatorsUtil.getValidatorPubKey(postState, block.getMessage().getProposer_index())
-            .map(publicKey -> BLS.verify(publicKey, signing_root, signature))
-            .orElse(false);
-
-    return signatureValid && receivedValidBlockInfoSet.add(new SlotAndProposer(block));
+    return ValidatorsUtil.getValidatorPubKey(postState, block.getMessage().getProposer_index())
+        .map(publicKey -> signatureVerifier.verify(publicKey, signing_root, signature))
+        .orElse(SafeFuture.completedFuture(false))
+        .thenApply(
+            signatureValid ->
+                signatureValid && receivedValidBlockInfoSet.add(new SlotAndProposer(block)));
   }
 
   private boolean blockIsProposedByTheExpectedProposer(
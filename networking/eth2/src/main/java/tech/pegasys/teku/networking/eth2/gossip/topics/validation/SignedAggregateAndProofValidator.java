@@ -35,9 +35,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
-import tech.pegasys.teku.bls.BLS;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.bls.BLSSignatureVerifier;
 import tech.pegasys.teku.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.datastructures.operations.AggregateAndProof;
 import tech.pegasys.teku.datastructures.operations.Attestation;
@@ -61,11 +61,15 @@ public class SignedAggregateAndProofValidator {
           VALID_AGGREGATE_SET_SIZE, LimitStrategy.DROP_LEAST_RECENTLY_ACCESSED);
   private final AttestationValidator attestationValidator;
   private final RecentChainData recentChainData;
+  private final AsyncBLSSignatureVerifier signatureVerifier;
 
   public SignedAggregateAndProofValidator(
-      final RecentChainData recentChainData, final AttestationValidator attestationValidator) {
+      final RecentChainData recentChainData,
+      final AttestationValidator attestationValidator,
+      final AsyncBLSSignatureVerifier signatureVerifier) {
     this.recentChainData = recentChainData;
     this.attestationValidator = attestationValidator;
+    this.signatureVerifier = signatureVerifier;
   }
 
   public void addSeenAggregate(final ValidateableAttestation attestation) {
@@ -103,26 +107,17 @@ public class SignedAggregateAndProofValidator {
 
               return recentChainData
                   .retrieveBlockState(aggregate.getData().getBeacon_block_root())
-                  .thenApply(
+                  .thenCompose(
                       maybeState -> {
                         if (maybeState.isEmpty()) {
-                          return SAVE_FOR_FUTURE;
+                          return SafeFuture.completedFuture(SAVE_FOR_FUTURE);
                         }
                         final BeaconState state = maybeState.get();
                         final Optional<BLSPublicKey> aggregatorPublicKey =
                             ValidatorsUtil.getValidatorPubKey(state, aggregateAndProof.getIndex());
                         if (aggregatorPublicKey.isEmpty()) {
                           LOG.trace("Rejecting aggregate with invalid index");
-                          return REJECT;
-                        }
-
-                        if (!isSelectionProofValid(
-                            aggregateSlot,
-                            state,
-                            aggregatorPublicKey.get(),
-                            aggregateAndProof.getSelection_proof())) {
-                          LOG.trace("Rejecting aggregate with incorrect selection proof");
-                          return REJECT;
+                          return SafeFuture.completedFuture(REJECT);
                         }
 
                         final List<Integer> beaconCommittee =
@@ -134,37 +129,64 @@ public class SignedAggregateAndProofValidator {
                             aggregateAndProof.getSelection_proof(), aggregatorModulo)) {
                           LOG.trace(
                               "Rejecting aggregate because selection proof does not select validator as aggregator");
-                          return REJECT;
+                          return SafeFuture.completedFuture(REJECT);
                         }
                         if (!beaconCommittee.contains(
                             toIntExact(aggregateAndProof.getIndex().longValue()))) {
                           LOG.trace(
                               "Rejecting aggregate because attester is not in committee. Should have been one of {}",
                               beaconCommittee);
-                          return REJECT;
-                        }
-
-                        if (!isSignatureValid(signedAggregate, state, aggregatorPublicKey.get())) {
-                          LOG.trace("Rejecting aggregate with invalid signature");
-                          return REJECT;
-                        }
-
-                        if (!receivedAggregatorIndexAndEpochs.add(aggregatorIndexAndEpoch)) {
-                          LOG.trace("Ignoring duplicate aggregate");
-                          return IGNORE;
-                        }
-
-                        if (!receivedValidAggregations.add(attestation.hash_tree_root())) {
-                          LOG.trace("Ignoring duplicate aggregate based on hash tree root");
-                          return IGNORE;
+                          return SafeFuture.completedFuture(REJECT);
                         }
 
-                        return aggregateInternalValidationResult;
+                        return areSignaturesValid(
+                                signedAggregate, aggregateSlot, state, aggregatorPublicKey.get())
+                            .thenApply(
+                                signaturesValid -> {
+                                  if (!signaturesValid) {
+                                    LOG.trace(
+                                        "Rejecting aggregate with invalid selection proof or signature");
+                                    return REJECT;
+                                  }
+
+                                  if (!receivedAggregatorIndexAndEpochs.add(
+                                      aggregatorIndexAndEpoch)) {
+                                    LOG.trace("Ignoring duplicate aggregate");
+                                    return IGNORE;
+                                  }
+
+                                  if (!receivedValidAggregations.add(
+                                      attestation.hash_tree_root())) {
+                                    LOG.trace(
+                                        "Ignoring duplicate aggregate based on hash tree root");
+                                    return IGNORE;
+                                  }
+
+                                  return aggregateInternalValidationResult;
+                                });
                       });
             });
   }
 
-  private boolean isSignatureValid(
+  private SafeFuture<Boolean> areSignaturesValid(
+      final SignedAggregateAndProof signedAggregate,
+      final UnsignedLong aggregateSlot,
+      final BeaconState state,
+      final BLSPublicKey aggregatorPublicKey) {
+    final AsyncBatchBLSSignatureVerifier batchSignatureVerifier =
+        AsyncBatchBLSSignatureVerifier.wrap(signatureVerifier);
+    addSelectionProofSignature(
+        batchSignatureVerifier,
+        aggregateSlot,
+        state,
+        aggregatorPublicKey,
+        signedAggregate.getMessage().getSelection_proof());
+    addAggregateSignature(batchSignatureVerifier, signedAggregate, state, aggregatorPublicKey);
+    return batchSignatureVerifier.batchVerify();
+  }
+
+  private void addAggregateSignature(
+      final BLSSignatureVerifier signatureVerifier,
       final SignedAggregateAndProof signedAggregate,
       final BeaconState state,
       final BLSPublicKey aggregatorPublicKey) {
@@ -176,10 +198,11 @@ public class SignedAggregateAndProofValidator {
             state.getFork(),
             state.getGenesis_validators_root());
     final Bytes signingRoot = compute_signing_root(aggregateAndProof, domain);
-    return BLS.verify(aggregatorPublicKey, signingRoot, signedAggregate.getSignature());
+    signatureVerifier.verify(aggregatorPublicKey, signingRoot, signedAggregate.getSignature());
   }
 
-  private boolean isSelectionProofValid(
+  private void addSelectionProofSignature(
+      final BLSSignatureVerifier signatureVerifier,
       final UnsignedLong aggregateSlot,
       final BeaconState state,
       final BLSPublicKey aggregatorPublicKey,
@@ -191,7 +214,7 @@ public class SignedAggregateAndProofValidator {
             state.getFork(),
             state.getGenesis_validators_root());
     final Bytes signingRoot = compute_signing_root(aggregateSlot.longValue(), domain);
-    return BLS.verify(aggregatorPublicKey, signingRoot, selectionProof);
+    signatureVerifier.verify(aggregatorPublicKey, signingRoot, selectionProof);
   }
 
   private static class AggregatorIndexAndEpoch {
@@ -161,7 +161,7 @@ public class BeaconChainMethods {
 
     final BeaconBlocksByRangeMessageHandler beaconBlocksByRangeHandler =
         new BeaconBlocksByRangeMessageHandler(
-            combinedChainDataClient, MAX_BLOCK_BY_RANGE_REQUEST_SIZE);
+            combinedChainDataClient, MAX_BLOCK_BY_RANGE_REQUEST_SIZE, rpcEncoding);
     return new Eth2RpcMethod<>(
         asyncRunner,
         BEACON_BLOCKS_BY_RANGE,
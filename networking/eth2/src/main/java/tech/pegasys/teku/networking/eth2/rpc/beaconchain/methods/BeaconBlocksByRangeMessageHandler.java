@@ -26,6 +26,7 @@ import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.TreeMap;
 import org.apache.logging.log4j.LogManager;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.networking.libp2p.rpc.BeaconBlocksByRangeRequestMessage;
@@ -33,21 +34,33 @@ import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.networking.eth2.peers.Eth2Peer;
 import tech.pegasys.teku.networking.eth2.rpc.core.PeerRequiredLocalMessageHandler;
 import tech.pegasys.teku.networking.eth2.rpc.core.ResponseCallback;
+import tech.pegasys.teku.networking.eth2.rpc.core.RpcEncoder;
 import tech.pegasys.teku.networking.eth2.rpc.core.RpcException;
+import tech.pegasys.teku.networking.eth2.rpc.core.encodings.RpcEncoding;
 import tech.pegasys.teku.networking.p2p.rpc.StreamClosedException;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
+import tech.pegasys.teku.util.cache.Cache;
+import tech.pegasys.teku.util.cache.LRUCache;
 
 public class BeaconBlocksByRangeMessageHandler
     extends PeerRequiredLocalMessageHandler<BeaconBlocksByRangeRequestMessage, SignedBeaconBlock> {
   private static final org.apache.logging.log4j.Logger LOG = LogManager.getLogger();
+  static final int FINALIZED_BLOCK_RESPONSE_CACHE_SIZE = 512;
 
   private final CombinedChainDataClient combinedChainDataClient;
   private final UnsignedLong maxRequestSize;
+  private final RpcEncoder rpcEncoder;
+  // Finalized blocks never change so their encoded response chunks can be reused across peers
+  private final Cache<UnsignedLong, Bytes> finalizedBlockResponseCache =
+      new LRUCache<>(FINALIZED_BLOCK_RESPONSE_CACHE_SIZE);
 
   public BeaconBlocksByRangeMessageHandler(
-      final CombinedChainDataClient combinedChainDataClient, final UnsignedLong maxRequestSize) {
+      final CombinedChainDataClient combinedChainDataClient,
+      final UnsignedLong maxRequestSize,
+      final RpcEncoding rpcEncoding) {
     this.combinedChainDataClient = combinedChainDataClient;
     this.maxRequestSize = maxRequestSize;
+    this.rpcEncoder = new RpcEncoder(rpcEncoding);
   }
 
   @Override
@@ -141,19 +154,11 @@ public class BeaconBlocksByRangeMessageHandler
         complete -> complete ? completedFuture(requestState) : sendNextBlock(requestState));
   }
 
+  /** Sends the block at the current slot and returns true if the request is now complete. */
   private SafeFuture<Boolean> processNextBlock(final RequestState requestState) {
     // Ensure blocks are loaded off of the event thread
     return requestState
-        .loadNextBlock()
-        .thenCompose(block -> handleLoadedBlock(requestState, block));
-  }
-
-  /** Sends the block and returns true if the request is now complete. */
-  private SafeFuture<Boolean> handleLoadedBlock(
-      final RequestState requestState, final Optional<SignedBeaconBlock> block) {
-    return block
-        .map(requestState::sendBlock)
-        .orElse(SafeFuture.COMPLETE)
+        .loadAndSendCurrentBlock()
         .thenApply(
             __ -> {
               if (requestState.isComplete()) {
@@ -202,32 +207,58 @@ public class BeaconBlocksByRangeMessageHandler
       return !needsMoreBlocks() || hasReachedHeadSlot();
     }
 
-    SafeFuture<Void> sendBlock(final SignedBeaconBlock block) {
-      return callback.respond(block);
-    }
-
     void incrementCurrentSlot() {
       remainingBlocks = remainingBlocks.minus(ONE);
       currentSlot = currentSlot.plus(step);
     }
 
-    SafeFuture<Optional<SignedBeaconBlock>> loadNextBlock() {
+    SafeFuture<Void> loadAndSendCurrentBlock() {
       final UnsignedLong slot = this.currentSlot;
       final Bytes32 knownBlockRoot = knownBlockRoots.get(slot);
       if (knownBlockRoot != null) {
         // Known root so lookup by root
         return combinedChainDataClient
             .getBlockByBlockRoot(knownBlockRoot)
-            .thenApply(maybeBlock -> maybeBlock.filter(block -> block.getSlot().equals(slot)));
+            .thenApply(maybeBlock -> maybeBlock.filter(block -> block.getSlot().equals(slot)))
+            .thenCompose(this::sendBlock);
       } else if ((!knownBlockRoots.isEmpty() && slot.compareTo(knownBlockRoots.firstKey()) >= 0)
           || slot.compareTo(headSlot) > 0) {
         // Unknown root but not finalized means this is an empty slot
         // Could also be because the first block requested is above our head slot
-        return SafeFuture.completedFuture(Optional.empty());
+        return SafeFuture.COMPLETE;
       } else {
-        // Must be a finalized block so lookup by slot
-        return combinedChainDataClient.getBlockAtSlotExact(slot);
+        // Must be a finalized block so send the stored bytes without deserializing them
+        return sendFinalizedBlock(slot);
+      }
+    }
+
+    private SafeFuture<Void> sendFinalizedBlock(final UnsignedLong slot) {
+      final Optional<Bytes> cachedResponse = finalizedBlockResponseCache.getCached(slot);
+      if (cachedResponse.isPresent()) {
+        return callback.respondEncoded(cachedResponse.get());
       }
+      return combinedChainDataClient
+          .getSerializedFinalizedBlockAtSlot(slot)
+          .thenCompose(
+              maybeSerializedBlock -> {
+                if (maybeSerializedBlock.isEmpty()) {
+                  // Either the slot is empty or the block hasn't reached finalized storage yet
+                  return combinedChainDataClient
+                      .getBlockAtSlotExact(slot)
+                      .thenCompose(this::sendBlock);
+                }
+                final Bytes encodedResponse =
+                    finalizedBlockResponseCache.get(
+                        slot,
+                        __ ->
+                            rpcEncoder.encodeSuccessfulSerializedResponse(
+                                maybeSerializedBlock.get()));
+                return callback.respondEncoded(encodedResponse);
+              });
+    }
+
+    private SafeFuture<Void> sendBlock(final Optional<SignedBeaconBlock> block) {
+      return block.map(callback::respond).orElse(SafeFuture.COMPLETE);
     }
   }
 }
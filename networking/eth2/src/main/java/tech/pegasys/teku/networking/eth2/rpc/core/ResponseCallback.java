@@ -13,11 +13,22 @@
 
 package tech.pegasys.teku.networking.eth2.rpc.core;
 
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 
 public interface ResponseCallback<T> {
   SafeFuture<Void> respond(T data);
 
+  /**
+   * Sends a successful response chunk which has already been encoded with {@link
+   * RpcEncoder#encodeSuccessfulSerializedResponse(Bytes)} using the encoding of this request's
+   * method.
+   *
+   * @param encodedResponse the fully encoded response chunk
+   * @return a future which completes when the response has been written
+   */
+  SafeFuture<Void> respondEncoded(Bytes encodedResponse);
+
   void respondAndCompleteSuccessfully(T data);
 
   void completeSuccessfully();
@@ -15,6 +15,8 @@ package tech.pegasys.teku.networking.eth2.rpc.core;
 
 import static tech.pegasys.teku.networking.eth2.rpc.core.RpcResponseStatus.SUCCESS_RESPONSE_CODE;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.networking.eth2.rpc.core.encodings.RpcEncoding;
 
@@ -39,6 +41,27 @@ public final class RpcEncoder {
     return Bytes.concatenate(Bytes.of(SUCCESS_RESPONSE_CODE), encoding.encodePayload(response));
   }
 
+  /**
+   * Encodes a successful response chunk from a payload which has already been SSZ serialized, such
+   * as a block read directly from the database, without deserializing it first. The result is
+   * identical to {@link #encodeSuccessfulResponse(Object)} for the deserialized payload.
+   *
+   * @param serializedResponse the SSZ serialized payload of the response
+   * @return the encoded response chunk
+   */
+  public Bytes encodeSuccessfulSerializedResponse(final Bytes serializedResponse) {
+    final ByteBuf out = Unpooled.buffer(1 + serializedResponse.size());
+    try {
+      out.writeByte(SUCCESS_RESPONSE_CODE);
+      encoding.encodeSerializedPayload(serializedResponse, out);
+      final byte[] encoded = new byte[out.readableBytes()];
+      out.readBytes(encoded);
+      return Bytes.wrap(encoded);
+    } finally {
+      out.release();
+    }
+  }
+
   public Bytes encodeErrorResponse(RpcException error) {
     return Bytes.concatenate(
         Bytes.of(error.getResponseCode()), encoding.encodePayload(error.getErrorMessage()));
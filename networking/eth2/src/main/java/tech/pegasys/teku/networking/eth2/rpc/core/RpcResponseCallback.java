@@ -16,6 +16,7 @@ package tech.pegasys.teku.networking.eth2.rpc.core;
 import java.nio.channels.ClosedChannelException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.infrastructure.async.RootCauseExceptionHandler;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.networking.eth2.rpc.core.RpcException.ServerErrorException;
@@ -38,6 +39,11 @@ class RpcResponseCallback<TResponse> implements ResponseCallback<TResponse> {
     return rpcStream.writeBytes(rpcEncoder.encodeSuccessfulResponse(data));
   }
 
+  @Override
+  public SafeFuture<Void> respondEncoded(final Bytes encodedResponse) {
+    return rpcStream.writeBytes(encodedResponse);
+  }
+
   @Override
   public void respondAndCompleteSuccessfully(TResponse data) {
     respond(data)
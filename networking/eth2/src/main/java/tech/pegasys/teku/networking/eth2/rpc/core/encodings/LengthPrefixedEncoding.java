@@ -14,6 +14,7 @@
 package tech.pegasys.teku.networking.eth2.rpc.core.encodings;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.datastructures.networking.libp2p.rpc.EmptyMessage;
@@ -66,6 +67,20 @@ public class LengthPrefixedEncoding implements RpcEncoding {
     return encodeMessageWithLength(payload);
   }
 
+  @Override
+  public void encodeSerializedPayload(final Bytes serializedPayload, final ByteBuf out) {
+    if (serializedPayload.isEmpty()) {
+      return;
+    }
+    out.writeBytes(ProtobufEncoder.encodeVarInt(serializedPayload.size()).toArrayUnsafe());
+    final ByteBuf payload = Unpooled.wrappedBuffer(serializedPayload.toArrayUnsafe());
+    try {
+      compressor.compress(payload, out);
+    } finally {
+      payload.release();
+    }
+  }
+
   @Override
   public <T> RpcByteBufDecoder<T> createDecoder(Class<T> payloadType) {
     if (payloadType.equals(EmptyMessage.class)) {
@@ -13,6 +13,7 @@
 
 package tech.pegasys.teku.networking.eth2.rpc.core.encodings;
 
+import io.netty.buffer.ByteBuf;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.networking.eth2.rpc.core.encodings.compression.noop.NoopCompressor;
 import tech.pegasys.teku.networking.eth2.rpc.core.encodings.compression.snappy.SnappyFramedCompressor;
@@ -36,6 +37,16 @@ public interface RpcEncoding {
    */
   <T> Bytes encodePayload(T payload);
 
+  /**
+   * Encodes a payload which has already been SSZ serialized, writing the encoding-dependent header
+   * and payload directly to {@code out}. Produces the same bytes as {@link #encodePayload(Object)}
+   * would for the deserialized payload.
+   *
+   * @param serializedPayload The SSZ serialized payload to encode
+   * @param out The buffer to write the encoded header and payload to
+   */
+  void encodeSerializedPayload(Bytes serializedPayload, ByteBuf out);
+
   /**
    * Creates a brand new disposable {@link RpcByteBufDecoder} instance
    *
@@ -121,6 +121,11 @@ public class SnappyFramedCompressor implements Compressor {
     return new SnappyFrameEncoder().encode(data);
   }
 
+  @Override
+  public void compress(final ByteBuf data, final ByteBuf out) {
+    new SnappyFrameEncoder().encode(data, out);
+  }
+
   @Override
   public Decompressor createDecompressor(int uncompressedPayloadSize) {
     return new SnappyFramedDecompressor(uncompressedPayloadSize);
@@ -31,6 +31,7 @@ import tech.pegasys.teku.datastructures.state.ForkInfo;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding;
 import tech.pegasys.teku.networking.eth2.gossip.events.GossipedBlockEvent;
+import tech.pegasys.teku.networking.eth2.gossip.topics.validation.AsyncBLSSignatureVerifier;
 import tech.pegasys.teku.networking.eth2.gossip.topics.validation.BlockValidator;
 import tech.pegasys.teku.ssz.SSZTypes.Bytes4;
 import tech.pegasys.teku.statetransition.BeaconChainUtil;
@@ -43,7 +44,8 @@ public class BlockTopicHandlerTest {
   private final GossipEncoding gossipEncoding = GossipEncoding.SSZ_SNAPPY;
   private final RecentChainData recentChainData = MemoryOnlyRecentChainData.create(eventBus);
   private final BlockValidator blockValidator =
-      new BlockValidator(recentChainData, new StateTransition());
+      new BlockValidator(
+          recentChainData, new StateTransition(), AsyncBLSSignatureVerifier.SIMPLE);
   private final BeaconChainUtil beaconChainUtil = BeaconChainUtil.create(2, recentChainData);
 
   private BlockTopicHandler topicHandler =
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.networking.eth2.gossip.topics.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.async.DelayedExecutorAsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.metrics.StubMetricsSystem;
+import tech.pegasys.teku.networking.eth2.gossip.topics.validation.AggregatingSignatureVerificationService.SignatureTask;
+
+class AggregatingSignatureVerificationServiceTest {
+  private static final Bytes MESSAGE = Bytes.wrap(new byte[] {1, 2, 3});
+
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final AggregatingSignatureVerificationService service =
+      new AggregatingSignatureVerificationService(
+          new StubMetricsSystem(), asyncRunner, 1, 10, 5, 100);
+
+  @AfterEach
+  void tearDown() {
+    service.stop();
+  }
+
+  @Test
+  public void verifyBatch_shouldCompleteAllTasksWhenBatchIsValid() {
+    final List<SignatureTask> tasks = createTasks(5, -1);
+
+    service.verifyBatch(tasks);
+    asyncRunner.executeQueuedActions();
+
+    tasks.forEach(task -> assertThat(task.getResult()).isCompletedWithValue(true));
+  }
+
+  @Test
+  public void verifyBatch_shouldIdentifyInvalidSignatureWhenBatchFails() {
+    final List<SignatureTask> tasks = createTasks(5, 3);
+
+    service.verifyBatch(tasks);
+    asyncRunner.executeQueuedActions();
+
+    for (int i = 0; i < tasks.size(); i++) {
+      assertThat(tasks.get(i).getResult()).isCompletedWithValue(i != 3);
+    }
+  }
+
+  @Test
+  public void verifyBatch_shouldVerifySingleTask() {
+    final List<SignatureTask> validTask = createTasks(1, -1);
+    final List<SignatureTask> invalidTask = createTasks(1, 0);
+
+    service.verifyBatch(validTask);
+    service.verifyBatch(invalidTask);
+    asyncRunner.executeQueuedActions();
+
+    assertThat(validTask.get(0).getResult()).isCompletedWithValue(true);
+    assertThat(invalidTask.get(0).getResult()).isCompletedWithValue(false);
+  }
+
+  @Test
+  public void verifyBatch_shouldCompleteResultsViaAsyncRunner() {
+    final List<SignatureTask> tasks = createTasks(3, -1);
+
+    service.verifyBatch(tasks);
+    tasks.forEach(task -> assertThat(task.getResult()).isNotDone());
+
+    asyncRunner.executeQueuedActions();
+    tasks.forEach(task -> assertThat(task.getResult()).isCompletedWithValue(true));
+  }
+
+  @Test
+  public void verify_shouldVerifyOnCallingThreadWhenNotStarted() {
+    final BLSKeyPair keyPair = BLSKeyPair.random(1);
+    final SafeFuture<Boolean> result =
+        service.verify(
+            keyPair.getPublicKey(), MESSAGE, BLS.sign(keyPair.getSecretKey(), MESSAGE));
+
+    assertThat(result).isCompletedWithValue(true);
+  }
+
+  @Test
+  public void verify_shouldVerifySignaturesOnServiceThreads() throws Exception {
+    final AggregatingSignatureVerificationService threadedService =
+        new AggregatingSignatureVerificationService(
+            new StubMetricsSystem(), DelayedExecutorAsyncRunner.create(), 2, 10, 5, 100);
+    threadedService.start();
+    final List<SafeFuture<Boolean>> results = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      final BLSKeyPair keyPair = BLSKeyPair.random(i);
+      final BLSSignature signature =
+          i == 7
+              ? BLS.sign(keyPair.getSecretKey(), Bytes.wrap(new byte[] {4}))
+              : BLS.sign(keyPair.getSecretKey(), MESSAGE);
+      results.add(threadedService.verify(keyPair.getPublicKey(), MESSAGE, signature));
+    }
+
+    try {
+      for (int i = 0; i < results.size(); i++) {
+        assertThat(results.get(i).get(10, TimeUnit.SECONDS)).isEqualTo(i != 7);
+      }
+    } finally {
+      threadedService.stop();
+    }
+  }
+
+  private List<SignatureTask> createTasks(final int count, final int invalidIndex) {
+    final List<SignatureTask> tasks = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      final BLSKeyPair keyPair = BLSKeyPair.random(i);
+      final Bytes signedMessage = i == invalidIndex ? Bytes.wrap(new byte[] {4}) : MESSAGE;
+      tasks.add(
+          new SignatureTask(
+              List.of(keyPair.getPublicKey()),
+              MESSAGE,
+              BLS.sign(keyPair.getSecretKey(), signedMessage)));
+    }
+    return tasks;
+  }
+}
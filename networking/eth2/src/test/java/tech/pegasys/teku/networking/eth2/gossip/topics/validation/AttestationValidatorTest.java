@@ -79,7 +79,8 @@ class AttestationValidatorTest {
   private final AttestationGenerator attestationGenerator =
       new AttestationGenerator(chainBuilder.getValidatorKeys());
 
-  private final AttestationValidator validator = new AttestationValidator(recentChainData);
+  private final AttestationValidator validator =
+      new AttestationValidator(recentChainData, AsyncBLSSignatureVerifier.SIMPLE);
 
   @BeforeAll
   public static void init() {
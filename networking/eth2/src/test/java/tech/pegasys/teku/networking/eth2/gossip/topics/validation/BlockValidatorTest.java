@@ -42,7 +42,9 @@ public class BlockValidatorTest {
   @BeforeEach
   void setUp() {
     beaconChainUtil.initializeStorage();
-    blockValidator = new BlockValidator(recentChainData, new StateTransition());
+    blockValidator =
+        new BlockValidator(
+            recentChainData, new StateTransition(), AsyncBLSSignatureVerifier.SIMPLE);
   }
 
   @Test
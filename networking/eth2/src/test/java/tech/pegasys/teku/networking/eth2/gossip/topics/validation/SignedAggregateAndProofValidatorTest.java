@@ -109,7 +109,8 @@ class SignedAggregateAndProofValidatorTest {
   private final AttestationValidator attestationValidator = mock(AttestationValidator.class);
 
   private final SignedAggregateAndProofValidator validator =
-      new SignedAggregateAndProofValidator(recentChainData, attestationValidator);
+      new SignedAggregateAndProofValidator(
+          recentChainData, attestationValidator, AsyncBLSSignatureVerifier.SIMPLE);
   private SignedBlockAndState bestBlock;
 
   @BeforeAll
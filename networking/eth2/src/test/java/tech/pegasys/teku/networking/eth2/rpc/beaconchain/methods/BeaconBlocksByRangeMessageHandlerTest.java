@@ -18,6 +18,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -32,6 +33,7 @@ import java.util.Optional;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,10 +42,13 @@ import org.mockito.Mockito;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.networking.libp2p.rpc.BeaconBlocksByRangeRequestMessage;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.networking.eth2.peers.Eth2Peer;
 import tech.pegasys.teku.networking.eth2.rpc.core.ResponseCallback;
+import tech.pegasys.teku.networking.eth2.rpc.core.RpcEncoder;
 import tech.pegasys.teku.networking.eth2.rpc.core.RpcException;
+import tech.pegasys.teku.networking.eth2.rpc.core.encodings.RpcEncoding;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 
 class BeaconBlocksByRangeMessageHandlerTest {
@@ -62,13 +67,19 @@ class BeaconBlocksByRangeMessageHandlerTest {
   private final CombinedChainDataClient combinedChainDataClient =
       mock(CombinedChainDataClient.class);
 
+  private final RpcEncoder rpcEncoder = new RpcEncoder(RpcEncoding.SSZ_SNAPPY);
+
   private final BeaconBlocksByRangeMessageHandler handler =
-      new BeaconBlocksByRangeMessageHandler(combinedChainDataClient, MAX_REQUEST_SIZE);
+      new BeaconBlocksByRangeMessageHandler(
+          combinedChainDataClient, MAX_REQUEST_SIZE, RpcEncoding.SSZ_SNAPPY);
 
   @BeforeEach
   public void setup() {
     when(peer.wantToMakeRequest()).thenReturn(true);
     when(peer.wantToReceiveObjects(any(), anyLong())).thenReturn(true);
+    when(combinedChainDataClient.getSerializedFinalizedBlockAtSlot(any()))
+        .thenReturn(completedFuture(Optional.empty()));
+    when(listener.respondEncoded(any())).thenReturn(SafeFuture.COMPLETE);
   }
 
   @Test
@@ -262,6 +273,45 @@ class BeaconBlocksByRangeMessageHandlerTest {
     verifyBlocksReturned(1, 2, 3, 4, 5);
   }
 
+  @Test
+  void shouldSendSerializedFinalizedBlocksWithoutDeserializing() {
+    final int startBlock = 1;
+    final int count = 5;
+    final int skip = 1;
+    withCanonicalHeadBlock(BLOCKS.get(8));
+    withAncestorRoots(startBlock, count, skip, hotBlocks(4, 5, 6));
+    withSerializedFinalizedBlocks(0, 1, 2, 3);
+
+    requestBlocks(startBlock, count, skip);
+
+    final InOrder inOrder = Mockito.inOrder(listener);
+    inOrder.verify(listener).respondEncoded(encodedResponse(1));
+    inOrder.verify(listener).respondEncoded(encodedResponse(2));
+    inOrder.verify(listener).respondEncoded(encodedResponse(3));
+    inOrder.verify(listener).respond(BLOCKS.get(4));
+    inOrder.verify(listener).respond(BLOCKS.get(5));
+    inOrder.verify(listener).completeSuccessfully();
+    verifyNoMoreInteractions(listener);
+    verify(combinedChainDataClient, never()).getBlockAtSlotExact(any());
+  }
+
+  @Test
+  void shouldReuseEncodedResponsesForRepeatedFinalizedRanges() {
+    final int startBlock = 1;
+    final int count = 3;
+    final int skip = 1;
+    withCanonicalHeadBlock(BLOCKS.get(8));
+    withSerializedFinalizedBlocks(0, 1, 2, 3, 4, 5, 6, 7);
+
+    requestBlocks(startBlock, count, skip);
+    requestBlocks(startBlock, count, skip);
+
+    verify(listener, times(2)).respondEncoded(encodedResponse(1));
+    verify(listener, times(2)).respondEncoded(encodedResponse(2));
+    verify(listener, times(2)).respondEncoded(encodedResponse(3));
+    verify(combinedChainDataClient, times(1)).getSerializedFinalizedBlockAtSlot(ONE);
+  }
+
   private void requestBlocks(final int startBlock, final long count, final int skip) {
 
     handler.onIncomingMessage(
@@ -328,6 +378,22 @@ class BeaconBlocksByRangeMessageHandlerTest {
             });
   }
 
+  private void withSerializedFinalizedBlocks(final int... slots) {
+    IntStream.of(slots)
+        .forEach(
+            slot -> {
+              final SignedBeaconBlock block = BLOCKS.get(slot);
+              when(combinedChainDataClient.getSerializedFinalizedBlockAtSlot(block.getSlot()))
+                  .thenReturn(
+                      completedFuture(Optional.of(SimpleOffsetSerializer.serialize(block))));
+              when(combinedChainDataClient.isFinalized(block.getSlot())).thenReturn(true);
+            });
+  }
+
+  private Bytes encodedResponse(final int slot) {
+    return rpcEncoder.encodeSuccessfulResponse(BLOCKS.get(slot));
+  }
+
   private void withCanonicalHeadBlock(final SignedBeaconBlock headBlock) {
     when(combinedChainDataClient.getBestBlock()).thenReturn(Optional.of(headBlock));
   }
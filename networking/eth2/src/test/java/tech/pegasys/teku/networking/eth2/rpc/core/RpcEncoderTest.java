@@ -16,10 +16,14 @@ package tech.pegasys.teku.networking.eth2.rpc.core;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.common.primitives.UnsignedLong;
+import java.util.List;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.networking.libp2p.rpc.StatusMessage;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.teku.networking.eth2.rpc.core.encodings.RpcEncoding;
 import tech.pegasys.teku.ssz.SSZTypes.Bytes4;
 
@@ -53,4 +57,15 @@ final class RpcEncoderTest {
     final Bytes actual = encoder.encodeSuccessfulResponse(RECORDED_STATUS_MESSAGE_DATA);
     assertThat(actual).isEqualTo(RECORDED_STATUS_RESPONSE_BYTES);
   }
+
+  @Test
+  public void shouldEncodeSerializedResponseTheSameAsDeserializedResponse() {
+    final SignedBeaconBlock block = new DataStructureUtil().randomSignedBeaconBlock(10);
+    for (RpcEncoding encoding : List.of(RpcEncoding.SSZ, RpcEncoding.SSZ_SNAPPY)) {
+      final RpcEncoder rpcEncoder = new RpcEncoder(encoding);
+      final Bytes actual =
+          rpcEncoder.encodeSuccessfulSerializedResponse(SimpleOffsetSerializer.serialize(block));
+      assertThat(actual).isEqualTo(rpcEncoder.encodeSuccessfulResponse(block));
+    }
+  }
 }
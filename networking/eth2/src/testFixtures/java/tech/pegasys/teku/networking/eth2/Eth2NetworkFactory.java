@@ -203,6 +203,7 @@ public class Eth2NetworkFactory {
 
         return new ActiveEth2Network(
             metricsSystem,
+            asyncRunner,
             network,
             eth2PeerManager,
             eventBus,
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.networking.p2p.libp2p.gossip;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.libp2p.core.pubsub.Topic;
+import io.netty.buffer.ByteBuf;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Set;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.util.collections.ConcurrentLimitedSet;
+import tech.pegasys.teku.util.collections.LimitStrategy;
+
+/**
+ * Remembers recently seen gossip messages by a 64-bit digest of their topic and payload rather
+ * than by the payload itself, so the payload never needs to be copied or retained to check for
+ * duplicates.
+ *
+ * <p>Digests are calculated with SipHash using a random key chosen when the filter is created. A
+ * peer can't predict the digests, so it can't craft a message which collides with one it wants to
+ * suppress.
+ */
+class DuplicateMessageFilter {
+  static final int DEFAULT_CAPACITY = 65536;
+
+  private final HashFunction hashFunction;
+  private final Set<Long> seenDigests;
+
+  DuplicateMessageFilter(final int capacity) {
+    final SecureRandom random = new SecureRandom();
+    this.hashFunction = Hashing.sipHash24(random.nextLong(), random.nextLong());
+    this.seenDigests =
+        ConcurrentLimitedSet.create(capacity, LimitStrategy.DROP_LEAST_RECENTLY_ACCESSED);
+  }
+
+  /**
+   * Records a message as seen.
+   *
+   * @param topic the topic the message was received on
+   * @param data the message payload, which is read without modifying its reader index
+   * @return true if the message had not previously been seen
+   */
+  boolean markSeen(final Topic topic, final ByteBuf data) {
+    final Hasher hasher = newHasher(topic);
+    for (ByteBuffer buffer : data.nioBuffers()) {
+      hasher.putBytes(buffer);
+    }
+    return seenDigests.add(hasher.hash().asLong());
+  }
+
+  /**
+   * Records a message as seen.
+   *
+   * @param topic the topic the message is published on
+   * @param data the message payload
+   * @return true if the message had not previously been seen
+   */
+  boolean markSeen(final Topic topic, final Bytes data) {
+    return seenDigests.add(newHasher(topic).putBytes(data.toArrayUnsafe()).hash().asLong());
+  }
+
+  private Hasher newHasher(final Topic topic) {
+    final String topicName = topic.getTopic();
+    return hashFunction.newHasher().putInt(topicName.length()).putString(topicName, UTF_8);
+  }
+}
@@ -20,16 +20,15 @@ import io.libp2p.core.pubsub.PubsubPublisherApi;
 import io.libp2p.core.pubsub.Topic;
 import io.libp2p.core.pubsub.ValidationResult;
 import io.netty.buffer.Unpooled;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.networking.p2p.gossip.TopicHandler;
-import tech.pegasys.teku.util.collections.ConcurrentLimitedSet;
-import tech.pegasys.teku.util.collections.LimitStrategy;
 
 public class GossipHandler implements Function<MessageApi, CompletableFuture<ValidationResult>> {
   private static final Logger LOG = LogManager.getLogger();
@@ -39,19 +38,25 @@ public class GossipHandler implements Function<MessageApi, CompletableFuture<Val
   private static final SafeFuture<ValidationResult> VALIDATION_IGNORED =
       SafeFuture.completedFuture(ValidationResult.Ignore);
 
-  private static final int MAX_SENT_MESSAGES = 2048;
-
   private final Topic topic;
   private final PubsubPublisherApi publisher;
   private final TopicHandler handler;
-  private final Set<Bytes> processedMessages =
-      ConcurrentLimitedSet.create(MAX_SENT_MESSAGES, LimitStrategy.DROP_LEAST_RECENTLY_ACCESSED);
+  private final DuplicateMessageFilter processedMessages;
+  private final Counter newMessageCounter;
+  private final Counter duplicateMessageCounter;
 
-  public GossipHandler(
-      final Topic topic, final PubsubPublisherApi publisher, final TopicHandler handler) {
+  GossipHandler(
+      final Topic topic,
+      final PubsubPublisherApi publisher,
+      final TopicHandler handler,
+      final DuplicateMessageFilter processedMessages,
+      final LabelledMetric<Counter> receivedMessageCounter) {
     this.topic = topic;
     this.publisher = publisher;
     this.handler = handler;
+    this.processedMessages = processedMessages;
+    this.newMessageCounter = receivedMessageCounter.labels(topic.getTopic(), "new");
+    this.duplicateMessageCounter = receivedMessageCounter.labels(topic.getTopic(), "duplicate");
   }
 
   @Override
@@ -64,21 +69,23 @@ public class GossipHandler implements Function<MessageApi, CompletableFuture<Val
           GOSSIP_MAX_SIZE);
       return VALIDATION_FAILED;
     }
-    byte[] arr = new byte[message.getData().readableBytes()];
-    message.getData().slice().readBytes(arr);
-    Bytes bytes = Bytes.wrap(arr);
-    if (!processedMessages.add(bytes)) {
+    if (!processedMessages.markSeen(topic, message.getData())) {
       // We've already seen this message, skip processing
-      LOG.trace("Ignoring duplicate message for topic {}: {} bytes", topic, bytes.size());
+      duplicateMessageCounter.inc();
+      LOG.trace("Ignoring duplicate message for topic {}: {} bytes", topic, messageSize);
       return VALIDATION_IGNORED;
     }
+    newMessageCounter.inc();
+    byte[] arr = new byte[message.getData().readableBytes()];
+    message.getData().slice().readBytes(arr);
+    Bytes bytes = Bytes.wrap(arr);
     LOG.trace("Received message for topic {}: {} bytes", topic, bytes.size());
 
     return handler.handleMessage(bytes);
   }
 
   public void gossip(Bytes bytes) {
-    if (!processedMessages.add(bytes)) {
+    if (!processedMessages.markSeen(topic, bytes)) {
       // We've already gossiped this data
       return;
     }
@@ -27,7 +27,11 @@ import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.metrics.TekuMetricCategory;
 import tech.pegasys.teku.networking.p2p.gossip.TopicChannel;
 import tech.pegasys.teku.networking.p2p.gossip.TopicHandler;
 import tech.pegasys.teku.networking.p2p.libp2p.LibP2PNodeId;
@@ -38,10 +42,21 @@ public class LibP2PGossipNetwork implements tech.pegasys.teku.networking.p2p.gos
 
   private final Gossip gossip;
   private final PubsubPublisherApi publisher;
+  private final DuplicateMessageFilter processedMessages =
+      new DuplicateMessageFilter(DuplicateMessageFilter.DEFAULT_CAPACITY);
+  private final LabelledMetric<Counter> receivedMessageCounter;
 
-  public LibP2PGossipNetwork(final Gossip gossip, final PubsubPublisherApi publisher) {
+  public LibP2PGossipNetwork(
+      final MetricsSystem metricsSystem, final Gossip gossip, final PubsubPublisherApi publisher) {
     this.gossip = gossip;
     this.publisher = publisher;
+    this.receivedMessageCounter =
+        metricsSystem.createLabelledCounter(
+            TekuMetricCategory.NETWORK,
+            "gossip_messages_received_total",
+            "Number of gossip messages received, by whether they had already been seen",
+            "topic",
+            "status");
   }
 
   @Override
@@ -54,7 +69,9 @@ public class LibP2PGossipNetwork implements tech.pegasys.teku.networking.p2p.gos
   public TopicChannel subscribe(final String topic, final TopicHandler topicHandler) {
     LOG.trace("Subscribe to topic: {}", topic);
     final Topic libP2PTopic = new Topic(topic);
-    final GossipHandler gossipHandler = new GossipHandler(libP2PTopic, publisher, topicHandler);
+    final GossipHandler gossipHandler =
+        new GossipHandler(
+            libP2PTopic, publisher, topicHandler, processedMessages, receivedMessageCounter);
     PubsubSubscription subscription = gossip.subscribe(gossipHandler, libP2PTopic);
     return new LibP2PTopicChannel(gossipHandler, subscription);
   }
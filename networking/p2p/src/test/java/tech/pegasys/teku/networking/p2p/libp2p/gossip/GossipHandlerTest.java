@@ -21,6 +21,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static tech.pegasys.teku.util.config.Constants.GOSSIP_MAX_SIZE;
 
+import io.libp2p.core.pubsub.MessageApi;
 import io.libp2p.core.pubsub.PubsubPublisherApi;
 import io.libp2p.core.pubsub.Topic;
 import io.libp2p.core.pubsub.ValidationResult;
@@ -30,6 +31,7 @@ import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.metrics.StubCounter;
 import tech.pegasys.teku.network.p2p.jvmlibp2p.MockMessageApi;
 import tech.pegasys.teku.networking.p2p.gossip.TopicHandler;
 
@@ -37,7 +39,10 @@ public class GossipHandlerTest {
   private final Topic topic = new Topic("Testing");
   private final PubsubPublisherApi publisher = mock(PubsubPublisherApi.class);
   private final TopicHandler topicHandler = mock(TopicHandler.class);
-  private final GossipHandler gossipHandler = new GossipHandler(topic, publisher, topicHandler);
+  private final StubCounter receivedMessageCounter = new StubCounter();
+  private final GossipHandler gossipHandler =
+      new GossipHandler(
+          topic, publisher, topicHandler, new DuplicateMessageFilter(100), receivedMessageCounter);
 
   @BeforeEach
   public void setup() {
@@ -87,6 +92,45 @@ public class GossipHandlerTest {
 
     assertThat(result).isCompletedWithValue(ValidationResult.Ignore);
     verify(topicHandler).handleMessage(any());
+    assertThat(receivedMessageCounter.getValue(topic.getTopic(), "new")).isEqualTo(1);
+    assertThat(receivedMessageCounter.getValue(topic.getTopic(), "duplicate")).isEqualTo(1);
+  }
+
+  @Test
+  @SuppressWarnings("FutureReturnValueIgnored")
+  public void apply_duplicateFromCompositeBuffer() {
+    final Bytes data = Bytes.fromHexString("0x010203");
+    gossipHandler.apply(new MockMessageApi(data, topic));
+
+    final ByteBuf compositeData =
+        Unpooled.wrappedBuffer(
+            Unpooled.wrappedBuffer(data.slice(0, 1).toArray()),
+            Unpooled.wrappedBuffer(data.slice(1).toArray()));
+    final MessageApi message = mock(MessageApi.class);
+    when(message.getData()).thenReturn(compositeData);
+    final SafeFuture<ValidationResult> result = gossipHandler.apply(message);
+
+    assertThat(result).isCompletedWithValue(ValidationResult.Ignore);
+    verify(topicHandler).handleMessage(any());
+  }
+
+  @Test
+  @SuppressWarnings("FutureReturnValueIgnored")
+  public void apply_sameDataOnDifferentTopics() {
+    final Topic otherTopic = new Topic("Other");
+    final DuplicateMessageFilter sharedFilter = new DuplicateMessageFilter(100);
+    final GossipHandler handler1 =
+        new GossipHandler(topic, publisher, topicHandler, sharedFilter, receivedMessageCounter);
+    final GossipHandler handler2 =
+        new GossipHandler(
+            otherTopic, publisher, topicHandler, sharedFilter, receivedMessageCounter);
+    final Bytes data = Bytes.fromHexString("0x01");
+
+    handler1.apply(new MockMessageApi(data, topic));
+    final SafeFuture<ValidationResult> result =
+        handler2.apply(new MockMessageApi(data, otherTopic));
+
+    assertThat(result).isCompletedWithValue(ValidationResult.Valid);
   }
 
   @Test
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.protoarray;
+
+import static com.google.common.primitives.UnsignedLong.ONE;
+import static com.google.common.primitives.UnsignedLong.ZERO;
+import static tech.pegasys.teku.protoarray.ProtoArrayTestUtil.createProtoArrayForkChoiceStrategy;
+import static tech.pegasys.teku.protoarray.ProtoArrayTestUtil.createStoreToManipulateVotes;
+import static tech.pegasys.teku.protoarray.ProtoArrayTestUtil.getHash;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.Arrays;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.datastructures.forkchoice.MutableStore;
+
+/**
+ * Measures finding the head with every validator having voted. Each invocation of {@link
+ * #findHeadAfterSlotOfVotes} first moves the votes of one slot's worth of validators to a new
+ * block, matching the attestations received between two calls in a running node.
+ */
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class ForkChoiceBenchmark {
+  private static final int SLOTS_PER_EPOCH = 32;
+  private static final int BLOCK_COUNT = 2 * SLOTS_PER_EPOCH;
+  private static final UnsignedLong JUSTIFIED_EPOCH = ONE;
+  private static final UnsignedLong FINALIZED_EPOCH = ONE;
+
+  @Param({"100000", "300000", "1000000"})
+  int validatorCount;
+
+  private ProtoArrayForkChoiceStrategy forkChoice;
+  private MutableStore store;
+  private long[] balances;
+  private int slot;
+  private long targetEpoch;
+
+  @Setup(Level.Trial)
+  public void init() {
+    store = createStoreToManipulateVotes();
+    forkChoice = createProtoArrayForkChoiceStrategy(getHash(0), ZERO, ONE, ONE);
+    for (int i = 1; i <= BLOCK_COUNT; i++) {
+      forkChoice.processBlock(
+          UnsignedLong.valueOf(i),
+          getHash(i),
+          getHash(i - 1),
+          Bytes32.ZERO,
+          JUSTIFIED_EPOCH,
+          FINALIZED_EPOCH);
+    }
+    balances = new long[validatorCount];
+    Arrays.fill(balances, 32_000_000_000L);
+    for (int i = 0; i < validatorCount; i++) {
+      forkChoice.processAttestation(
+          store, UnsignedLong.valueOf(i), getHash(i % BLOCK_COUNT), UnsignedLong.valueOf(2));
+    }
+    forkChoice.findHead(store, JUSTIFIED_EPOCH, getHash(0), FINALIZED_EPOCH, balances);
+    slot = 0;
+    targetEpoch = 3;
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5)
+  @Measurement(iterations = 10)
+  public void findHeadWithUnchangedVotes(Blackhole bh) {
+    bh.consume(forkChoice.findHead(store, JUSTIFIED_EPOCH, getHash(0), FINALIZED_EPOCH, balances));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5)
+  @Measurement(iterations = 10)
+  public void findHeadAfterSlotOfVotes(Blackhole bh) {
+    final Bytes32 blockRoot = getHash(slot % BLOCK_COUNT + 1);
+    final UnsignedLong epoch = UnsignedLong.valueOf(targetEpoch);
+    for (int i = slot % SLOTS_PER_EPOCH; i < validatorCount; i += SLOTS_PER_EPOCH) {
+      forkChoice.processAttestation(store, UnsignedLong.valueOf(i), blockRoot, epoch);
+    }
+    slot++;
+    if (slot % SLOTS_PER_EPOCH == 0) {
+      targetEpoch++;
+    }
+    bh.consume(forkChoice.findHead(store, JUSTIFIED_EPOCH, getHash(0), FINALIZED_EPOCH, balances));
+  }
+}
@@ -152,8 +152,8 @@ public class ProtoArray {
    * @param finalizedEpoch
    */
   public void applyScoreChanges(
-      List<Long> deltas, UnsignedLong justifiedEpoch, UnsignedLong finalizedEpoch) {
-    checkArgument(deltas.size() == indices.size(), "ProtoArray: Invalid delta length");
+      long[] deltas, UnsignedLong justifiedEpoch, UnsignedLong finalizedEpoch) {
+    checkArgument(deltas.length == indices.size(), "ProtoArray: Invalid delta length");
 
     if (!justifiedEpoch.equals(this.justifiedEpoch)
         || !finalizedEpoch.equals(this.finalizedEpoch)) {
@@ -172,12 +172,12 @@ public class ProtoArray {
         continue;
       }
 
-      long nodeDelta = deltas.get(nodeIndex);
+      long nodeDelta = deltas[nodeIndex];
       node.adjustWeight(nodeDelta);
 
       if (node.getParentIndex().isPresent()) {
         int parentIndex = node.getParentIndex().get();
-        deltas.set(parentIndex, deltas.get(parentIndex) + nodeDelta);
+        deltas[parentIndex] += nodeDelta;
         maybeUpdateBestChildAndDescendant(parentIndex, nodeIndex);
       }
     }
@@ -193,14 +193,16 @@ public class ProtoArray {
    * </ul>
    *
    * @param finalizedRoot
+   * @return the number of nodes removed, which is also the amount every remaining node index was
+   *     reduced by
    */
-  public void maybePrune(Bytes32 finalizedRoot) {
+  public int maybePrune(Bytes32 finalizedRoot) {
     int finalizedIndex =
         checkNotNull(indices.get(finalizedRoot), "ProtoArray: Finalized root is unknown");
 
     if (finalizedIndex < pruneThreshold) {
       // Pruning at small numbers incurs more cost than benefit.
-      return;
+      return 0;
     }
 
     // Remove the `indices` key/values for all the to-be-deleted nodes.
@@ -254,6 +256,7 @@ public class ProtoArray {
                 node.setBestDescendantIndex(Optional.of(newBestDescendantIndex));
               });
     }
+    return finalizedIndex;
   }
 
   /**
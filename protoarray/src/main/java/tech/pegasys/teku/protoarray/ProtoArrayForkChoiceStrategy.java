@@ -13,16 +13,21 @@
 
 package tech.pegasys.teku.protoarray;
 
+import static java.lang.Math.toIntExact;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_epoch_at_slot;
+
 import com.google.common.primitives.UnsignedLong;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.BeaconBlock;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
 import tech.pegasys.teku.datastructures.forkchoice.MutableStore;
 import tech.pegasys.teku.datastructures.forkchoice.PrunableStore;
@@ -31,6 +36,7 @@ import tech.pegasys.teku.datastructures.operations.IndexedAttestation;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.state.Checkpoint;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.ssz.SSZTypes.SSZList;
 import tech.pegasys.teku.util.config.Constants;
 
 public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
@@ -40,11 +46,15 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
   private final ProtoArray protoArray;
   private final ProtoArrayStorageChannel storageChannel;
 
-  private List<UnsignedLong> balances;
+  private long[] balances;
+  // Loaded from the store on first use, after blocks in the store have been added to protoArray
+  private ProtoArrayVotes votes;
+  private Checkpoint justifiedBalancesCheckpoint;
+  private long[] justifiedBalances;
 
   private ProtoArrayForkChoiceStrategy(
       ProtoArray protoArray,
-      List<UnsignedLong> balances,
+      long[] balances,
       ProtoArrayStorageChannel protoArrayStorageChannel) {
     this.protoArray = protoArray;
     this.balances = balances;
@@ -69,7 +79,7 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
 
     return processBlocksInStoreAtStartup(store, protoArray)
         .thenApply(
-            __ -> new ProtoArrayForkChoiceStrategy(protoArray, new ArrayList<>(), storageChannel));
+            __ -> new ProtoArrayForkChoiceStrategy(protoArray, new long[0], storageChannel));
   }
 
   @Override
@@ -80,26 +90,68 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
         justifiedCheckpoint.getEpoch(),
         justifiedCheckpoint.getRoot(),
         store.getFinalizedCheckpoint().getEpoch(),
-        store.getCheckpointState(justifiedCheckpoint).orElseThrow().getBalances().asList());
+        getJustifiedBalances(store, justifiedCheckpoint));
+  }
+
+  private long[] getJustifiedBalances(
+      final MutableStore store, final Checkpoint justifiedCheckpoint) {
+    balancesLock.readLock().lock();
+    try {
+      if (justifiedCheckpoint.equals(justifiedBalancesCheckpoint)) {
+        return justifiedBalances;
+      }
+    } finally {
+      balancesLock.readLock().unlock();
+    }
+    // Balances only change when the justified checkpoint does so avoid unboxing them every time
+    final SSZList<UnsignedLong> stateBalances =
+        store.getCheckpointState(justifiedCheckpoint).orElseThrow().getBalances();
+    final long[] newJustifiedBalances = new long[stateBalances.size()];
+    for (int i = 0; i < newJustifiedBalances.length; i++) {
+      newJustifiedBalances[i] = stateBalances.get(i).longValue();
+    }
+    balancesLock.writeLock().lock();
+    try {
+      justifiedBalancesCheckpoint = justifiedCheckpoint;
+      justifiedBalances = newJustifiedBalances;
+    } finally {
+      balancesLock.writeLock().unlock();
+    }
+    return newJustifiedBalances;
   }
 
   @Override
   public void onAttestation(final MutableStore store, final IndexedAttestation attestation) {
+    protoArrayLock.readLock().lock();
     votesLock.writeLock().lock();
     try {
+      final ProtoArrayVotes votes = getVotes(store);
+      attestation.getAttesting_indices().stream()
+          .mapToInt(validatorIndex -> toIntExact(validatorIndex.longValue()))
+          .max()
+          .ifPresent(votes::ensureCapacity);
       attestation.getAttesting_indices().stream()
           .parallel()
           .forEach(
               validatorIndex -> {
-                processAttestation(
+                updateVote(
                     store,
+                    votes,
                     validatorIndex,
                     attestation.getData().getBeacon_block_root(),
                     attestation.getData().getTarget().getEpoch());
               });
     } finally {
       votesLock.writeLock().unlock();
+      protoArrayLock.readLock().unlock();
+    }
+  }
+
+  private ProtoArrayVotes getVotes(final MutableStore store) {
+    if (votes == null) {
+      votes = ProtoArrayVotes.load(store, protoArray.getIndices());
     }
+    return votes;
   }
 
   @Override
@@ -126,36 +178,66 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
 
   public void maybePrune(Bytes32 finalizedRoot) {
     protoArrayLock.writeLock().lock();
+    votesLock.writeLock().lock();
     try {
-      protoArray.maybePrune(finalizedRoot);
+      final int prunedNodeCount = protoArray.maybePrune(finalizedRoot);
+      if (votes != null) {
+        votes.onPruned(prunedNodeCount);
+      }
     } finally {
       protoArrayLock.writeLock().unlock();
+      votesLock.writeLock().unlock();
     }
   }
 
   // Internal
   private static SafeFuture<Void> processBlocksInStoreAtStartup(
       PrunableStore store, ProtoArray protoArray) {
-    List<Bytes32> alreadyIncludedBlockRoots =
-        protoArray.getNodes().stream().map(ProtoNode::getBlockRoot).collect(Collectors.toList());
+    Set<Bytes32> alreadyIncludedBlockRoots =
+        protoArray.getNodes().stream().map(ProtoNode::getBlockRoot).collect(Collectors.toSet());
 
     SafeFuture<Void> future = SafeFuture.completedFuture(null);
     for (Bytes32 blockRoot : store.getOrderedBlockRoots()) {
       if (alreadyIncludedBlockRoots.contains(blockRoot)) {
         continue;
       }
-      future =
-          future.thenCompose(
-              __ ->
-                  store
-                      .retrieveBlockAndState(blockRoot)
-                      .thenAccept(
-                          blockAndState ->
-                              processBlockAtStartup(protoArray, blockAndState.orElseThrow())));
+      future = future.thenCompose(__ -> processBlockAtStartup(store, protoArray, blockRoot));
     }
     return future;
   }
 
+  private static SafeFuture<Void> processBlockAtStartup(
+      final PrunableStore store, final ProtoArray protoArray, final Bytes32 blockRoot) {
+    return store
+        .retrieveSignedBlock(blockRoot)
+        .thenCompose(
+            maybeBlock -> {
+              final SignedBeaconBlock block = maybeBlock.orElseThrow();
+              final Optional<ProtoNode> parent =
+                  Optional.ofNullable(protoArray.getIndices().get(block.getParent_root()))
+                      .map(protoArray.getNodes()::get);
+              // Justification and finalization only change during epoch processing so a block in
+              // the same epoch as its parent has the same checkpoints and its state isn't needed
+              if (parent.isPresent()
+                  && compute_epoch_at_slot(parent.get().getBlockSlot())
+                      .equals(compute_epoch_at_slot(block.getSlot()))) {
+                protoArray.onBlock(
+                    block.getSlot(),
+                    block.getRoot(),
+                    block.getParent_root(),
+                    block.getStateRoot(),
+                    parent.get().getJustifiedEpoch(),
+                    parent.get().getFinalizedEpoch());
+                return SafeFuture.COMPLETE;
+              }
+              return store
+                  .retrieveBlockAndState(blockRoot)
+                  .thenAccept(
+                      blockAndState ->
+                          processBlockAtStartup(protoArray, blockAndState.orElseThrow()));
+            });
+  }
+
   private static void processBlockAtStartup(
       final ProtoArray protoArray, final SignedBlockAndState blockAndState) {
     final BeaconState state = blockAndState.getState();
@@ -173,11 +255,30 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
       UnsignedLong validatorIndex,
       Bytes32 blockRoot,
       UnsignedLong targetEpoch) {
+    protoArrayLock.readLock().lock();
+    votesLock.writeLock().lock();
+    try {
+      final ProtoArrayVotes votes = getVotes(store);
+      votes.ensureCapacity(toIntExact(validatorIndex.longValue()));
+      updateVote(store, votes, validatorIndex, blockRoot, targetEpoch);
+    } finally {
+      votesLock.writeLock().unlock();
+      protoArrayLock.readLock().unlock();
+    }
+  }
+
+  private void updateVote(
+      MutableStore store,
+      ProtoArrayVotes votes,
+      UnsignedLong validatorIndex,
+      Bytes32 blockRoot,
+      UnsignedLong targetEpoch) {
     VoteTracker vote = store.getVote(validatorIndex);
 
     if (targetEpoch.compareTo(vote.getNextEpoch()) > 0 || vote.equals(VoteTracker.Default())) {
       vote.setNextRoot(blockRoot);
       vote.setNextEpoch(targetEpoch);
+      votes.onNextVoteUpdated(toIntExact(validatorIndex.longValue()), blockRoot);
     }
   }
 
@@ -203,19 +304,34 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
       Bytes32 justifiedRoot,
       UnsignedLong finalizedEpoch,
       List<UnsignedLong> justifiedStateBalances) {
+    return findHead(
+        store,
+        justifiedEpoch,
+        justifiedRoot,
+        finalizedEpoch,
+        ProtoArrayScoreCalculator.toLongArray(justifiedStateBalances));
+  }
+
+  Bytes32 findHead(
+      MutableStore store,
+      UnsignedLong justifiedEpoch,
+      Bytes32 justifiedRoot,
+      UnsignedLong finalizedEpoch,
+      long[] justifiedStateBalances) {
     protoArrayLock.writeLock().lock();
     votesLock.writeLock().lock();
     balancesLock.writeLock().lock();
     try {
-      List<UnsignedLong> oldBalances = balances;
-      List<UnsignedLong> newBalances = justifiedStateBalances;
+      long[] oldBalances = balances;
+      long[] newBalances = justifiedStateBalances;
 
-      List<Long> deltas =
+      long[] deltas =
           ProtoArrayScoreCalculator.computeDeltas(
-              store, protoArray.getIndices(), oldBalances, newBalances);
+              store, getVotes(store), protoArray.getIndices(), oldBalances, newBalances);
 
       protoArray.applyScoreChanges(deltas, justifiedEpoch, finalizedEpoch);
-      balances = new ArrayList<>(newBalances);
+      // Justified balance arrays are never modified once created so can be kept without copying
+      balances = newBalances;
 
       return protoArray.findHead(justifiedRoot);
     } finally {
@@ -16,102 +16,120 @@ package tech.pegasys.teku.protoarray;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.Math.addExact;
 import static java.lang.Math.subtractExact;
-import static java.lang.Math.toIntExact;
+import static tech.pegasys.teku.protoarray.ProtoArrayVotes.NO_NODE;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.Longs;
 import com.google.common.primitives.UnsignedLong;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.forkchoice.MutableStore;
-import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
 
 class ProtoArrayScoreCalculator {
-  private static final Logger LOG = LogManager.getLogger();
 
   /**
-   * Returns a list of `deltas`, where there is one delta for each of the indices in
+   * Returns an array of `deltas`, where there is one delta for each of the indices in
    * `0..indices.size()`.
    *
    * <p>The deltas are formed by a change between `oldBalances` and `newBalances`, and/or a change
-   * of vote in `votes`.
+   * of vote in `votes`. Votes which changed are applied to both `votes` and `store`.
    *
    * <p>## Errors
    *
    * <ul>
    *   <li>If a value in `indices` is greater to or equal to `indices.size()`.
-   *   <li>If some `Bytes32` in `votes` is not a key in `indices` (except for `Bytes32.ZERO`, this
-   *       is always valid).
    * </ul>
    *
-   * @param indices
-   * @param store
-   * @param oldBalances
-   * @param newBalances
-   * @return
+   * @param store the store to record updated votes in
+   * @param votes the current and pending votes of each validator
+   * @param indices the proto array node indices by block root
+   * @param oldBalances the balances the current votes were applied with
+   * @param newBalances the balances to apply votes with
+   * @return the change in weight of each node
    */
-  static List<Long> computeDeltas(
+  static long[] computeDeltas(
       MutableStore store,
+      ProtoArrayVotes votes,
       Map<Bytes32, Integer> indices,
-      List<UnsignedLong> oldBalances,
-      List<UnsignedLong> newBalances) {
-    List<Long> deltas = new ArrayList<>(Collections.nCopies(indices.size(), 0L));
+      long[] oldBalances,
+      long[] newBalances) {
+    final long[] deltas = new long[indices.size()];
 
-    for (UnsignedLong validatorIndex : store.getVotedValidatorIndices()) {
-      VoteTracker vote = store.getVote(validatorIndex);
+    for (int validatorIndex = 0; validatorIndex < votes.getValidatorCount(); validatorIndex++) {
+      final int currentDeltaIndex = votes.getCurrentNodeIndex(validatorIndex);
+      final Bytes32 nextRoot = votes.getPendingNextRoot(validatorIndex);
 
-      // There is no need to create a score change if the validator has never voted
-      // or both their votes are for the zero hash (alias to the genesis block).
-      if (vote.getCurrentRoot().equals(Bytes32.ZERO) && vote.getNextRoot().equals(Bytes32.ZERO)) {
-        LOG.warn("ProtoArrayForkChoiceStrategy: Unexpected zero hashes in voted validator votes");
+      // There is no need to create a score change if the validator has not voted since its
+      // balance was last applied and its current vote is outside of our tree.
+      if (currentDeltaIndex == NO_NODE && nextRoot == null) {
         continue;
       }
 
-      int validatorIndexInt = toIntExact(validatorIndex.longValue());
       // If the validator was not included in the oldBalances (i.e. it did not exist yet)
       // then say its balance was zero.
-      UnsignedLong oldBalance =
-          oldBalances.size() > validatorIndexInt
-              ? oldBalances.get(validatorIndexInt)
-              : UnsignedLong.ZERO;
+      final long oldBalance =
+          oldBalances.length > validatorIndex ? oldBalances[validatorIndex] : 0L;
 
       // If the validator vote is not known in the newBalances, then use a balance of zero.
       //
       // It is possible that there is a vote for an unknown validator if we change our
       // justified state to a new state with a higher epoch that is on a different fork
       // because that may have on-boarded less validators than the prior fork.
-      UnsignedLong newBalance =
-          newBalances.size() > validatorIndexInt
-              ? newBalances.get(validatorIndexInt)
-              : UnsignedLong.ZERO;
+      final long newBalance =
+          newBalances.length > validatorIndex ? newBalances[validatorIndex] : 0L;
 
-      if (!vote.getCurrentRoot().equals(vote.getNextRoot()) || !oldBalance.equals(newBalance)) {
-        // We ignore the vote if it is not known in `indices`. We assume that it is outside
-        // of our tree (i.e. pre-finalization) and therefore not interesting.
-        Integer currentDeltaIndex = indices.get(vote.getCurrentRoot());
-        if (currentDeltaIndex != null) {
+      // We ignore the vote if it is not known in `indices`. We assume that it is outside
+      // of our tree (i.e. pre-finalization) and therefore not interesting.
+      final int nextDeltaIndex =
+          nextRoot == null ? currentDeltaIndex : indices.getOrDefault(nextRoot, NO_NODE);
+
+      if (currentDeltaIndex != nextDeltaIndex || oldBalance != newBalance) {
+        if (currentDeltaIndex != NO_NODE) {
           checkState(
-              currentDeltaIndex < deltas.size(), "ProtoArrayForkChoice: Invalid node delta index");
-          long delta = subtractExact(deltas.get(currentDeltaIndex), oldBalance.longValue());
-          deltas.set(currentDeltaIndex, delta);
+              currentDeltaIndex < deltas.length, "ProtoArrayForkChoice: Invalid node delta index");
+          deltas[currentDeltaIndex] = subtractExact(deltas[currentDeltaIndex], oldBalance);
         }
 
-        // We ignore the vote if it is not known in `indices`. We assume that it is outside
-        // of our tree (i.e. pre-finalization) and therefore not interesting.
-        Integer nextDeltaIndex = indices.get(vote.getNextRoot());
-        if (nextDeltaIndex != null) {
+        if (nextDeltaIndex != NO_NODE) {
           checkState(
-              nextDeltaIndex < deltas.size(), "ProtoArrayForkChoice: Invalid node delta index");
-          long delta = addExact(deltas.get(nextDeltaIndex), newBalance.longValue());
-          deltas.set(nextDeltaIndex, delta);
+              nextDeltaIndex < deltas.length, "ProtoArrayForkChoice: Invalid node delta index");
+          deltas[nextDeltaIndex] = addExact(deltas[nextDeltaIndex], newBalance);
         }
+      }
 
-        vote.setCurrentRoot(vote.getNextRoot());
+      if (nextRoot != null) {
+        store.getVote(UnsignedLong.valueOf(validatorIndex)).setCurrentRoot(nextRoot);
+        votes.applyPendingVote(validatorIndex, nextDeltaIndex);
       }
     }
     return deltas;
   }
+
+  /**
+   * Computes deltas for the votes held in {@code store}, for callers which don't maintain a {@link
+   * ProtoArrayVotes}.
+   */
+  @VisibleForTesting
+  static List<Long> computeDeltas(
+      MutableStore store,
+      Map<Bytes32, Integer> indices,
+      List<UnsignedLong> oldBalances,
+      List<UnsignedLong> newBalances) {
+    return Longs.asList(
+        computeDeltas(
+            store,
+            ProtoArrayVotes.load(store, indices),
+            indices,
+            toLongArray(oldBalances),
+            toLongArray(newBalances)));
+  }
+
+  static long[] toLongArray(final List<UnsignedLong> balances) {
+    final long[] result = new long[balances.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = balances.get(i).longValue();
+    }
+    return result;
+  }
 }
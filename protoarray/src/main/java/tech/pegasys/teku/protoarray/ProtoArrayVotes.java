@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.protoarray;
+
+import static java.lang.Math.toIntExact;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.datastructures.forkchoice.MutableStore;
+import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
+
+/**
+ * Columnar record of validator votes, indexed by validator index, used to calculate score changes
+ * without looking up a {@link VoteTracker} for every validator.
+ *
+ * <p>For each validator this tracks the proto array node index its balance is currently applied to
+ * and, if it has attested since the last score calculation, the root it now votes for. The store
+ * remains the persisted record of votes so only votes which change need to be written back to it.
+ */
+class ProtoArrayVotes {
+  static final int NO_NODE = -1;
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private int[] currentNodeIndices;
+  private Bytes32[] pendingNextRoots;
+  private int validatorCount = 0;
+
+  private ProtoArrayVotes(final int capacity) {
+    currentNodeIndices = new int[capacity];
+    Arrays.fill(currentNodeIndices, NO_NODE);
+    pendingNextRoots = new Bytes32[capacity];
+  }
+
+  static ProtoArrayVotes create() {
+    return new ProtoArrayVotes(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Creates a record of the votes held in {@code store}, resolving the current vote of each
+   * validator to its node index.
+   *
+   * @param store the store holding the votes
+   * @param indices the proto array node indices by block root
+   * @return the loaded votes
+   */
+  static ProtoArrayVotes load(final MutableStore store, final Map<Bytes32, Integer> indices) {
+    final ProtoArrayVotes votes = create();
+    final List<UnsignedLong> votedValidatorIndices =
+        new ArrayList<>(store.getVotedValidatorIndices());
+    for (UnsignedLong validatorIndex : votedValidatorIndices) {
+      final VoteTracker vote = store.getVote(validatorIndex);
+      final int index = toIntExact(validatorIndex.longValue());
+      votes.ensureCapacity(index);
+      votes.currentNodeIndices[index] = indices.getOrDefault(vote.getCurrentRoot(), NO_NODE);
+      if (!vote.getNextRoot().equals(vote.getCurrentRoot())) {
+        votes.pendingNextRoots[index] = vote.getNextRoot();
+      }
+    }
+    return votes;
+  }
+
+  /**
+   * Records that a validator's next vote was updated so it is applied in the next score
+   * calculation. {@link #ensureCapacity(int)} must already have been called for the validator.
+   *
+   * @param validatorIndex the index of the validator
+   * @param nextRoot the block root the validator now votes for
+   */
+  void onNextVoteUpdated(final int validatorIndex, final Bytes32 nextRoot) {
+    pendingNextRoots[validatorIndex] = nextRoot;
+  }
+
+  /**
+   * Ensures votes can be recorded for validators up to {@code maxValidatorIndex} without
+   * reallocating, so distinct validators can then be updated concurrently.
+   *
+   * @param maxValidatorIndex the highest validator index which will be updated
+   */
+  void ensureCapacity(final int maxValidatorIndex) {
+    if (maxValidatorIndex >= currentNodeIndices.length) {
+      final int oldCapacity = currentNodeIndices.length;
+      final int newCapacity = Math.max(maxValidatorIndex + 1, oldCapacity * 2);
+      currentNodeIndices = Arrays.copyOf(currentNodeIndices, newCapacity);
+      Arrays.fill(currentNodeIndices, oldCapacity, newCapacity, NO_NODE);
+      pendingNextRoots = Arrays.copyOf(pendingNextRoots, newCapacity);
+    }
+    validatorCount = Math.max(validatorCount, maxValidatorIndex + 1);
+  }
+
+  /**
+   * Adjusts node indices after the proto array removed nodes from the start of its node list.
+   *
+   * @param prunedNodeCount the number of nodes removed
+   */
+  void onPruned(final int prunedNodeCount) {
+    if (prunedNodeCount == 0) {
+      return;
+    }
+    for (int i = 0; i < validatorCount; i++) {
+      final int nodeIndex = currentNodeIndices[i];
+      currentNodeIndices[i] = nodeIndex >= prunedNodeCount ? nodeIndex - prunedNodeCount : NO_NODE;
+    }
+  }
+
+  int getValidatorCount() {
+    return validatorCount;
+  }
+
+  int getCurrentNodeIndex(final int validatorIndex) {
+    return currentNodeIndices[validatorIndex];
+  }
+
+  /** Returns the root voted for since the last score calculation, or null if unchanged. */
+  Bytes32 getPendingNextRoot(final int validatorIndex) {
+    return pendingNextRoots[validatorIndex];
+  }
+
+  void applyPendingVote(final int validatorIndex, final int nextNodeIndex) {
+    currentNodeIndices[validatorIndex] = nextNodeIndex;
+    pendingNextRoots[validatorIndex] = null;
+  }
+}
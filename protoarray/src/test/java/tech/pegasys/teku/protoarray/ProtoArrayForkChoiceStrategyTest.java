@@ -14,8 +14,11 @@
 package tech.pegasys.teku.protoarray;
 
 import static com.google.common.primitives.UnsignedLong.ONE;
+import static com.google.common.primitives.UnsignedLong.ZERO;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.primitives.UnsignedLong;
@@ -30,6 +33,7 @@ import tech.pegasys.teku.datastructures.forkchoice.TestStoreFactory;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.state.Checkpoint;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.util.config.Constants;
 
 public class ProtoArrayForkChoiceStrategyTest {
   private final MutablePrunableStore store = new TestStoreFactory().createGenesisStore();
@@ -49,6 +53,21 @@ public class ProtoArrayForkChoiceStrategyTest {
     assertThat(forkChoiceStrategy.size()).isEqualTo(chainSize + 1);
   }
 
+  @Test
+  public void initialize_shouldOnlyUseStatesOfBlocksStartingNewEpoch() {
+    final List<SignedBlockAndState> chain = generateChain(2 * Constants.SLOTS_PER_EPOCH);
+    chain.forEach(store::putBlockAndState);
+
+    assertThat(ProtoArrayForkChoiceStrategy.initialize(store, storageChannel)).isCompleted();
+
+    for (SignedBlockAndState blockAndState : chain) {
+      final boolean startsEpoch =
+          blockAndState.getSlot().mod(UnsignedLong.valueOf(Constants.SLOTS_PER_EPOCH)).equals(ZERO);
+      verify(blockAndState.getState(), times(startsEpoch ? 1 : 0))
+          .getCurrent_justified_checkpoint();
+    }
+  }
+
   private void saveChainToStore(final int blockCount) {
     final List<SignedBlockAndState> chain = generateChain(blockCount);
     chain.forEach(store::putBlockAndState);
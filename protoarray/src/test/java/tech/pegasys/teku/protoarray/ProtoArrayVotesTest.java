@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.protoarray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.teku.protoarray.ProtoArrayTestUtil.createStoreToManipulateVotes;
+import static tech.pegasys.teku.protoarray.ProtoArrayTestUtil.getHash;
+import static tech.pegasys.teku.protoarray.ProtoArrayVotes.NO_NODE;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.datastructures.forkchoice.MutableStore;
+import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
+
+class ProtoArrayVotesTest {
+
+  private final MutableStore store = createStoreToManipulateVotes();
+
+  @Test
+  void load_shouldResolveCurrentVotesAndRecordChangedVotesAsPending() {
+    final Map<Bytes32, Integer> indices = Map.of(getHash(1), 0, getHash(2), 1);
+    final VoteTracker unchanged = store.getVote(UnsignedLong.valueOf(0));
+    unchanged.setCurrentRoot(getHash(2));
+    unchanged.setNextRoot(getHash(2));
+    final VoteTracker changed = store.getVote(UnsignedLong.valueOf(3));
+    changed.setCurrentRoot(getHash(1));
+    changed.setNextRoot(getHash(2));
+
+    final ProtoArrayVotes votes = ProtoArrayVotes.load(store, indices);
+
+    assertThat(votes.getValidatorCount()).isEqualTo(4);
+    assertThat(votes.getCurrentNodeIndex(0)).isEqualTo(1);
+    assertThat(votes.getPendingNextRoot(0)).isNull();
+    assertThat(votes.getCurrentNodeIndex(1)).isEqualTo(NO_NODE);
+    assertThat(votes.getPendingNextRoot(1)).isNull();
+    assertThat(votes.getCurrentNodeIndex(3)).isEqualTo(0);
+    assertThat(votes.getPendingNextRoot(3)).isEqualTo(getHash(2));
+  }
+
+  @Test
+  void ensureCapacity_shouldKeepExistingVotesWhenGrowing() {
+    final ProtoArrayVotes votes = ProtoArrayVotes.create();
+    votes.ensureCapacity(1);
+    votes.applyPendingVote(1, 5);
+
+    votes.ensureCapacity(5000);
+    votes.onNextVoteUpdated(5000, getHash(3));
+
+    assertThat(votes.getValidatorCount()).isEqualTo(5001);
+    assertThat(votes.getCurrentNodeIndex(1)).isEqualTo(5);
+    assertThat(votes.getCurrentNodeIndex(4000)).isEqualTo(NO_NODE);
+    assertThat(votes.getPendingNextRoot(5000)).isEqualTo(getHash(3));
+  }
+
+  @Test
+  void onPruned_shouldShiftNodeIndicesAndDropPrunedNodes() {
+    final ProtoArrayVotes votes = ProtoArrayVotes.create();
+    votes.ensureCapacity(2);
+    votes.applyPendingVote(0, 1);
+    votes.applyPendingVote(1, 3);
+    votes.applyPendingVote(2, 7);
+
+    votes.onPruned(3);
+
+    assertThat(votes.getCurrentNodeIndex(0)).isEqualTo(NO_NODE);
+    assertThat(votes.getCurrentNodeIndex(1)).isEqualTo(0);
+    assertThat(votes.getCurrentNodeIndex(2)).isEqualTo(4);
+  }
+}
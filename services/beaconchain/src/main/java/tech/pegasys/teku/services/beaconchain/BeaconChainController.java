@@ -111,6 +111,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
   private final boolean setupInitialState;
   private final SlotEventsChannel slotEventsChannelPublisher;
   private final AsyncRunner networkAsyncRunner;
+  private final AsyncRunner stateRegenerationAsyncRunner;
 
   private volatile ForkChoice forkChoice;
   private volatile StateTransition stateTransition;
@@ -135,6 +136,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
   public BeaconChainController(final ServiceConfig serviceConfig) {
     this.asyncRunner = serviceConfig.createAsyncRunner("beaconchain");
     this.networkAsyncRunner = serviceConfig.createAsyncRunner("p2p", 10);
+    this.stateRegenerationAsyncRunner = serviceConfig.createAsyncRunner("state_regeneration", 2);
     this.timeProvider = serviceConfig.getTimeProvider();
     this.eventBus = serviceConfig.getEventBus();
     this.eventChannels = serviceConfig.getEventChannels();
@@ -178,6 +180,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
     return StorageBackedRecentChainData.create(
             metricsSystem,
             asyncRunner,
+            stateRegenerationAsyncRunner,
             eventChannels.getPublisher(StorageQueryChannel.class, asyncRunner),
             eventChannels.getPublisher(StorageUpdateChannel.class, asyncRunner),
             eventChannels.getPublisher(ProtoArrayStorageChannel.class, asyncRunner),
@@ -432,7 +435,8 @@ public class BeaconChainController extends Service implements TimeTickChannel {
             forkChoice,
             p2pNetwork,
             slotEventsChannelPublisher,
-            eventBus);
+            eventBus,
+            new NextEpochStatePrecomputer(metricsSystem, asyncRunner, recentChainData));
   }
 
   private Optional<Bytes> getP2pPrivateKeyBytes() {
@@ -453,7 +457,9 @@ public class BeaconChainController extends Service implements TimeTickChannel {
 
   public void initAttestationPool() {
     LOG.debug("BeaconChainController.initAttestationPool()");
-    attestationPool = new AggregatingAttestationPool(new AttestationDataStateTransitionValidator());
+    attestationPool =
+        new AggregatingAttestationPool(
+            new AttestationDataStateTransitionValidator(), metricsSystem, timeProvider);
     eventChannels.subscribe(SlotEventsChannel.class, attestationPool);
   }
 
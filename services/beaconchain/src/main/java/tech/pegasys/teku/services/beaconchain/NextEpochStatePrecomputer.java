@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.services.beaconchain;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import tech.pegasys.teku.core.CommitteeAssignmentUtil;
+import tech.pegasys.teku.core.stategenerator.CheckpointStateGenerator;
+import tech.pegasys.teku.datastructures.blocks.BeaconBlockAndState;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.Checkpoint;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.metrics.TekuMetricCategory;
+import tech.pegasys.teku.storage.client.RecentChainData;
+
+/**
+ * Processes the current chain head through the next epoch transition in the background during the
+ * last slot of an epoch, so that the checkpoint state and its committee and proposer caches are
+ * ready before the first duties and blocks of the new epoch need them.
+ *
+ * <p>The result is only kept if the chain head is unchanged once processing completes.
+ */
+public class NextEpochStatePrecomputer {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final AsyncRunner asyncRunner;
+  private final RecentChainData recentChainData;
+  private final Counter completedCounter;
+  private final Counter discardedCounter;
+  private final Counter failedCounter;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+
+  private volatile Optional<Checkpoint> precomputedCheckpoint = Optional.empty();
+
+  public NextEpochStatePrecomputer(
+      final MetricsSystem metricsSystem,
+      final AsyncRunner asyncRunner,
+      final RecentChainData recentChainData) {
+    this.asyncRunner = asyncRunner;
+    this.recentChainData = recentChainData;
+    final LabelledMetric<Counter> precomputeCounter =
+        metricsSystem.createLabelledCounter(
+            TekuMetricCategory.BEACON,
+            "next_epoch_precompute_total",
+            "Number of speculative next epoch state calculations by result",
+            "result");
+    completedCounter = precomputeCounter.labels("completed");
+    discardedCounter = precomputeCounter.labels("discarded");
+    failedCounter = precomputeCounter.labels("failed");
+    final LabelledMetric<Counter> usageCounter =
+        metricsSystem.createLabelledCounter(
+            TekuMetricCategory.BEACON,
+            "next_epoch_precompute_usage_total",
+            "Number of epochs where the precomputed state did or did not match the chain head",
+            "outcome");
+    hitCounter = usageCounter.labels("hit");
+    missCounter = usageCounter.labels("miss");
+  }
+
+  /**
+   * Start calculating the checkpoint state for {@code epoch} from the current chain head.
+   *
+   * @param epoch the epoch about to start
+   */
+  public void precompute(final UnsignedLong epoch) {
+    final Optional<BeaconBlockAndState> head = recentChainData.getBestBlockAndState();
+    if (head.isEmpty()) {
+      return;
+    }
+    final Checkpoint checkpoint = new Checkpoint(epoch, head.get().getRoot());
+    final BeaconState headState = head.get().getState();
+    if (headState.getSlot().compareTo(checkpoint.getEpochStartSlot()) >= 0) {
+      // Head is already in the new epoch so there's nothing to precompute
+      return;
+    }
+    asyncRunner
+        .runAsync(() -> precompute(checkpoint, headState))
+        .finish(
+            error -> {
+              failedCounter.inc();
+              LOG.warn("Failed to precompute state for epoch " + epoch, error);
+            });
+  }
+
+  private void precompute(final Checkpoint checkpoint, final BeaconState headState) {
+    final BeaconState state =
+        CheckpointStateGenerator.regenerateCheckpointState(checkpoint, headState);
+    // Populates the committee, proposer and active validator caches for the new epoch
+    CommitteeAssignmentUtil.getEpochDutyIndex(state, checkpoint.getEpoch());
+
+    if (!isChainHead(checkpoint)) {
+      LOG.debug("Discarding precomputed state for {} as the chain head changed", checkpoint);
+      discardedCounter.inc();
+      return;
+    }
+    recentChainData.getStore().cacheCheckpointState(checkpoint, state);
+    precomputedCheckpoint = Optional.of(checkpoint);
+    completedCounter.inc();
+  }
+
+  /**
+   * Record whether the state precomputed for {@code epoch} matches the chain head now the epoch
+   * has started.
+   *
+   * @param epoch the epoch which has started
+   */
+  public void onEpochStarted(final UnsignedLong epoch) {
+    final Optional<Checkpoint> checkpoint = precomputedCheckpoint;
+    if (checkpoint.isEmpty() || !checkpoint.get().getEpoch().equals(epoch)) {
+      missCounter.inc();
+      return;
+    }
+    if (isChainHead(checkpoint.get())) {
+      hitCounter.inc();
+    } else {
+      missCounter.inc();
+    }
+  }
+
+  private boolean isChainHead(final Checkpoint checkpoint) {
+    return recentChainData
+        .getBestBlockRoot()
+        .map(root -> root.equals(checkpoint.getRoot()))
+        .orElse(false);
+  }
+}
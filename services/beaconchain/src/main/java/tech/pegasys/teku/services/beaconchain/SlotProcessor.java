@@ -40,6 +40,7 @@ public class SlotProcessor {
   private final Eth2Network p2pNetwork;
   private final SlotEventsChannel slotEventsChannelPublisher;
   private final EventBus eventBus;
+  private final NextEpochStatePrecomputer nextEpochStatePrecomputer;
   private final NodeSlot nodeSlot = new NodeSlot(ZERO);
   private final EventLogger eventLog;
 
@@ -56,6 +57,7 @@ public class SlotProcessor {
       final Eth2Network p2pNetwork,
       final SlotEventsChannel slotEventsChannelPublisher,
       final EventBus eventBus,
+      final NextEpochStatePrecomputer nextEpochStatePrecomputer,
       final EventLogger eventLogger) {
     this.recentChainData = recentChainData;
     this.syncService = syncService;
@@ -63,6 +65,7 @@ public class SlotProcessor {
     this.p2pNetwork = p2pNetwork;
     this.slotEventsChannelPublisher = slotEventsChannelPublisher;
     this.eventBus = eventBus;
+    this.nextEpochStatePrecomputer = nextEpochStatePrecomputer;
     this.eventLog = eventLogger;
   }
 
@@ -72,7 +75,8 @@ public class SlotProcessor {
       final ForkChoice forkChoice,
       final Eth2Network p2pNetwork,
       final SlotEventsChannel slotEventsChannelPublisher,
-      final EventBus eventBus) {
+      final EventBus eventBus,
+      final NextEpochStatePrecomputer nextEpochStatePrecomputer) {
     this(
         recentChainData,
         syncService,
@@ -80,6 +84,7 @@ public class SlotProcessor {
         p2pNetwork,
         slotEventsChannelPublisher,
         eventBus,
+        nextEpochStatePrecomputer,
         EventLogger.EVENT_LOG);
   }
 
@@ -201,6 +206,14 @@ public class SlotProcessor {
                     p2pNetwork.getPeerCount()));
 
     this.eventBus.post(new BroadcastAttestationEvent(nodeSlot.getValue()));
+
+    final UnsignedLong nextSlot = nodeSlot.getValue().plus(ONE);
+    if (nodeSlot.getValue().equals(compute_start_slot_at_epoch(nodeEpoch))) {
+      nextEpochStatePrecomputer.onEpochStarted(nodeEpoch);
+    } else if (nextSlot.equals(compute_start_slot_at_epoch(nodeEpoch.plus(ONE)))) {
+      // The head is unlikely to change before the epoch ends so prepare the next epoch's state
+      nextEpochStatePrecomputer.precompute(nodeEpoch.plus(ONE));
+    }
   }
 
   private void processSlotAggregate() {
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.services.beaconchain;
+
+import static com.google.common.primitives.UnsignedLong.ONE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.primitives.UnsignedLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.BeaconStateCache;
+import tech.pegasys.teku.datastructures.state.Checkpoint;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.metrics.StubCounter;
+import tech.pegasys.teku.metrics.StubMetricsSystem;
+import tech.pegasys.teku.metrics.TekuMetricCategory;
+import tech.pegasys.teku.storage.client.RecentChainData;
+import tech.pegasys.teku.storage.storageSystem.InMemoryStorageSystem;
+import tech.pegasys.teku.storage.storageSystem.StorageSystem;
+import tech.pegasys.teku.util.config.StateStorageMode;
+
+class NextEpochStatePrecomputerTest {
+  private final StorageSystem storageSystem =
+      InMemoryStorageSystem.createEmptyLatestStorageSystem(StateStorageMode.PRUNE);
+  private final RecentChainData recentChainData = storageSystem.recentChainData();
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+
+  private final NextEpochStatePrecomputer precomputer =
+      new NextEpochStatePrecomputer(metricsSystem, asyncRunner, recentChainData);
+
+  private SignedBlockAndState genesis;
+
+  @BeforeEach
+  void setUp() {
+    genesis = storageSystem.chainUpdater().initializeGenesis();
+  }
+
+  @Test
+  void precompute_shouldCacheCheckpointStateWithPopulatedCaches() {
+    precomputer.precompute(ONE);
+    asyncRunner.executeQueuedActions();
+
+    final Checkpoint checkpoint = new Checkpoint(ONE, genesis.getRoot());
+    final BeaconState state =
+        recentChainData.getStore().getCheckpointState(checkpoint).orElseThrow();
+    assertThat(state.getSlot()).isEqualTo(checkpoint.getEpochStartSlot());
+    assertThat(BeaconStateCache.getTransitionCaches(state).getEpochDutyIndex().getCached(ONE))
+        .isPresent();
+    assertThat(getPrecomputeCounter().getValue("completed")).isEqualTo(1);
+  }
+
+  @Test
+  void precompute_shouldDiscardResultWhenHeadChanges() {
+    precomputer.precompute(ONE);
+    storageSystem.chainUpdater().addNewBestBlock();
+    asyncRunner.executeQueuedActions();
+
+    assertThat(getPrecomputeCounter().getValue("discarded")).isEqualTo(1);
+    assertThat(getPrecomputeCounter().getValue("completed")).isZero();
+  }
+
+  @Test
+  void precompute_shouldDoNothingWhenHeadIsAlreadyInEpoch() {
+    precomputer.precompute(UnsignedLong.ZERO);
+
+    assertThat(asyncRunner.hasDelayedActions()).isFalse();
+  }
+
+  @Test
+  void onEpochStarted_shouldRecordHitWhenPrecomputedStateMatchesHead() {
+    precomputer.precompute(ONE);
+    asyncRunner.executeQueuedActions();
+
+    precomputer.onEpochStarted(ONE);
+
+    assertThat(getUsageCounter().getValue("hit")).isEqualTo(1);
+    assertThat(getUsageCounter().getValue("miss")).isZero();
+  }
+
+  @Test
+  void onEpochStarted_shouldRecordMissWhenHeadChangedAfterPrecompute() {
+    precomputer.precompute(ONE);
+    asyncRunner.executeQueuedActions();
+    storageSystem.chainUpdater().addNewBestBlock();
+
+    precomputer.onEpochStarted(ONE);
+
+    assertThat(getUsageCounter().getValue("miss")).isEqualTo(1);
+  }
+
+  @Test
+  void onEpochStarted_shouldRecordMissWhenNothingPrecomputed() {
+    precomputer.onEpochStarted(ONE);
+
+    assertThat(getUsageCounter().getValue("miss")).isEqualTo(1);
+  }
+
+  private StubCounter getPrecomputeCounter() {
+    return metricsSystem.getCounter(TekuMetricCategory.BEACON, "next_epoch_precompute_total");
+  }
+
+  private StubCounter getUsageCounter() {
+    return metricsSystem.getCounter(
+        TekuMetricCategory.BEACON, "next_epoch_precompute_usage_total");
+  }
+}
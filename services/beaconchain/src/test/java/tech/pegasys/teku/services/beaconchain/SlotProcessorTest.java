@@ -18,6 +18,8 @@ import static com.google.common.primitives.UnsignedLong.ZERO;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_epoch_at_slot;
 import static tech.pegasys.teku.util.config.Constants.SECONDS_PER_SLOT;
@@ -60,6 +62,8 @@ public class SlotProcessorTest {
   private final ForkChoice forkChoice = mock(ForkChoice.class);
   private final Eth2Network p2pNetwork = mock(Eth2Network.class);
   private final SlotEventsChannel slotEventsChannel = mock(SlotEventsChannel.class);
+  private final NextEpochStatePrecomputer nextEpochStatePrecomputer =
+      mock(NextEpochStatePrecomputer.class);
   private final SlotProcessor slotProcessor =
       new SlotProcessor(
           recentChainData,
@@ -68,6 +72,7 @@ public class SlotProcessorTest {
           p2pNetwork,
           slotEventsChannel,
           eventBus,
+          nextEpochStatePrecomputer,
           eventLogger);
   final UnsignedLong genesisTime = beaconState.getGenesis_time();
   final UnsignedLong desiredSlot = UnsignedLong.valueOf(100L);
@@ -246,6 +251,50 @@ public class SlotProcessorTest {
     assertThat(events).containsExactly(new BroadcastAggregatesEvent(slot));
   }
 
+  @Test
+  public void onTick_shouldPrecomputeNextEpochDuringLastSlotOfEpoch() {
+    final UnsignedLong lastSlotOfEpoch = UnsignedLong.valueOf(SLOTS_PER_EPOCH - 1);
+    slotProcessor.setCurrentSlot(lastSlotOfEpoch);
+    slotProcessor.setOnTickSlotStart(lastSlotOfEpoch);
+    when(syncService.isSyncActive()).thenReturn(false);
+
+    slotProcessor.onTick(
+        ForkChoiceUtil.getSlotStartTime(lastSlotOfEpoch, genesisTime)
+            .plus(UnsignedLong.valueOf(SECONDS_PER_SLOT / 3)));
+
+    verify(nextEpochStatePrecomputer).precompute(ONE);
+    verifyNoMoreInteractions(nextEpochStatePrecomputer);
+  }
+
+  @Test
+  public void onTick_shouldRecordPrecomputeUsageAtStartOfEpoch() {
+    final UnsignedLong epochStartSlot = UnsignedLong.valueOf(SLOTS_PER_EPOCH);
+    slotProcessor.setCurrentSlot(epochStartSlot);
+    slotProcessor.setOnTickSlotStart(epochStartSlot);
+    when(syncService.isSyncActive()).thenReturn(false);
+
+    slotProcessor.onTick(
+        ForkChoiceUtil.getSlotStartTime(epochStartSlot, genesisTime)
+            .plus(UnsignedLong.valueOf(SECONDS_PER_SLOT / 3)));
+
+    verify(nextEpochStatePrecomputer).onEpochStarted(ONE);
+    verifyNoMoreInteractions(nextEpochStatePrecomputer);
+  }
+
+  @Test
+  public void onTick_shouldNotPrecomputeDuringOtherSlots() {
+    final UnsignedLong slot = ONE;
+    slotProcessor.setCurrentSlot(slot);
+    slotProcessor.setOnTickSlotStart(slot);
+    when(syncService.isSyncActive()).thenReturn(false);
+
+    slotProcessor.onTick(
+        ForkChoiceUtil.getSlotStartTime(slot, genesisTime)
+            .plus(UnsignedLong.valueOf(SECONDS_PER_SLOT / 3)));
+
+    verifyNoInteractions(nextEpochStatePrecomputer);
+  }
+
   @Test
   void onTick_shouldExitIfUpToDate() {
     slotProcessor.setOnTickSlotStart(ZERO);
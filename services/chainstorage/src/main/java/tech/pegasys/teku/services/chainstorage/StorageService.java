@@ -53,7 +53,11 @@ public class StorageService extends Service {
                   serviceConfig.getConfig().getEth1DepositContractAddress());
           database = dbFactory.createDatabase();
 
-          chainStorage = ChainStorage.create(serviceConfig.getEventBus(), database);
+          chainStorage =
+              ChainStorage.create(
+                  serviceConfig.getEventBus(),
+                  database,
+                  serviceConfig.createAsyncRunner("serialized_state_cache", 1));
           final DepositStorage depositStorage =
               DepositStorage.create(
                   serviceConfig.getEventChannels().getPublisher(Eth1EventsChannel.class),
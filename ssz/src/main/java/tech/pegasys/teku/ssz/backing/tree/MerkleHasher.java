@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * SHA-256 hashing for merkle trees which avoids the per-call overhead of {@code Hash.sha2_256}.
+ * Each thread reuses a single {@link MessageDigest} instance and nodes are hashed directly from
+ * their backing arrays without concatenating them first.
+ *
+ * <p>Chunks can also be merkleized a whole tree level at a time from a packed byte array. Levels
+ * with at least {@link #PARALLEL_THRESHOLD} pairs are split across the common fork/join pool.
+ */
+public final class MerkleHasher {
+  public static final int MAX_DEPTH = 64;
+  static final int PARALLEL_THRESHOLD = 8192;
+  private static final int CHUNK_SIZE = Bytes32.SIZE;
+  private static final int PAIR_SIZE = CHUNK_SIZE * 2;
+
+  private static final ThreadLocal<MessageDigest> DIGEST =
+      ThreadLocal.withInitial(MerkleHasher::createDigest);
+  private static final Bytes32[] ZERO_HASHES = createZeroHashes();
+
+  private MerkleHasher() {}
+
+  /**
+   * Hashes the concatenation of two nodes.
+   *
+   * @param left the left node
+   * @param right the right node
+   * @return sha256(left ++ right)
+   */
+  public static Bytes32 hashPair(final Bytes32 left, final Bytes32 right) {
+    final MessageDigest digest = DIGEST.get();
+    left.update(digest);
+    right.update(digest);
+    final byte[] result = new byte[CHUNK_SIZE];
+    finish(digest, result, 0);
+    return Bytes32.wrap(result);
+  }
+
+  /**
+   * Returns the root of a tree of the given depth where every leaf is zero.
+   *
+   * @param depth the depth of the tree, 0 for a single leaf
+   * @return the root of the zero tree
+   */
+  public static Bytes32 getZeroHash(final int depth) {
+    return ZERO_HASHES[depth];
+  }
+
+  /**
+   * Calculates the root of a tree with the given depth whose leaves are the supplied chunks
+   * followed by zero chunks.
+   *
+   * <p>{@code chunks} is used as scratch space and its contents are undefined once this method
+   * returns. Supplying an array with room for {@code chunkCount + 1} chunks avoids a copy when the
+   * count is odd.
+   *
+   * @param chunks the packed 32 byte leaf chunks
+   * @param chunkCount the number of chunks in {@code chunks}
+   * @param depth the depth of the tree
+   * @return the root of the tree
+   */
+  public static Bytes32 merkleize(final byte[] chunks, final int chunkCount, final int depth) {
+    checkArgument(depth >= 0 && depth <= MAX_DEPTH, "Invalid depth: %s", depth);
+    checkArgument(
+        depth >= Integer.SIZE - 1 || chunkCount <= 1 << depth,
+        "Too many chunks (%s) for tree of depth %s",
+        chunkCount,
+        depth);
+    if (chunkCount == 0) {
+      return ZERO_HASHES[depth];
+    }
+    byte[] level = chunks;
+    int count = chunkCount;
+    for (int levelDepth = 0; levelDepth < depth; levelDepth++) {
+      if ((count & 1) == 1) {
+        if (level.length < (count + 1) * CHUNK_SIZE) {
+          level = Arrays.copyOf(level, (count + 1) * CHUNK_SIZE);
+        }
+        System.arraycopy(
+            ZERO_HASHES[levelDepth].toArrayUnsafe(), 0, level, count * CHUNK_SIZE, CHUNK_SIZE);
+        count++;
+      }
+      final int pairCount = count / 2;
+      // Levels hashed in parallel need a separate output array as pairs are read concurrently
+      final byte[] output =
+          pairCount >= PARALLEL_THRESHOLD ? new byte[pairCount * CHUNK_SIZE] : level;
+      hashLevel(level, pairCount, output);
+      level = output;
+      count = pairCount;
+    }
+    return Bytes32.wrap(Arrays.copyOf(level, CHUNK_SIZE));
+  }
+
+  /**
+   * Hashes each consecutive pair of chunks in {@code input}, writing the resulting chunks to
+   * {@code output}. The arrays may be the same instance when hashing sequentially since each
+   * result is written over a pair which has already been hashed.
+   *
+   * @param input the packed chunks to hash
+   * @param pairCount the number of pairs to hash
+   * @param output the array to write the {@code pairCount} resulting chunks to
+   */
+  public static void hashLevel(final byte[] input, final int pairCount, final byte[] output) {
+    if (pairCount < PARALLEL_THRESHOLD || input == output) {
+      hashPairs(input, 0, pairCount, output);
+      return;
+    }
+    final int batchCount = (pairCount + PARALLEL_THRESHOLD - 1) / PARALLEL_THRESHOLD;
+    IntStream.range(0, batchCount)
+        .parallel()
+        .forEach(
+            batch -> {
+              final int start = batch * PARALLEL_THRESHOLD;
+              hashPairs(input, start, Math.min(start + PARALLEL_THRESHOLD, pairCount), output);
+            });
+  }
+
+  private static void hashPairs(
+      final byte[] input, final int fromPair, final int toPair, final byte[] output) {
+    final MessageDigest digest = DIGEST.get();
+    for (int pair = fromPair; pair < toPair; pair++) {
+      digest.update(input, pair * PAIR_SIZE, PAIR_SIZE);
+      finish(digest, output, pair * CHUNK_SIZE);
+    }
+  }
+
+  private static void finish(final MessageDigest digest, final byte[] output, final int offset) {
+    try {
+      digest.digest(output, offset, CHUNK_SIZE);
+    } catch (final DigestException e) {
+      throw new IllegalStateException("Failed to complete SHA-256 digest", e);
+    }
+  }
+
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static Bytes32[] createZeroHashes() {
+    final Bytes32[] zeroHashes = new Bytes32[MAX_DEPTH + 1];
+    zeroHashes[0] = Bytes32.ZERO;
+    for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+      zeroHashes[depth] = hashPair(zeroHashes[depth - 1], zeroHashes[depth - 1]);
+    }
+    return zeroHashes;
+  }
+}
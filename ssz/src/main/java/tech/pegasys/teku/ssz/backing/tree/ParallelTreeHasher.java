@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeImpl.BranchNodeImpl;
+
+/**
+ * Calculates hash tree roots by splitting large unhashed subtrees across a {@link ForkJoinPool}.
+ *
+ * <p>Only {@link BranchNodeImpl} nodes without a cached hash are considered, so subtrees which
+ * were hashed previously are reused exactly as with {@link TreeNode#hashTreeRoot()} and every
+ * node hashed here caches its hash as usual. A child is hashed as a separate task only when some
+ * path through it has at least {@code minParallelHeight} unhashed levels, so a small changed leaf
+ * such as the state's slot doesn't hide large unhashed subtrees elsewhere in the tree.
+ */
+public class ParallelTreeHasher {
+  public static final int DEFAULT_MIN_PARALLEL_HEIGHT = 12;
+
+  private static final ParallelTreeHasher DEFAULT =
+      new ParallelTreeHasher(ForkJoinPool.commonPool(), DEFAULT_MIN_PARALLEL_HEIGHT);
+
+  private final ForkJoinPool pool;
+  private final int minParallelHeight;
+
+  public ParallelTreeHasher(final ForkJoinPool pool, final int minParallelHeight) {
+    checkArgument(minParallelHeight > 0, "Minimum parallel height must be positive");
+    this.pool = pool;
+    this.minParallelHeight = minParallelHeight;
+  }
+
+  public static ParallelTreeHasher getDefault() {
+    return DEFAULT;
+  }
+
+  public Bytes32 hashTreeRoot(final TreeNode node) {
+    if (hasUnhashedHeight(node, minParallelHeight)) {
+      pool.invoke(new HashTask(node));
+    }
+    return node.hashTreeRoot();
+  }
+
+  /**
+   * Returns true if some path down from {@code node} passes through at least {@code height}
+   * unhashed branch nodes. Both children are searched but the search stops as soon as such a path
+   * is found, so it visits at most the unhashed nodes of subtrees shallower than {@code height}.
+   */
+  private static boolean hasUnhashedHeight(final TreeNode node, final int height) {
+    if (height <= 0) {
+      return true;
+    }
+    if (!needsHash(node)) {
+      return false;
+    }
+    final BranchNode branch = (BranchNode) node;
+    return hasUnhashedHeight(branch.left(), height - 1)
+        || (branch.right() != branch.left() && hasUnhashedHeight(branch.right(), height - 1));
+  }
+
+  private static boolean needsHash(final TreeNode node) {
+    return node instanceof BranchNodeImpl && !((BranchNodeImpl) node).isHashCached();
+  }
+
+  private class HashTask extends RecursiveAction {
+    private final TreeNode node;
+
+    private HashTask(final TreeNode node) {
+      this.node = node;
+    }
+
+    @Override
+    protected void compute() {
+      final BranchNode branch = (BranchNode) node;
+      final TreeNode left = branch.left();
+      final TreeNode right = branch.right();
+      final boolean splitLeft = hasUnhashedHeight(left, minParallelHeight);
+      final boolean splitRight = left != right && hasUnhashedHeight(right, minParallelHeight);
+      if (splitLeft && splitRight) {
+        invokeAll(new HashTask(left), new HashTask(right));
+      } else if (splitLeft) {
+        new HashTask(left).compute();
+      } else if (splitRight) {
+        new HashTask(right).compute();
+      }
+      // Any remaining unhashed child is small enough to hash inline, caching this node's hash
+      node.hashTreeRoot();
+    }
+  }
+}
@@ -14,12 +14,11 @@
 package tech.pegasys.teku.ssz.backing.tree;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static tech.pegasys.teku.ssz.backing.tree.TreeNodeImpl.BranchNodeImpl;
 import static tech.pegasys.teku.ssz.backing.tree.TreeNodeImpl.LeafNodeImpl;
 
 import java.util.function.Function;
-import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
-import org.apache.tuweni.crypto.Hash;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -35,6 +34,10 @@ public interface TreeNode {
     return new LeafNodeImpl(val);
   }
 
+  static BranchNode createBranchNode(TreeNode left, TreeNode right) {
+    return new BranchNodeImpl(left, right);
+  }
+
   /**
    * Leaf node of a tree which contains 'bytes32' value. This node type corresponds to the 'Root'
    * node in the spec:
@@ -97,7 +100,7 @@ public interface TreeNode {
 
     @Override
     default Bytes32 hashTreeRoot() {
-      return Hash.sha2_256(Bytes.concatenate(left().hashTreeRoot(), right().hashTreeRoot()));
+      return MerkleHasher.hashPair(left().hashTreeRoot(), right().hashTreeRoot());
     }
 
     @NotNull
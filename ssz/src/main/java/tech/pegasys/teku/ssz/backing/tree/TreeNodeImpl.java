@@ -105,6 +105,10 @@ abstract class TreeNodeImpl implements TreeNode {
       }
     }
 
+    boolean isHashCached() {
+      return cachedHash != null;
+    }
+
     @Override
     public Bytes32 hashTreeRoot() {
       if (cachedHash == null) {
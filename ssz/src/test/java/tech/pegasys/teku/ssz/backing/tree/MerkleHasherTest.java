@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+
+public class MerkleHasherTest {
+
+  @Test
+  public void hashPair_shouldMatchSha256OfConcatenation() throws Exception {
+    final Bytes32 left = chunk(1);
+    final Bytes32 right = chunk(2);
+
+    assertThat(MerkleHasher.hashPair(left, right)).isEqualTo(sha256(left, right));
+  }
+
+  @Test
+  public void getZeroHash_shouldHashZeroSubtrees() throws Exception {
+    assertThat(MerkleHasher.getZeroHash(0)).isEqualTo(Bytes32.ZERO);
+    assertThat(MerkleHasher.getZeroHash(1)).isEqualTo(sha256(Bytes32.ZERO, Bytes32.ZERO));
+    assertThat(MerkleHasher.getZeroHash(2))
+        .isEqualTo(sha256(MerkleHasher.getZeroHash(1), MerkleHasher.getZeroHash(1)));
+  }
+
+  @Test
+  public void merkleize_shouldMatchTreeNodeHashes() {
+    for (int depth = 0; depth <= 4; depth++) {
+      for (int count = 0; count <= 1 << depth; count++) {
+        assertThat(MerkleHasher.merkleize(pack(count, 0), count, depth))
+            .describedAs("count %s depth %s", count, depth)
+            .isEqualTo(treeRoot(count, depth));
+      }
+    }
+  }
+
+  @Test
+  public void merkleize_shouldPadWhenArrayHasNoSpareChunk() {
+    assertThat(MerkleHasher.merkleize(pack(3, 0), 3, 5)).isEqualTo(treeRoot(3, 5));
+  }
+
+  @Test
+  public void merkleize_shouldHashLargeLevelsInParallel() {
+    final int count = MerkleHasher.PARALLEL_THRESHOLD * 4 + 3;
+    final int depth = 20;
+
+    assertThat(MerkleHasher.merkleize(pack(count, 1), count, depth))
+        .isEqualTo(treeRoot(count, depth));
+  }
+
+  @Test
+  public void merkleize_shouldRejectTooManyChunks() {
+    assertThatThrownBy(() -> MerkleHasher.merkleize(pack(5, 0), 5, 2))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private Bytes32 treeRoot(final int count, final int depth) {
+    final List<TreeNode> level = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      level.add(TreeNode.createLeafNode(chunk(i)));
+    }
+    TreeNode zeroNode = TreeNode.createLeafNode(Bytes32.ZERO);
+    for (int levelDepth = 0; levelDepth < depth; levelDepth++) {
+      if (level.size() % 2 == 1) {
+        level.add(zeroNode);
+      }
+      final List<TreeNode> parents = new ArrayList<>();
+      for (int i = 0; i < level.size(); i += 2) {
+        parents.add(TreeNode.createBranchNode(level.get(i), level.get(i + 1)));
+      }
+      level.clear();
+      level.addAll(parents);
+      zeroNode = TreeNode.createBranchNode(zeroNode, zeroNode);
+    }
+    return level.isEmpty() ? zeroNode.hashTreeRoot() : level.get(0).hashTreeRoot();
+  }
+
+  private byte[] pack(final int count, final int spareChunks) {
+    final byte[] packed = new byte[(count + spareChunks) * Bytes32.SIZE];
+    for (int i = 0; i < count; i++) {
+      System.arraycopy(chunk(i).toArrayUnsafe(), 0, packed, i * Bytes32.SIZE, Bytes32.SIZE);
+    }
+    return packed;
+  }
+
+  private Bytes32 chunk(final long value) {
+    return Bytes32.leftPad(Bytes.ofUnsignedLong(value + 1, ByteOrder.BIG_ENDIAN));
+  }
+
+  private Bytes32 sha256(final Bytes32 left, final Bytes32 right) throws Exception {
+    final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+    digest.update(left.toArrayUnsafe());
+    digest.update(right.toArrayUnsafe());
+    return Bytes32.wrap(digest.digest());
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.teku.ssz.backing.tree.TreeUpdatesTest.newTestLeaf;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeImpl.BranchNodeImpl;
+
+public class ParallelTreeHasherTest {
+  private static final int LEAF_COUNT = 1 << 12;
+
+  private final AtomicInteger parallelHashCount = new AtomicInteger();
+
+  private final ForkJoinPool pool =
+      new ForkJoinPool(4) {
+        @Override
+        public <T> T invoke(final ForkJoinTask<T> task) {
+          parallelHashCount.incrementAndGet();
+          return super.invoke(task);
+        }
+      };
+  private final ParallelTreeHasher hasher = new ParallelTreeHasher(pool, 3);
+
+  @AfterEach
+  public void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  public void hashTreeRoot_shouldMatchSequentialHash() {
+    final TreeNode tree = createTree();
+
+    assertThat(hasher.hashTreeRoot(tree)).isEqualTo(createTree().hashTreeRoot());
+    assertThat(((BranchNodeImpl) tree).isHashCached()).isTrue();
+    assertThat(((BranchNodeImpl) ((BranchNodeImpl) tree).left()).isHashCached()).isTrue();
+    assertThat(((BranchNodeImpl) ((BranchNodeImpl) tree).right()).isHashCached()).isTrue();
+  }
+
+  @Test
+  public void hashTreeRoot_shouldRehashOnlyUpdatedNodes() {
+    final TreeNode tree = createTree();
+    hasher.hashTreeRoot(tree);
+
+    final long firstLeafIndex = LEAF_COUNT;
+    final TreeNode updated =
+        tree.updated(firstLeafIndex + 7, __ -> newTestLeaf(1_000_000))
+            .updated(firstLeafIndex + LEAF_COUNT - 3, __ -> newTestLeaf(2_000_000));
+    final TreeNode expected =
+        createTree()
+            .updated(firstLeafIndex + 7, __ -> newTestLeaf(1_000_000))
+            .updated(firstLeafIndex + LEAF_COUNT - 3, __ -> newTestLeaf(2_000_000));
+
+    assertThat(hasher.hashTreeRoot(updated)).isEqualTo(expected.hashTreeRoot());
+  }
+
+  @Test
+  public void hashTreeRoot_shouldHashInParallelWhenShallowLeafIsAlsoUpdated() {
+    // Like a state transition updating the slot as well as the large balances subtree
+    final TreeNode tree =
+        TreeNode.createBranchNode(
+            TreeNode.createBranchNode(newTestLeaf(1), newTestLeaf(2)), createTree());
+    hasher.hashTreeRoot(tree);
+    parallelHashCount.set(0);
+
+    final long largeTreeFirstLeafIndex = 3L * LEAF_COUNT;
+    final TreeNode updated =
+        tree.updated(4, __ -> newTestLeaf(3))
+            .updated(largeTreeFirstLeafIndex + 7, __ -> newTestLeaf(1_000_000))
+            .updated(largeTreeFirstLeafIndex + LEAF_COUNT - 3, __ -> newTestLeaf(2_000_000));
+    final TreeNode expected =
+        TreeNode.createBranchNode(
+            TreeNode.createBranchNode(newTestLeaf(3), newTestLeaf(2)),
+            createTree()
+                .updated(LEAF_COUNT + 7, __ -> newTestLeaf(1_000_000))
+                .updated(LEAF_COUNT + LEAF_COUNT - 3, __ -> newTestLeaf(2_000_000)));
+
+    assertThat(hasher.hashTreeRoot(updated)).isEqualTo(expected.hashTreeRoot());
+    assertThat(parallelHashCount).hasValue(1);
+  }
+
+  @Test
+  public void hashTreeRoot_shouldHashTreesWithSharedSubtrees() {
+    final TreeNode tree = TreeUtil.createDefaultTree(LEAF_COUNT, newTestLeaf(3));
+
+    assertThat(hasher.hashTreeRoot(tree))
+        .isEqualTo(TreeUtil.createDefaultTree(LEAF_COUNT, newTestLeaf(3)).hashTreeRoot());
+  }
+
+  @Test
+  public void hashTreeRoot_shouldHashLeaf() {
+    final TreeNode leaf = newTestLeaf(5);
+
+    assertThat(hasher.hashTreeRoot(leaf)).isEqualTo(leaf.hashTreeRoot());
+  }
+
+  private TreeNode createTree() {
+    final List<TreeNode> leaves =
+        IntStream.range(0, LEAF_COUNT)
+            .mapToObj(TreeUpdatesTest::newTestLeaf)
+            .collect(Collectors.toList());
+    return TreeUtil.createTree(leaves);
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLSKeyGenerator;
+import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.core.ChainBuilder;
+import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.storage.client.ChainUpdater;
+import tech.pegasys.teku.storage.storageSystem.InMemoryStorageSystem;
+import tech.pegasys.teku.storage.storageSystem.StorageSystem;
+import tech.pegasys.teku.util.config.Constants;
+import tech.pegasys.teku.util.config.StateStorageMode;
+
+public class HotStateRestartIntegrationTest {
+  private static final List<BLSKeyPair> VALIDATOR_KEYS = BLSKeyGenerator.generateKeyPairs(2);
+  private static final int HOT_BLOCK_COUNT = 2000;
+
+  private final ChainBuilder chainBuilder = ChainBuilder.create(VALIDATOR_KEYS);
+  private final StorageSystem storageSystem =
+      InMemoryStorageSystem.createEmptyLatestStorageSystem(StateStorageMode.PRUNE);
+  private final ChainUpdater chainUpdater =
+      new ChainUpdater(storageSystem.recentChainData(), chainBuilder);
+  private StorageSystem restartedStorageSystem;
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    storageSystem.close();
+    if (restartedStorageSystem != null) {
+      restartedStorageSystem.close();
+    }
+  }
+
+  @Test
+  public void shouldRegenerateHotStatesAfterRestartWithManyHotBlocks() {
+    chainUpdater.initializeGenesis();
+    for (int i = 0; i < HOT_BLOCK_COUNT; i++) {
+      chainUpdater.advanceChain();
+    }
+    final SignedBlockAndState head = chainBuilder.getLatestBlockAndState();
+    final SignedBlockAndState midChain = chainBuilder.getBlockAndStateAtSlot(HOT_BLOCK_COUNT / 2);
+
+    restartedStorageSystem = storageSystem.restarted();
+    final UpdatableStore store = restartedStorageSystem.recentChainData().getStore();
+
+    assertThat(store.getBlockRoots()).hasSize(HOT_BLOCK_COUNT + 1);
+    assertThat(store.retrieveBlockState(head.getRoot()))
+        .isCompletedWithValue(Optional.of(head.getState()));
+    assertReplayedAtMostOnePersistencePeriod((Store) store, head);
+
+    assertThat(store.retrieveBlockState(midChain.getRoot()))
+        .isCompletedWithValue(Optional.of(midChain.getState()));
+    assertReplayedAtMostOnePersistencePeriod((Store) store, midChain);
+  }
+
+  private void assertReplayedAtMostOnePersistencePeriod(
+      final Store store, final SignedBlockAndState target) {
+    // The persisted state regeneration started from is cached along with the regenerated state
+    final UnsignedLong baseSlot =
+        store.block_states.values().stream()
+            .map(BeaconState::getSlot)
+            .filter(slot -> slot.compareTo(target.getSlot()) < 0)
+            .max(Comparator.naturalOrder())
+            .orElseThrow();
+    final long persistencePeriodSlots =
+        (long) store.hotStatePersistenceFrequencyInEpochs * Constants.SLOTS_PER_EPOCH;
+    // Every slot has a block so the number of blocks replayed is the distance between the slots
+    assertThat(target.getSlot().minus(baseSlot).longValue()).isLessThan(persistencePeriodSlots);
+  }
+}
@@ -17,6 +17,7 @@ import com.google.common.primitives.UnsignedLong;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
@@ -33,6 +34,15 @@ public interface StorageQueryChannel extends ChannelInterface {
 
   SafeFuture<Optional<SignedBeaconBlock>> getLatestFinalizedBlockAtSlot(final UnsignedLong slot);
 
+  /**
+   * Returns the finalized block at the given slot in its stored SSZ form, for callers which only
+   * need to pass the block on without inspecting it.
+   *
+   * @param slot The slot to query
+   * @return The serialized block proposed at {@code slot} or empty if the slot was empty
+   */
+  SafeFuture<Optional<Bytes>> getSerializedFinalizedBlockAtSlot(final UnsignedLong slot);
+
   SafeFuture<Optional<SignedBeaconBlock>> getBlockByBlockRoot(final Bytes32 blockRoot);
 
   /**
@@ -44,6 +54,14 @@ public interface StorageQueryChannel extends ChannelInterface {
    */
   SafeFuture<Map<Bytes32, SignedBeaconBlock>> getHotBlocksByRoot(final Set<Bytes32> blockRoots);
 
+  /**
+   * Returns the hot state checkpointed for the given block, if one was stored
+   *
+   * @param blockRoot The root of the block the state belongs to
+   * @return The stored state or empty if no checkpoint was stored for this block
+   */
+  SafeFuture<Optional<BeaconState>> getHotStateByBlockRoot(final Bytes32 blockRoot);
+
   SafeFuture<Optional<SlotAndBlockRoot>> getSlotAndBlockRootByStateRoot(final Bytes32 stateRoot);
 
   SafeFuture<Optional<BeaconState>> getLatestFinalizedStateAtSlot(final UnsignedLong slot);
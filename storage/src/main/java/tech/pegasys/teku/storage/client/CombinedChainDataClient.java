@@ -27,6 +27,7 @@ import java.util.NavigableMap;
 import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.core.StateTransition;
 import tech.pegasys.teku.core.exceptions.EpochProcessingException;
@@ -98,6 +99,22 @@ public class CombinedChainDataClient {
         .thenApply(maybeBlock -> maybeBlock.filter(block -> block.getSlot().equals(slot)));
   }
 
+  /**
+   * Returns the finalized block proposed at the requested slot in the SSZ serialized form it is
+   * stored in, without deserializing it. Returns empty if the slot was empty or the block has not
+   * yet been moved to finalized storage, so callers should fall back to {@link
+   * #getBlockAtSlotExact(UnsignedLong)} when they need to distinguish the two.
+   *
+   * @param slot the finalized slot to get the block for
+   * @return the serialized block at the requested slot or empty if it is not in finalized storage
+   */
+  public SafeFuture<Optional<Bytes>> getSerializedFinalizedBlockAtSlot(final UnsignedLong slot) {
+    if (!isStoreAvailable()) {
+      return completedFuture(Optional.empty());
+    }
+    return historicalChainData.getSerializedFinalizedBlockAtSlot(slot);
+  }
+
   /**
    * Returns the block which was proposed in or most recently before the requested slot on the chain
    * specified by <code>headBlockRoot</code>. If the slot was empty, the block at the last filled
@@ -38,6 +38,7 @@ import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.state.Checkpoint;
 import tech.pegasys.teku.datastructures.state.Fork;
 import tech.pegasys.teku.datastructures.state.ForkInfo;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.metrics.TekuMetricCategory;
 import tech.pegasys.teku.protoarray.ForkChoiceStrategy;
@@ -64,6 +65,7 @@ public abstract class RecentChainData implements StoreUpdateHandler {
   protected final StorageUpdateChannel storageUpdateChannel;
   protected final ProtoArrayStorageChannel protoArrayStorageChannel;
   private final MetricsSystem metricsSystem;
+  private final Optional<AsyncRunner> stateRegenerationAsyncRunner;
   private final ReorgEventChannel reorgEventChannel;
 
   private final AtomicBoolean storeInitialized = new AtomicBoolean(false);
@@ -78,6 +80,7 @@ public abstract class RecentChainData implements StoreUpdateHandler {
 
   RecentChainData(
       final MetricsSystem metricsSystem,
+      final Optional<AsyncRunner> stateRegenerationAsyncRunner,
       final BlockProvider blockProvider,
       final StorageUpdateChannel storageUpdateChannel,
       final ProtoArrayStorageChannel protoArrayStorageChannel,
@@ -85,6 +88,7 @@ public abstract class RecentChainData implements StoreUpdateHandler {
       final ReorgEventChannel reorgEventChannel,
       final EventBus eventBus) {
     this.metricsSystem = metricsSystem;
+    this.stateRegenerationAsyncRunner = stateRegenerationAsyncRunner;
     this.blockProvider = blockProvider;
     this.reorgEventChannel = reorgEventChannel;
     this.eventBus = eventBus;
@@ -109,7 +113,7 @@ public abstract class RecentChainData implements StoreUpdateHandler {
   public void initializeFromGenesis(final BeaconState genesisState) {
     final AnchorPoint genesis = AnchorPoint.fromGenesisState(genesisState);
     final UpdatableStore store =
-        StoreBuilder.buildForkChoiceStore(metricsSystem, blockProvider, genesis);
+        buildStore(StoreBuilder.forkChoiceStoreBuilder(metricsSystem, blockProvider, genesis));
     final boolean result = setStore(store);
     if (!result) {
       throw new IllegalStateException(
@@ -124,6 +128,11 @@ public abstract class RecentChainData implements StoreUpdateHandler {
     updateBestBlock(headBlock.getRoot(), headBlock.getSlot());
   }
 
+  protected UpdatableStore buildStore(final StoreBuilder storeBuilder) {
+    stateRegenerationAsyncRunner.ifPresent(storeBuilder::asyncRunner);
+    return storeBuilder.build();
+  }
+
   public UnsignedLong getGenesisTime() {
     return genesisTime;
   }
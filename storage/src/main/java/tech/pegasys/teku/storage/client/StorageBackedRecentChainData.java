@@ -27,6 +27,8 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.core.lookup.BlockProvider;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.metrics.SettableGauge;
+import tech.pegasys.teku.metrics.TekuMetricCategory;
 import tech.pegasys.teku.protoarray.ProtoArrayStorageChannel;
 import tech.pegasys.teku.storage.api.FinalizedCheckpointChannel;
 import tech.pegasys.teku.storage.api.ReorgEventChannel;
@@ -39,9 +41,11 @@ public class StorageBackedRecentChainData extends RecentChainData {
   private static final Logger LOG = LogManager.getLogger();
   private final BlockProvider blockProvider;
   private final StorageQueryChannel storageQueryChannel;
+  private final SettableGauge initializationTimeGauge;
 
   public StorageBackedRecentChainData(
       final MetricsSystem metricsSystem,
+      final Optional<AsyncRunner> stateRegenerationAsyncRunner,
       final StorageQueryChannel storageQueryChannel,
       final StorageUpdateChannel storageUpdateChannel,
       final ProtoArrayStorageChannel protoArrayStorageChannel,
@@ -50,6 +54,7 @@ public class StorageBackedRecentChainData extends RecentChainData {
       final EventBus eventBus) {
     super(
         metricsSystem,
+        stateRegenerationAsyncRunner,
         storageQueryChannel::getHotBlocksByRoot,
         storageUpdateChannel,
         protoArrayStorageChannel,
@@ -58,12 +63,19 @@ public class StorageBackedRecentChainData extends RecentChainData {
         eventBus);
     this.storageQueryChannel = storageQueryChannel;
     this.blockProvider = storageQueryChannel::getHotBlocksByRoot;
+    this.initializationTimeGauge =
+        SettableGauge.create(
+            metricsSystem,
+            TekuMetricCategory.STORAGE,
+            "store_initialization_time_ms",
+            "Time in milliseconds taken to load the store from storage at startup");
     eventBus.register(this);
   }
 
   public static SafeFuture<RecentChainData> create(
       final MetricsSystem metricsSystem,
       final AsyncRunner asyncRunner,
+      final AsyncRunner stateRegenerationAsyncRunner,
       final StorageQueryChannel storageQueryChannel,
       final StorageUpdateChannel storageUpdateChannel,
       final ProtoArrayStorageChannel protoArrayStorageChannel,
@@ -73,6 +85,7 @@ public class StorageBackedRecentChainData extends RecentChainData {
     StorageBackedRecentChainData client =
         new StorageBackedRecentChainData(
             metricsSystem,
+            Optional.of(stateRegenerationAsyncRunner),
             storageQueryChannel,
             storageUpdateChannel,
             protoArrayStorageChannel,
@@ -95,6 +108,7 @@ public class StorageBackedRecentChainData extends RecentChainData {
     StorageBackedRecentChainData client =
         new StorageBackedRecentChainData(
             metricsSystem,
+            Optional.empty(),
             storageQueryChannel,
             storageUpdateChannel,
             protoArrayStorageChannel,
@@ -107,22 +121,31 @@ public class StorageBackedRecentChainData extends RecentChainData {
 
   private SafeFuture<RecentChainData> initializeFromStorage() {
     STATUS_LOG.beginInitializingChainData();
-    return processStoreFuture(requestInitialStore());
+    final long startTimeNanos = System.nanoTime();
+    return processStoreFuture(requestInitialStore(), startTimeNanos);
   }
 
   private SafeFuture<RecentChainData> initializeFromStorageWithRetry(
       final AsyncRunner asyncRunner) {
     STATUS_LOG.beginInitializingChainData();
-    return processStoreFuture(requestInitialStoreWithRetry(asyncRunner));
+    final long startTimeNanos = System.nanoTime();
+    return processStoreFuture(requestInitialStoreWithRetry(asyncRunner), startTimeNanos);
   }
 
   private SafeFuture<RecentChainData> processStoreFuture(
-      SafeFuture<Optional<StoreBuilder>> storeFuture) {
+      SafeFuture<Optional<StoreBuilder>> storeFuture, final long startTimeNanos) {
     return storeFuture.thenApply(
         maybeStore -> {
           maybeStore
-              .map(builder -> builder.blockProvider(blockProvider).build())
+              .map(
+                  builder ->
+                      buildStore(
+                          builder
+                              .blockProvider(blockProvider)
+                              .stateProvider(storageQueryChannel::getHotStateByBlockRoot)))
               .ifPresent(this::setStore);
+          initializationTimeGauge.set(
+              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTimeNanos));
           STATUS_LOG.finishInitializingChainData();
           return this;
         });
@@ -33,6 +33,7 @@ public class StorageUpdate {
   private final Optional<Checkpoint> bestJustifiedCheckpoint;
   private final Map<Bytes32, SlotAndBlockRoot> stateRoots;
   private final Map<Bytes32, SignedBeaconBlock> hotBlocks;
+  private final Map<Bytes32, BeaconState> hotStates;
   private final Map<UnsignedLong, VoteTracker> votes;
   private final Set<Bytes32> deletedHotBlocks;
 
@@ -42,6 +43,7 @@ public class StorageUpdate {
       final Optional<Checkpoint> justifiedCheckpoint,
       final Optional<Checkpoint> bestJustifiedCheckpoint,
       final Map<Bytes32, SignedBeaconBlock> hotBlocks,
+      final Map<Bytes32, BeaconState> hotStates,
       final Set<Bytes32> deletedHotBlocks,
       final Map<UnsignedLong, VoteTracker> votes,
       final Map<Bytes32, SlotAndBlockRoot> stateRoots) {
@@ -50,6 +52,7 @@ public class StorageUpdate {
     this.justifiedCheckpoint = justifiedCheckpoint;
     this.bestJustifiedCheckpoint = bestJustifiedCheckpoint;
     this.hotBlocks = hotBlocks;
+    this.hotStates = hotStates;
     this.deletedHotBlocks = deletedHotBlocks;
     this.votes = votes;
     this.stateRoots = stateRoots;
@@ -61,6 +64,7 @@ public class StorageUpdate {
         && finalizedChainData.isEmpty()
         && bestJustifiedCheckpoint.isEmpty()
         && hotBlocks.isEmpty()
+        && hotStates.isEmpty()
         && deletedHotBlocks.isEmpty()
         && votes.isEmpty()
         && stateRoots.isEmpty();
@@ -86,6 +90,15 @@ public class StorageUpdate {
     return hotBlocks;
   }
 
+  /**
+   * Returns the hot states selected as restart checkpoints, keyed by block root.
+   *
+   * @return the hot states to persist
+   */
+  public Map<Bytes32, BeaconState> getHotStates() {
+    return hotStates;
+  }
+
   public Set<Bytes32> getDeletedHotBlocks() {
     return deletedHotBlocks;
   }
@@ -18,22 +18,27 @@ import com.google.common.primitives.UnsignedLong;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
 import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.storage.api.StorageQueryChannel;
 import tech.pegasys.teku.storage.api.StorageUpdateChannel;
 import tech.pegasys.teku.storage.events.AnchorPoint;
 import tech.pegasys.teku.storage.events.StorageUpdate;
 import tech.pegasys.teku.storage.server.state.FinalizedStateCache;
+import tech.pegasys.teku.storage.server.state.SerializedStateCache;
 import tech.pegasys.teku.storage.store.StoreBuilder;
 import tech.pegasys.teku.util.config.Constants;
 
 public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel {
 
   private static final int FINALIZED_STATE_CACHE_SIZE = Constants.SLOTS_PER_EPOCH * 3;
+  // Compressed states evicted from the heap are held off-heap, within the direct memory limit
+  private static final long SERIALIZED_FINALIZED_STATE_CACHE_SIZE_BYTES = 256L * 1024 * 1024;
 
   private final EventBus eventBus;
 
@@ -50,9 +55,17 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel {
     this.finalizedStateCache = finalizedStateCache;
   }
 
-  public static ChainStorage create(final EventBus eventBus, final Database database) {
+  public static ChainStorage create(
+      final EventBus eventBus, final Database database, final AsyncRunner asyncRunner) {
     return new ChainStorage(
-        eventBus, database, new FinalizedStateCache(database, FINALIZED_STATE_CACHE_SIZE, true));
+        eventBus,
+        database,
+        new FinalizedStateCache(
+            database,
+            FINALIZED_STATE_CACHE_SIZE,
+            true,
+            new SerializedStateCache(SERIALIZED_FINALIZED_STATE_CACHE_SIZE_BYTES, true),
+            asyncRunner));
   }
 
   public void start() {
@@ -110,6 +123,11 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel {
     return SafeFuture.of(() -> database.getLatestFinalizedBlockAtSlot(slot));
   }
 
+  @Override
+  public SafeFuture<Optional<Bytes>> getSerializedFinalizedBlockAtSlot(final UnsignedLong slot) {
+    return SafeFuture.of(() -> database.getSerializedFinalizedBlockAtSlot(slot));
+  }
+
   @Override
   public SafeFuture<Optional<SignedBeaconBlock>> getBlockByBlockRoot(final Bytes32 blockRoot) {
     return SafeFuture.of(() -> database.getSignedBlock(blockRoot));
@@ -121,6 +139,11 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel {
     return SafeFuture.of(() -> database.getHotBlocks(blockRoots));
   }
 
+  @Override
+  public SafeFuture<Optional<BeaconState>> getHotStateByBlockRoot(final Bytes32 blockRoot) {
+    return SafeFuture.of(() -> database.getHotState(blockRoot));
+  }
+
   @Override
   public SafeFuture<Optional<SlotAndBlockRoot>> getSlotAndBlockRootByStateRoot(
       final Bytes32 stateRoot) {
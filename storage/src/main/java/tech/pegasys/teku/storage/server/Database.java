@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
@@ -51,6 +52,15 @@ public interface Database extends AutoCloseable {
    */
   Optional<SignedBeaconBlock> getFinalizedBlockAtSlot(UnsignedLong slot);
 
+  /**
+   * Returns the SSZ serialized form of the finalized block proposed at the given slot, exactly as
+   * it is stored. Avoids deserializing the block when it will only be serialized again.
+   *
+   * @param slot The slot to query
+   * @return Returns the serialized finalized block proposed at this slot, if such a block exists
+   */
+  Optional<Bytes> getSerializedFinalizedBlockAtSlot(UnsignedLong slot);
+
   /**
    * Returns the latest finalized block at or prior to the given slot
    *
@@ -69,6 +79,14 @@ public interface Database extends AutoCloseable {
    */
   Map<Bytes32, SignedBeaconBlock> getHotBlocks(final Set<Bytes32> blockRoots);
 
+  /**
+   * Returns the hot state checkpointed for the given block, if one was stored.
+   *
+   * @param blockRoot The root of the block the state belongs to
+   * @return The stored state or empty if no checkpoint was stored for this block
+   */
+  Optional<BeaconState> getHotState(final Bytes32 blockRoot);
+
   /**
    * Return a {@link Stream} of blocks beginning at startSlot and ending at endSlot, both inclusive.
    *
@@ -21,7 +21,8 @@ public enum DatabaseVersion {
   V2("2.0"),
   V3("3.0"),
   V4("4"),
-  V5("5");
+  V5("5"),
+  V6("6");
 
   public static final DatabaseVersion DEFAULT_VERSION = DatabaseVersion.V5;
   private String value;
@@ -125,6 +125,17 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
             dbVersion.getValue(),
             archiveDirectory.getAbsolutePath());
         break;
+      case V6:
+        database = createV6Database();
+        LOG.trace(
+            "Created V6 Hot database ({}) at {}",
+            dbVersion.getValue(),
+            dbDirectory.getAbsolutePath());
+        LOG.trace(
+            "Created V6 Finalized database ({}) at {}",
+            dbVersion.getValue(),
+            archiveDirectory.getAbsolutePath());
+        break;
       default:
         throw new UnsupportedOperationException("Unhandled database version " + dbVersion);
     }
@@ -177,6 +188,27 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
     }
   }
 
+  /**
+   * V6 database is identical to V5 except that finalized states are stored as content-addressed
+   * tree nodes rather than periodic snapshots
+   *
+   * @return the created database
+   */
+  private Database createV6Database() {
+    try {
+      final DatabaseMetadata metaData =
+          DatabaseMetadata.init(getMetadataFile(), DatabaseMetadata.v5Defaults());
+      DatabaseNetwork.init(getNetworkFile(), Constants.GENESIS_FORK_VERSION, eth1Address);
+      return RocksDbDatabase.createV6(
+          metricsSystem,
+          metaData.getHotDbConfiguration().withDatabaseDir(dbDirectory.toPath()),
+          metaData.getArchiveDbConfiguration().withDatabaseDir(archiveDirectory.toPath()),
+          stateStorageMode);
+    } catch (final IOException e) {
+      throw new DatabaseStorageException("Failed to read metadata", e);
+    }
+  }
+
   private File getMetadataFile() {
     return dataDirectory.toPath().resolve(METADATA_FILENAME).toFile();
   }
@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
@@ -60,6 +61,11 @@ public class NoOpDatabase implements Database {
     return Optional.empty();
   }
 
+  @Override
+  public Optional<Bytes> getSerializedFinalizedBlockAtSlot(final UnsignedLong slot) {
+    return Optional.empty();
+  }
+
   @Override
   public Optional<SignedBeaconBlock> getLatestFinalizedBlockAtSlot(final UnsignedLong slot) {
     return Optional.empty();
@@ -75,6 +81,11 @@ public class NoOpDatabase implements Database {
     return Collections.emptyMap();
   }
 
+  @Override
+  public Optional<BeaconState> getHotState(final Bytes32 blockRoot) {
+    return Optional.empty();
+  }
+
   @Override
   public Stream<SignedBeaconBlock> streamFinalizedBlocks(
       final UnsignedLong startSlot, final UnsignedLong endSlot) {
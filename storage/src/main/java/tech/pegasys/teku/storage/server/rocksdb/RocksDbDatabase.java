@@ -30,6 +30,7 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.core.lookup.BlockProvider;
@@ -57,6 +58,7 @@ import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbFinalizedDao.F
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbHotDao;
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbHotDao.HotUpdater;
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbProtoArrayDao;
+import tech.pegasys.teku.storage.server.rocksdb.dataaccess.TreeNodeStateStorage;
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.V3RocksDbDao;
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.V4FinalizedRocksDbDao;
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.V4HotRocksDbDao;
@@ -101,6 +103,20 @@ public class RocksDbDatabase implements Database {
     return createV4(metricsSystem, hotDb, finalizedDb, stateStorageMode, stateStorageFrequency);
   }
 
+  public static Database createV6(
+      final MetricsSystem metricsSystem,
+      final RocksDbConfiguration hotConfiguration,
+      final RocksDbConfiguration finalizedConfiguration,
+      final StateStorageMode stateStorageMode) {
+    final RocksDbAccessor hotDb =
+        RocksDbInstanceFactory.create(
+            metricsSystem, STORAGE_HOT_DB, hotConfiguration, V4SchemaHot.class);
+    final RocksDbAccessor finalizedDb =
+        RocksDbInstanceFactory.create(
+            metricsSystem, STORAGE_FINALIZED_DB, finalizedConfiguration, V4SchemaFinalized.class);
+    return createV6(metricsSystem, hotDb, finalizedDb, stateStorageMode);
+  }
+
   static Database createV3(
       final MetricsSystem metricsSystem,
       final RocksDbAccessor db,
@@ -121,6 +137,17 @@ public class RocksDbDatabase implements Database {
     return new RocksDbDatabase(metricsSystem, dao, finalizedDbDao, dao, dao, stateStorageMode);
   }
 
+  static Database createV6(
+      final MetricsSystem metricsSystem,
+      final RocksDbAccessor hotDb,
+      final RocksDbAccessor finalizedDb,
+      final StateStorageMode stateStorageMode) {
+    final V4HotRocksDbDao dao = new V4HotRocksDbDao(hotDb);
+    final V4FinalizedRocksDbDao finalizedDbDao =
+        new V4FinalizedRocksDbDao(finalizedDb, new TreeNodeStateStorage(finalizedDb));
+    return new RocksDbDatabase(metricsSystem, dao, finalizedDbDao, dao, dao, stateStorageMode);
+  }
+
   private RocksDbDatabase(
       final MetricsSystem metricsSystem,
       final RocksDbHotDao hotDao,
@@ -214,6 +241,7 @@ public class RocksDbDatabase implements Database {
             .bestJustifiedCheckpoint(bestJustifiedCheckpoint)
             .childToParentMap(childToParentLookup)
             .latestFinalized(latestFinalized)
+            .persistedStateRoots(hotDao.getHotStateRoots())
             .votes(votes));
   }
 
@@ -232,6 +260,11 @@ public class RocksDbDatabase implements Database {
     return finalizedDao.getFinalizedBlockAtSlot(slot);
   }
 
+  @Override
+  public Optional<Bytes> getSerializedFinalizedBlockAtSlot(final UnsignedLong slot) {
+    return finalizedDao.getSerializedFinalizedBlockAtSlot(slot);
+  }
+
   @Override
   public Optional<SignedBeaconBlock> getLatestFinalizedBlockAtSlot(final UnsignedLong slot) {
     return finalizedDao.getLatestFinalizedBlockAtSlot(slot);
@@ -247,6 +280,11 @@ public class RocksDbDatabase implements Database {
     return hotDao.getHotBlock(root).or(() -> finalizedDao.getFinalizedBlock(root));
   }
 
+  @Override
+  public Optional<BeaconState> getHotState(final Bytes32 blockRoot) {
+    return hotDao.getHotState(blockRoot);
+  }
+
   @Override
   public Map<Bytes32, SignedBeaconBlock> getHotBlocks(final Set<Bytes32> blockRoots) {
     return blockRoots.stream()
@@ -365,6 +403,7 @@ public class RocksDbDatabase implements Database {
       update.getLatestFinalizedState().ifPresent(updater::setLatestFinalizedState);
 
       updater.addHotBlocks(update.getHotBlocks());
+      update.getHotStates().forEach(updater::addHotState);
 
       if (update.getStateRoots().size() > 0) {
         updater.addHotStateRoots(update.getStateRoots());
@@ -372,7 +411,13 @@ public class RocksDbDatabase implements Database {
       updater.addVotes(update.getVotes());
 
       // Delete finalized data from hot db
-      update.getDeletedHotBlocks().forEach(updater::deleteHotBlock);
+      update
+          .getDeletedHotBlocks()
+          .forEach(
+              blockRoot -> {
+                updater.deleteHotBlock(blockRoot);
+                updater.deleteHotState(blockRoot);
+              });
 
       updater.commit();
     }
@@ -17,6 +17,7 @@ import com.google.errorprone.annotations.MustBeClosed;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumn;
 import tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbVariable;
 
@@ -26,6 +27,17 @@ public interface RocksDbAccessor extends AutoCloseable {
 
   <K, V> Optional<V> get(RocksDbColumn<K, V> column, K key);
 
+  /**
+   * Returns the serialized value stored under the given key without deserializing it.
+   *
+   * @param column The column we want to query
+   * @param key The requested key
+   * @param <K> The key type of the column
+   * @param <V> The value type of the column
+   * @return The raw bytes of the value stored under {@code key}
+   */
+  <K, V> Optional<Bytes> getRaw(RocksDbColumn<K, V> column, K key);
+
   <K, V> Map<K, V> getAll(RocksDbColumn<K, V> column);
 
   /**
@@ -26,6 +26,7 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.rocksdb.AbstractRocksIterator;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDBException;
@@ -82,6 +83,18 @@ public class RocksDbInstance implements RocksDbAccessor {
     }
   }
 
+  @Override
+  public <K, V> Optional<Bytes> getRaw(final RocksDbColumn<K, V> column, final K key) {
+    assertOpen();
+    final ColumnFamilyHandle handle = columnHandles.get(column);
+    final byte[] keyBytes = column.getKeySerializer().serialize(key);
+    try {
+      return Optional.ofNullable(db.get(handle, keyBytes)).map(Bytes::wrap);
+    } catch (RocksDBException e) {
+      throw new DatabaseStorageException("Failed to get value", e);
+    }
+  }
+
   @Override
   public <K, V> Map<K, V> getAll(RocksDbColumn<K, V> column) {
     assertOpen();
@@ -17,6 +17,7 @@ import com.google.common.primitives.UnsignedLong;
 import com.google.errorprone.annotations.MustBeClosed;
 import java.util.Optional;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
@@ -34,6 +35,8 @@ public interface RocksDbFinalizedDao extends AutoCloseable {
 
   Optional<SignedBeaconBlock> getFinalizedBlockAtSlot(UnsignedLong slot);
 
+  Optional<Bytes> getSerializedFinalizedBlockAtSlot(UnsignedLong slot);
+
   Optional<SignedBeaconBlock> getLatestFinalizedBlockAtSlot(UnsignedLong slot);
 
   Optional<BeaconState> getLatestAvailableFinalizedState(UnsignedLong maxSlot);
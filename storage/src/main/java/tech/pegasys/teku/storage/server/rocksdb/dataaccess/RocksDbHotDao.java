@@ -18,6 +18,7 @@ import com.google.errorprone.annotations.MustBeClosed;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
@@ -47,6 +48,15 @@ public interface RocksDbHotDao extends AutoCloseable {
 
   Map<Bytes32, SignedBeaconBlock> getHotBlocks();
 
+  Optional<BeaconState> getHotState(final Bytes32 blockRoot);
+
+  /**
+   * Returns the roots of blocks which have a checkpointed hot state, without loading the states.
+   *
+   * @return the block roots of all stored hot states
+   */
+  Set<Bytes32> getHotStateRoots();
+
   List<Bytes32> getStateRootsBeforeSlot(final UnsignedLong slot);
 
   Optional<SlotAndBlockRoot> getSlotAndBlockRootFromStateRoot(final Bytes32 stateRoot);
@@ -76,12 +86,16 @@ public interface RocksDbHotDao extends AutoCloseable {
 
     void addHotBlocks(final Map<Bytes32, SignedBeaconBlock> blocks);
 
+    void addHotState(final Bytes32 blockRoot, final BeaconState state);
+
     void addHotStateRoots(final Map<Bytes32, SlotAndBlockRoot> stateRootToSlotAndBlockRootMap);
 
     void pruneHotStateRoots(final List<Bytes32> stateRoots);
 
     void deleteHotBlock(final Bytes32 blockRoot);
 
+    void deleteHotState(final Bytes32 blockRoot);
+
     void commit();
 
     void cancel();
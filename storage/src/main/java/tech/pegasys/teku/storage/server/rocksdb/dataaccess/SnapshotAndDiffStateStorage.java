@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
+
+import static com.google.common.primitives.UnsignedLong.ONE;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.storage.server.DatabaseStorageException;
+import tech.pegasys.teku.storage.server.rocksdb.core.ColumnEntry;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor.RocksDbTransaction;
+import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaFinalized;
+import tech.pegasys.teku.storage.server.state.StateDiff;
+
+/**
+ * Stores a full finalized state every {@code stateStorageFrequency} slots and every state in
+ * between as a {@link StateDiff} against the previously stored state.
+ */
+public class SnapshotAndDiffStateStorage implements FinalizedStateStorage {
+  private final RocksDbAccessor db;
+  private final UnsignedLong stateStorageFrequency;
+  /** The most recently stored finalized state, used as the base for the next state diff. */
+  private final AtomicReference<BeaconState> latestStoredState = new AtomicReference<>();
+
+  public SnapshotAndDiffStateStorage(final RocksDbAccessor db, final long stateStorageFrequency) {
+    this.db = db;
+    this.stateStorageFrequency = UnsignedLong.valueOf(stateStorageFrequency);
+  }
+
+  @Override
+  public Optional<BeaconState> getLatestAvailableFinalizedState(final UnsignedLong maxSlot) {
+    final Optional<ColumnEntry<UnsignedLong, BeaconState>> maybeSnapshot =
+        db.getFloorEntry(V4SchemaFinalized.FINALIZED_STATES_BY_SLOT, maxSlot);
+    if (maybeSnapshot.isEmpty()) {
+      // Diffs can't be applied without a full state to start from
+      return Optional.empty();
+    }
+    final ColumnEntry<UnsignedLong, BeaconState> snapshot = maybeSnapshot.get();
+    final Optional<UnsignedLong> latestDiffSlot =
+        db.getFloorEntry(V4SchemaFinalized.FINALIZED_STATE_DIFFS_BY_SLOT, maxSlot)
+            .map(ColumnEntry::getKey)
+            .filter(diffSlot -> diffSlot.compareTo(snapshot.getKey()) > 0);
+    if (latestDiffSlot.isEmpty()) {
+      return Optional.of(snapshot.getValue());
+    }
+    return Optional.of(
+        applyDiffs(snapshot.getValue(), snapshot.getKey().plus(ONE), latestDiffSlot.get()));
+  }
+
+  private BeaconState applyDiffs(
+      final BeaconState snapshot, final UnsignedLong fromSlot, final UnsignedLong toSlot) {
+    try (final Stream<ColumnEntry<UnsignedLong, StateDiff>> diffs =
+        db.stream(V4SchemaFinalized.FINALIZED_STATE_DIFFS_BY_SLOT, fromSlot, toSlot)) {
+      BeaconState state = snapshot;
+      for (StateDiff diff : (Iterable<StateDiff>) diffs.map(ColumnEntry::getValue)::iterator) {
+        if (!diff.getBaseSlot().equals(state.getSlot())) {
+          throw new DatabaseStorageException(
+              "Finalized state diff is based on slot "
+                  + diff.getBaseSlot()
+                  + " but the previous stored state is at slot "
+                  + state.getSlot());
+        }
+        state = diff.apply(state);
+      }
+      return state;
+    }
+  }
+
+  @Override
+  public FinalizedStateUpdater updater(final RocksDbTransaction transaction) {
+    return new SnapshotAndDiffUpdater(transaction);
+  }
+
+  private class SnapshotAndDiffUpdater implements FinalizedStateUpdater {
+    private final RocksDbTransaction transaction;
+    private Optional<UnsignedLong> lastSnapshotSlot;
+    private Optional<UnsignedLong> lastStoredSlot;
+    private Optional<BeaconState> lastStoredState = Optional.empty();
+
+    SnapshotAndDiffUpdater(final RocksDbTransaction transaction) {
+      this.transaction = transaction;
+      lastSnapshotSlot =
+          db.getLastEntry(V4SchemaFinalized.FINALIZED_STATES_BY_SLOT).map(ColumnEntry::getKey);
+      final Optional<UnsignedLong> lastDiffSlot =
+          db.getLastEntry(V4SchemaFinalized.FINALIZED_STATE_DIFFS_BY_SLOT).map(ColumnEntry::getKey);
+      lastStoredSlot =
+          Stream.of(lastSnapshotSlot, lastDiffSlot)
+              .flatMap(Optional::stream)
+              .max(Comparator.naturalOrder());
+    }
+
+    @Override
+    public void addFinalizedState(final BeaconState state) {
+      if (lastSnapshotSlot.isPresent()) {
+        UnsignedLong nextSnapshotSlot = lastSnapshotSlot.get().plus(stateStorageFrequency);
+        if (state.getSlot().compareTo(nextSnapshotSlot) >= 0) {
+          addFinalizedStateSnapshot(state);
+        } else {
+          addFinalizedStateDiff(state);
+        }
+      } else {
+        addFinalizedStateSnapshot(state);
+      }
+    }
+
+    private void addFinalizedStateSnapshot(final BeaconState state) {
+      transaction.put(V4SchemaFinalized.FINALIZED_STATES_BY_SLOT, state.getSlot(), state);
+      lastSnapshotSlot = Optional.of(state.getSlot());
+      lastStoredSlot = lastSnapshotSlot;
+      lastStoredState = Optional.of(state);
+    }
+
+    private void addFinalizedStateDiff(final BeaconState state) {
+      final BeaconState baseState = getLastStoredState();
+      if (!baseState.getSlot().equals(state.getSlot())) {
+        transaction.put(
+            V4SchemaFinalized.FINALIZED_STATE_DIFFS_BY_SLOT,
+            state.getSlot(),
+            StateDiff.between(baseState, state));
+      }
+      lastStoredSlot = Optional.of(state.getSlot());
+      lastStoredState = Optional.of(state);
+    }
+
+    private BeaconState getLastStoredState() {
+      final UnsignedLong baseSlot = lastStoredSlot.orElseThrow();
+      return lastStoredState
+          .or(() -> Optional.ofNullable(latestStoredState.get()))
+          .filter(state -> state.getSlot().equals(baseSlot))
+          .or(() -> getLatestAvailableFinalizedState(baseSlot))
+          .orElseThrow(
+              () -> new IllegalStateException("No finalized state available to create diff"));
+    }
+
+    @Override
+    public void onCommit() {
+      lastStoredState.ifPresent(latestStoredState::set);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.LeafNode;
+import tech.pegasys.teku.storage.server.rocksdb.core.ColumnEntry;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor.RocksDbTransaction;
+import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaFinalized;
+import tech.pegasys.teku.storage.server.state.LazyBranchNode;
+import tech.pegasys.teku.storage.server.state.StoredBranchNode;
+
+/**
+ * Stores every finalized state as a set of backing tree branch nodes keyed by their hash tree root,
+ * plus the root for each slot. Nodes shared between states are only stored once and loaded states
+ * only read the nodes that are actually accessed.
+ */
+public class TreeNodeStateStorage implements FinalizedStateStorage {
+  private final RocksDbAccessor db;
+  /** The most recently stored finalized state, used to skip nodes which are already stored. */
+  private final AtomicReference<BeaconState> latestStoredState = new AtomicReference<>();
+
+  public TreeNodeStateStorage(final RocksDbAccessor db) {
+    this.db = db;
+  }
+
+  @Override
+  public Optional<BeaconState> getLatestAvailableFinalizedState(final UnsignedLong maxSlot) {
+    return db.getFloorEntry(V4SchemaFinalized.FINALIZED_STATE_ROOTS_BY_SLOT, maxSlot)
+        .map(ColumnEntry::getValue)
+        .map(this::loadState);
+  }
+
+  private BeaconState loadState(final Bytes32 stateRoot) {
+    final TreeNode rootNode =
+        new LazyBranchNode(
+            stateRoot, root -> db.get(V4SchemaFinalized.FINALIZED_STATE_TREE_NODES, root));
+    return (BeaconState) BeaconState.getSSZType().createFromBackingNode(rootNode);
+  }
+
+  @Override
+  public FinalizedStateUpdater updater(final RocksDbTransaction transaction) {
+    return new TreeNodeUpdater(transaction);
+  }
+
+  private class TreeNodeUpdater implements FinalizedStateUpdater {
+    private final RocksDbTransaction transaction;
+    private Optional<BeaconState> lastStoredState = Optional.empty();
+
+    private TreeNodeUpdater(final RocksDbTransaction transaction) {
+      this.transaction = transaction;
+    }
+
+    @Override
+    public void addFinalizedState(final BeaconState state) {
+      final TreeNode previousRoot =
+          lastStoredState
+              .or(() -> Optional.ofNullable(latestStoredState.get()))
+              .or(() -> getLatestAvailableFinalizedState(UnsignedLong.MAX_VALUE))
+              .map(BeaconState::getBackingNode)
+              .orElse(null);
+      addNodes(state.getBackingNode(), previousRoot);
+      transaction.put(
+          V4SchemaFinalized.FINALIZED_STATE_ROOTS_BY_SLOT, state.getSlot(), state.hash_tree_root());
+      lastStoredState = Optional.of(state);
+    }
+
+    /**
+     * Stores {@code node} and its descendants, skipping any subtree which matches the one at the
+     * same position in the previously stored state as those nodes must already be stored.
+     */
+    private void addNodes(final TreeNode node, final TreeNode previousNode) {
+      if (node == previousNode || node instanceof LeafNode) {
+        // Leaf nodes are stored inline in their parent
+        return;
+      }
+      if (previousNode != null && node.hashTreeRoot().equals(previousNode.hashTreeRoot())) {
+        return;
+      }
+      final BranchNode branch = (BranchNode) node;
+      transaction.put(
+          V4SchemaFinalized.FINALIZED_STATE_TREE_NODES,
+          branch.hashTreeRoot(),
+          StoredBranchNode.fromBranchNode(branch));
+
+      final BranchNode previousBranch =
+          previousNode instanceof BranchNode ? (BranchNode) previousNode : null;
+      addNodes(branch.left(), previousBranch != null ? previousBranch.left() : null);
+      if (branch.right().hashTreeRoot().equals(branch.left().hashTreeRoot())) {
+        // Identical subtrees (e.g. default values) only need to be stored once
+        return;
+      }
+      addNodes(branch.right(), previousBranch != null ? previousBranch.right() : null);
+    }
+
+    @Override
+    public void onCommit() {
+      lastStoredState.ifPresent(latestStoredState::set);
+    }
+  }
+}
@@ -18,8 +18,10 @@ import com.google.errorprone.annotations.MustBeClosed;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
@@ -68,6 +70,12 @@ public class V3RocksDbDao
     return db.get(V3Schema.FINALIZED_ROOTS_BY_SLOT, slot).flatMap(this::getFinalizedBlock);
   }
 
+  @Override
+  public Optional<Bytes> getSerializedFinalizedBlockAtSlot(final UnsignedLong slot) {
+    return db.get(V3Schema.FINALIZED_ROOTS_BY_SLOT, slot)
+        .flatMap(root -> db.getRaw(V3Schema.FINALIZED_BLOCKS_BY_ROOT, root));
+  }
+
   @Override
   public Optional<SignedBeaconBlock> getLatestFinalizedBlockAtSlot(final UnsignedLong slot) {
     return db.getFloorEntry(V3Schema.FINALIZED_ROOTS_BY_SLOT, slot)
@@ -131,6 +139,16 @@ public class V3RocksDbDao
     return db.getAll(V3Schema.HOT_BLOCKS_BY_ROOT);
   }
 
+  @Override
+  public Optional<BeaconState> getHotState(final Bytes32 blockRoot) {
+    return db.get(V3Schema.HOT_STATES_BY_ROOT, blockRoot);
+  }
+
+  @Override
+  public Set<Bytes32> getHotStateRoots() {
+    return db.getAll(V3Schema.HOT_STATE_SLOTS_BY_ROOT).keySet();
+  }
+
   @Override
   public List<Bytes32> getStateRootsBeforeSlot(final UnsignedLong slot) {
     try (Stream<ColumnEntry<Bytes32, SlotAndBlockRoot>> stream =
@@ -265,6 +283,12 @@ public class V3RocksDbDao
       blocks.values().forEach(this::addHotBlock);
     }
 
+    @Override
+    public void addHotState(final Bytes32 blockRoot, final BeaconState state) {
+      transaction.put(V3Schema.HOT_STATES_BY_ROOT, blockRoot, state);
+      transaction.put(V3Schema.HOT_STATE_SLOTS_BY_ROOT, blockRoot, state.getSlot());
+    }
+
     @Override
     public void addHotStateRoots(
         final Map<Bytes32, SlotAndBlockRoot> stateRootToSlotAndBlockRootMap) {
@@ -291,6 +315,12 @@ public class V3RocksDbDao
       transaction.delete(V3Schema.HOT_BLOCKS_BY_ROOT, blockRoot);
     }
 
+    @Override
+    public void deleteHotState(final Bytes32 blockRoot) {
+      transaction.delete(V3Schema.HOT_STATES_BY_ROOT, blockRoot);
+      transaction.delete(V3Schema.HOT_STATE_SLOTS_BY_ROOT, blockRoot);
+    }
+
     @Override
     public void addMinGenesisTimeBlock(final MinGenesisTimeBlockEvent event) {
       transaction.put(V3Schema.MIN_GENESIS_TIME_BLOCK, event);
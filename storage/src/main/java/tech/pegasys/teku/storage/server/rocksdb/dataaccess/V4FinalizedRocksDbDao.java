@@ -17,6 +17,7 @@ import com.google.common.primitives.UnsignedLong;
 import com.google.errorprone.annotations.MustBeClosed;
 import java.util.Optional;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
@@ -27,11 +28,15 @@ import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaFinalized;
 
 public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
   private final RocksDbAccessor db;
-  private final UnsignedLong stateStorageFrequency;
+  private final FinalizedStateStorage stateStorage;
 
   public V4FinalizedRocksDbDao(final RocksDbAccessor db, final long stateStorageFrequency) {
+    this(db, new SnapshotAndDiffStateStorage(db, stateStorageFrequency));
+  }
+
+  public V4FinalizedRocksDbDao(final RocksDbAccessor db, final FinalizedStateStorage stateStorage) {
     this.db = db;
-    this.stateStorageFrequency = UnsignedLong.valueOf(stateStorageFrequency);
+    this.stateStorage = stateStorage;
   }
 
   @Override
@@ -44,6 +49,11 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
     return db.get(V4SchemaFinalized.FINALIZED_BLOCKS_BY_SLOT, slot);
   }
 
+  @Override
+  public Optional<Bytes> getSerializedFinalizedBlockAtSlot(final UnsignedLong slot) {
+    return db.getRaw(V4SchemaFinalized.FINALIZED_BLOCKS_BY_SLOT, slot);
+  }
+
   @Override
   public Optional<SignedBeaconBlock> getLatestFinalizedBlockAtSlot(final UnsignedLong slot) {
     return db.getFloorEntry(V4SchemaFinalized.FINALIZED_BLOCKS_BY_SLOT, slot)
@@ -52,8 +62,7 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
 
   @Override
   public Optional<BeaconState> getLatestAvailableFinalizedState(final UnsignedLong maxSlot) {
-    return db.getFloorEntry(V4SchemaFinalized.FINALIZED_STATES_BY_SLOT, maxSlot)
-        .map(ColumnEntry::getValue);
+    return stateStorage.getLatestAvailableFinalizedState(maxSlot);
   }
 
   @Override
@@ -94,19 +103,16 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
   @Override
   @MustBeClosed
   public FinalizedUpdater finalizedUpdater() {
-    return new V4FinalizedRocksDbDao.V4FinalizedUpdater(db, stateStorageFrequency);
+    return new V4FinalizedUpdater();
   }
 
-  private static class V4FinalizedUpdater implements FinalizedUpdater {
+  private class V4FinalizedUpdater implements FinalizedUpdater {
     private final RocksDbAccessor.RocksDbTransaction transaction;
-    private final UnsignedLong stateStorageFrequency;
-    private Optional<UnsignedLong> lastStateStoredSlot;
+    private final FinalizedStateStorage.FinalizedStateUpdater stateUpdater;
 
-    V4FinalizedUpdater(final RocksDbAccessor db, final UnsignedLong stateStorageFrequency) {
+    V4FinalizedUpdater() {
       this.transaction = db.startTransaction();
-      this.stateStorageFrequency = stateStorageFrequency;
-      lastStateStoredSlot =
-          db.getLastEntry(V4SchemaFinalized.FINALIZED_STATES_BY_SLOT).map(ColumnEntry::getKey);
+      this.stateUpdater = stateStorage.updater(transaction);
     }
 
     @Override
@@ -117,14 +123,7 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
 
     @Override
     public void addFinalizedState(final Bytes32 blockRoot, final BeaconState state) {
-      if (lastStateStoredSlot.isPresent()) {
-        UnsignedLong nextStorageSlot = lastStateStoredSlot.get().plus(stateStorageFrequency);
-        if (state.getSlot().compareTo(nextStorageSlot) >= 0) {
-          addFinalizedState(state);
-        }
-      } else {
-        addFinalizedState(state);
-      }
+      stateUpdater.addFinalizedState(state);
     }
 
     @Override
@@ -132,15 +131,11 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
       transaction.put(V4SchemaFinalized.SLOTS_BY_FINALIZED_STATE_ROOT, stateRoot, slot);
     }
 
-    private void addFinalizedState(final BeaconState state) {
-      transaction.put(V4SchemaFinalized.FINALIZED_STATES_BY_SLOT, state.getSlot(), state);
-      lastStateStoredSlot = Optional.of(state.getSlot());
-    }
-
     @Override
     public void commit() {
       // Commit db updates
       transaction.commit();
+      stateUpdater.onCommit();
       close();
     }
 
@@ -15,9 +15,11 @@ package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
 
 import com.google.common.primitives.UnsignedLong;
 import com.google.errorprone.annotations.MustBeClosed;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes32;
@@ -35,11 +37,21 @@ import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor.RocksDbTran
 import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaHot;
 
 public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbProtoArrayDao {
+  static final int DEFAULT_VOTE_DELTAS_PER_SNAPSHOT = 256;
+
   // Persistent data
   private final RocksDbAccessor db;
+  private final int voteDeltasPerSnapshot;
+  // Position of the vote delta log, loaded from the database on first use
+  private Optional<VoteDeltaRange> voteDeltaRange = Optional.empty();
 
   public V4HotRocksDbDao(final RocksDbAccessor db) {
+    this(db, DEFAULT_VOTE_DELTAS_PER_SNAPSHOT);
+  }
+
+  V4HotRocksDbDao(final RocksDbAccessor db, final int voteDeltasPerSnapshot) {
     this.db = db;
+    this.voteDeltasPerSnapshot = voteDeltasPerSnapshot;
   }
 
   @Override
@@ -83,6 +95,16 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
     return db.getAll(V4SchemaHot.HOT_BLOCKS_BY_ROOT);
   }
 
+  @Override
+  public Optional<BeaconState> getHotState(final Bytes32 blockRoot) {
+    return db.get(V4SchemaHot.HOT_STATES_BY_ROOT, blockRoot);
+  }
+
+  @Override
+  public Set<Bytes32> getHotStateRoots() {
+    return db.getAll(V4SchemaHot.HOT_STATE_SLOTS_BY_ROOT).keySet();
+  }
+
   @Override
   public List<Bytes32> getStateRootsBeforeSlot(final UnsignedLong slot) {
     try (Stream<ColumnEntry<Bytes32, SlotAndBlockRoot>> stream =
@@ -99,9 +121,43 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
     return db.get(V4SchemaHot.STATE_ROOT_TO_SLOT_AND_BLOCK_ROOT, stateRoot);
   }
 
+  /**
+   * Loads votes from the latest snapshot and replays the delta log written since. Votes stored
+   * individually by older versions are applied first so they are overridden by newer records.
+   */
   @Override
   public Map<UnsignedLong, VoteTracker> getVotes() {
-    return db.getAll(V4SchemaHot.VOTES);
+    final Map<UnsignedLong, VoteTracker> votes = new HashMap<>(db.getAll(V4SchemaHot.VOTES));
+    db.get(V4SchemaHot.VOTES_SNAPSHOT).ifPresent(votes::putAll);
+    try (final Stream<ColumnEntry<UnsignedLong, Map<UnsignedLong, VoteTracker>>> deltas =
+        db.stream(V4SchemaHot.VOTE_DELTAS)) {
+      deltas.forEach(delta -> votes.putAll(delta.getValue()));
+    }
+    return votes;
+  }
+
+  private synchronized VoteDeltaRange getVoteDeltaRange() {
+    if (voteDeltaRange.isEmpty()) {
+      voteDeltaRange = Optional.of(loadVoteDeltaRange());
+    }
+    return voteDeltaRange.get();
+  }
+
+  private synchronized void setVoteDeltaRange(final VoteDeltaRange range) {
+    voteDeltaRange = Optional.of(range);
+  }
+
+  private VoteDeltaRange loadVoteDeltaRange() {
+    final Optional<UnsignedLong> firstDelta;
+    try (final Stream<ColumnEntry<UnsignedLong, Map<UnsignedLong, VoteTracker>>> deltas =
+        db.stream(V4SchemaHot.VOTE_DELTAS)) {
+      firstDelta = deltas.findFirst().map(ColumnEntry::getKey);
+    }
+    if (firstDelta.isEmpty()) {
+      return new VoteDeltaRange(0, 0);
+    }
+    final UnsignedLong lastDelta = db.getLastEntry(V4SchemaHot.VOTE_DELTAS).orElseThrow().getKey();
+    return new VoteDeltaRange(firstDelta.get().longValue(), lastDelta.longValue() + 1);
   }
 
   @Override
@@ -123,19 +179,19 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
   @Override
   @MustBeClosed
   public HotUpdater hotUpdater() {
-    return new V4HotUpdater(db);
+    return new V4HotUpdater(this);
   }
 
   @Override
   @MustBeClosed
   public Eth1Updater eth1Updater() {
-    return new V4HotUpdater(db);
+    return new V4HotUpdater(this);
   }
 
   @Override
   @MustBeClosed
   public ProtoArrayUpdater protoArrayUpdater() {
-    return new V4HotUpdater(db);
+    return new V4HotUpdater(this);
   }
 
   @Override
@@ -145,10 +201,15 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
 
   private static class V4HotUpdater implements HotUpdater, Eth1Updater, ProtoArrayUpdater {
 
+    private final V4HotRocksDbDao dao;
     private final RocksDbTransaction transaction;
+    // Votes and delta log position from this transaction, published to the dao on commit
+    private final Map<UnsignedLong, VoteTracker> pendingVotes = new HashMap<>();
+    private Optional<VoteDeltaRange> voteDeltaRange = Optional.empty();
 
-    V4HotUpdater(final RocksDbAccessor db) {
-      this.transaction = db.startTransaction();
+    V4HotUpdater(final V4HotRocksDbDao dao) {
+      this.dao = dao;
+      this.transaction = dao.db.startTransaction();
     }
 
     @Override
@@ -187,6 +248,12 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
       blocks.values().forEach(this::addHotBlock);
     }
 
+    @Override
+    public void addHotState(final Bytes32 blockRoot, final BeaconState state) {
+      transaction.put(V4SchemaHot.HOT_STATES_BY_ROOT, blockRoot, state);
+      transaction.put(V4SchemaHot.HOT_STATE_SLOTS_BY_ROOT, blockRoot, state.getSlot());
+    }
+
     @Override
     public void addHotStateRoots(
         final Map<Bytes32, SlotAndBlockRoot> stateRootToSlotAndBlockRootMap) {
@@ -203,10 +270,39 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
               (root) -> transaction.delete(V4SchemaHot.STATE_ROOT_TO_SLOT_AND_BLOCK_ROOT, root));
     }
 
+    /**
+     * Appends the changed votes to the delta log as a single record. Once the log reaches the
+     * configured length it is folded, along with these votes, into a new snapshot.
+     */
     @Override
     public void addVotes(final Map<UnsignedLong, VoteTracker> votes) {
-      votes.forEach(
-          (validatorIndex, vote) -> transaction.put(V4SchemaHot.VOTES, validatorIndex, vote));
+      if (votes.isEmpty()) {
+        return;
+      }
+      final VoteDeltaRange range = voteDeltaRange.orElseGet(dao::getVoteDeltaRange);
+      if (range.size() < dao.voteDeltasPerSnapshot) {
+        transaction.put(V4SchemaHot.VOTE_DELTAS, UnsignedLong.fromLongBits(range.next), votes);
+        voteDeltaRange = Optional.of(range.append());
+      } else {
+        writeVotesSnapshot(votes, range);
+        voteDeltaRange = Optional.of(range.clear());
+      }
+      pendingVotes.putAll(votes);
+    }
+
+    private void writeVotesSnapshot(
+        final Map<UnsignedLong, VoteTracker> newVotes, final VoteDeltaRange range) {
+      final Map<UnsignedLong, VoteTracker> snapshot = dao.getVotes();
+      snapshot.putAll(pendingVotes);
+      snapshot.putAll(newVotes);
+      transaction.put(V4SchemaHot.VOTES_SNAPSHOT, snapshot);
+      for (long sequence = range.first; sequence < range.next; sequence++) {
+        transaction.delete(V4SchemaHot.VOTE_DELTAS, UnsignedLong.fromLongBits(sequence));
+      }
+      try (final Stream<ColumnEntry<UnsignedLong, VoteTracker>> legacyVotes =
+          dao.db.stream(V4SchemaHot.VOTES)) {
+        legacyVotes.forEach(vote -> transaction.delete(V4SchemaHot.VOTES, vote.getKey()));
+      }
     }
 
     @Override
@@ -214,6 +310,12 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
       transaction.delete(V4SchemaHot.HOT_BLOCKS_BY_ROOT, blockRoot);
     }
 
+    @Override
+    public void deleteHotState(final Bytes32 blockRoot) {
+      transaction.delete(V4SchemaHot.HOT_STATES_BY_ROOT, blockRoot);
+      transaction.delete(V4SchemaHot.HOT_STATE_SLOTS_BY_ROOT, blockRoot);
+    }
+
     @Override
     public void addMinGenesisTimeBlock(final MinGenesisTimeBlockEvent event) {
       transaction.put(V4SchemaHot.MIN_GENESIS_TIME_BLOCK, event);
@@ -233,6 +335,7 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
     public void commit() {
       // Commit db updates
       transaction.commit();
+      voteDeltaRange.ifPresent(dao::setVoteDeltaRange);
       close();
     }
 
@@ -247,4 +350,27 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
       transaction.close();
     }
   }
+
+  /** Sequence numbers of the vote deltas written since the last snapshot, from first to next. */
+  private static class VoteDeltaRange {
+    private final long first;
+    private final long next;
+
+    private VoteDeltaRange(final long first, final long next) {
+      this.first = first;
+      this.next = next;
+    }
+
+    private long size() {
+      return next - first;
+    }
+
+    private VoteDeltaRange append() {
+      return new VoteDeltaRange(first, next + 1);
+    }
+
+    private VoteDeltaRange clear() {
+      return new VoteDeltaRange(next, next);
+    }
+  }
 }
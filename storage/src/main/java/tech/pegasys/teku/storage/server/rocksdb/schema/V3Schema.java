@@ -57,6 +57,10 @@ public interface V3Schema extends Schema {
       RocksDbColumn.create(8, BYTES32_SERIALIZER, SLOT_AND_BLOCK_ROOT_SERIALIZER);
   RocksDbColumn<Bytes32, UnsignedLong> SLOTS_BY_FINALIZED_STATE_ROOT =
       RocksDbColumn.create(9, BYTES32_SERIALIZER, UNSIGNED_LONG_SERIALIZER);
+  RocksDbColumn<Bytes32, BeaconState> HOT_STATES_BY_ROOT =
+      RocksDbColumn.create(10, BYTES32_SERIALIZER, STATE_SERIALIZER);
+  RocksDbColumn<Bytes32, UnsignedLong> HOT_STATE_SLOTS_BY_ROOT =
+      RocksDbColumn.create(11, BYTES32_SERIALIZER, UNSIGNED_LONG_SERIALIZER);
 
   // Variables
   RocksDbVariable<UnsignedLong> GENESIS_TIME = RocksDbVariable.create(1, UNSIGNED_LONG_SERIALIZER);
@@ -15,13 +15,17 @@ package tech.pegasys.teku.storage.server.rocksdb.schema;
 
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.BYTES32_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.SIGNED_BLOCK_SERIALIZER;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.STATE_DIFF_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.STATE_SERIALIZER;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.STORED_BRANCH_NODE_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.UNSIGNED_LONG_SERIALIZER;
 
 import com.google.common.primitives.UnsignedLong;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.storage.server.state.StateDiff;
+import tech.pegasys.teku.storage.server.state.StoredBranchNode;
 
 public interface V4SchemaFinalized extends Schema {
   RocksDbColumn<Bytes32, UnsignedLong> SLOTS_BY_FINALIZED_ROOT =
@@ -32,4 +36,13 @@ public interface V4SchemaFinalized extends Schema {
       RocksDbColumn.create(3, UNSIGNED_LONG_SERIALIZER, STATE_SERIALIZER);
   RocksDbColumn<Bytes32, UnsignedLong> SLOTS_BY_FINALIZED_STATE_ROOT =
       RocksDbColumn.create(4, BYTES32_SERIALIZER, UNSIGNED_LONG_SERIALIZER);
+  // Finalized states between full snapshots in FINALIZED_STATES_BY_SLOT, each stored as a diff
+  // against the previously stored state
+  RocksDbColumn<UnsignedLong, StateDiff> FINALIZED_STATE_DIFFS_BY_SLOT =
+      RocksDbColumn.create(5, UNSIGNED_LONG_SERIALIZER, STATE_DIFF_SERIALIZER);
+  // Content-addressed state tree nodes, only used when states are stored as tree nodes (V6)
+  RocksDbColumn<Bytes32, StoredBranchNode> FINALIZED_STATE_TREE_NODES =
+      RocksDbColumn.create(6, BYTES32_SERIALIZER, STORED_BRANCH_NODE_SERIALIZER);
+  RocksDbColumn<UnsignedLong, Bytes32> FINALIZED_STATE_ROOTS_BY_SLOT =
+      RocksDbColumn.create(7, UNSIGNED_LONG_SERIALIZER, BYTES32_SERIALIZER);
 }
@@ -23,8 +23,11 @@ import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSeri
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.STATE_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.UNSIGNED_LONG_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.VOTES_SERIALIZER;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.VOTES_SNAPSHOT_SERIALIZER;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.VOTE_DELTA_SERIALIZER;
 
 import com.google.common.primitives.UnsignedLong;
+import java.util.Map;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
@@ -41,12 +44,22 @@ public interface V4SchemaHot extends Schema {
   // Checkpoint states are no longer stored, keeping only for backwards compatibility.
   RocksDbColumn<Checkpoint, BeaconState> CHECKPOINT_STATES =
       RocksDbColumn.create(2, CHECKPOINT_SERIALIZER, STATE_SERIALIZER);
+  // Individual votes are no longer written, keeping only to load votes from older databases.
   RocksDbColumn<UnsignedLong, VoteTracker> VOTES =
       RocksDbColumn.create(3, UNSIGNED_LONG_SERIALIZER, VOTES_SERIALIZER);
   RocksDbColumn<UnsignedLong, DepositsFromBlockEvent> DEPOSITS_FROM_BLOCK_EVENTS =
       RocksDbColumn.create(4, UNSIGNED_LONG_SERIALIZER, DEPOSITS_FROM_BLOCK_EVENT_SERIALIZER);
   RocksDbColumn<Bytes32, SlotAndBlockRoot> STATE_ROOT_TO_SLOT_AND_BLOCK_ROOT =
       RocksDbColumn.create(5, BYTES32_SERIALIZER, SLOT_AND_BLOCK_ROOT_SERIALIZER);
+  // Votes changed by each update since VOTES_SNAPSHOT was written, keyed by sequence number
+  RocksDbColumn<UnsignedLong, Map<UnsignedLong, VoteTracker>> VOTE_DELTAS =
+      RocksDbColumn.create(6, UNSIGNED_LONG_SERIALIZER, VOTE_DELTA_SERIALIZER);
+  // Periodic checkpoints of hot states, keyed by block root, so restarts avoid a full replay
+  RocksDbColumn<Bytes32, BeaconState> HOT_STATES_BY_ROOT =
+      RocksDbColumn.create(7, BYTES32_SERIALIZER, STATE_SERIALIZER);
+  // Slot of each checkpointed hot state, allowing the roots to be loaded without the states
+  RocksDbColumn<Bytes32, UnsignedLong> HOT_STATE_SLOTS_BY_ROOT =
+      RocksDbColumn.create(8, BYTES32_SERIALIZER, UNSIGNED_LONG_SERIALIZER);
 
   // Variables
   RocksDbVariable<UnsignedLong> GENESIS_TIME = RocksDbVariable.create(1, UNSIGNED_LONG_SERIALIZER);
@@ -61,4 +74,6 @@ public interface V4SchemaHot extends Schema {
       RocksDbVariable.create(6, MIN_GENESIS_TIME_BLOCK_EVENT_SERIALIZER);
   RocksDbVariable<ProtoArraySnapshot> PROTO_ARRAY_SNAPSHOT =
       RocksDbVariable.create(7, PROTO_ARRAY_SNAPSHOT_SERIALIZER);
+  RocksDbVariable<Map<UnsignedLong, VoteTracker>> VOTES_SNAPSHOT =
+      RocksDbVariable.create(8, VOTES_SNAPSHOT_SERIALIZER);
 }
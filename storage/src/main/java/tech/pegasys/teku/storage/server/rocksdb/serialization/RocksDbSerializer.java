@@ -14,6 +14,7 @@
 package tech.pegasys.teku.storage.server.rocksdb.serialization;
 
 import com.google.common.primitives.UnsignedLong;
+import java.util.Map;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
@@ -25,6 +26,8 @@ import tech.pegasys.teku.datastructures.state.Checkpoint;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.teku.protoarray.ProtoArraySnapshot;
+import tech.pegasys.teku.storage.server.state.StateDiff;
+import tech.pegasys.teku.storage.server.state.StoredBranchNode;
 
 public interface RocksDbSerializer<T> {
   RocksDbSerializer<UnsignedLong> UNSIGNED_LONG_SERIALIZER = new UnsignedLongSerializer();
@@ -34,6 +37,10 @@ public interface RocksDbSerializer<T> {
   RocksDbSerializer<BeaconState> STATE_SERIALIZER = new SszSerializer<>(BeaconStateImpl.class);
   RocksDbSerializer<Checkpoint> CHECKPOINT_SERIALIZER = new SszSerializer<>(Checkpoint.class);
   RocksDbSerializer<VoteTracker> VOTES_SERIALIZER = new SszSerializer<>(VoteTracker.class);
+  RocksDbSerializer<Map<UnsignedLong, VoteTracker>> VOTES_SNAPSHOT_SERIALIZER =
+      new VotesSnapshotSerializer();
+  RocksDbSerializer<Map<UnsignedLong, VoteTracker>> VOTE_DELTA_SERIALIZER =
+      new VoteDeltaSerializer();
   RocksDbSerializer<BLSPublicKey> PUBLIC_KEY_SERIALIZER = new SszSerializer<>(BLSPublicKey.class);
   RocksDbSerializer<DepositsFromBlockEvent> DEPOSITS_FROM_BLOCK_EVENT_SERIALIZER =
       new DepositsFromBlockEventSerializer();
@@ -43,6 +50,9 @@ public interface RocksDbSerializer<T> {
       new ProtoArraySnapshotSerializer();
   RocksDbSerializer<SlotAndBlockRoot> SLOT_AND_BLOCK_ROOT_SERIALIZER =
       new SlotAndBlockRootSerializer();
+  RocksDbSerializer<StateDiff> STATE_DIFF_SERIALIZER = new StateDiffSerializer();
+  RocksDbSerializer<StoredBranchNode> STORED_BRANCH_NODE_SERIALIZER =
+      new StoredBranchNodeSerializer();
 
   T deserialize(final byte[] data);
 
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.serialization;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.ssz.SSZ;
+import tech.pegasys.teku.storage.server.state.StateDiff;
+import tech.pegasys.teku.storage.server.state.StateDiff.LeafUpdate;
+
+public class StateDiffSerializer implements RocksDbSerializer<StateDiff> {
+  @Override
+  public StateDiff deserialize(final byte[] data) {
+    return SSZ.decode(
+        Bytes.wrap(data),
+        reader -> {
+          final UnsignedLong baseSlot = UnsignedLong.fromLongBits(reader.readUInt64());
+          final int updateCount = Math.toIntExact(reader.readUInt64());
+          final List<LeafUpdate> leafUpdates = new ArrayList<>(updateCount);
+          for (int i = 0; i < updateCount; i++) {
+            final long generalizedIndex = reader.readUInt64();
+            final Bytes32 value = Bytes32.wrap(reader.readFixedBytes(Bytes32.SIZE));
+            leafUpdates.add(new LeafUpdate(generalizedIndex, value));
+          }
+          return new StateDiff(baseSlot, leafUpdates);
+        });
+  }
+
+  @Override
+  public byte[] serialize(final StateDiff value) {
+    Bytes bytes =
+        SSZ.encode(
+            writer -> {
+              writer.writeUInt64(value.getBaseSlot().longValue());
+              writer.writeUInt64(value.getLeafUpdates().size());
+              for (LeafUpdate leafUpdate : value.getLeafUpdates()) {
+                writer.writeUInt64(leafUpdate.getGeneralizedIndex());
+                writer.writeFixedBytes(leafUpdate.getValue());
+              }
+            });
+    return bytes.toArrayUnsafe();
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.teku.storage.server.rocksdb.serialization;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.storage.server.state.StoredBranchNode;
+
+public class StoredBranchNodeSerializer implements RocksDbSerializer<StoredBranchNode> {
+  private static final int LEFT_IS_LEAF_FLAG = 1;
+  private static final int RIGHT_IS_LEAF_FLAG = 2;
+
+  @Override
+  public StoredBranchNode deserialize(final byte[] data) {
+    final Bytes bytes = Bytes.wrap(data);
+    final int flags = bytes.get(0);
+    return new StoredBranchNode(
+        Bytes32.wrap(bytes.slice(1, Bytes32.SIZE)),
+        (flags & LEFT_IS_LEAF_FLAG) != 0,
+        Bytes32.wrap(bytes.slice(1 + Bytes32.SIZE, Bytes32.SIZE)),
+        (flags & RIGHT_IS_LEAF_FLAG) != 0);
+  }
+
+  @Override
+  public byte[] serialize(final StoredBranchNode value) {
+    int flags = 0;
+    if (value.isLeftLeaf()) {
+      flags |= LEFT_IS_LEAF_FLAG;
+    }
+    if (value.isRightLeaf()) {
+      flags |= RIGHT_IS_LEAF_FLAG;
+    }
+    return Bytes.concatenate(Bytes.of((byte) flags), value.getLeft(), value.getRight())
+        .toArrayUnsafe();
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.serialization;
+
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.VotesSnapshotSerializer.VOTE_SIZE;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.VotesSnapshotSerializer.readVote;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.VotesSnapshotSerializer.writeVote;
+
+import com.google.common.primitives.UnsignedLong;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
+
+/** Serializes the votes changed by a single update as packed (validator index, vote) pairs. */
+public class VoteDeltaSerializer implements RocksDbSerializer<Map<UnsignedLong, VoteTracker>> {
+
+  @Override
+  public Map<UnsignedLong, VoteTracker> deserialize(final byte[] data) {
+    final ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+    final int count = Math.toIntExact(buffer.getLong());
+    final Map<UnsignedLong, VoteTracker> votes = new HashMap<>(count);
+    for (int i = 0; i < count; i++) {
+      final UnsignedLong validatorIndex = UnsignedLong.fromLongBits(buffer.getLong());
+      votes.put(validatorIndex, readVote(buffer));
+    }
+    return votes;
+  }
+
+  @Override
+  public byte[] serialize(final Map<UnsignedLong, VoteTracker> value) {
+    final ByteBuffer buffer =
+        ByteBuffer.allocate(Long.BYTES + value.size() * (Long.BYTES + VOTE_SIZE))
+            .order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putLong(value.size());
+    value.forEach(
+        (validatorIndex, vote) -> {
+          buffer.putLong(validatorIndex.longValue());
+          writeVote(buffer, vote);
+        });
+    return buffer.array();
+  }
+}
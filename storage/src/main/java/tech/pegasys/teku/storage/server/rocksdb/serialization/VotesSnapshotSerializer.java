@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.serialization;
+
+import com.google.common.primitives.UnsignedLong;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
+
+/**
+ * Serializes the complete set of votes as a packed array where the position of each entry is the
+ * validator index. Validators without a vote are written as a default vote and skipped when
+ * reading, which matches how the store treats missing votes.
+ */
+public class VotesSnapshotSerializer implements RocksDbSerializer<Map<UnsignedLong, VoteTracker>> {
+  static final int VOTE_SIZE = Bytes32.SIZE * 2 + Long.BYTES;
+  private static final VoteTracker DEFAULT_VOTE = VoteTracker.Default();
+
+  @Override
+  public Map<UnsignedLong, VoteTracker> deserialize(final byte[] data) {
+    final ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+    final int count = Math.toIntExact(buffer.getLong());
+    final Map<UnsignedLong, VoteTracker> votes = new HashMap<>(count);
+    for (int validatorIndex = 0; validatorIndex < count; validatorIndex++) {
+      final VoteTracker vote = readVote(buffer);
+      if (!vote.equals(DEFAULT_VOTE)) {
+        votes.put(UnsignedLong.valueOf(validatorIndex), vote);
+      }
+    }
+    return votes;
+  }
+
+  @Override
+  public byte[] serialize(final Map<UnsignedLong, VoteTracker> value) {
+    final int count =
+        value.keySet().stream()
+            .mapToInt(index -> Math.toIntExact(index.longValue()) + 1)
+            .max()
+            .orElse(0);
+    final ByteBuffer buffer =
+        ByteBuffer.allocate(Long.BYTES + count * VOTE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putLong(count);
+    for (int validatorIndex = 0; validatorIndex < count; validatorIndex++) {
+      writeVote(buffer, value.getOrDefault(UnsignedLong.valueOf(validatorIndex), DEFAULT_VOTE));
+    }
+    return buffer.array();
+  }
+
+  static VoteTracker readVote(final ByteBuffer buffer) {
+    final byte[] currentRoot = new byte[Bytes32.SIZE];
+    final byte[] nextRoot = new byte[Bytes32.SIZE];
+    buffer.get(currentRoot);
+    buffer.get(nextRoot);
+    final UnsignedLong nextEpoch = UnsignedLong.fromLongBits(buffer.getLong());
+    return new VoteTracker(Bytes32.wrap(currentRoot), Bytes32.wrap(nextRoot), nextEpoch);
+  }
+
+  static void writeVote(final ByteBuffer buffer, final VoteTracker vote) {
+    buffer.put(vote.getCurrentRoot().toArrayUnsafe());
+    buffer.put(vote.getNextRoot().toArrayUnsafe());
+    buffer.putLong(vote.getNextEpoch().longValue());
+  }
+}
@@ -26,13 +26,18 @@ import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import tech.pegasys.teku.core.StreamingStateRegenerator;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.storage.server.Database;
 
 public class FinalizedStateCache {
+  static final int MAX_PENDING_SERIALIZATIONS = 2;
+
   /**
    * Note this is a best effort basis to track what states are cached. Slots are added here slightly
    * before the stateCache is actually updated and removed slightly after they are evicted from the
@@ -41,11 +46,47 @@ public class FinalizedStateCache {
   private final NavigableSet<UnsignedLong> availableSlots = new ConcurrentSkipListSet<>();
 
   private final LoadingCache<UnsignedLong, BeaconState> stateCache;
+  private final Optional<SerializedStateCache> serializedStateCache;
+  private final Optional<AsyncRunner> serializationAsyncRunner;
   private final Database database;
+  private final AtomicInteger pendingSerializations = new AtomicInteger(0);
 
   public FinalizedStateCache(
       final Database database, final int maximumCacheSize, final boolean useSoftReferences) {
+    this(database, maximumCacheSize, useSoftReferences, Optional.empty(), Optional.empty());
+  }
+
+  /**
+   * @param database the database to load finalized states and blocks from
+   * @param maximumCacheSize the maximum number of states to hold on the heap
+   * @param useSoftReferences whether states on the heap may be reclaimed by the garbage collector
+   * @param serializedStateCache a second level cache which states evicted from the heap are moved
+   *     to
+   * @param serializationAsyncRunner the runner states are serialized into the second level cache on
+   */
+  public FinalizedStateCache(
+      final Database database,
+      final int maximumCacheSize,
+      final boolean useSoftReferences,
+      final SerializedStateCache serializedStateCache,
+      final AsyncRunner serializationAsyncRunner) {
+    this(
+        database,
+        maximumCacheSize,
+        useSoftReferences,
+        Optional.of(serializedStateCache),
+        Optional.of(serializationAsyncRunner));
+  }
+
+  private FinalizedStateCache(
+      final Database database,
+      final int maximumCacheSize,
+      final boolean useSoftReferences,
+      final Optional<SerializedStateCache> serializedStateCache,
+      final Optional<AsyncRunner> serializationAsyncRunner) {
     this.database = database;
+    this.serializedStateCache = serializedStateCache;
+    this.serializationAsyncRunner = serializationAsyncRunner;
     final CacheBuilder<UnsignedLong, BeaconState> cacheBuilder =
         CacheBuilder.newBuilder()
             .maximumSize(maximumCacheSize)
@@ -61,6 +102,32 @@ public class FinalizedStateCache {
     if (removalNotification.getCause() != RemovalCause.REPLACED) {
       availableSlots.remove(removalNotification.getKey());
     }
+    // Soft referenced states which were garbage collected are no longer available to move
+    final BeaconState state = removalNotification.getValue();
+    if (removalNotification.getCause() == RemovalCause.SIZE && state != null) {
+      serializationAsyncRunner.ifPresent(runner -> moveToSerializedStateCache(runner, state));
+    }
+  }
+
+  /**
+   * Removal listeners run on whichever thread triggered the eviction, as part of the cache's
+   * maintenance, so the expensive serialization and compression is handed off to the async runner.
+   * Until it completes, a request for the state regenerates it as if it had been dropped.
+   *
+   * <p>Each pending serialization keeps a whole state on the heap, so if serialization falls behind
+   * evictions, states which don't fit in the queue are dropped instead.
+   */
+  private void moveToSerializedStateCache(final AsyncRunner runner, final BeaconState state) {
+    serializedStateCache.ifPresent(
+        cache -> {
+          if (pendingSerializations.incrementAndGet() > MAX_PENDING_SERIALIZATIONS) {
+            pendingSerializations.decrementAndGet();
+            return;
+          }
+          final SafeFuture<Void> result = runner.runAsync(() -> cache.put(state));
+          result.always(pendingSerializations::decrementAndGet);
+          result.reportExceptions();
+        });
   }
 
   public Optional<BeaconState> getFinalizedState(final UnsignedLong slot) {
@@ -82,7 +149,12 @@ public class FinalizedStateCache {
 
     @Override
     public BeaconState load(final UnsignedLong key) {
-      return regenerateState(key).orElseThrow(StateUnavailableException::new);
+      final Optional<BeaconState> serializedState =
+          serializedStateCache.flatMap(cache -> cache.get(key));
+      serializedState.ifPresent(state -> availableSlots.add(key));
+      return serializedState
+          .or(() -> regenerateState(key))
+          .orElseThrow(StateUnavailableException::new);
     }
 
     private Optional<BeaconState> regenerateState(final UnsignedLong slot) {
@@ -93,12 +165,14 @@ public class FinalizedStateCache {
 
     private BeaconState regenerateState(final UnsignedLong slot, final BeaconState stateFromDisk) {
       final Optional<BeaconState> latestStateFromCache = getLatestStateFromCache(slot);
-      final BeaconState preState =
+      final BeaconState latestKnownState =
           latestStateFromCache
               .filter(
                   stateFromCache ->
                       stateFromCache.getSlot().compareTo(stateFromDisk.getSlot()) >= 0)
               .orElse(stateFromDisk);
+      final BeaconState preState =
+          getLatestSerializedState(slot, latestKnownState.getSlot()).orElse(latestKnownState);
       if (preState.getSlot().equals(slot)) {
         return preState;
       }
@@ -109,6 +183,17 @@ public class FinalizedStateCache {
         return state;
       }
     }
+
+    private Optional<BeaconState> getLatestSerializedState(
+        final UnsignedLong slot, final UnsignedLong minimumSlot) {
+      // Only deserialize a state if it's closer to the target than the state we already have
+      return serializedStateCache.flatMap(
+          cache ->
+              cache
+                  .getLatestSlot(slot)
+                  .filter(serializedSlot -> serializedSlot.compareTo(minimumSlot) > 0)
+                  .flatMap(cache::get));
+    }
   }
 
   /**
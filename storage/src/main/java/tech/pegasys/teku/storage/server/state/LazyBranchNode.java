@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.teku.storage.server.state;
+
+import java.util.Optional;
+import java.util.function.Function;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.teku.storage.server.DatabaseStorageException;
+
+/**
+ * A branch node whose hash tree root is known up front but whose children are only loaded from
+ * storage when first accessed. Trees built from these nodes only page in the subtrees actually
+ * read.
+ */
+public class LazyBranchNode implements BranchNode {
+  private final Bytes32 root;
+  private final Function<Bytes32, Optional<StoredBranchNode>> nodeLoader;
+  private volatile TreeNode left;
+  private volatile TreeNode right;
+
+  public LazyBranchNode(
+      final Bytes32 root, final Function<Bytes32, Optional<StoredBranchNode>> nodeLoader) {
+    this.root = root;
+    this.nodeLoader = nodeLoader;
+  }
+
+  @Override
+  public TreeNode left() {
+    if (left == null) {
+      loadChildren();
+    }
+    return left;
+  }
+
+  @Override
+  public TreeNode right() {
+    if (right == null) {
+      loadChildren();
+    }
+    return right;
+  }
+
+  private synchronized void loadChildren() {
+    if (left != null && right != null) {
+      return;
+    }
+    final StoredBranchNode storedNode =
+        nodeLoader
+            .apply(root)
+            .orElseThrow(
+                () -> new DatabaseStorageException("Missing finalized state tree node " + root));
+    right = createChild(storedNode.getRight(), storedNode.isRightLeaf());
+    left = createChild(storedNode.getLeft(), storedNode.isLeftLeaf());
+  }
+
+  private TreeNode createChild(final Bytes32 childRoot, final boolean isLeaf) {
+    return isLeaf ? TreeNode.createLeafNode(childRoot) : new LazyBranchNode(childRoot, nodeLoader);
+  }
+
+  @Override
+  public BranchNode rebind(final boolean left, final TreeNode newNode) {
+    return left
+        ? TreeNode.createBranchNode(newNode, right())
+        : TreeNode.createBranchNode(left(), newNode);
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    return root;
+  }
+
+  @Override
+  public String toString() {
+    return "(lazy " + root + ")";
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.state;
+
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.STATE_SERIALIZER;
+
+import com.google.common.primitives.UnsignedLong;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+
+/**
+ * A second level cache for finalized states which holds them SSZ serialized, and optionally
+ * compressed, in direct buffers outside the Java heap. States are only deserialized when they are
+ * requested so a large number of recent states can be kept available for historical queries
+ * without adding to garbage collection pressure.
+ *
+ * <p>The least recently accessed states are evicted once the total size of the serialized states
+ * exceeds the configured limit.
+ */
+public class SerializedStateCache {
+  private final long maxSizeBytes;
+  private final boolean compress;
+
+  // Kept in access order, least recently accessed first
+  private final Map<UnsignedLong, SerializedState> states = new LinkedHashMap<>(16, 0.75f, true);
+  private final NavigableSet<UnsignedLong> slots = new TreeSet<>();
+  private long sizeBytes = 0;
+
+  public SerializedStateCache(final long maxSizeBytes, final boolean compress) {
+    this.maxSizeBytes = maxSizeBytes;
+    this.compress = compress;
+  }
+
+  /**
+   * Serialize the given state and add it to the cache. States larger than the cache limit are
+   * ignored.
+   *
+   * @param state the state to cache
+   */
+  public void put(final BeaconState state) {
+    final UnsignedLong slot = state.getSlot();
+    if (contains(slot)) {
+      return;
+    }
+    final byte[] serialized = STATE_SERIALIZER.serialize(state);
+    final byte[] data = compress ? deflate(serialized) : serialized;
+    if (data.length > maxSizeBytes) {
+      return;
+    }
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+    buffer.put(data).flip();
+    synchronized (this) {
+      final SerializedState previous =
+          states.put(slot, new SerializedState(buffer, serialized.length));
+      if (previous != null) {
+        sizeBytes -= previous.getSizeBytes();
+      }
+      slots.add(slot);
+      sizeBytes += data.length;
+      evictToLimit();
+    }
+  }
+
+  /**
+   * Get the state at the given slot, deserializing it from the cache.
+   *
+   * @param slot the slot of the state
+   * @return the state if it is cached
+   */
+  public Optional<BeaconState> get(final UnsignedLong slot) {
+    final SerializedState serializedState;
+    synchronized (this) {
+      serializedState = states.get(slot);
+    }
+    return Optional.ofNullable(serializedState).map(this::deserialize);
+  }
+
+  /**
+   * Get the slot of the latest cached state at or before the given slot.
+   *
+   * @param maxSlot the maximum slot to return
+   * @return the latest cached slot no greater than {@code maxSlot}, if any
+   */
+  public synchronized Optional<UnsignedLong> getLatestSlot(final UnsignedLong maxSlot) {
+    return Optional.ofNullable(slots.floor(maxSlot));
+  }
+
+  public synchronized boolean contains(final UnsignedLong slot) {
+    return states.containsKey(slot);
+  }
+
+  /** @return the total size of the cached serialized states in bytes */
+  public synchronized long getSizeBytes() {
+    return sizeBytes;
+  }
+
+  public synchronized int size() {
+    return states.size();
+  }
+
+  private void evictToLimit() {
+    while (sizeBytes > maxSizeBytes) {
+      final Map.Entry<UnsignedLong, SerializedState> eldest = states.entrySet().iterator().next();
+      states.remove(eldest.getKey());
+      slots.remove(eldest.getKey());
+      sizeBytes -= eldest.getValue().getSizeBytes();
+    }
+  }
+
+  private BeaconState deserialize(final SerializedState serializedState) {
+    final byte[] data = serializedState.getData();
+    return STATE_SERIALIZER.deserialize(
+        compress ? inflate(data, serializedState.uncompressedLength) : data);
+  }
+
+  private static byte[] deflate(final byte[] data) {
+    final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(data);
+      deflater.finish();
+      final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+      final byte[] chunk = new byte[64 * 1024];
+      while (!deflater.finished()) {
+        final int length = deflater.deflate(chunk);
+        out.write(chunk, 0, length);
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(final byte[] data, final int uncompressedLength) {
+    final Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(data);
+      final byte[] result = new byte[uncompressedLength];
+      int offset = 0;
+      while (offset < uncompressedLength && !inflater.finished()) {
+        final int length = inflater.inflate(result, offset, uncompressedLength - offset);
+        if (length == 0 && inflater.needsInput()) {
+          throw new IllegalStateException("Cached state data was truncated");
+        }
+        offset += length;
+      }
+      return result;
+    } catch (final DataFormatException e) {
+      throw new IllegalStateException("Failed to decompress cached state", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static class SerializedState {
+    private final ByteBuffer buffer;
+    private final int uncompressedLength;
+
+    private SerializedState(final ByteBuffer buffer, final int uncompressedLength) {
+      this.buffer = buffer;
+      this.uncompressedLength = uncompressedLength;
+    }
+
+    private int getSizeBytes() {
+      return buffer.capacity();
+    }
+
+    private byte[] getData() {
+      // Duplicate so concurrent readers don't share the buffer position
+      final ByteBuffer source = buffer.duplicate();
+      final byte[] data = new byte[source.remaining()];
+      source.get(data);
+      return data;
+    }
+  }
+}
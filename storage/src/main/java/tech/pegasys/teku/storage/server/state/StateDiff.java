@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.state;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.LeafNode;
+
+/**
+ * A compact representation of the changes between two finalized states, expressed as the set of
+ * backing tree leaves which differ. All states share the same SSZ type so their backing trees have
+ * an identical shape and a leaf can be addressed purely by its generalized index.
+ */
+public class StateDiff {
+  private final UnsignedLong baseSlot;
+  private final List<LeafUpdate> leafUpdates;
+
+  public StateDiff(final UnsignedLong baseSlot, final List<LeafUpdate> leafUpdates) {
+    this.baseSlot = baseSlot;
+    this.leafUpdates = leafUpdates;
+  }
+
+  /**
+   * Calculates the diff required to turn {@code base} into {@code target}.
+   *
+   * @param base the state the diff will be applied to
+   * @param target the state the diff should produce
+   * @return the diff between the two states
+   */
+  public static StateDiff between(final BeaconState base, final BeaconState target) {
+    final List<LeafUpdate> updates = new ArrayList<>();
+    collectChangedLeaves(base.getBackingNode(), target.getBackingNode(), 1, updates);
+    return new StateDiff(base.getSlot(), updates);
+  }
+
+  private static void collectChangedLeaves(
+      final TreeNode base,
+      final TreeNode target,
+      final long generalizedIndex,
+      final List<LeafUpdate> updates) {
+    if (base == target) {
+      // Unchanged subtree shared between both states
+      return;
+    }
+    if (target instanceof LeafNode) {
+      final Bytes32 targetValue = ((LeafNode) target).getRoot();
+      if (!(base instanceof LeafNode) || !((LeafNode) base).getRoot().equals(targetValue)) {
+        updates.add(new LeafUpdate(generalizedIndex, targetValue));
+      }
+      return;
+    }
+    final BranchNode targetBranch = (BranchNode) target;
+    if (!(base instanceof BranchNode)) {
+      // Base has a leaf (or nothing) where target has a subtree so include every target leaf
+      collectChangedLeaves(null, targetBranch.left(), generalizedIndex << 1, updates);
+      collectChangedLeaves(null, targetBranch.right(), (generalizedIndex << 1) | 1, updates);
+      return;
+    }
+    if (base.hashTreeRoot().equals(target.hashTreeRoot())) {
+      // Same content but not the same instance (e.g. base was loaded from disk)
+      return;
+    }
+    final BranchNode baseBranch = (BranchNode) base;
+    collectChangedLeaves(baseBranch.left(), targetBranch.left(), generalizedIndex << 1, updates);
+    collectChangedLeaves(
+        baseBranch.right(), targetBranch.right(), (generalizedIndex << 1) | 1, updates);
+  }
+
+  /**
+   * Applies this diff to the given state.
+   *
+   * @param base the state this diff was created against
+   * @return the resulting state
+   */
+  public BeaconState apply(final BeaconState base) {
+    checkArgument(
+        base.getSlot().equals(baseSlot),
+        "Diff applies to state at slot %s but was given state at slot %s",
+        baseSlot,
+        base.getSlot());
+    final List<LeafUpdate> orderedUpdates = new ArrayList<>(leafUpdates);
+    orderedUpdates.sort((a, b) -> Long.compareUnsigned(leftAligned(a), leftAligned(b)));
+    final TreeNode node = applyUpdates(base.getBackingNode(), 1, orderedUpdates);
+    return (BeaconState) base.getType().createFromBackingNode(node);
+  }
+
+  /**
+   * Rebuilds the subtree at {@code generalizedIndex} with the given updates applied. Updates must
+   * all fall within the subtree and be ordered from left to right. Unlike {@link
+   * TreeNode#updated(long, TreeNode)}, this can replace a leaf in the base with a new subtree.
+   */
+  private static TreeNode applyUpdates(
+      final TreeNode node, final long generalizedIndex, final List<LeafUpdate> updates) {
+    if (updates.isEmpty()) {
+      return node;
+    }
+    if (updates.get(0).getGeneralizedIndex() == generalizedIndex) {
+      checkArgument(
+          updates.size() == 1, "Overlapping updates at generalized index %s", generalizedIndex);
+      return TreeNode.createLeafNode(updates.get(0).getValue());
+    }
+    final long leftIndex = generalizedIndex << 1;
+    int split = 0;
+    while (split < updates.size()
+        && isWithinSubtree(updates.get(split).getGeneralizedIndex(), leftIndex)) {
+      split++;
+    }
+    // When the base has a leaf here the diff contains every leaf of the new subtree, so the
+    // placeholder children are always fully replaced
+    final TreeNode left = node instanceof BranchNode ? ((BranchNode) node).left() : node;
+    final TreeNode right = node instanceof BranchNode ? ((BranchNode) node).right() : node;
+    return TreeNode.createBranchNode(
+        applyUpdates(left, leftIndex, updates.subList(0, split)),
+        applyUpdates(right, leftIndex | 1, updates.subList(split, updates.size())));
+  }
+
+  private static long leftAligned(final LeafUpdate update) {
+    final long generalizedIndex = update.getGeneralizedIndex();
+    return generalizedIndex << Long.numberOfLeadingZeros(generalizedIndex);
+  }
+
+  private static boolean isWithinSubtree(final long generalizedIndex, final long subtreeIndex) {
+    final int depthDifference =
+        Long.numberOfLeadingZeros(subtreeIndex) - Long.numberOfLeadingZeros(generalizedIndex);
+    return depthDifference >= 0 && (generalizedIndex >>> depthDifference) == subtreeIndex;
+  }
+
+  public UnsignedLong getBaseSlot() {
+    return baseSlot;
+  }
+
+  public List<LeafUpdate> getLeafUpdates() {
+    return Collections.unmodifiableList(leafUpdates);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final StateDiff stateDiff = (StateDiff) o;
+    return Objects.equals(baseSlot, stateDiff.baseSlot)
+        && Objects.equals(leafUpdates, stateDiff.leafUpdates);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(baseSlot, leafUpdates);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("baseSlot", baseSlot)
+        .add("leafUpdates", leafUpdates.size())
+        .toString();
+  }
+
+  public static class LeafUpdate {
+    private final long generalizedIndex;
+    private final Bytes32 value;
+
+    public LeafUpdate(final long generalizedIndex, final Bytes32 value) {
+      this.generalizedIndex = generalizedIndex;
+      this.value = value;
+    }
+
+    public long getGeneralizedIndex() {
+      return generalizedIndex;
+    }
+
+    public Bytes32 getValue() {
+      return value;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final LeafUpdate that = (LeafUpdate) o;
+      return generalizedIndex == that.generalizedIndex && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(generalizedIndex, value);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.teku.storage.server.state;
+
+import com.google.common.base.MoreObjects;
+import java.util.Objects;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.LeafNode;
+
+/**
+ * The persisted form of a backing tree branch node. Child leaf nodes are stored inline, other
+ * child branches are referenced by their hash tree root.
+ */
+public class StoredBranchNode {
+  private final Bytes32 left;
+  private final boolean leftIsLeaf;
+  private final Bytes32 right;
+  private final boolean rightIsLeaf;
+
+  public StoredBranchNode(
+      final Bytes32 left,
+      final boolean leftIsLeaf,
+      final Bytes32 right,
+      final boolean rightIsLeaf) {
+    this.left = left;
+    this.leftIsLeaf = leftIsLeaf;
+    this.right = right;
+    this.rightIsLeaf = rightIsLeaf;
+  }
+
+  public static StoredBranchNode fromBranchNode(final BranchNode node) {
+    final TreeNode left = node.left();
+    final TreeNode right = node.right();
+    return new StoredBranchNode(
+        left.hashTreeRoot(),
+        left instanceof LeafNode,
+        right.hashTreeRoot(),
+        right instanceof LeafNode);
+  }
+
+  public Bytes32 getLeft() {
+    return left;
+  }
+
+  public boolean isLeftLeaf() {
+    return leftIsLeaf;
+  }
+
+  public Bytes32 getRight() {
+    return right;
+  }
+
+  public boolean isRightLeaf() {
+    return rightIsLeaf;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final StoredBranchNode that = (StoredBranchNode) o;
+    return leftIsLeaf == that.leftIsLeaf
+        && rightIsLeaf == that.rightIsLeaf
+        && Objects.equals(left, that.left)
+        && Objects.equals(right, that.right);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(left, leftIsLeaf, right, rightIsLeaf);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("left", left)
+        .add("leftIsLeaf", leftIsLeaf)
+        .add("right", right)
+        .add("rightIsLeaf", rightIsLeaf)
+        .toString();
+  }
+}
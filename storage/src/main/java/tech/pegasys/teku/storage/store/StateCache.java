@@ -0,0 +1,263 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.store;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.Maps;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+
+/**
+ * A cache of beacon states bounded by both the number of entries and their estimated retained heap
+ * size.
+ *
+ * <p>Each state is charged only for the backing tree nodes it does not share with its base state,
+ * typically the state it was derived from. Whenever the base state of a cached state changes, for
+ * example because the base was evicted, the state is recharged against its new base so the nodes it
+ * kept alive are still accounted for. Recharging only walks the nodes which differ between the two
+ * states so is cheap for related states.
+ *
+ * <p>Estimating the size of a state which shares few nodes with its base requires walking its whole
+ * tree. Callers holding other locks should use {@link #estimateSize(Object, BeaconState)} before
+ * taking them and then {@link #add(SizedState)} the result.
+ *
+ * <p>When a limit is exceeded the least recently accessed state which is not preferred is evicted.
+ * Preferred states are only evicted once no other states remain.
+ *
+ * @param <K> the type of key the states are cached by
+ */
+class StateCache<K> extends AbstractMap<K, BeaconState> {
+  private final int maxEntries;
+  private final long maxSizeBytes;
+  private final BiFunction<K, BeaconState, Optional<BeaconState>> baseStateLookup;
+  private final BiPredicate<K, BeaconState> isPreferred;
+
+  // Kept in access order, least recently accessed first
+  private final LinkedHashMap<K, CachedState> states = new LinkedHashMap<>();
+  private long estimatedSizeBytes = 0;
+
+  /**
+   * @param maxEntries the maximum number of states to hold
+   * @param maxSizeBytes the maximum estimated size of all held states
+   * @param baseStateLookup finds a state which the given state is likely to share nodes with and
+   *     which remains in memory while it is returned
+   * @param isPreferred determines whether a state should be kept in preference to others
+   */
+  StateCache(
+      final int maxEntries,
+      final long maxSizeBytes,
+      final BiFunction<K, BeaconState, Optional<BeaconState>> baseStateLookup,
+      final BiPredicate<K, BeaconState> isPreferred) {
+    checkArgument(maxEntries > 0, "Must allow at least one entry");
+    this.maxEntries = maxEntries;
+    this.maxSizeBytes = maxSizeBytes;
+    this.baseStateLookup = baseStateLookup;
+    this.isPreferred = isPreferred;
+  }
+
+  @Override
+  public synchronized BeaconState get(final Object key) {
+    final CachedState cachedState = states.remove(key);
+    if (cachedState == null) {
+      return null;
+    }
+    // Re-insert to mark the entry as most recently accessed
+    states.put(cachedState.key, cachedState);
+    return cachedState.state;
+  }
+
+  /**
+   * Returns the cached state without marking it as recently accessed.
+   *
+   * @param key the key of the state
+   * @return the cached state, if present
+   */
+  public synchronized Optional<BeaconState> peek(final K key) {
+    return Optional.ofNullable(states.get(key)).map(cachedState -> cachedState.state);
+  }
+
+  @Override
+  public synchronized boolean containsKey(final Object key) {
+    return states.containsKey(key);
+  }
+
+  @Override
+  public BeaconState put(final K key, final BeaconState state) {
+    return add(estimateSize(key, state));
+  }
+
+  /**
+   * Estimates the size of a state against its current base state without locking the cache.
+   *
+   * @param key the key the state will be cached by
+   * @param state the state to estimate the size of
+   * @return the state with its estimated size, to be passed to {@link #add(SizedState)}
+   */
+  public SizedState<K> estimateSize(final K key, final BeaconState state) {
+    final Optional<BeaconState> baseState = baseStateLookup.apply(key, state);
+    return new SizedState<>(
+        key, state, baseState, StateSizeEstimator.estimateUniqueSize(state, baseState));
+  }
+
+  /**
+   * Adds a state whose size has already been estimated. If its base state has changed since then,
+   * the size is re-estimated against the new base.
+   *
+   * @param sizedState the state and its estimated size
+   * @return the state previously cached with the same key, or null if there was none
+   */
+  public synchronized BeaconState add(final SizedState<K> sizedState) {
+    final CachedState previous = states.remove(sizedState.key);
+    if (previous != null) {
+      estimatedSizeBytes -= previous.sizeBytes;
+    }
+    final CachedState cachedState =
+        new CachedState(
+            sizedState.key, sizedState.state, sizedState.baseState, sizedState.sizeBytes);
+    states.put(sizedState.key, cachedState);
+    estimatedSizeBytes += cachedState.sizeBytes;
+    rebaseIfStale(cachedState);
+    evictToLimits(sizedState.key);
+    return previous != null ? previous.state : null;
+  }
+
+  @Override
+  public synchronized BeaconState remove(final Object key) {
+    final CachedState removed = states.remove(key);
+    if (removed == null) {
+      return null;
+    }
+    estimatedSizeBytes -= removed.sizeBytes;
+    rebaseStaleStates();
+    return removed.state;
+  }
+
+  /**
+   * Recharges any cached states whose base state has changed, for example because it was removed
+   * from this or another cache, against their new base state.
+   */
+  public synchronized void rebaseStaleStates() {
+    states.values().forEach(this::rebaseIfStale);
+  }
+
+  @SuppressWarnings("ReferenceEquality")
+  private void rebaseIfStale(final CachedState cachedState) {
+    final Optional<BeaconState> baseState =
+        baseStateLookup.apply(cachedState.key, cachedState.state);
+    if (baseState.orElse(null) == cachedState.baseState.orElse(null)) {
+      return;
+    }
+    final long sizeBytes = StateSizeEstimator.estimateUniqueSize(cachedState.state, baseState);
+    estimatedSizeBytes += sizeBytes - cachedState.sizeBytes;
+    cachedState.baseState = baseState;
+    cachedState.sizeBytes = sizeBytes;
+  }
+
+  @Override
+  public synchronized void clear() {
+    states.clear();
+    estimatedSizeBytes = 0;
+  }
+
+  @Override
+  public synchronized int size() {
+    return states.size();
+  }
+
+  @Override
+  public synchronized Set<Entry<K, BeaconState>> entrySet() {
+    return Collections.unmodifiableMap(
+            Maps.newLinkedHashMap(Maps.transformValues(states, cachedState -> cachedState.state)))
+        .entrySet();
+  }
+
+  /** @return the estimated heap retained by all cached states in bytes */
+  public synchronized long getEstimatedSizeBytes() {
+    return estimatedSizeBytes;
+  }
+
+  private void evictToLimits(final K newKey) {
+    // Always keep the newly added state
+    while ((states.size() > maxEntries || estimatedSizeBytes > maxSizeBytes) && states.size() > 1) {
+      // Removing a state recharges those using it as a base so sizes may increase
+      remove(selectStateToEvict(newKey));
+    }
+  }
+
+  private K selectStateToEvict(final K newKey) {
+    K leastRecentlyAccessed = null;
+    for (Map.Entry<K, CachedState> entry : states.entrySet()) {
+      final K key = entry.getKey();
+      if (key.equals(newKey)) {
+        continue;
+      }
+      if (!isPreferred.test(key, entry.getValue().state)) {
+        return key;
+      }
+      if (leastRecentlyAccessed == null) {
+        leastRecentlyAccessed = key;
+      }
+    }
+    return leastRecentlyAccessed;
+  }
+
+  private class CachedState {
+    private final K key;
+    private final BeaconState state;
+    private Optional<BeaconState> baseState;
+    private long sizeBytes;
+
+    private CachedState(
+        final K key,
+        final BeaconState state,
+        final Optional<BeaconState> baseState,
+        final long sizeBytes) {
+      this.key = key;
+      this.state = state;
+      this.baseState = baseState;
+      this.sizeBytes = sizeBytes;
+    }
+  }
+
+  /**
+   * A state with its size estimated against a base state, ready to be added to the cache.
+   *
+   * @param <K> the type of key the state will be cached by
+   */
+  static class SizedState<K> {
+    private final K key;
+    private final BeaconState state;
+    private final Optional<BeaconState> baseState;
+    private final long sizeBytes;
+
+    private SizedState(
+        final K key,
+        final BeaconState state,
+        final Optional<BeaconState> baseState,
+        final long sizeBytes) {
+      this.key = key;
+      this.state = state;
+      this.baseState = baseState;
+      this.sizeBytes = sizeBytes;
+    }
+  }
+}
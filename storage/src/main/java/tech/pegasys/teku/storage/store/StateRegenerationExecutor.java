@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.store;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.RejectedExecutionException;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.ExceptionThrowingFutureSupplier;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.metrics.TekuMetricCategory;
+
+/**
+ * Limits the number of state regenerations which run concurrently. Regenerations beyond the limit
+ * are queued and started in priority order as earlier regenerations complete, so that requests
+ * from fork choice processing are served before requests from the API.
+ *
+ * <p>Tasks are started on the supplied {@link AsyncRunner}, which should be dedicated to state
+ * regeneration, so that neither the requesting thread nor the thread completing the previous
+ * regeneration is tied up. If no runner is supplied, tasks run on those threads instead. Only
+ * {@link Priority#API} requests are rejected when the queue is full, fork choice processing must
+ * always be able to make progress.
+ */
+class StateRegenerationExecutor {
+  static final int DEFAULT_MAX_CONCURRENT_REGENERATIONS = 2;
+  static final int DEFAULT_MAX_QUEUE_SIZE = 64;
+
+  private final int maxConcurrentRegenerations;
+  private final int maxQueueSize;
+  private final Optional<AsyncRunner> asyncRunner;
+  private final LabelledMetric<Counter> completedCounter;
+  private final LabelledMetric<OperationTimer> durationTimer;
+  private final Counter rejectedCounter;
+
+  private final PriorityQueue<PendingTask<?>> queue =
+      new PriorityQueue<>(
+          Comparator.<PendingTask<?>, Priority>comparing(task -> task.priority)
+              .thenComparingLong(task -> task.sequence));
+  private long nextSequence = 0;
+  private int activeTasks = 0;
+
+  StateRegenerationExecutor(
+      final MetricsSystem metricsSystem,
+      final Optional<AsyncRunner> asyncRunner,
+      final int maxConcurrentRegenerations,
+      final int maxQueueSize) {
+    checkArgument(
+        maxConcurrentRegenerations > 0, "Must allow at least one concurrent regeneration");
+    this.maxConcurrentRegenerations = maxConcurrentRegenerations;
+    this.maxQueueSize = maxQueueSize;
+    this.asyncRunner = asyncRunner;
+    completedCounter =
+        metricsSystem.createLabelledCounter(
+            TekuMetricCategory.STORAGE,
+            "state_regeneration_completed_total",
+            "Number of state regenerations completed",
+            "priority");
+    durationTimer =
+        metricsSystem.createLabelledTimer(
+            TekuMetricCategory.STORAGE,
+            "state_regeneration_duration",
+            "Time from requesting a state regeneration until it completes",
+            "priority");
+    rejectedCounter =
+        metricsSystem
+            .createLabelledCounter(
+                TekuMetricCategory.STORAGE,
+                "state_regeneration_rejected_total",
+                "Number of state regenerations rejected because the queue was full",
+                "priority")
+            .labels(Priority.API.name().toLowerCase());
+  }
+
+  /**
+   * Run the given regeneration task once capacity is available.
+   *
+   * @param priority the priority of the request
+   * @param task the regeneration to perform
+   * @param <T> the type of result produced by the task
+   * @return a future which completes with the result of the task
+   */
+  public <T> SafeFuture<T> execute(
+      final Priority priority, final ExceptionThrowingFutureSupplier<T> task) {
+    final PendingTask<T> pendingTask = new PendingTask<>(priority, task);
+    synchronized (this) {
+      if (activeTasks >= maxConcurrentRegenerations) {
+        if (priority == Priority.API && queue.size() >= maxQueueSize) {
+          rejectedCounter.inc();
+          return SafeFuture.failedFuture(
+              new RejectedExecutionException("State regeneration queue is full"));
+        }
+        pendingTask.sequence = nextSequence++;
+        queue.add(pendingTask);
+        return pendingTask.result;
+      }
+      activeTasks++;
+    }
+    runTask(pendingTask);
+    return pendingTask.result;
+  }
+
+  public synchronized int getQueueSize() {
+    return queue.size();
+  }
+
+  private void runTask(final PendingTask<?> task) {
+    final SafeFuture<?> taskResult;
+    if (asyncRunner.isPresent()) {
+      taskResult = asyncRunner.get().runAsync(task::run);
+      // Fail the request if the runner is unable to start the task
+      taskResult.propagateExceptionTo(task.result);
+    } else {
+      taskResult = task.run();
+    }
+    taskResult.always(this::runNextTask);
+  }
+
+  private void runNextTask() {
+    final PendingTask<?> nextTask = takeNextTask();
+    if (nextTask != null) {
+      runTask(nextTask);
+    }
+  }
+
+  private synchronized PendingTask<?> takeNextTask() {
+    final PendingTask<?> nextTask = queue.poll();
+    if (nextTask == null) {
+      activeTasks--;
+    }
+    return nextTask;
+  }
+
+  enum Priority {
+    FORK_CHOICE,
+    API
+  }
+
+  private class PendingTask<T> {
+    private final Priority priority;
+    private final ExceptionThrowingFutureSupplier<T> task;
+    private final TimingContext timingContext;
+    private final SafeFuture<T> result = new SafeFuture<>();
+    private long sequence;
+
+    private PendingTask(final Priority priority, final ExceptionThrowingFutureSupplier<T> task) {
+      this.priority = priority;
+      this.task = task;
+      this.timingContext = durationTimer.labels(priority.name().toLowerCase()).startTimer();
+    }
+
+    private SafeFuture<T> run() {
+      final SafeFuture<T> taskResult = SafeFuture.of(task);
+      taskResult.always(this::recordCompletion);
+      taskResult.propagateTo(result);
+      return taskResult;
+    }
+
+    private void recordCompletion() {
+      completedCounter.labels(priority.name().toLowerCase()).inc();
+      timingContext.stopTimer();
+    }
+  }
+}
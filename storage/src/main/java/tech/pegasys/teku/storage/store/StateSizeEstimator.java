@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.store;
+
+import java.util.Optional;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.LeafNode;
+
+/**
+ * Estimates the heap retained by a beacon state from the nodes of its backing tree. States derived
+ * from one another share all unchanged subtrees, so the estimate can be made relative to a base
+ * state in which case only nodes not shared with the base are counted.
+ */
+class StateSizeEstimator {
+  // Object header, two child references and the cached hash with its backing array
+  static final long BRANCH_NODE_SIZE_BYTES = 96;
+  // Object header and the Bytes32 root with its backing array
+  static final long LEAF_NODE_SIZE_BYTES = 88;
+
+  private StateSizeEstimator() {}
+
+  /**
+   * Estimates the size of the nodes in {@code state} which are not shared with {@code baseState}.
+   *
+   * @param state the state to estimate the size of
+   * @param baseState a state which may share nodes with {@code state}
+   * @return the estimated number of bytes retained only by {@code state}
+   */
+  public static long estimateUniqueSize(
+      final BeaconState state, final Optional<BeaconState> baseState) {
+    return estimateUniqueSize(
+        state.getBackingNode(), baseState.map(BeaconState::getBackingNode).orElse(null));
+  }
+
+  private static long estimateUniqueSize(final TreeNode node, final TreeNode baseNode) {
+    if (node == baseNode) {
+      // Shared subtree
+      return 0;
+    }
+    if (node instanceof LeafNode) {
+      return LEAF_NODE_SIZE_BYTES;
+    }
+    final BranchNode branch = (BranchNode) node;
+    if (branch.left() == branch.right()) {
+      // Default subtrees are built from static zero nodes which are shared by all states
+      return 0;
+    }
+    if (baseNode instanceof BranchNode) {
+      final BranchNode baseBranch = (BranchNode) baseNode;
+      return BRANCH_NODE_SIZE_BYTES
+          + estimateUniqueSize(branch.left(), baseBranch.left())
+          + estimateUniqueSize(branch.right(), baseBranch.right());
+    }
+    return BRANCH_NODE_SIZE_BYTES
+        + estimateUniqueSize(branch.left(), null)
+        + estimateUniqueSize(branch.right(), null);
+  }
+}
@@ -13,8 +13,11 @@
 
 package tech.pegasys.teku.storage.store;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static tech.pegasys.teku.core.lookup.BlockProvider.fromDynamicMap;
 import static tech.pegasys.teku.core.lookup.BlockProvider.fromMap;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_epoch_at_slot;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
 
 import com.google.common.collect.Sets;
 import com.google.common.primitives.UnsignedLong;
@@ -25,12 +28,11 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.CheckReturnValue;
 import org.apache.logging.log4j.LogManager;
@@ -43,6 +45,7 @@ import tech.pegasys.teku.core.StateTransition;
 import tech.pegasys.teku.core.exceptions.EpochProcessingException;
 import tech.pegasys.teku.core.exceptions.SlotProcessingException;
 import tech.pegasys.teku.core.lookup.BlockProvider;
+import tech.pegasys.teku.core.lookup.StateProvider;
 import tech.pegasys.teku.core.stategenerator.StateGenerator;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
@@ -52,13 +55,15 @@ import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.teku.datastructures.hashtree.HashTree;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.state.Checkpoint;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.metrics.SettableGauge;
 import tech.pegasys.teku.metrics.TekuMetricCategory;
 import tech.pegasys.teku.storage.api.StorageUpdateChannel;
+import tech.pegasys.teku.storage.store.StateCache.SizedState;
+import tech.pegasys.teku.storage.store.StateRegenerationExecutor.Priority;
 import tech.pegasys.teku.util.collections.ConcurrentLimitedMap;
 import tech.pegasys.teku.util.collections.LimitStrategy;
-import tech.pegasys.teku.util.collections.LimitedMap;
 
 class Store implements UpdatableStore {
   private static final Logger LOG = LogManager.getLogger();
@@ -68,6 +73,7 @@ class Store implements UpdatableStore {
   private final Counter stateRequestCachedCounter;
   private final Counter stateRequestRegenerateCounter;
   private final Counter stateRequestMissCounter;
+  private final Counter stateRequestDeduplicatedCounter;
   private final Counter checkpointStateRequestCachedCounter;
   private final Counter checkpointStateRequestRegenerateCounter;
   private final Counter checkpointStateRequestMissCounter;
@@ -75,8 +81,13 @@ class Store implements UpdatableStore {
   private Optional<SettableGauge> stateCountGauge = Optional.empty();
   private Optional<SettableGauge> blockCountGauge = Optional.empty();
   private Optional<SettableGauge> checkpointCountGauge = Optional.empty();
+  private Optional<SettableGauge> stateCacheSizeGauge = Optional.empty();
+  private Optional<SettableGauge> checkpointStateCacheSizeGauge = Optional.empty();
 
   private final BlockProvider blockProvider;
+  private final StateProvider stateProvider;
+  private final StateRegenerationExecutor regenerationExecutor;
+  private final Map<Bytes32, PendingRegeneration> pendingRegenerations = new ConcurrentHashMap<>();
 
   HashTree blockTree;
   UnsignedLong time;
@@ -85,14 +96,19 @@ class Store implements UpdatableStore {
   Checkpoint finalized_checkpoint;
   Checkpoint best_justified_checkpoint;
   Map<Bytes32, SignedBeaconBlock> blocks;
-  Map<Bytes32, BeaconState> block_states;
-  Map<Checkpoint, BeaconState> checkpoint_states;
+  StateCache<Bytes32> block_states;
+  StateCache<Checkpoint> checkpoint_states;
   Map<UnsignedLong, VoteTracker> votes;
   SignedBlockAndState finalizedBlockAndState;
+  // Blocks whose state has been persisted and can be loaded from stateProvider
+  final Set<Bytes32> persistedStateRoots = ConcurrentHashMap.newKeySet();
+  final int hotStatePersistenceFrequencyInEpochs;
 
   Store(
       final MetricsSystem metricsSystem,
+      final Optional<AsyncRunner> asyncRunner,
       final BlockProvider blockProvider,
+      final StateProvider stateProvider,
       final UnsignedLong time,
       final UnsignedLong genesis_time,
       final Checkpoint justified_checkpoint,
@@ -100,9 +116,11 @@ class Store implements UpdatableStore {
       final Checkpoint best_justified_checkpoint,
       final Map<Bytes32, Bytes32> childToParentRoot,
       final SignedBlockAndState finalizedBlockAndState,
+      final Set<Bytes32> persistedStateRoots,
       final Map<UnsignedLong, VoteTracker> votes,
       final StorePruningOptions pruningOptions) {
     this.metricsSystem = metricsSystem;
+    this.stateProvider = stateProvider;
     final LabelledMetric<Counter> stateRequestCounter =
         metricsSystem.createLabelledCounter(
             TekuMetricCategory.STORAGE,
@@ -112,6 +130,7 @@ class Store implements UpdatableStore {
     stateRequestCachedCounter = stateRequestCounter.labels("cached");
     stateRequestRegenerateCounter = stateRequestCounter.labels("regenerate");
     stateRequestMissCounter = stateRequestCounter.labels("miss");
+    stateRequestDeduplicatedCounter = stateRequestCounter.labels("deduplicated");
     final LabelledMetric<Counter> checkpointStateRequestCounter =
         metricsSystem.createLabelledCounter(
             TekuMetricCategory.STORAGE,
@@ -121,6 +140,12 @@ class Store implements UpdatableStore {
     checkpointStateRequestCachedCounter = checkpointStateRequestCounter.labels("cached");
     checkpointStateRequestRegenerateCounter = checkpointStateRequestCounter.labels("regenerate");
     checkpointStateRequestMissCounter = checkpointStateRequestCounter.labels("miss");
+    regenerationExecutor =
+        new StateRegenerationExecutor(
+            metricsSystem,
+            asyncRunner,
+            StateRegenerationExecutor.DEFAULT_MAX_CONCURRENT_REGENERATIONS,
+            StateRegenerationExecutor.DEFAULT_MAX_QUEUE_SIZE);
 
     this.time = time;
     this.genesis_time = genesis_time;
@@ -130,14 +155,24 @@ class Store implements UpdatableStore {
     this.blocks =
         ConcurrentLimitedMap.create(
             pruningOptions.getBlockCacheSize(), LimitStrategy.DROP_LEAST_RECENTLY_ACCESSED);
+    // Block states mostly share nodes with their parent state and checkpoint states with the
+    // state of the checkpoint block
     this.block_states =
-        LimitedMap.create(
-            pruningOptions.getStateCacheSize(), LimitStrategy.DROP_LEAST_RECENTLY_ACCESSED);
+        new StateCache<>(
+            pruningOptions.getStateCacheSize(),
+            pruningOptions.getStateCacheMaxSizeBytes(),
+            (root, state) ->
+                getSizeEstimateBaseState(state.getLatest_block_header().getParent_root()),
+            this::isPreferredBlockState);
     this.checkpoint_states =
-        LimitedMap.create(
+        new StateCache<>(
             pruningOptions.getCheckpointStateCacheSize(),
-            LimitStrategy.DROP_LEAST_RECENTLY_ACCESSED);
+            pruningOptions.getCheckpointStateCacheMaxSizeBytes(),
+            (checkpoint, state) -> getSizeEstimateBaseState(checkpoint.getRoot()),
+            (checkpoint, state) -> false);
     this.votes = new ConcurrentHashMap<>(votes);
+    this.hotStatePersistenceFrequencyInEpochs =
+        pruningOptions.getHotStatePersistenceFrequencyInEpochs();
 
     // Build block tree structure
     HashTree.Builder treeBuilder = HashTree.builder().rootHash(finalizedBlockAndState.getRoot());
@@ -158,9 +193,6 @@ class Store implements UpdatableStore {
             fromMap(this.blocks),
             blockProvider);
 
-    // Create state generator
-    final StateGenerator stateGenerator =
-        StateGenerator.create(blockTree, finalizedBlockAndState, this.blockProvider);
     if (blockTree.size() < childToParentRoot.size()) {
       // This should be an error, but keeping this as a warning now for backwards-compatibility
       // reasons.  Some existing databases may have unpruned fork blocks, and could become
@@ -169,22 +201,12 @@ class Store implements UpdatableStore {
       LOG.warn("Ignoring {} non-canonical blocks", childToParentRoot.size() - blockTree.size());
     }
 
-    // Process blocks
-    LOG.info("Process {} block(s) to regenerate state", blockTree.size());
-    final AtomicInteger processedBlocks = new AtomicInteger(0);
-    // TODO(#2291) - handle future properly
-    stateGenerator
-        .regenerateAllStates(
-            (block, state) -> {
-              final int processed = processedBlocks.incrementAndGet();
-              if (processed % 100 == 0) {
-                LOG.info("Processed {} blocks", processed);
-              }
-              putBlock(block);
-              putBlockState(block.getRoot(), state);
-            })
-        .join();
-    LOG.info("Finished processing {} block(s)", blockTree.size());
+    // Hot states are regenerated on demand, starting from the closest persisted state
+    persistedStateRoots.stream().filter(blockTree::contains).forEach(this.persistedStateRoots::add);
+    LOG.info(
+        "Loaded {} hot block(s) with {} persisted state(s)",
+        blockTree.size(),
+        this.persistedStateRoots.size());
   }
 
   /**
@@ -218,6 +240,25 @@ class Store implements UpdatableStore {
                   TekuMetricCategory.STORAGE,
                   "memory_checkpoint_state_count",
                   "Number of checkpoint states held in the in-memory store"));
+      stateCacheSizeGauge =
+          Optional.of(
+              SettableGauge.create(
+                  metricsSystem,
+                  TekuMetricCategory.STORAGE,
+                  "memory_state_cache_bytes",
+                  "Estimated heap retained by cached beacon states beyond the finalized state"));
+      checkpointStateCacheSizeGauge =
+          Optional.of(
+              SettableGauge.create(
+                  metricsSystem,
+                  TekuMetricCategory.STORAGE,
+                  "memory_checkpoint_state_cache_bytes",
+                  "Estimated heap retained by checkpoint states beyond the finalized state"));
+      metricsSystem.createIntegerGauge(
+          TekuMetricCategory.STORAGE,
+          "state_regeneration_queue_size",
+          "Number of state regenerations waiting for a regeneration slot",
+          regenerationExecutor::getQueueSize);
     } finally {
       lock.writeLock().unlock();
     }
@@ -384,21 +425,26 @@ class Store implements UpdatableStore {
 
   @Override
   public SafeFuture<Optional<SignedBlockAndState>> retrieveBlockAndState(Bytes32 blockRoot) {
-    return getAndCacheBlockAndState(blockRoot);
+    return getAndCacheBlockAndState(blockRoot, Priority.API);
   }
 
   @Override
   public SafeFuture<Optional<BeaconState>> retrieveBlockState(Bytes32 blockRoot) {
-    return getAndCacheBlockState(blockRoot);
+    return getAndCacheBlockState(blockRoot, Priority.API);
   }
 
   @Override
   public SafeFuture<Optional<BeaconState>> retrieveCheckpointState(Checkpoint checkpoint) {
+    return retrieveCheckpointState(checkpoint, Priority.API);
+  }
+
+  private SafeFuture<Optional<BeaconState>> retrieveCheckpointState(
+      final Checkpoint checkpoint, final Priority priority) {
     Optional<BeaconState> inMemoryCheckpoint = getCheckpointStateIfAvailable(checkpoint);
     if (inMemoryCheckpoint.isPresent()) {
       return SafeFuture.completedFuture(inMemoryCheckpoint);
     }
-    return retrieveBlockState(checkpoint.getRoot())
+    return getAndCacheBlockState(checkpoint.getRoot(), priority)
         .thenApply(
             state ->
                 state.map(
@@ -440,6 +486,14 @@ class Store implements UpdatableStore {
     }
   }
 
+  @Override
+  public void cacheCheckpointState(final Checkpoint checkpoint, final BeaconState state) {
+    checkArgument(
+        state.getSlot().equals(checkpoint.getEpochStartSlot()),
+        "Checkpoint state must be at the checkpoint epoch start slot");
+    putCheckpointState(checkpoint, state);
+  }
+
   @Override
   public Set<UnsignedLong> getVotedValidatorIndices() {
     readLock.lock();
@@ -450,31 +504,57 @@ class Store implements UpdatableStore {
     }
   }
 
-  private SafeFuture<Optional<BeaconState>> getAndCacheBlockState(final Bytes32 blockRoot) {
+  private SafeFuture<Optional<BeaconState>> getAndCacheBlockState(
+      final Bytes32 blockRoot, final Priority priority) {
     Optional<BeaconState> inMemoryState = getBlockStateIfAvailable(blockRoot);
     if (inMemoryState.isPresent()) {
       return SafeFuture.completedFuture(inMemoryState);
     }
-    return regenerateState(blockRoot, this::cacheState)
+    return regenerateState(blockRoot, priority)
         .thenApply(res -> res.map(SignedBlockAndState::getState));
   }
 
   private SafeFuture<Optional<SignedBlockAndState>> getAndCacheBlockAndState(
-      final Bytes32 blockRoot) {
-    return regenerateState(blockRoot, this::cacheBlockAndState);
+      final Bytes32 blockRoot, final Priority priority) {
+    return regenerateState(blockRoot, priority)
+        .thenPeek(result -> result.map(SignedBlockAndState::getBlock).ifPresent(this::putBlock));
   }
 
   private SafeFuture<Optional<SignedBlockAndState>> regenerateState(
-      final Bytes32 blockRoot, final Consumer<SignedBlockAndState> cacheHandler) {
+      final Bytes32 blockRoot, final Priority priority) {
     if (!containsBlock(blockRoot)) {
       // If we don't have the corresponding block, we can't possibly regenerate the state
       return EmptyStoreResults.EMPTY_BLOCK_AND_STATE_FUTURE;
     }
 
-    // Accumulate blocks hashes until we find our base state to build from
+    // Share a single regeneration between all concurrent requests for the same block, unless it was
+    // requested at a lower priority which could delay or reject this request
+    final PendingRegeneration newRegeneration = new PendingRegeneration(priority);
+    final PendingRegeneration regeneration =
+        pendingRegenerations.compute(
+            blockRoot,
+            (root, existing) ->
+                existing != null && existing.canServe(priority) ? existing : newRegeneration);
+    if (regeneration != newRegeneration) {
+      stateRequestDeduplicatedCounter.inc();
+      return regeneration.result;
+    }
+
+    newRegeneration.result.always(() -> pendingRegenerations.remove(blockRoot, newRegeneration));
+    startRegeneration(blockRoot, priority).propagateTo(newRegeneration.result);
+    return newRegeneration.result;
+  }
+
+  private SafeFuture<Optional<SignedBlockAndState>> startRegeneration(
+      final Bytes32 blockRoot, final Priority priority) {
+    // Accumulate blocks hashes until we find our base state to build from, which may be a state
+    // that is currently being regenerated for another request
     final HashTree.Builder treeBuilder = HashTree.builder();
     final AtomicReference<Bytes32> baseBlockRoot = new AtomicReference<>();
     final AtomicReference<BeaconState> baseState = new AtomicReference<>();
+    final AtomicReference<SafeFuture<Optional<SignedBlockAndState>>> pendingBaseBlockAndState =
+        new AtomicReference<>();
+    final AtomicBoolean persistedBaseState = new AtomicBoolean(false);
     readLock.lock();
     try {
       this.blockTree.processHashesInChainWhile(
@@ -482,20 +562,36 @@ class Store implements UpdatableStore {
           (root, parent) -> {
             treeBuilder.childAndParentRoots(root, parent);
             final Optional<BeaconState> blockState = getBlockStateIfAvailable(root);
-            blockState.ifPresent(
-                (state) -> {
-                  // We found a base state
-                  treeBuilder.rootHash(root);
-                  baseBlockRoot.set(root);
-                  baseState.set(state);
-                });
-            return blockState.isEmpty();
+            if (blockState.isPresent()) {
+              // We found a base state
+              treeBuilder.rootHash(root);
+              baseBlockRoot.set(root);
+              baseState.set(blockState.get());
+              return false;
+            }
+            final PendingRegeneration pendingState =
+                root.equals(blockRoot) ? null : pendingRegenerations.get(root);
+            if (pendingState != null && pendingState.canServe(priority)) {
+              // An ancestor state is already being regenerated so build on top of it
+              treeBuilder.rootHash(root);
+              baseBlockRoot.set(root);
+              pendingBaseBlockAndState.set(pendingState.result);
+              return false;
+            }
+            if (persistedStateRoots.contains(root)) {
+              // The state was persisted so can be loaded rather than regenerated
+              treeBuilder.rootHash(root);
+              baseBlockRoot.set(root);
+              persistedBaseState.set(true);
+              return false;
+            }
+            return true;
           });
     } finally {
       readLock.unlock();
     }
 
-    final SafeFuture<Optional<SignedBeaconBlock>> baseBlock;
+    final SafeFuture<Optional<SignedBlockAndState>> baseBlockAndState;
     if (baseBlockRoot.get() == null) {
       // If we haven't found a base state yet, we must have walked back to the latest finalized
       // block, check here for the base state
@@ -504,40 +600,71 @@ class Store implements UpdatableStore {
         // We must have finalized a new block while processing and moved past our target root
         return EmptyStoreResults.EMPTY_BLOCK_AND_STATE_FUTURE;
       }
-      baseBlockRoot.set(finalized.getRoot());
-      baseState.set(finalized.getState());
-      baseBlock = SafeFuture.completedFuture(Optional.of(finalized.getBlock()));
+      baseBlockAndState = SafeFuture.completedFuture(Optional.of(finalized));
       treeBuilder.rootHash(finalized.getRoot());
+    } else if (pendingBaseBlockAndState.get() != null) {
+      baseBlockAndState = pendingBaseBlockAndState.get();
+    } else if (persistedBaseState.get()) {
+      final Bytes32 persistedRoot = baseBlockRoot.get();
+      return loadPersistedState(persistedRoot)
+          .thenCompose(
+              maybeBase -> {
+                if (maybeBase.isEmpty()) {
+                  // The persisted state has been pruned so look further back for a base state
+                  persistedStateRoots.remove(persistedRoot);
+                  return startRegeneration(blockRoot, priority);
+                }
+                cacheState(maybeBase.get());
+                return regenerateFromBase(blockRoot, priority, treeBuilder, maybeBase);
+              });
     } else {
-      baseBlock = retrieveSignedBlock(baseBlockRoot.get());
+      baseBlockAndState =
+          retrieveSignedBlock(baseBlockRoot.get())
+              .thenApply(
+                  maybeBlock ->
+                      maybeBlock.map(block -> new SignedBlockAndState(block, baseState.get())));
     }
 
     // Regenerate state
-    return baseBlock.thenCompose(
-        maybeBlock ->
-            maybeBlock
-                .map(
-                    block -> {
-                      final SignedBlockAndState baseBlockAndState =
-                          new SignedBlockAndState(block, baseState.get());
-                      final HashTree tree = treeBuilder.build();
-                      final StateGenerator stateGenerator =
-                          StateGenerator.create(tree, baseBlockAndState, blockProvider);
-                      return stateGenerator
-                          .regenerateStateForBlock(blockRoot)
-                          .thenApply(
-                              result -> {
-                                stateRequestRegenerateCounter.inc();
-                                cacheHandler.accept(result);
-                                return Optional.of(result);
-                              });
-                    })
-                .orElse(EmptyStoreResults.EMPTY_BLOCK_AND_STATE_FUTURE));
-  }
-
-  private void cacheBlockAndState(final SignedBlockAndState blockAndState) {
-    putBlockState(blockAndState.getRoot(), blockAndState.getState());
-    putBlock(blockAndState.getBlock());
+    return baseBlockAndState.thenCompose(
+        maybeBase -> regenerateFromBase(blockRoot, priority, treeBuilder, maybeBase));
+  }
+
+  private SafeFuture<Optional<SignedBlockAndState>> regenerateFromBase(
+      final Bytes32 blockRoot,
+      final Priority priority,
+      final HashTree.Builder treeBuilder,
+      final Optional<SignedBlockAndState> maybeBase) {
+    return maybeBase
+        .map(
+            base -> {
+              final HashTree tree = treeBuilder.build();
+              final StateGenerator stateGenerator =
+                  StateGenerator.create(tree, base, blockProvider);
+              return regenerationExecutor
+                  .execute(priority, () -> stateGenerator.regenerateStateForBlock(blockRoot))
+                  .thenApply(
+                      result -> {
+                        stateRequestRegenerateCounter.inc();
+                        cacheState(result);
+                        return Optional.of(result);
+                      });
+            })
+        .orElse(EmptyStoreResults.EMPTY_BLOCK_AND_STATE_FUTURE);
+  }
+
+  private SafeFuture<Optional<SignedBlockAndState>> loadPersistedState(final Bytes32 blockRoot) {
+    return stateProvider
+        .getState(blockRoot)
+        .thenCompose(
+            maybeState -> {
+              if (maybeState.isEmpty()) {
+                return EmptyStoreResults.EMPTY_BLOCK_AND_STATE_FUTURE;
+              }
+              final BeaconState state = maybeState.get();
+              return retrieveSignedBlock(blockRoot)
+                  .thenApply(maybeBlock -> maybeBlock.map(b -> new SignedBlockAndState(b, state)));
+            });
   }
 
   private void cacheState(final SignedBlockAndState blockAndState) {
@@ -545,28 +672,61 @@ class Store implements UpdatableStore {
   }
 
   private void putCheckpointState(final Checkpoint checkpoint, final BeaconState state) {
+    // Estimating the size may walk the whole state so avoid holding the lock while doing it
+    final SizedState<Checkpoint> sizedState = checkpoint_states.estimateSize(checkpoint, state);
     lock.writeLock().lock();
     try {
-      checkpoint_states.put(checkpoint, state);
-      checkpointCountGauge.ifPresent(gauge -> gauge.set(checkpoint_states.size()));
+      checkpoint_states.add(sizedState);
+      updateStateCacheGauges();
     } finally {
       lock.writeLock().unlock();
     }
   }
 
   private void putBlockState(final Bytes32 blockRoot, final BeaconState state) {
+    // Estimating the size may walk the whole state so avoid holding the lock while doing it
+    final SizedState<Bytes32> sizedState = block_states.estimateSize(blockRoot, state);
     final Lock writeLock = lock.writeLock();
     writeLock.lock();
     try {
       if (containsBlock(blockRoot)) {
-        block_states.put(blockRoot, state);
-        stateCountGauge.ifPresent(gauge -> gauge.set(block_states.size()));
+        block_states.add(sizedState);
+        // Checkpoint states may have used an evicted block state as their base
+        checkpoint_states.rebaseStaleStates();
+        updateStateCacheGauges();
       }
     } finally {
       writeLock.unlock();
     }
   }
 
+  void updateStateCacheGauges() {
+    stateCountGauge.ifPresent(gauge -> gauge.set(block_states.size()));
+    stateCacheSizeGauge.ifPresent(gauge -> gauge.set(block_states.getEstimatedSizeBytes()));
+    checkpointCountGauge.ifPresent(gauge -> gauge.set(checkpoint_states.size()));
+    checkpointStateCacheSizeGauge.ifPresent(
+        gauge -> gauge.set(checkpoint_states.getEstimatedSizeBytes()));
+  }
+
+  private Optional<BeaconState> getSizeEstimateBaseState(final Bytes32 blockRoot) {
+    // The finalized state is always retained so states are charged against it when the state of
+    // the block they were built from isn't cached, rather than for every node they hold
+    final SignedBlockAndState finalized = finalizedBlockAndState;
+    return block_states
+        .peek(blockRoot)
+        .or(() -> Optional.ofNullable(finalized).map(SignedBlockAndState::getState));
+  }
+
+  private boolean isPreferredBlockState(final Bytes32 blockRoot, final BeaconState state) {
+    // Fork tips are built on by new blocks, and epoch boundary and justified states are the base
+    // for checkpoint states, so these are the most expensive to regenerate when needed
+    final UnsignedLong slot = state.getSlot();
+    return blockTree.countChildren(blockRoot) == 0
+        || slot.equals(compute_start_slot_at_epoch(compute_epoch_at_slot(slot)))
+        || blockRoot.equals(justified_checkpoint.getRoot())
+        || blockRoot.equals(best_justified_checkpoint.getRoot());
+  }
+
   private void putBlock(final SignedBeaconBlock block) {
     final Lock writeLock = lock.writeLock();
     writeLock.lock();
@@ -672,10 +832,13 @@ class Store implements UpdatableStore {
           .thenAccept(
               __ -> {
                 // Propagate changes to Store
+                // Estimating sizes may walk whole states so avoid holding the lock while doing it
+                final List<SizedState<Bytes32>> sizedHotStates =
+                    updates.estimateHotStateSizes(Store.this);
                 writeLock.lock();
                 try {
                   // Add new data
-                  updates.applyToStore(Store.this);
+                  updates.applyToStore(Store.this, sizedHotStates);
                 } finally {
                   writeLock.unlock();
                 }
@@ -777,7 +940,7 @@ class Store implements UpdatableStore {
             new SignedBlockAndState(blocks.get(blockRoot), block_states.get(blockRoot));
         return SafeFuture.completedFuture(Optional.of(result));
       }
-      return Store.this.retrieveBlockAndState(blockRoot);
+      return Store.this.getAndCacheBlockAndState(blockRoot, Priority.FORK_CHOICE);
     }
 
     @Override
@@ -785,7 +948,7 @@ class Store implements UpdatableStore {
       if (block_states.containsKey(blockRoot)) {
         return SafeFuture.completedFuture(Optional.of(block_states.get(blockRoot)));
       }
-      return Store.this.retrieveBlockState(blockRoot);
+      return Store.this.getAndCacheBlockState(blockRoot, Priority.FORK_CHOICE);
     }
 
     @Override
@@ -795,7 +958,7 @@ class Store implements UpdatableStore {
         return SafeFuture.completedFuture(
             Optional.of(regenerateCheckpointState(checkpoint, inMemoryCheckpointBlockState)));
       }
-      return Store.this.retrieveCheckpointState(checkpoint);
+      return Store.this.retrieveCheckpointState(checkpoint, Priority.FORK_CHOICE);
     }
 
     @Override
@@ -844,4 +1007,18 @@ class Store implements UpdatableStore {
         blocks,
         checkpoint_states);
   }
+
+  private static class PendingRegeneration {
+    private final Priority priority;
+    private final SafeFuture<Optional<SignedBlockAndState>> result = new SafeFuture<>();
+
+    private PendingRegeneration(final Priority priority) {
+      this.priority = priority;
+    }
+
+    /** Returns true if a request at the given priority can wait for this regeneration. */
+    private boolean canServe(final Priority requestedPriority) {
+      return priority.compareTo(requestedPriority) <= 0;
+    }
+  }
 }
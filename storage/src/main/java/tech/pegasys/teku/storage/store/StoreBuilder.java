@@ -19,20 +19,28 @@ import static tech.pegasys.teku.util.config.Constants.SECONDS_PER_SLOT;
 
 import com.google.common.primitives.UnsignedLong;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.core.lookup.BlockProvider;
+import tech.pegasys.teku.core.lookup.StateProvider;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
 import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.teku.datastructures.state.Checkpoint;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.storage.events.AnchorPoint;
 
 public class StoreBuilder {
   MetricsSystem metricsSystem;
+  Optional<AsyncRunner> asyncRunner = Optional.empty();
   BlockProvider blockProvider;
+  StateProvider stateProvider = StateProvider.NOOP;
 
   final Map<Bytes32, Bytes32> childToParentRoot = new HashMap<>();
+  final Set<Bytes32> persistedStateRoots = new HashSet<>();
   UnsignedLong time;
   UnsignedLong genesisTime;
   Checkpoint justifiedCheckpoint;
@@ -82,7 +90,9 @@ public class StoreBuilder {
     assertValid();
     return new Store(
         metricsSystem,
+        asyncRunner,
         blockProvider,
+        stateProvider,
         time,
         genesisTime,
         justifiedCheckpoint,
@@ -90,6 +100,7 @@ public class StoreBuilder {
         bestJustifiedCheckpoint,
         childToParentRoot,
         latestFinalized,
+        persistedStateRoots,
         votes,
         StorePruningOptions.createDefault());
   }
@@ -113,12 +124,24 @@ public class StoreBuilder {
     return this;
   }
 
+  public StoreBuilder asyncRunner(final AsyncRunner asyncRunner) {
+    checkNotNull(asyncRunner);
+    this.asyncRunner = Optional.of(asyncRunner);
+    return this;
+  }
+
   public StoreBuilder blockProvider(final BlockProvider blockProvider) {
     checkNotNull(blockProvider);
     this.blockProvider = blockProvider;
     return this;
   }
 
+  public StoreBuilder stateProvider(final StateProvider stateProvider) {
+    checkNotNull(stateProvider);
+    this.stateProvider = stateProvider;
+    return this;
+  }
+
   public StoreBuilder time(final UnsignedLong time) {
     checkNotNull(time);
     this.time = time;
@@ -161,6 +184,12 @@ public class StoreBuilder {
     return this;
   }
 
+  public StoreBuilder persistedStateRoots(final Set<Bytes32> persistedStateRoots) {
+    checkNotNull(persistedStateRoots);
+    this.persistedStateRoots.addAll(persistedStateRoots);
+    return this;
+  }
+
   public StoreBuilder votes(final Map<UnsignedLong, VoteTracker> votes) {
     checkNotNull(votes);
     this.votes = votes;
@@ -20,26 +20,76 @@ public class StorePruningOptions {
   // Max block size is about 20x smaller than the minimum state size
   public static final int DEFAULT_BLOCK_CACHE_SIZE = DEFAULT_STATE_CACHE_SIZE * 2;
   public static final int DEFAULT_CHECKPOINT_STATE_CACHE_SIZE = 20;
+  // Bounds the number of blocks replayed to regenerate any hot state after a restart
+  public static final int DEFAULT_HOT_STATE_PERSISTENCE_FREQUENCY_IN_EPOCHS = 2;
+  // Estimated heap retained by cached states, accounting for nodes shared between states
+  public static final long DEFAULT_STATE_CACHE_MAX_SIZE_BYTES = 512L * 1024 * 1024;
+  public static final long DEFAULT_CHECKPOINT_STATE_CACHE_MAX_SIZE_BYTES = 256L * 1024 * 1024;
 
   private final int stateCacheSize;
   private final int blockCacheSize;
   private final int checkpointStateCacheSize;
+  private final int hotStatePersistenceFrequencyInEpochs;
+  private final long stateCacheMaxSizeBytes;
+  private final long checkpointStateCacheMaxSizeBytes;
 
   private StorePruningOptions(
-      final int stateCacheSize, final int blockCacheSize, final int checkpointStateCacheSize) {
+      final int stateCacheSize,
+      final int blockCacheSize,
+      final int checkpointStateCacheSize,
+      final int hotStatePersistenceFrequencyInEpochs,
+      final long stateCacheMaxSizeBytes,
+      final long checkpointStateCacheMaxSizeBytes) {
     this.stateCacheSize = stateCacheSize;
     this.blockCacheSize = blockCacheSize;
     this.checkpointStateCacheSize = checkpointStateCacheSize;
+    this.hotStatePersistenceFrequencyInEpochs = hotStatePersistenceFrequencyInEpochs;
+    this.stateCacheMaxSizeBytes = stateCacheMaxSizeBytes;
+    this.checkpointStateCacheMaxSizeBytes = checkpointStateCacheMaxSizeBytes;
   }
 
   public static StorePruningOptions createDefault() {
-    return new StorePruningOptions(
+    return create(
         DEFAULT_STATE_CACHE_SIZE, DEFAULT_BLOCK_CACHE_SIZE, DEFAULT_CHECKPOINT_STATE_CACHE_SIZE);
   }
 
   public static StorePruningOptions create(
       final int stateCacheSize, final int blockCacheSize, final int checkpointStateCacheSize) {
-    return new StorePruningOptions(stateCacheSize, blockCacheSize, checkpointStateCacheSize);
+    return create(
+        stateCacheSize,
+        blockCacheSize,
+        checkpointStateCacheSize,
+        DEFAULT_HOT_STATE_PERSISTENCE_FREQUENCY_IN_EPOCHS);
+  }
+
+  public static StorePruningOptions create(
+      final int stateCacheSize,
+      final int blockCacheSize,
+      final int checkpointStateCacheSize,
+      final int hotStatePersistenceFrequencyInEpochs) {
+    return create(
+        stateCacheSize,
+        blockCacheSize,
+        checkpointStateCacheSize,
+        hotStatePersistenceFrequencyInEpochs,
+        DEFAULT_STATE_CACHE_MAX_SIZE_BYTES,
+        DEFAULT_CHECKPOINT_STATE_CACHE_MAX_SIZE_BYTES);
+  }
+
+  public static StorePruningOptions create(
+      final int stateCacheSize,
+      final int blockCacheSize,
+      final int checkpointStateCacheSize,
+      final int hotStatePersistenceFrequencyInEpochs,
+      final long stateCacheMaxSizeBytes,
+      final long checkpointStateCacheMaxSizeBytes) {
+    return new StorePruningOptions(
+        stateCacheSize,
+        blockCacheSize,
+        checkpointStateCacheSize,
+        hotStatePersistenceFrequencyInEpochs,
+        stateCacheMaxSizeBytes,
+        checkpointStateCacheMaxSizeBytes);
   }
 
   public int getStateCacheSize() {
@@ -53,4 +103,36 @@ public class StorePruningOptions {
   public int getCheckpointStateCacheSize() {
     return checkpointStateCacheSize;
   }
+
+  /**
+   * Returns how often, in epochs, the state of the first block after an epoch boundary is persisted
+   * as a restart checkpoint.
+   *
+   * @return the number of epochs between persisted hot states
+   */
+  public int getHotStatePersistenceFrequencyInEpochs() {
+    return hotStatePersistenceFrequencyInEpochs;
+  }
+
+  /**
+   * Returns the maximum estimated heap size of cached block states. Only the nodes which are not
+   * shared with the parent state, or the finalized state if the parent isn't cached, are counted
+   * for each state.
+   *
+   * @return the maximum size of the state cache in bytes
+   */
+  public long getStateCacheMaxSizeBytes() {
+    return stateCacheMaxSizeBytes;
+  }
+
+  /**
+   * Returns the maximum estimated heap size of cached checkpoint states. Only the nodes which are
+   * not shared with the checkpoint's block state, or the finalized state if the block state isn't
+   * cached, are counted for each state.
+   *
+   * @return the maximum size of the checkpoint state cache in bytes
+   */
+  public long getCheckpointStateCacheMaxSizeBytes() {
+    return checkpointStateCacheMaxSizeBytes;
+  }
 }
@@ -15,9 +15,12 @@ package tech.pegasys.teku.storage.store;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
@@ -25,6 +28,7 @@ import tech.pegasys.teku.datastructures.hashtree.HashTree;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.storage.events.FinalizedChainData;
 import tech.pegasys.teku.storage.events.StorageUpdate;
+import tech.pegasys.teku.storage.store.StateCache.SizedState;
 import tech.pegasys.teku.storage.store.Store.Transaction;
 
 class StoreTransactionUpdates {
@@ -33,6 +37,7 @@ class StoreTransactionUpdates {
   private final Optional<FinalizedChainData> finalizedChainData;
   private final Map<Bytes32, SignedBeaconBlock> hotBlocks;
   private final Map<Bytes32, BeaconState> hotStates;
+  private final Map<Bytes32, BeaconState> persistedHotStates;
   private final Map<Bytes32, SlotAndBlockRoot> stateRoots;
   private final Set<Bytes32> prunedHotBlockRoots;
   private final Optional<HashTree> updatedBlockTree;
@@ -42,6 +47,7 @@ class StoreTransactionUpdates {
       final Optional<FinalizedChainData> finalizedChainData,
       final Map<Bytes32, SignedBeaconBlock> hotBlocks,
       final Map<Bytes32, BeaconState> hotStates,
+      final Map<Bytes32, BeaconState> persistedHotStates,
       final Set<Bytes32> prunedHotBlockRoots,
       final Optional<HashTree> updatedBlockTree,
       final Map<Bytes32, SlotAndBlockRoot> stateRoots) {
@@ -49,6 +55,7 @@ class StoreTransactionUpdates {
     checkNotNull(finalizedChainData, "Finalized data is required");
     checkNotNull(hotBlocks, "Hot blocks are required");
     checkNotNull(hotStates, "Hot states are required");
+    checkNotNull(persistedHotStates, "Persisted hot states are required");
     checkNotNull(prunedHotBlockRoots, "Pruned roots are required");
     checkNotNull(updatedBlockTree, "Update tree is required");
     checkNotNull(stateRoots, "State roots are required");
@@ -57,6 +64,7 @@ class StoreTransactionUpdates {
     this.finalizedChainData = finalizedChainData;
     this.hotBlocks = hotBlocks;
     this.hotStates = hotStates;
+    this.persistedHotStates = persistedHotStates;
     this.prunedHotBlockRoots = prunedHotBlockRoots;
     this.updatedBlockTree = updatedBlockTree;
     this.stateRoots = stateRoots;
@@ -69,20 +77,34 @@ class StoreTransactionUpdates {
         tx.justified_checkpoint,
         tx.best_justified_checkpoint,
         hotBlocks,
+        persistedHotStates,
         prunedHotBlockRoots,
         tx.votes,
         stateRoots);
   }
 
-  public void applyToStore(final Store store) {
+  /**
+   * Estimates the size of each new hot state for the store's state cache. This may walk whole
+   * states so should be called before locking the store.
+   */
+  public List<SizedState<Bytes32>> estimateHotStateSizes(final Store store) {
+    // Add parents before children so the state cache can account for the nodes they share
+    return hotStates.entrySet().stream()
+        .sorted(Comparator.comparing(entry -> entry.getValue().getSlot()))
+        .map(entry -> store.block_states.estimateSize(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  public void applyToStore(final Store store, final List<SizedState<Bytes32>> sizedHotStates) {
     // Add new data
     tx.time.ifPresent(value -> store.time = value);
     tx.genesis_time.ifPresent(value -> store.genesis_time = value);
     tx.justified_checkpoint.ifPresent(value -> store.justified_checkpoint = value);
     tx.best_justified_checkpoint.ifPresent(value -> store.best_justified_checkpoint = value);
     store.blocks.putAll(hotBlocks);
-    store.block_states.putAll(hotStates);
     updatedBlockTree.ifPresent(updated -> store.blockTree = updated);
+    sizedHotStates.forEach(store.block_states::add);
+    store.persistedStateRoots.addAll(persistedHotStates.keySet());
     store.votes.putAll(tx.votes);
 
     // Update finalized data
@@ -97,6 +119,12 @@ class StoreTransactionUpdates {
         (root) -> {
           store.blocks.remove(root);
           store.block_states.remove(root);
+          store.persistedStateRoots.remove(root);
         });
+
+    // Cached states may have used a pruned state or the previous finalized state as their base
+    store.block_states.rebaseStaleStates();
+    store.checkpoint_states.rebaseStaleStates();
+    store.updateStateCacheGauges();
   }
 }
@@ -13,6 +13,12 @@
 
 package tech.pegasys.teku.storage.store;
 
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_epoch_at_slot;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_block_root_at_slot;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.isBlockRootAvailableFromState;
+
+import com.google.common.primitives.UnsignedLong;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -22,6 +28,8 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
@@ -34,6 +42,8 @@ import tech.pegasys.teku.storage.events.FinalizedChainData;
 import tech.pegasys.teku.storage.store.Store.Transaction;
 
 class StoreTransactionUpdatesFactory {
+  private static final Logger LOG = LogManager.getLogger();
+
   private final Store baseStore;
   private final Store.Transaction tx;
 
@@ -157,6 +167,69 @@ class StoreTransactionUpdatesFactory {
         .forEach(prunedHotBlockRoots::add);
   }
 
+  /**
+   * Selects the new hot states to persist as restart checkpoints. These are the states of the first
+   * block after every {@code hotStatePersistenceFrequencyInEpochs} epoch boundary, and the state of
+   * the justified checkpoint once it is available.
+   */
+  private Map<Bytes32, BeaconState> selectStatesToPersist() {
+    final Map<Bytes32, BeaconState> statesToPersist = new HashMap<>();
+    hotStates.forEach(
+        (blockRoot, state) -> {
+          if (!prunedHotBlockRoots.contains(blockRoot) && isFirstBlockInPersistencePeriod(state)) {
+            statesToPersist.put(blockRoot, state);
+          }
+        });
+    // Checked on every commit so the justified state is still persisted if it wasn't cached when
+    // the checkpoint changed
+    Optional.of(tx.getJustifiedCheckpoint().getRoot())
+        .filter(root -> !root.equals(tx.getFinalizedCheckpoint().getRoot()))
+        .filter(root -> !baseStore.persistedStateRoots.contains(root))
+        .filter(root -> !prunedHotBlockRoots.contains(root))
+        .ifPresent(
+            root ->
+                Optional.ofNullable(hotStates.get(root))
+                    .or(() -> baseStore.block_states.peek(root))
+                    .ifPresentOrElse(
+                        state -> statesToPersist.put(root, state),
+                        () ->
+                            LOG.debug(
+                                "Deferring persisting justified state {} until it is available",
+                                root)));
+    return statesToPersist;
+  }
+
+  private boolean isFirstBlockInPersistencePeriod(final BeaconState state) {
+    final UnsignedLong periodStartSlot =
+        compute_start_slot_at_epoch(
+            UnsignedLong.valueOf(
+                getPersistencePeriod(state.getSlot())
+                    * baseStore.hotStatePersistenceFrequencyInEpochs));
+    if (periodStartSlot.equals(UnsignedLong.ZERO)) {
+      return false;
+    }
+    // The parent is from an earlier period if it is still the latest block in the slot before
+    // this period started, which the state records without needing the parent block
+    final Bytes32 parentRoot = state.getLatest_block_header().getParent_root();
+    final UnsignedLong lastSlotOfPreviousPeriod = periodStartSlot.minus(UnsignedLong.ONE);
+    if (isBlockRootAvailableFromState(state, lastSlotOfPreviousPeriod)) {
+      return get_block_root_at_slot(state, lastSlotOfPreviousPeriod).equals(parentRoot);
+    }
+    // Persistence periods are longer than the block roots held by the state
+    final Optional<SignedBeaconBlock> parent = tx.getBlockIfAvailable(parentRoot);
+    if (parent.isEmpty()) {
+      LOG.debug(
+          "Not persisting state at slot {} as parent block {} is unavailable",
+          state.getSlot(),
+          parentRoot);
+    }
+    return parent.map(block -> block.getSlot().compareTo(periodStartSlot) < 0).orElse(false);
+  }
+
+  private long getPersistencePeriod(final UnsignedLong slot) {
+    return compute_epoch_at_slot(slot).longValue() / baseStore.hotStatePersistenceFrequencyInEpochs;
+  }
+
   private StoreTransactionUpdates createStoreTransactionUpdates(
       final Optional<FinalizedChainData> finalizedChainData) {
     return new StoreTransactionUpdates(
@@ -164,6 +237,7 @@ class StoreTransactionUpdatesFactory {
         finalizedChainData,
         hotBlocks,
         hotStates,
+        selectStatesToPersist(),
         prunedHotBlockRoots,
         updatedBlockTree,
         stateRoots);
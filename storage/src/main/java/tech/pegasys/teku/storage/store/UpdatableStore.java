@@ -16,6 +16,7 @@ package tech.pegasys.teku.storage.store;
 import java.util.function.Consumer;
 import tech.pegasys.teku.datastructures.forkchoice.MutablePrunableStore;
 import tech.pegasys.teku.datastructures.forkchoice.PrunableStore;
+import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.state.Checkpoint;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.storage.api.StorageUpdateChannel;
@@ -29,6 +30,14 @@ public interface UpdatableStore extends PrunableStore {
 
   void startMetrics();
 
+  /**
+   * Add a checkpoint state which was calculated outside of the store to the checkpoint state cache.
+   *
+   * @param checkpoint the checkpoint the state is for
+   * @param state the state at the start slot of the checkpoint epoch
+   */
+  void cacheCheckpointState(Checkpoint checkpoint, BeaconState state);
+
   interface StoreTransaction extends MutablePrunableStore {
     SafeFuture<Void> commit();
 
@@ -67,6 +67,7 @@ public class StorageBackedRecentChainDataTest {
         StorageBackedRecentChainData.create(
             new StubMetricsSystem(),
             asyncRunner,
+            asyncRunner,
             storageQueryChannel,
             storageUpdateChannel,
             new StubProtoArrayStorageChannel(),
@@ -104,6 +105,7 @@ public class StorageBackedRecentChainDataTest {
         StorageBackedRecentChainData.create(
             new StubMetricsSystem(),
             asyncRunner,
+            asyncRunner,
             storageQueryChannel,
             storageUpdateChannel,
             new StubProtoArrayStorageChannel(),
@@ -147,6 +149,7 @@ public class StorageBackedRecentChainDataTest {
         StorageBackedRecentChainData.create(
             new StubMetricsSystem(),
             asyncRunner,
+            asyncRunner,
             storageQueryChannel,
             storageUpdateChannel,
             new StubProtoArrayStorageChannel(),
@@ -188,6 +191,7 @@ public class StorageBackedRecentChainDataTest {
         StorageBackedRecentChainData.create(
             new StubMetricsSystem(),
             asyncRunner,
+            asyncRunner,
             storageQueryChannel,
             storageUpdateChannel,
             new StubProtoArrayStorageChannel(),
@@ -421,6 +421,36 @@ public abstract class AbstractDatabaseTest {
     assertThat(result.getBlockRoots()).containsExactlyInAnyOrderElementsOf(hotBlockRoots);
   }
 
+  @Test
+  public void shouldPersistHotStatesAtPersistencePeriodBoundaries() {
+    // With 3 slots per epoch, states are persisted for the first block every 6 slots
+    final List<SignedBlockAndState> blocks = chainBuilder.generateBlocksUpToSlot(14);
+    addBlocks(blocks);
+
+    final SignedBlockAndState firstPeriodBlock = chainBuilder.getBlockAndStateAtSlot(6);
+    final SignedBlockAndState secondPeriodBlock = chainBuilder.getBlockAndStateAtSlot(12);
+    assertThat(database.getHotState(firstPeriodBlock.getRoot()))
+        .contains(firstPeriodBlock.getState());
+    assertThat(database.getHotState(secondPeriodBlock.getRoot()))
+        .contains(secondPeriodBlock.getState());
+    assertThat(database.getHotState(chainBuilder.getBlockAtSlot(7).getRoot())).isEmpty();
+
+    // Persisted states are removed once their block is finalized
+    final SignedBlockAndState finalizedBlock = chainBuilder.getBlockAndStateAtSlot(9);
+    final StoreTransaction transaction = recentChainData.startStoreTransaction();
+    justifyAndFinalizeEpoch(UnsignedLong.valueOf(3), finalizedBlock, transaction);
+    commit(transaction);
+    assertThat(database.getHotState(firstPeriodBlock.getRoot())).isEmpty();
+    assertThat(database.getHotState(secondPeriodBlock.getRoot()))
+        .contains(secondPeriodBlock.getState());
+
+    // States after a restart are regenerated from the persisted states
+    final SignedBlockAndState headBlock = chainBuilder.getLatestBlockAndState();
+    final UpdatableStore result = recreateStore();
+    assertThat(result.retrieveBlockState(headBlock.getRoot()))
+        .isCompletedWithValue(Optional.of(headBlock.getState()));
+  }
+
   @Test
   public void shouldRecordAndRetrieveGenesisInformation() {
     final DataStructureUtil util = new DataStructureUtil();
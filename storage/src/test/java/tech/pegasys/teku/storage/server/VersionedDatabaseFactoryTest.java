@@ -95,6 +95,24 @@ public class VersionedDatabaseFactoryTest {
     assertThat(metadataFile).exists();
   }
 
+  @Test
+  public void createDatabase_asV6Database() throws Exception {
+    final DatabaseFactory dbFactory =
+        new VersionedDatabaseFactory(
+            new StubMetricsSystem(), dataDir.toString(), DATA_STORAGE_MODE, "6", 1L, eth1Address);
+    try (final Database db = dbFactory.createDatabase()) {
+      assertThat(db).isNotNull();
+      assertDbVersionSaved(dataDir, DatabaseVersion.V6);
+    }
+    final File dbDirectory = new File(dataDir.toFile(), VersionedDatabaseFactory.DB_PATH);
+    final File archiveDirectory = new File(dataDir.toFile(), VersionedDatabaseFactory.ARCHIVE_PATH);
+    final File metadataFile =
+        new File(dataDir.toFile(), VersionedDatabaseFactory.METADATA_FILENAME);
+    assertThat(dbDirectory).exists();
+    assertThat(archiveDirectory).exists();
+    assertThat(metadataFile).exists();
+  }
+
   @Test
   public void createDatabase_invalidVersionFile() throws Exception {
     createDbDirectory(dataDir);
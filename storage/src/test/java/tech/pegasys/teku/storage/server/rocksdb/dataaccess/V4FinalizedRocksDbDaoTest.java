@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLSKeyGenerator;
+import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.core.ChainBuilder;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.storage.server.rocksdb.core.MockRocksDbInstance;
+import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbFinalizedDao.FinalizedUpdater;
+import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaFinalized;
+
+class V4FinalizedRocksDbDaoTest {
+  private static final List<BLSKeyPair> VALIDATOR_KEYS = BLSKeyGenerator.generateKeyPairs(3);
+  private static final int STATE_STORAGE_FREQUENCY = 3;
+  private static final int LAST_SLOT = 7;
+
+  private final ChainBuilder chainBuilder = ChainBuilder.create(VALIDATOR_KEYS);
+  private MockRocksDbInstance db = MockRocksDbInstance.createEmpty(V4SchemaFinalized.class);
+
+  @BeforeEach
+  public void setUp() {
+    chainBuilder.generateGenesis();
+    chainBuilder.generateBlocksUpToSlot(LAST_SLOT);
+  }
+
+  @Test
+  public void addFinalizedState_shouldStoreSnapshotsWithDiffsBetween() {
+    final V4FinalizedRocksDbDao dao = new V4FinalizedRocksDbDao(db, STATE_STORAGE_FREQUENCY);
+    storeFinalizedStates(dao);
+
+    assertThat(db.getAll(V4SchemaFinalized.FINALIZED_STATES_BY_SLOT).keySet())
+        .containsExactlyInAnyOrder(slot(0), slot(3), slot(6));
+    assertThat(db.getAll(V4SchemaFinalized.FINALIZED_STATE_DIFFS_BY_SLOT).keySet())
+        .containsExactlyInAnyOrder(slot(1), slot(2), slot(4), slot(5), slot(7));
+  }
+
+  @Test
+  public void getLatestAvailableFinalizedState_shouldRebuildStatesFromSnapshotsAndDiffs()
+      throws Exception {
+    final V4FinalizedRocksDbDao dao = new V4FinalizedRocksDbDao(db, STATE_STORAGE_FREQUENCY);
+    storeFinalizedStates(dao);
+    dao.close();
+
+    // Read back through a new DAO so nothing is served from the last stored state
+    db = db.reopen();
+    final V4FinalizedRocksDbDao reopenedDao =
+        new V4FinalizedRocksDbDao(db, STATE_STORAGE_FREQUENCY);
+    for (int slot = 0; slot <= LAST_SLOT; slot++) {
+      assertThat(reopenedDao.getLatestAvailableFinalizedState(slot(slot)))
+          .contains(chainBuilder.getStateAtSlot(slot));
+    }
+    assertThat(reopenedDao.getLatestAvailableFinalizedState(slot(LAST_SLOT + 5)))
+        .contains(chainBuilder.getStateAtSlot(LAST_SLOT));
+  }
+
+  @Test
+  public void addFinalizedState_shouldContinueDiffChainAfterReopening() throws Exception {
+    final V4FinalizedRocksDbDao dao = new V4FinalizedRocksDbDao(db, STATE_STORAGE_FREQUENCY);
+    storeFinalizedStates(dao, 0, 4);
+    dao.close();
+
+    db = db.reopen();
+    final V4FinalizedRocksDbDao reopenedDao =
+        new V4FinalizedRocksDbDao(db, STATE_STORAGE_FREQUENCY);
+    storeFinalizedStates(reopenedDao, 5, LAST_SLOT);
+
+    for (int slot = 0; slot <= LAST_SLOT; slot++) {
+      assertThat(reopenedDao.getLatestAvailableFinalizedState(slot(slot)))
+          .contains(chainBuilder.getStateAtSlot(slot));
+    }
+  }
+
+  private void storeFinalizedStates(final V4FinalizedRocksDbDao dao) {
+    storeFinalizedStates(dao, 0, LAST_SLOT);
+  }
+
+  private void storeFinalizedStates(
+      final V4FinalizedRocksDbDao dao, final int fromSlot, final int toSlot) {
+    for (int slot = fromSlot; slot <= toSlot; slot++) {
+      final BeaconState state = chainBuilder.getStateAtSlot(slot);
+      try (final FinalizedUpdater updater = dao.finalizedUpdater()) {
+        updater.addFinalizedState(chainBuilder.getBlockAtSlot(slot).getRoot(), state);
+        updater.commit();
+      }
+    }
+  }
+
+  private UnsignedLong slot(final int slot) {
+    return UnsignedLong.valueOf(slot);
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.storage.server.rocksdb.core.MockRocksDbInstance;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor.RocksDbTransaction;
+import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbHotDao.HotUpdater;
+import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaHot;
+
+class V4HotRocksDbDaoTest {
+  private static final int DELTAS_PER_SNAPSHOT = 3;
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final MockRocksDbInstance db = MockRocksDbInstance.createEmpty(V4SchemaHot.class);
+  private final V4HotRocksDbDao dao = new V4HotRocksDbDao(db, DELTAS_PER_SNAPSHOT);
+
+  @Test
+  public void addVotes_shouldAppendDeltasUntilSnapshotIsDue() {
+    final Map<UnsignedLong, VoteTracker> expected = new HashMap<>();
+    for (int i = 0; i < DELTAS_PER_SNAPSHOT; i++) {
+      addVotes(expected, Map.of(UnsignedLong.valueOf(i), dataStructureUtil.randomVoteTracker()));
+    }
+
+    assertThat(db.get(V4SchemaHot.VOTES_SNAPSHOT)).isEmpty();
+    assertThat(db.getAll(V4SchemaHot.VOTE_DELTAS)).hasSize(DELTAS_PER_SNAPSHOT);
+    assertThat(dao.getVotes()).isEqualTo(expected);
+  }
+
+  @Test
+  public void addVotes_shouldFoldDeltasIntoSnapshot() {
+    final Map<UnsignedLong, VoteTracker> expected = new HashMap<>();
+    for (int i = 0; i <= DELTAS_PER_SNAPSHOT; i++) {
+      final Map<UnsignedLong, VoteTracker> votes = new HashMap<>();
+      votes.put(UnsignedLong.ZERO, dataStructureUtil.randomVoteTracker());
+      votes.put(UnsignedLong.valueOf(i + 1), dataStructureUtil.randomVoteTracker());
+      addVotes(expected, votes);
+    }
+
+    assertThat(db.get(V4SchemaHot.VOTES_SNAPSHOT)).contains(expected);
+    assertThat(db.getAll(V4SchemaHot.VOTE_DELTAS)).isEmpty();
+    assertThat(dao.getVotes()).isEqualTo(expected);
+
+    addVotes(expected, Map.of(UnsignedLong.ONE, dataStructureUtil.randomVoteTracker()));
+    assertThat(db.getAll(V4SchemaHot.VOTE_DELTAS)).hasSize(1);
+    assertThat(dao.getVotes()).isEqualTo(expected);
+  }
+
+  @Test
+  public void addVotes_shouldTrackDeltasAddedInSameTransaction() {
+    final Map<UnsignedLong, VoteTracker> expected = new HashMap<>();
+    try (final HotUpdater updater = dao.hotUpdater()) {
+      for (int i = 0; i <= DELTAS_PER_SNAPSHOT; i++) {
+        final Map<UnsignedLong, VoteTracker> votes =
+            Map.of(UnsignedLong.valueOf(i), dataStructureUtil.randomVoteTracker());
+        expected.putAll(votes);
+        updater.addVotes(votes);
+      }
+      updater.commit();
+    }
+
+    assertThat(db.get(V4SchemaHot.VOTES_SNAPSHOT)).contains(expected);
+    assertThat(db.getAll(V4SchemaHot.VOTE_DELTAS)).isEmpty();
+    assertThat(dao.getVotes()).isEqualTo(expected);
+  }
+
+  @Test
+  public void addVotes_shouldNotAdvanceDeltaLogWhenTransactionCancelled() {
+    final Map<UnsignedLong, VoteTracker> expected = new HashMap<>();
+    addVotes(expected, Map.of(UnsignedLong.ZERO, dataStructureUtil.randomVoteTracker()));
+    try (final HotUpdater updater = dao.hotUpdater()) {
+      for (int i = 0; i <= DELTAS_PER_SNAPSHOT; i++) {
+        updater.addVotes(Map.of(UnsignedLong.ONE, dataStructureUtil.randomVoteTracker()));
+      }
+      updater.cancel();
+    }
+    addVotes(expected, Map.of(UnsignedLong.ONE, dataStructureUtil.randomVoteTracker()));
+
+    assertThat(db.get(V4SchemaHot.VOTES_SNAPSHOT)).isEmpty();
+    assertThat(db.getAll(V4SchemaHot.VOTE_DELTAS)).hasSize(2);
+    assertThat(dao.getVotes()).isEqualTo(expected);
+  }
+
+  @Test
+  public void addVotes_shouldContinueDeltaLogWrittenByPreviousInstance() {
+    final Map<UnsignedLong, VoteTracker> expected = new HashMap<>();
+    addVotes(expected, Map.of(UnsignedLong.ZERO, dataStructureUtil.randomVoteTracker()));
+    addVotes(expected, Map.of(UnsignedLong.ONE, dataStructureUtil.randomVoteTracker()));
+
+    final V4HotRocksDbDao restartedDao = new V4HotRocksDbDao(db, DELTAS_PER_SNAPSHOT);
+    final Map<UnsignedLong, VoteTracker> votes =
+        Map.of(UnsignedLong.ZERO, dataStructureUtil.randomVoteTracker());
+    expected.putAll(votes);
+    try (final HotUpdater updater = restartedDao.hotUpdater()) {
+      updater.addVotes(votes);
+      updater.commit();
+    }
+
+    assertThat(db.getAll(V4SchemaHot.VOTE_DELTAS)).hasSize(3);
+    assertThat(restartedDao.getVotes()).isEqualTo(expected);
+  }
+
+  @Test
+  public void getVotes_shouldIncludeVotesStoredIndividually() {
+    final VoteTracker legacyVote = dataStructureUtil.randomVoteTracker();
+    final VoteTracker replacedVote = dataStructureUtil.randomVoteTracker();
+    final Map<UnsignedLong, VoteTracker> expected = new HashMap<>();
+    expected.put(UnsignedLong.ZERO, legacyVote);
+    putLegacyVote(UnsignedLong.ZERO, legacyVote);
+    putLegacyVote(UnsignedLong.ONE, replacedVote);
+    addVotes(expected, Map.of(UnsignedLong.ONE, dataStructureUtil.randomVoteTracker()));
+
+    assertThat(dao.getVotes()).isEqualTo(expected);
+  }
+
+  @Test
+  public void addVotes_shouldRemoveVotesStoredIndividuallyWhenSnapshotWritten() {
+    final Map<UnsignedLong, VoteTracker> expected = new HashMap<>();
+    final VoteTracker legacyVote = dataStructureUtil.randomVoteTracker();
+    expected.put(UnsignedLong.ZERO, legacyVote);
+    putLegacyVote(UnsignedLong.ZERO, legacyVote);
+    for (int i = 0; i <= DELTAS_PER_SNAPSHOT; i++) {
+      addVotes(expected, Map.of(UnsignedLong.ONE, dataStructureUtil.randomVoteTracker()));
+    }
+
+    assertThat(db.getAll(V4SchemaHot.VOTES)).isEmpty();
+    assertThat(dao.getVotes()).isEqualTo(expected);
+  }
+
+  private void putLegacyVote(final UnsignedLong validatorIndex, final VoteTracker vote) {
+    try (final RocksDbTransaction transaction = db.startTransaction()) {
+      transaction.put(V4SchemaHot.VOTES, validatorIndex, vote);
+      transaction.commit();
+    }
+  }
+
+  private void addVotes(
+      final Map<UnsignedLong, VoteTracker> expected, final Map<UnsignedLong, VoteTracker> votes) {
+    expected.putAll(votes);
+    try (final HotUpdater updater = dao.hotUpdater()) {
+      updater.addVotes(votes);
+      updater.commit();
+    }
+  }
+}
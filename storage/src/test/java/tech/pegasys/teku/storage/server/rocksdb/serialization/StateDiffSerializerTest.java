@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.storage.server.state.StateDiff;
+import tech.pegasys.teku.storage.server.state.StateDiff.LeafUpdate;
+
+public class StateDiffSerializerTest {
+  private final StateDiffSerializer serializer = new StateDiffSerializer();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+
+  @Test
+  public void roundTrip() {
+    final StateDiff original =
+        new StateDiff(
+            dataStructureUtil.randomUnsignedLong(),
+            List.of(
+                new LeafUpdate(dataStructureUtil.randomLong(), dataStructureUtil.randomBytes32()),
+                new LeafUpdate(dataStructureUtil.randomLong(), dataStructureUtil.randomBytes32())));
+    final byte[] bytes = serializer.serialize(original);
+    final StateDiff restored = serializer.deserialize(bytes);
+
+    assertThat(restored).isEqualTo(original);
+  }
+
+  @Test
+  public void roundTrip_empty() {
+    final StateDiff original = new StateDiff(dataStructureUtil.randomUnsignedLong(), List.of());
+    final byte[] bytes = serializer.serialize(original);
+    final StateDiff restored = serializer.deserialize(bytes);
+
+    assertThat(restored).isEqualTo(original);
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.storage.server.state.StoredBranchNode;
+
+public class StoredBranchNodeSerializerTest {
+  private final StoredBranchNodeSerializer serializer = new StoredBranchNodeSerializer();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+
+  @ParameterizedTest
+  @CsvSource({"false,false", "true,false", "false,true", "true,true"})
+  public void roundTrip(final boolean leftIsLeaf, final boolean rightIsLeaf) {
+    final StoredBranchNode original =
+        new StoredBranchNode(
+            dataStructureUtil.randomBytes32(),
+            leftIsLeaf,
+            dataStructureUtil.randomBytes32(),
+            rightIsLeaf);
+    final byte[] bytes = serializer.serialize(original);
+    final StoredBranchNode restored = serializer.deserialize(bytes);
+
+    assertThat(restored).isEqualTo(original);
+  }
+}
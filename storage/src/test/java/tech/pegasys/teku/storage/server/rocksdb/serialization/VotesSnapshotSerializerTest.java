@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+
+public class VotesSnapshotSerializerTest {
+  private final VotesSnapshotSerializer serializer = new VotesSnapshotSerializer();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+
+  @Test
+  public void roundTrip() {
+    final Map<UnsignedLong, VoteTracker> original = new HashMap<>();
+    original.put(UnsignedLong.ZERO, dataStructureUtil.randomVoteTracker());
+    original.put(UnsignedLong.valueOf(3), dataStructureUtil.randomVoteTracker());
+    original.put(UnsignedLong.valueOf(10), dataStructureUtil.randomVoteTracker());
+    final byte[] bytes = serializer.serialize(original);
+    final Map<UnsignedLong, VoteTracker> restored = serializer.deserialize(bytes);
+
+    assertThat(restored).isEqualTo(original);
+  }
+
+  @Test
+  public void roundTrip_empty() {
+    final byte[] bytes = serializer.serialize(Map.of());
+    final Map<UnsignedLong, VoteTracker> restored = serializer.deserialize(bytes);
+
+    assertThat(restored).isEmpty();
+  }
+
+  @Test
+  public void serialize_shouldPackVotesByValidatorIndex() {
+    final Map<UnsignedLong, VoteTracker> votes =
+        Map.of(UnsignedLong.valueOf(9), dataStructureUtil.randomVoteTracker());
+    final byte[] bytes = serializer.serialize(votes);
+
+    assertThat(bytes).hasSize(Long.BYTES + 10 * VotesSnapshotSerializer.VOTE_SIZE);
+  }
+}
@@ -32,6 +32,7 @@ import tech.pegasys.teku.bls.BLSKeyPair;
 import tech.pegasys.teku.core.ChainBuilder;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
 import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
 import tech.pegasys.teku.storage.server.Database;
 
 class FinalizedStateCacheTest {
@@ -39,6 +40,7 @@ class FinalizedStateCacheTest {
   protected static final List<BLSKeyPair> VALIDATOR_KEYS = BLSKeyGenerator.generateKeyPairs(3);
   private final ChainBuilder chainBuilder = ChainBuilder.create(VALIDATOR_KEYS);
   private final Database database = mock(Database.class);
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
   // We don't use soft references in unit tests to avoid intermittency
   private final FinalizedStateCache cache =
       new FinalizedStateCache(database, MAXIMUM_CACHE_SIZE, false);
@@ -102,6 +104,56 @@ class FinalizedStateCacheTest {
     verify(database, times(2)).streamFinalizedBlocks(ONE, ONE);
   }
 
+  @Test
+  void shouldLoadStatesEvictedFromHeapFromSerializedStateCache() throws Exception {
+    final FinalizedStateCache cacheWithSerializedStates =
+        new FinalizedStateCache(
+            database,
+            MAXIMUM_CACHE_SIZE,
+            false,
+            new SerializedStateCache(Long.MAX_VALUE, true),
+            asyncRunner);
+    chainBuilder.generateBlocksUpToSlot(MAXIMUM_CACHE_SIZE + 1);
+    when(database.getLatestAvailableFinalizedState(any()))
+        .thenReturn(Optional.of(chainBuilder.getGenesis().getState()));
+    allowStreamingBlocks();
+
+    // Fill up the cache and evict the state at slot 1 from the heap
+    for (int i = 1; i <= MAXIMUM_CACHE_SIZE + 1; i++) {
+      cacheWithSerializedStates.getFinalizedState(UnsignedLong.valueOf(i));
+    }
+    // The evicted state is serialized asynchronously rather than within the cache's maintenance
+    assertThat(asyncRunner.countDelayedActions()).isEqualTo(1);
+    asyncRunner.executeQueuedActions();
+
+    assertThat(cacheWithSerializedStates.getFinalizedState(ONE))
+        .contains(chainBuilder.getStateAtSlot(ONE));
+    verify(database, times(1)).streamFinalizedBlocks(ONE, ONE);
+  }
+
+  @Test
+  void shouldDropEvictedStatesWhenTooManyAreWaitingToBeSerialized() throws Exception {
+    final FinalizedStateCache cacheWithSerializedStates =
+        new FinalizedStateCache(
+            database,
+            MAXIMUM_CACHE_SIZE,
+            false,
+            new SerializedStateCache(Long.MAX_VALUE, true),
+            asyncRunner);
+    final int evictedStateCount = FinalizedStateCache.MAX_PENDING_SERIALIZATIONS + 1;
+    chainBuilder.generateBlocksUpToSlot(MAXIMUM_CACHE_SIZE + evictedStateCount);
+    when(database.getLatestAvailableFinalizedState(any()))
+        .thenReturn(Optional.of(chainBuilder.getGenesis().getState()));
+    allowStreamingBlocks();
+
+    for (int i = 1; i <= MAXIMUM_CACHE_SIZE + evictedStateCount; i++) {
+      cacheWithSerializedStates.getFinalizedState(UnsignedLong.valueOf(i));
+    }
+
+    assertThat(asyncRunner.countDelayedActions())
+        .isEqualTo(FinalizedStateCache.MAX_PENDING_SERIALIZATIONS);
+  }
+
   @Test
   void shouldReturnEmptyWhenStateIsNotAvailable() {
     when(database.getLatestAvailableFinalizedState(any())).thenReturn(Optional.empty());
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLSKeyGenerator;
+import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.core.ChainBuilder;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+
+class SerializedStateCacheTest {
+  private static final List<BLSKeyPair> VALIDATOR_KEYS = BLSKeyGenerator.generateKeyPairs(3);
+  private final ChainBuilder chainBuilder = ChainBuilder.create(VALIDATOR_KEYS);
+
+  @BeforeEach
+  public void setUp() {
+    chainBuilder.generateGenesis();
+    chainBuilder.generateBlocksUpToSlot(3);
+  }
+
+  @Test
+  public void get_shouldReturnEquivalentState() {
+    final SerializedStateCache cache = new SerializedStateCache(Long.MAX_VALUE, false);
+    final BeaconState state = chainBuilder.getStateAtSlot(2);
+
+    cache.put(state);
+
+    assertThat(cache.get(state.getSlot())).contains(state);
+    assertThat(cache.get(UnsignedLong.ONE)).isEmpty();
+  }
+
+  @Test
+  public void get_shouldReturnEquivalentStateWhenCompressed() {
+    final SerializedStateCache uncompressedCache = new SerializedStateCache(Long.MAX_VALUE, false);
+    final SerializedStateCache compressedCache = new SerializedStateCache(Long.MAX_VALUE, true);
+    final BeaconState state = chainBuilder.getStateAtSlot(2);
+
+    uncompressedCache.put(state);
+    compressedCache.put(state);
+
+    assertThat(compressedCache.get(state.getSlot())).contains(state);
+    assertThat(compressedCache.getSizeBytes()).isLessThan(uncompressedCache.getSizeBytes());
+  }
+
+  @Test
+  public void getLatestSlot_shouldReturnLatestCachedSlotAtOrBeforeRequestedSlot() {
+    final SerializedStateCache cache = new SerializedStateCache(Long.MAX_VALUE, true);
+    cache.put(chainBuilder.getStateAtSlot(1));
+    cache.put(chainBuilder.getStateAtSlot(3));
+
+    assertThat(cache.getLatestSlot(UnsignedLong.ZERO)).isEmpty();
+    assertThat(cache.getLatestSlot(UnsignedLong.valueOf(2))).contains(UnsignedLong.ONE);
+    assertThat(cache.getLatestSlot(UnsignedLong.valueOf(3))).contains(UnsignedLong.valueOf(3));
+  }
+
+  @Test
+  public void put_shouldEvictLeastRecentlyAccessedStatesWhenSizeLimitExceeded() {
+    final SerializedStateCache sizingCache = new SerializedStateCache(Long.MAX_VALUE, false);
+    sizingCache.put(chainBuilder.getStateAtSlot(1));
+    sizingCache.put(chainBuilder.getStateAtSlot(2));
+    sizingCache.put(chainBuilder.getStateAtSlot(3));
+    // Any two states fit but not all three
+    final SerializedStateCache cache =
+        new SerializedStateCache(sizingCache.getSizeBytes() - 1, false);
+
+    cache.put(chainBuilder.getStateAtSlot(1));
+    cache.put(chainBuilder.getStateAtSlot(2));
+    assertThat(cache.get(UnsignedLong.ONE)).isPresent();
+    cache.put(chainBuilder.getStateAtSlot(3));
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.contains(UnsignedLong.ONE)).isTrue();
+    assertThat(cache.contains(UnsignedLong.valueOf(2))).isFalse();
+    assertThat(cache.getLatestSlot(UnsignedLong.valueOf(2))).contains(UnsignedLong.ONE);
+  }
+
+  @Test
+  public void put_shouldIgnoreStatesLargerThanLimit() {
+    final SerializedStateCache cache = new SerializedStateCache(1, false);
+
+    cache.put(chainBuilder.getStateAtSlot(1));
+
+    assertThat(cache.size()).isZero();
+    assertThat(cache.getSizeBytes()).isZero();
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLSKeyGenerator;
+import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.core.ChainBuilder;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.BeaconStateImpl;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+
+class StateDiffTest {
+  private static final List<BLSKeyPair> VALIDATOR_KEYS = BLSKeyGenerator.generateKeyPairs(3);
+  private final ChainBuilder chainBuilder = ChainBuilder.create(VALIDATOR_KEYS);
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+
+  @BeforeEach
+  public void setUp() {
+    chainBuilder.generateGenesis();
+  }
+
+  @Test
+  void apply_shouldRecreateTargetState() {
+    chainBuilder.generateBlocksUpToSlot(3);
+    final BeaconState base = chainBuilder.getStateAtSlot(1);
+    final BeaconState target = chainBuilder.getStateAtSlot(3);
+
+    final StateDiff diff = StateDiff.between(base, target);
+
+    assertThat(diff.getBaseSlot()).isEqualTo(base.getSlot());
+    assertThat(diff.getLeafUpdates()).isNotEmpty();
+    final BeaconState result = diff.apply(base);
+    assertThat(result).isEqualTo(target);
+    assertThat(result.getSlot()).isEqualTo(target.getSlot());
+  }
+
+  @Test
+  void apply_shouldRecreateStateWithAddedValidators() {
+    final BeaconState base = dataStructureUtil.randomBeaconState(3);
+    final BeaconState target =
+        base.updated(
+            state -> {
+              state.setSlot(base.getSlot().plus(UnsignedLong.ONE));
+              state.getValidators().add(dataStructureUtil.randomValidator());
+              state.getBalances().add(dataStructureUtil.randomUnsignedLong());
+            });
+
+    final BeaconState result = StateDiff.between(base, target).apply(base);
+    assertThat(result).isEqualTo(target);
+    assertThat(result.getValidators()).isEqualTo(target.getValidators());
+  }
+
+  @Test
+  void apply_shouldRecreateTargetWhenBaseHasLeafInPlaceOfSubtree() {
+    final BeaconState target = dataStructureUtil.randomBeaconState(3);
+    // Collapse the right half of the state's fields into a single leaf
+    final TreeNode collapsedNode =
+        target.getBackingNode().updated(3, TreeNode.createLeafNode(Bytes32.ZERO));
+    final BeaconState base = (BeaconState) target.getType().createFromBackingNode(collapsedNode);
+
+    final BeaconState result = StateDiff.between(base, target).apply(base);
+    assertThat(result).isEqualTo(target);
+  }
+
+  @Test
+  void between_shouldBeEmptyForIdenticalStates() {
+    final BeaconState state = dataStructureUtil.randomBeaconState(3);
+    assertThat(StateDiff.between(state, state).getLeafUpdates()).isEmpty();
+  }
+
+  @Test
+  void between_shouldOnlyIncludeChangedLeavesWhenStatesDoNotShareNodes() {
+    final BeaconState state = dataStructureUtil.randomBeaconState(3);
+    final BeaconState copy =
+        SimpleOffsetSerializer.deserialize(
+            SimpleOffsetSerializer.serialize(state), BeaconStateImpl.class);
+    final BeaconState modified =
+        copy.updated(mutable -> mutable.setSlot(state.getSlot().plus(UnsignedLong.ONE)));
+
+    assertThat(StateDiff.between(state, modified).getLeafUpdates()).hasSize(1);
+  }
+
+  @Test
+  void apply_shouldRejectStateAtDifferentSlot() {
+    chainBuilder.generateBlocksUpToSlot(2);
+    final StateDiff diff =
+        StateDiff.between(chainBuilder.getStateAtSlot(1), chainBuilder.getStateAtSlot(2));
+
+    assertThatThrownBy(() -> diff.apply(chainBuilder.getStateAtSlot(2)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -25,6 +25,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import tech.pegasys.teku.core.ChainBuilder;
 import tech.pegasys.teku.core.lookup.BlockProvider;
+import tech.pegasys.teku.core.lookup.StateProvider;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
 import tech.pegasys.teku.datastructures.state.BeaconState;
@@ -111,11 +112,18 @@ public abstract class AbstractStoreTest {
   }
 
   protected Store createGenesisStore(final StorePruningOptions pruningOptions) {
+    return createGenesisStore(pruningOptions, blockProviderFromChainBuilder());
+  }
+
+  protected Store createGenesisStore(
+      final StorePruningOptions pruningOptions, final BlockProvider blockProvider) {
     final SignedBlockAndState genesis = chainBuilder.generateGenesis();
     final Checkpoint genesisCheckpoint = chainBuilder.getCurrentCheckpointForEpoch(0);
     return new Store(
         new StubMetricsSystem(),
-        blockProviderFromChainBuilder(),
+        Optional.empty(),
+        blockProvider,
+        StateProvider.NOOP,
         genesis.getState().getGenesis_time(),
         genesis.getState().getGenesis_time(),
         genesisCheckpoint,
@@ -123,6 +131,7 @@ public abstract class AbstractStoreTest {
         genesisCheckpoint,
         Map.of(genesis.getRoot(), genesis.getParentRoot()),
         genesis,
+        Collections.emptySet(),
         Collections.emptyMap(),
         pruningOptions);
   }
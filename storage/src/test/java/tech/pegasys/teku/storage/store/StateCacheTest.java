@@ -0,0 +1,218 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiPredicate;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.core.ChainBuilder;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.storage.store.StateCache.SizedState;
+
+class StateCacheTest {
+  private final ChainBuilder chainBuilder = ChainBuilder.createDefault();
+  private final BeaconState stateA = chainBuilder.generateGenesis().getState();
+  private final BeaconState stateB = chainBuilder.generateBlockAtSlot(1).getState();
+  private final BeaconState stateC = chainBuilder.generateBlockAtSlot(2).getState();
+
+  @Test
+  public void put_shouldChargeOnlyNodesNotSharedWithBaseState() {
+    final StateCache<String> cache =
+        new StateCache<>(
+            10,
+            Long.MAX_VALUE,
+            (key, state) -> key.equals("b") ? Optional.of(stateA) : Optional.empty(),
+            (key, state) -> false);
+
+    cache.put("a", stateA);
+    cache.put("b", stateB);
+
+    assertThat(cache.getEstimatedSizeBytes())
+        .isEqualTo(
+            StateSizeEstimator.estimateUniqueSize(stateA, Optional.empty())
+                + StateSizeEstimator.estimateUniqueSize(stateB, Optional.of(stateA)));
+  }
+
+  @Test
+  public void put_shouldEvictLeastRecentlyAccessedStateWhenSizeLimitExceeded() {
+    final StateCache<String> cache = createCacheHoldingTwoStates((key, state) -> false);
+
+    cache.put("a", stateA);
+    cache.put("b", stateB);
+    assertThat(cache.get("a")).isEqualTo(stateA);
+    cache.put("c", stateC);
+
+    assertThat(cache).containsOnlyKeys("a", "c");
+    assertThat(cache.getEstimatedSizeBytes()).isEqualTo(fullSize(stateA) + fullSize(stateC));
+  }
+
+  @Test
+  public void put_shouldEvictStatesWhichAreNotPreferredFirst() {
+    final StateCache<String> cache = createCacheHoldingTwoStates((key, state) -> key.equals("a"));
+
+    cache.put("a", stateA);
+    cache.put("b", stateB);
+    cache.put("c", stateC);
+
+    assertThat(cache).containsOnlyKeys("a", "c");
+  }
+
+  @Test
+  public void put_shouldEvictPreferredStatesWhenNoOtherStatesRemain() {
+    final StateCache<String> cache = createCacheHoldingTwoStates((key, state) -> true);
+
+    cache.put("a", stateA);
+    cache.put("b", stateB);
+    cache.put("c", stateC);
+
+    assertThat(cache).containsOnlyKeys("b", "c");
+  }
+
+  @Test
+  public void put_shouldEvictWhenEntryLimitExceeded() {
+    final StateCache<String> cache =
+        new StateCache<>(
+            2, Long.MAX_VALUE, (key, state) -> Optional.empty(), (key, state) -> false);
+
+    cache.put("a", stateA);
+    cache.put("b", stateB);
+    cache.put("c", stateC);
+
+    assertThat(cache).containsOnlyKeys("b", "c");
+  }
+
+  @Test
+  public void put_shouldKeepNewStateLargerThanLimit() {
+    final StateCache<String> cache =
+        new StateCache<>(10, 1, (key, state) -> Optional.empty(), (key, state) -> false);
+
+    cache.put("a", stateA);
+    cache.put("b", stateB);
+
+    assertThat(cache).containsOnlyKeys("b");
+    assertThat(cache.getEstimatedSizeBytes()).isEqualTo(fullSize(stateB));
+  }
+
+  @Test
+  public void remove_shouldReleaseEstimatedSize() {
+    final StateCache<String> cache =
+        new StateCache<>(
+            10, Long.MAX_VALUE, (key, state) -> Optional.empty(), (key, state) -> false);
+
+    cache.put("a", stateA);
+    cache.put("b", stateB);
+    assertThat(cache.remove("a")).isEqualTo(stateA);
+
+    assertThat(cache).containsOnlyKeys("b");
+    assertThat(cache.getEstimatedSizeBytes()).isEqualTo(fullSize(stateB));
+  }
+
+  @Test
+  public void remove_shouldRechargeStatesUsingRemovedStateAsBase() {
+    final StateCache<String> cache = createCacheChargingAgainstParent(10);
+
+    cache.put("a", stateA);
+    cache.put("b", stateB);
+    cache.remove("a");
+
+    // State b now keeps alive the nodes it shared with state a
+    assertThat(cache.getEstimatedSizeBytes()).isEqualTo(fullSize(stateB));
+  }
+
+  @Test
+  public void put_shouldRechargeStatesUsingEvictedStateAsBase() {
+    final StateCache<String> cache = createCacheChargingAgainstParent(2);
+
+    cache.put("a", stateA);
+    cache.put("b", stateB);
+    cache.put("c", stateC);
+
+    assertThat(cache).containsOnlyKeys("b", "c");
+    assertThat(cache.getEstimatedSizeBytes())
+        .isEqualTo(
+            fullSize(stateB) + StateSizeEstimator.estimateUniqueSize(stateC, Optional.of(stateB)));
+  }
+
+  @Test
+  public void add_shouldReestimateSizeWhenBaseStateChangedAfterEstimating() {
+    final StateCache<String> cache = createCacheChargingAgainstParent(10);
+
+    final SizedState<String> sizedState = cache.estimateSize("b", stateB);
+    cache.put("a", stateA);
+    cache.add(sizedState);
+
+    assertThat(cache.getEstimatedSizeBytes())
+        .isEqualTo(
+            fullSize(stateA) + StateSizeEstimator.estimateUniqueSize(stateB, Optional.of(stateA)));
+  }
+
+  @Test
+  public void rebaseStaleStates_shouldRechargeStatesWhenBaseStateIsNoLongerAvailable() {
+    final Map<String, BeaconState> baseStates = new HashMap<>(Map.of("b", stateA));
+    final StateCache<String> cache =
+        new StateCache<>(
+            10,
+            Long.MAX_VALUE,
+            (key, state) -> Optional.ofNullable(baseStates.get(key)),
+            (key, state) -> false);
+
+    cache.put("b", stateB);
+    baseStates.clear();
+    cache.rebaseStaleStates();
+
+    assertThat(cache.getEstimatedSizeBytes()).isEqualTo(fullSize(stateB));
+  }
+
+  @Test
+  public void peek_shouldNotUpdateAccessOrder() {
+    final StateCache<String> cache = createCacheHoldingTwoStates((key, state) -> false);
+
+    cache.put("a", stateA);
+    cache.put("b", stateB);
+    assertThat(cache.peek("a")).contains(stateA);
+    cache.put("c", stateC);
+
+    assertThat(cache).containsOnlyKeys("b", "c");
+  }
+
+  private StateCache<String> createCacheHoldingTwoStates(
+      final BiPredicate<String, BeaconState> isPreferred) {
+    // No base states are provided so each state is charged its full size
+    final long maxSizeBytes = fullSize(stateA) + fullSize(stateB) + fullSize(stateC) - 1;
+    return new StateCache<>(10, maxSizeBytes, (key, state) -> Optional.empty(), isPreferred);
+  }
+
+  private StateCache<String> createCacheChargingAgainstParent(final int maxEntries) {
+    final Map<String, String> parentKeys = Map.of("b", "a", "c", "b");
+    final AtomicReference<StateCache<String>> cache = new AtomicReference<>();
+    cache.set(
+        new StateCache<>(
+            maxEntries,
+            Long.MAX_VALUE,
+            (key, state) ->
+                Optional.ofNullable(parentKeys.get(key))
+                    .flatMap(parent -> cache.get().peek(parent)),
+            (key, state) -> false));
+    return cache.get();
+  }
+
+  private long fullSize(final BeaconState state) {
+    return StateSizeEstimator.estimateUniqueSize(state, Optional.empty());
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.teku.infrastructure.async.SafeFutureAssert.assertThatSafeFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.metrics.StubMetricsSystem;
+import tech.pegasys.teku.metrics.TekuMetricCategory;
+import tech.pegasys.teku.storage.store.StateRegenerationExecutor.Priority;
+
+class StateRegenerationExecutorTest {
+  private static final SafeFuture<Void> COMPLETE = SafeFuture.COMPLETE;
+
+  private final List<String> startedTasks = new ArrayList<>();
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+
+  private final StateRegenerationExecutor executor =
+      new StateRegenerationExecutor(metricsSystem, Optional.empty(), 1, 1);
+
+  @Test
+  public void execute_shouldRunTaskImmediatelyWhenCapacityAvailable() {
+    final SafeFuture<String> result = executor.execute(Priority.API, () -> task("a", COMPLETE));
+
+    assertThat(startedTasks).containsExactly("a");
+    assertThat(result).isCompletedWithValue("a");
+    assertThat(executor.getQueueSize()).isZero();
+  }
+
+  @Test
+  public void execute_shouldRunQueuedForkChoiceTasksBeforeApiTasks() {
+    final SafeFuture<Void> firstTaskComplete = new SafeFuture<>();
+    final SafeFuture<String> first =
+        executor.execute(Priority.API, () -> task("first", firstTaskComplete));
+    final SafeFuture<String> api = executor.execute(Priority.API, () -> task("api", COMPLETE));
+    final SafeFuture<String> forkChoice =
+        executor.execute(Priority.FORK_CHOICE, () -> task("forkChoice", COMPLETE));
+
+    assertThat(startedTasks).containsExactly("first");
+    assertThat(executor.getQueueSize()).isEqualTo(2);
+
+    firstTaskComplete.complete(null);
+
+    assertThat(startedTasks).containsExactly("first", "forkChoice", "api");
+    assertThat(first).isCompletedWithValue("first");
+    assertThat(forkChoice).isCompletedWithValue("forkChoice");
+    assertThat(api).isCompletedWithValue("api");
+    assertThat(executor.getQueueSize()).isZero();
+  }
+
+  @Test
+  public void execute_shouldRejectApiTasksWhenQueueIsFull() {
+    final SafeFuture<Void> firstTaskComplete = new SafeFuture<>();
+    executor.execute(Priority.API, () -> task("first", firstTaskComplete));
+    executor.execute(Priority.API, () -> task("queued", COMPLETE));
+
+    final SafeFuture<String> rejected =
+        executor.execute(Priority.API, () -> task("rejected", COMPLETE));
+    final SafeFuture<String> forkChoice =
+        executor.execute(Priority.FORK_CHOICE, () -> task("forkChoice", COMPLETE));
+
+    assertThatSafeFuture(rejected).isCompletedExceptionallyWith(RejectedExecutionException.class);
+    assertThat(forkChoice).isNotDone();
+
+    firstTaskComplete.complete(null);
+    assertThat(forkChoice).isCompletedWithValue("forkChoice");
+    assertThat(startedTasks).containsExactly("first", "forkChoice", "queued");
+  }
+
+  @Test
+  public void execute_shouldContinueWithQueuedTasksWhenTaskFails() {
+    final SafeFuture<Void> firstTaskComplete = new SafeFuture<>();
+    final SafeFuture<String> first =
+        executor.execute(Priority.API, () -> task("first", firstTaskComplete));
+    final SafeFuture<String> second =
+        executor.execute(Priority.API, () -> task("second", COMPLETE));
+
+    firstTaskComplete.completeExceptionally(new IllegalStateException("Failed"));
+
+    assertThat(first).isCompletedExceptionally();
+    assertThat(second).isCompletedWithValue("second");
+  }
+
+  @Test
+  public void execute_shouldRunTasksOnAsyncRunner() {
+    final StateRegenerationExecutor asyncExecutor =
+        new StateRegenerationExecutor(metricsSystem, Optional.of(asyncRunner), 1, 1);
+    final SafeFuture<String> first =
+        asyncExecutor.execute(Priority.API, () -> task("first", COMPLETE));
+    final SafeFuture<String> second =
+        asyncExecutor.execute(Priority.FORK_CHOICE, () -> task("second", COMPLETE));
+
+    assertThat(startedTasks).isEmpty();
+    assertThat(asyncExecutor.getQueueSize()).isEqualTo(1);
+
+    asyncRunner.executeQueuedActions();
+    assertThat(startedTasks).containsExactly("first");
+    assertThat(first).isCompletedWithValue("first");
+    // The queued task is handed to the runner rather than run on the completing thread
+    assertThat(second).isNotDone();
+
+    asyncRunner.executeQueuedActions();
+    assertThat(startedTasks).containsExactly("first", "second");
+    assertThat(second).isCompletedWithValue("second");
+    assertThat(asyncExecutor.getQueueSize()).isZero();
+  }
+
+  @Test
+  public void execute_shouldRecordRegenerationDuration() {
+    executor.execute(Priority.FORK_CHOICE, () -> task("a", COMPLETE));
+
+    assertThat(
+            metricsSystem
+                .getTimer(TekuMetricCategory.STORAGE, "state_regeneration_duration")
+                .getTimingCount("fork_choice"))
+        .isEqualTo(1);
+  }
+
+  private SafeFuture<String> task(final String name, final SafeFuture<Void> completion) {
+    startedTasks.add(name);
+    return completion.thenApply(__ -> name);
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.core.ChainBuilder;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+
+class StateSizeEstimatorTest {
+  private final ChainBuilder chainBuilder = ChainBuilder.createDefault();
+  private final BeaconState genesisState = chainBuilder.generateGenesis().getState();
+
+  @Test
+  public void estimateUniqueSize_shouldBeZeroForSameState() {
+    assertThat(StateSizeEstimator.estimateUniqueSize(genesisState, Optional.of(genesisState)))
+        .isZero();
+  }
+
+  @Test
+  public void estimateUniqueSize_shouldOnlyCountNodesNotSharedWithBase() {
+    final BeaconState state = chainBuilder.generateBlockAtSlot(1).getState();
+
+    final long fullSize = StateSizeEstimator.estimateUniqueSize(state, Optional.empty());
+    final long uniqueSize = StateSizeEstimator.estimateUniqueSize(state, Optional.of(genesisState));
+
+    assertThat(uniqueSize).isPositive();
+    assertThat(uniqueSize).isLessThan(fullSize);
+  }
+
+  @Test
+  public void estimateUniqueSize_shouldCountAllNodesWithoutBase() {
+    final long fullSize = StateSizeEstimator.estimateUniqueSize(genesisState, Optional.empty());
+
+    assertThat(fullSize)
+        .isGreaterThan(
+            StateSizeEstimator.BRANCH_NODE_SIZE_BYTES + StateSizeEstimator.LEAF_NODE_SIZE_BYTES);
+  }
+}
@@ -18,12 +18,20 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
 
 import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.core.lookup.BlockProvider;
+import tech.pegasys.teku.core.lookup.StateProvider;
 import tech.pegasys.teku.datastructures.blocks.BeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
@@ -94,6 +102,122 @@ class StoreTest extends AbstractStoreTest {
         });
   }
 
+  @Test
+  public void retrieveBlockState_shouldShareRegenerationBetweenConcurrentRequests() {
+    final SafeFuture<Void> blocksAvailable = new SafeFuture<>();
+    final AtomicInteger blockRequests = new AtomicInteger(0);
+    final BlockProvider chainBuilderBlockProvider = blockProviderFromChainBuilder();
+    final BlockProvider delayedBlockProvider =
+        roots -> {
+          blockRequests.incrementAndGet();
+          return blocksAvailable.thenCompose(__ -> chainBuilderBlockProvider.getBlocks(roots));
+        };
+    final Store store =
+        createGenesisStore(StorePruningOptions.create(2, 2, 2), delayedBlockProvider);
+    final List<SignedBlockAndState> blocks = chainBuilder.generateBlocksUpToSlot(10);
+    addBlocks(store, blocks);
+
+    final SignedBlockAndState target = blocks.get(3);
+    final SafeFuture<Optional<BeaconState>> result1 = store.retrieveBlockState(target.getRoot());
+    final int requestsForFirstRegeneration = blockRequests.get();
+    final SafeFuture<Optional<BeaconState>> result2 = store.retrieveBlockState(target.getRoot());
+
+    assertThat(result1).isNotDone();
+    assertThat(result2).isNotDone();
+    assertThat(blockRequests.get()).isEqualTo(requestsForFirstRegeneration);
+
+    blocksAvailable.complete(null);
+    assertThat(result1).isCompletedWithValue(Optional.of(target.getState()));
+    assertThat(result2).isCompletedWithValue(Optional.of(target.getState()));
+  }
+
+  @Test
+  public void retrieveBlockState_shouldNotShareLowerPriorityRegenerationWithForkChoice() {
+    final SafeFuture<Void> blocksAvailable = new SafeFuture<>();
+    final AtomicInteger blockRequests = new AtomicInteger(0);
+    final BlockProvider chainBuilderBlockProvider = blockProviderFromChainBuilder();
+    final BlockProvider delayedBlockProvider =
+        roots -> {
+          blockRequests.incrementAndGet();
+          return blocksAvailable.thenCompose(__ -> chainBuilderBlockProvider.getBlocks(roots));
+        };
+    final Store store =
+        createGenesisStore(StorePruningOptions.create(2, 2, 2), delayedBlockProvider);
+    final List<SignedBlockAndState> blocks = chainBuilder.generateBlocksUpToSlot(10);
+    addBlocks(store, blocks);
+
+    final SignedBlockAndState target = blocks.get(3);
+    final SafeFuture<Optional<BeaconState>> apiResult = store.retrieveBlockState(target.getRoot());
+    final int requestsForApiRegeneration = blockRequests.get();
+    final StoreTransaction tx = store.startTransaction(new StubStorageUpdateChannel());
+    final SafeFuture<Optional<BeaconState>> forkChoiceResult =
+        tx.retrieveBlockState(target.getRoot());
+    final SafeFuture<Optional<BeaconState>> secondApiResult =
+        store.retrieveBlockState(target.getRoot());
+
+    // Fork choice starts its own regeneration which later API requests share
+    assertThat(blockRequests.get()).isEqualTo(2 * requestsForApiRegeneration);
+
+    blocksAvailable.complete(null);
+    assertThat(apiResult).isCompletedWithValue(Optional.of(target.getState()));
+    assertThat(forkChoiceResult).isCompletedWithValue(Optional.of(target.getState()));
+    assertThat(secondApiResult).isCompletedWithValue(Optional.of(target.getState()));
+  }
+
+  @Test
+  public void retrieveBlockState_shouldRegenerateFromClosestPersistedState() {
+    final SignedBlockAndState genesis = chainBuilder.generateGenesis();
+    final Checkpoint genesisCheckpoint = chainBuilder.getCurrentCheckpointForEpoch(0);
+    final List<SignedBlockAndState> blocks = chainBuilder.generateBlocksUpToSlot(10);
+    final SignedBlockAndState persisted = blocks.get(5);
+    final SignedBlockAndState target = blocks.get(8);
+
+    final Set<Bytes32> requestedBlocks = new HashSet<>();
+    final List<Bytes32> requestedStates = new ArrayList<>();
+    final BlockProvider chainBuilderBlockProvider = blockProviderFromChainBuilder();
+    final BlockProvider blockProvider =
+        roots -> {
+          requestedBlocks.addAll(roots);
+          return chainBuilderBlockProvider.getBlocks(roots);
+        };
+    final StateProvider stateProvider =
+        root -> {
+          requestedStates.add(root);
+          return SafeFuture.completedFuture(
+              chainBuilder.getBlockAndState(root).map(SignedBlockAndState::getState));
+        };
+    final Map<Bytes32, Bytes32> childToParentRoot = new HashMap<>();
+    childToParentRoot.put(genesis.getRoot(), genesis.getParentRoot());
+    blocks.forEach(block -> childToParentRoot.put(block.getRoot(), block.getParentRoot()));
+
+    final Store store =
+        new Store(
+            new StubMetricsSystem(),
+            Optional.empty(),
+            blockProvider,
+            stateProvider,
+            genesis.getState().getGenesis_time(),
+            genesis.getState().getGenesis_time(),
+            genesisCheckpoint,
+            genesisCheckpoint,
+            genesisCheckpoint,
+            childToParentRoot,
+            genesis,
+            Set.of(persisted.getRoot()),
+            Collections.emptyMap(),
+            StorePruningOptions.createDefault());
+
+    assertThat(store.retrieveBlockState(target.getRoot()))
+        .isCompletedWithValue(Optional.of(target.getState()));
+    assertThat(requestedStates).containsExactly(persisted.getRoot());
+    // Blocks prior to the persisted state should not be needed for regeneration
+    final List<Bytes32> blocksBeforePersistedState =
+        blocks.subList(0, 5).stream()
+            .map(SignedBlockAndState::getRoot)
+            .collect(Collectors.toList());
+    assertThat(requestedBlocks).doesNotContainAnyElementsOf(blocksBeforePersistedState);
+  }
+
   @Test
   public void getCheckpointState_withLimitedCache() {
     processCheckpointsWithLimitedCache(
@@ -16,6 +16,7 @@ package tech.pegasys.teku.storage.client;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.eventbus.EventBus;
+import java.util.Optional;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.core.lookup.BlockProvider;
@@ -40,6 +41,7 @@ public class MemoryOnlyRecentChainData extends RecentChainData {
       final ReorgEventChannel reorgEventChannel) {
     super(
         metricsSystem,
+        Optional.empty(),
         BlockProvider.NOOP,
         storageUpdateChannel,
         protoArrayStorageChannel,
@@ -36,6 +36,11 @@ public class InMemoryRocksDbDatabaseFactory {
         new StubMetricsSystem(), hotDb, coldDb, storageMode, stateStorageFrequency);
   }
 
+  public static Database createV6(
+      MockRocksDbInstance hotDb, MockRocksDbInstance coldDb, final StateStorageMode storageMode) {
+    return RocksDbDatabase.createV6(new StubMetricsSystem(), hotDb, coldDb, storageMode);
+  }
+
   public static MockRocksDbInstance createEmptyV3RocksDbInstance() {
     return MockRocksDbInstance.createEmpty(V3Schema.class);
   }
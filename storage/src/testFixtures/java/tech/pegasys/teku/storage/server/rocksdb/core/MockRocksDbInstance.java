@@ -93,6 +93,14 @@ public class MockRocksDbInstance implements RocksDbAccessor {
     return columnValue(column, valueBytes);
   }
 
+  @Override
+  public <K, V> Optional<Bytes> getRaw(final RocksDbColumn<K, V> column, final K key) {
+    assertOpen();
+    assertValidColumn(column);
+    final Bytes keyBytes = keyToBytes(column, key);
+    return Optional.ofNullable(columnData.get(column).get(keyBytes));
+  }
+
   @Override
   public <K, V> Map<K, V> getAll(final RocksDbColumn<K, V> column) {
     assertOpen();
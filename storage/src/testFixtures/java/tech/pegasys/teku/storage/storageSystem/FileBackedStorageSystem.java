@@ -15,6 +15,7 @@ package tech.pegasys.teku.storage.storageSystem;
 
 import com.google.common.eventbus.EventBus;
 import java.nio.file.Path;
+import tech.pegasys.teku.infrastructure.async.DelayedExecutorAsyncRunner;
 import tech.pegasys.teku.metrics.StubMetricsSystem;
 import tech.pegasys.teku.pow.api.TrackingEth1EventsChannel;
 import tech.pegasys.teku.protoarray.StubProtoArrayStorageChannel;
@@ -61,6 +62,22 @@ public class FileBackedStorageSystem extends AbstractStorageSystem {
     this.restartedSupplier = restartedSupplier;
   }
 
+  public static StorageSystem createV6StorageSystem(
+      final Path dataDir, final StateStorageMode storageMode) {
+    return createV6StorageSystem(dataDir.resolve("hot"), dataDir.resolve("archive"), storageMode);
+  }
+
+  public static StorageSystem createV6StorageSystem(
+      final Path hotDir, final Path archiveDir, final StateStorageMode storageMode) {
+    final Database database =
+        RocksDbDatabase.createV6(
+            new StubMetricsSystem(),
+            RocksDbConfiguration.v5HotDefaults().withDatabaseDir(hotDir),
+            RocksDbConfiguration.v5ArchiveDefaults().withDatabaseDir(archiveDir),
+            storageMode);
+    return create(database, (mode) -> createV6StorageSystem(hotDir, archiveDir, mode), storageMode);
+  }
+
   public static StorageSystem createV5StorageSystem(
       final Path dataDir, final StateStorageMode storageMode, final long stateStorageFrequency) {
     return createV5StorageSystem(
@@ -125,7 +142,8 @@ public class FileBackedStorageSystem extends AbstractStorageSystem {
     final EventBus eventBus = new EventBus();
 
     // Create and start storage server
-    final ChainStorage chainStorageServer = ChainStorage.create(eventBus, database);
+    final ChainStorage chainStorageServer =
+        ChainStorage.create(eventBus, database, DelayedExecutorAsyncRunner.create());
     chainStorageServer.start();
 
     // Create recent chain data
@@ -14,6 +14,7 @@
 package tech.pegasys.teku.storage.storageSystem;
 
 import com.google.common.eventbus.EventBus;
+import tech.pegasys.teku.infrastructure.async.DelayedExecutorAsyncRunner;
 import tech.pegasys.teku.metrics.StubMetricsSystem;
 import tech.pegasys.teku.pow.api.TrackingEth1EventsChannel;
 import tech.pegasys.teku.protoarray.StubProtoArrayStorageChannel;
@@ -80,6 +81,12 @@ public class InMemoryStorageSystem extends AbstractStorageSystem {
     return createEmptyV4StorageSystem(storageMode, stateStorageFrequency);
   }
 
+  public static StorageSystem createEmptyV6StorageSystem(final StateStorageMode storageMode) {
+    final MockRocksDbInstance hotDb = MockRocksDbInstance.createEmpty(V4SchemaHot.class);
+    final MockRocksDbInstance coldDb = MockRocksDbInstance.createEmpty(V4SchemaFinalized.class);
+    return createV6(hotDb, coldDb, storageMode);
+  }
+
   public static StorageSystem createEmptyV4StorageSystem(
       final StateStorageMode storageMode, final long stateStorageFrequency) {
 
@@ -106,6 +113,16 @@ public class InMemoryStorageSystem extends AbstractStorageSystem {
     return create(database, restartedStorageSupplier, storageMode);
   }
 
+  private static StorageSystem createV6(
+      final MockRocksDbInstance hotDb,
+      final MockRocksDbInstance coldDb,
+      final StateStorageMode storageMode) {
+    final Database database = InMemoryRocksDbDatabaseFactory.createV6(hotDb, coldDb, storageMode);
+    final RestartedStorageSupplier restartedStorageSupplier =
+        (mode) -> createV6(hotDb.reopen(), coldDb.reopen(), mode);
+    return create(database, restartedStorageSupplier, storageMode);
+  }
+
   private static StorageSystem createV3(
       final MockRocksDbInstance rocksDbInstance, final StateStorageMode storageMode) {
     final Database database = InMemoryRocksDbDatabaseFactory.createV3(rocksDbInstance, storageMode);
@@ -122,7 +139,8 @@ public class InMemoryStorageSystem extends AbstractStorageSystem {
     final EventBus eventBus = new EventBus();
 
     // Create and start storage server
-    final ChainStorage chainStorageServer = ChainStorage.create(eventBus, database);
+    final ChainStorage chainStorageServer =
+        ChainStorage.create(eventBus, database, DelayedExecutorAsyncRunner.create());
     chainStorageServer.start();
 
     // Create recent chain data
@@ -37,6 +37,11 @@ public class StorageSystemArgumentsProvider implements ArgumentsProvider {
       storageSystems.put(
           "v3 (file-backed)",
           (dataPath) -> FileBackedStorageSystem.createV3StorageSystem(dataPath, mode));
+      storageSystems.put(
+          "v6 (in-memory)", (dataPath) -> InMemoryStorageSystem.createEmptyV6StorageSystem(mode));
+      storageSystems.put(
+          "v6 (file-backed)",
+          (dataPath) -> FileBackedStorageSystem.createV6StorageSystem(dataPath, mode));
       for (Long storageFrequency : stateStorageFrequencyOptions) {
         storageSystems.put(
             describeStorage("v4 (in-memory)", storageFrequency),
@@ -29,12 +29,17 @@ public class StoreAssertions {
             "lock",
             "readLock",
             "blockProvider",
+            "stateProvider",
+            "regenerationExecutor",
+            "pendingRegenerations",
+            "persistedStateRoots",
             "block_states",
             "checkpoint_states",
             "blocks",
             "stateRequestCachedCounter",
             "stateRequestRegenerateCounter",
             "stateRequestMissCounter",
+            "stateRequestDeduplicatedCounter",
             "checkpointStateRequestCachedCounter",
             "checkpointStateRequestRegenerateCounter",
             "checkpointStateRequestMissCounter",
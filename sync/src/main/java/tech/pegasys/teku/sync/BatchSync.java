@@ -0,0 +1,400 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.sync;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Ordering;
+import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import tech.pegasys.teku.core.results.BlockImportResult.FailureReason;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.metrics.TekuMetricCategory;
+import tech.pegasys.teku.networking.eth2.peers.Eth2Peer;
+import tech.pegasys.teku.networking.eth2.peers.PeerStatus;
+import tech.pegasys.teku.networking.p2p.peer.DisconnectReason;
+
+/**
+ * Downloads a range of blocks as a pipeline of batches. Up to {@code maxConcurrentBatches} batches
+ * are in flight at once, spread across every connected peer which can serve them, while batches
+ * which have finished downloading are imported strictly in slot order.
+ *
+ * <p>Other peers are only used if they agree with the target on the finalized checkpoint, and for
+ * batches after the finalized epoch only if they also have the same head, so every batch comes from
+ * the target's chain.
+ *
+ * <p>Batches which fail to download, or which contain blocks failing the state transition, are
+ * requested again from a different peer. Any other import failure, or invalid blocks from the sync
+ * target itself, fail the whole sync so the caller can pick a new target.
+ */
+public class BatchSync {
+  static final int DEFAULT_MAX_CONCURRENT_BATCHES = 5;
+  static final int MAX_BATCH_ATTEMPTS = 3;
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final UnsignedLong STEP = UnsignedLong.ONE;
+
+  private final AtomicBoolean stopped = new AtomicBoolean(false);
+  private final Supplier<Stream<Eth2Peer>> peerSource;
+  private final int maxConcurrentBatches;
+  private final UnsignedLong batchSize;
+  private final Counter downloadedBlocksCounter;
+  private final Counter retriedBatchesCounter;
+  private final AtomicInteger downloadingBatches = new AtomicInteger();
+  private final AtomicInteger batchesAwaitingImport = new AtomicInteger();
+
+  public BatchSync(
+      final MetricsSystem metricsSystem,
+      final Supplier<Stream<Eth2Peer>> peerSource,
+      final int maxConcurrentBatches,
+      final UnsignedLong batchSize) {
+    checkArgument(maxConcurrentBatches > 0, "Must allow at least one concurrent batch");
+    checkArgument(batchSize.compareTo(UnsignedLong.ZERO) > 0, "Batch size must be at least 1");
+    this.peerSource = peerSource;
+    this.maxConcurrentBatches = maxConcurrentBatches;
+    this.batchSize = batchSize;
+    downloadedBlocksCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "sync_blocks_downloaded_total",
+            "Number of blocks downloaded by range sync");
+    retriedBatchesCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "sync_batch_retries_total",
+            "Number of range sync batches requested again after a failure");
+    metricsSystem.createIntegerGauge(
+        TekuMetricCategory.BEACON,
+        "sync_batches_downloading",
+        "Current number of range sync batches being downloaded",
+        downloadingBatches::get);
+    metricsSystem.createIntegerGauge(
+        TekuMetricCategory.BEACON,
+        "sync_batches_awaiting_import",
+        "Current number of downloaded range sync batches waiting to be imported",
+        batchesAwaitingImport::get);
+  }
+
+  /**
+   * Downloads and imports all blocks from {@code startSlot} up to the head slot advertised by
+   * {@code targetPeer}.
+   *
+   * @param targetPeer the peer being synced to
+   * @param targetStatus the status of the target peer when the sync began
+   * @param startSlot the first slot to request
+   * @param blockImporter imports each batch of blocks, in slot order
+   * @return a future which completes when all blocks have been imported
+   */
+  public SafeFuture<Void> sync(
+      final Eth2Peer targetPeer,
+      final PeerStatus targetStatus,
+      final UnsignedLong startSlot,
+      final Function<List<SignedBeaconBlock>, SafeFuture<?>> blockImporter) {
+    final SyncTask task = new SyncTask(targetPeer, targetStatus, startSlot, blockImporter);
+    task.fillPipeline();
+    return task.result;
+  }
+
+  public void stop() {
+    stopped.set(true);
+  }
+
+  private class SyncTask {
+    private final Eth2Peer targetPeer;
+    private final PeerStatus targetStatus;
+    private final UnsignedLong finalizedSlot;
+    private final Function<List<SignedBeaconBlock>, SafeFuture<?>> blockImporter;
+    private final SafeFuture<Void> result = new SafeFuture<>();
+    private final NavigableMap<UnsignedLong, Batch> batchesByStartSlot = new TreeMap<>();
+    private final Map<Eth2Peer, Integer> activeRequestsByPeer = new HashMap<>();
+    private UnsignedLong nextBatchStartSlot;
+    private boolean importing = false;
+
+    private SyncTask(
+        final Eth2Peer targetPeer,
+        final PeerStatus targetStatus,
+        final UnsignedLong startSlot,
+        final Function<List<SignedBeaconBlock>, SafeFuture<?>> blockImporter) {
+      this.targetPeer = targetPeer;
+      this.targetStatus = targetStatus;
+      this.finalizedSlot = compute_start_slot_at_epoch(targetStatus.getFinalizedEpoch());
+      this.nextBatchStartSlot = startSlot;
+      this.blockImporter = blockImporter;
+    }
+
+    private synchronized void fillPipeline() {
+      if (result.isDone()) {
+        return;
+      }
+      if (stopped.get()) {
+        fail(new CancellationException("Peer sync was cancelled"));
+        return;
+      }
+      final UnsignedLong targetSlot = targetStatus.getHeadSlot();
+      while (batchesByStartSlot.size() < maxConcurrentBatches
+          && nextBatchStartSlot.compareTo(targetSlot) <= 0) {
+        final UnsignedLong remainingSlots =
+            targetSlot.minus(nextBatchStartSlot).plus(UnsignedLong.ONE);
+        final Batch batch =
+            new Batch(nextBatchStartSlot, Ordering.natural().min(batchSize, remainingSlots));
+        batchesByStartSlot.put(batch.startSlot, batch);
+        nextBatchStartSlot = nextBatchStartSlot.plus(batch.count);
+        requestBatch(batch);
+      }
+      if (batchesByStartSlot.isEmpty() && nextBatchStartSlot.compareTo(targetSlot) > 0) {
+        result.complete(null);
+      }
+    }
+
+    private void requestBatch(final Batch batch) {
+      final Optional<Eth2Peer> maybePeer = selectPeer(batch);
+      if (maybePeer.isEmpty()) {
+        fail(
+            batch.lastError.orElseGet(
+                () ->
+                    new IllegalStateException(
+                        "No peers available to request blocks from slot " + batch.startSlot)));
+        return;
+      }
+      final Eth2Peer peer = maybePeer.get();
+      batch.startDownload(peer);
+      activeRequestsByPeer.merge(peer, 1, Integer::sum);
+      downloadingBatches.incrementAndGet();
+      LOG.debug(
+          "Request {} blocks starting at {} from peer {}", batch.count, batch.startSlot, peer);
+      peer.requestBlocksByRange(batch.startSlot, batch.count, STEP, batch::onBlock)
+          .finish(
+              () -> onBatchDownloaded(batch, peer), error -> onDownloadFailed(batch, peer, error));
+    }
+
+    /** Selects the peer with the fewest active requests which is able to serve the batch. */
+    private Optional<Eth2Peer> selectPeer(final Batch batch) {
+      return Stream.concat(Stream.of(targetPeer), peerSource.get())
+          .distinct()
+          .filter(peer -> !batch.failedPeers.contains(peer))
+          .filter(peer -> peer.equals(targetPeer) || isOnTargetChain(peer.getStatus(), batch))
+          .min(Comparator.comparing(peer -> activeRequestsByPeer.getOrDefault(peer, 0)));
+    }
+
+    private boolean isOnTargetChain(final PeerStatus status, final Batch batch) {
+      if (!status.getFinalizedCheckpoint().equals(targetStatus.getFinalizedCheckpoint())) {
+        return false;
+      }
+      // Blocks up to the finalized epoch are the same for every peer with that finalized checkpoint
+      return batch.getLastSlot().compareTo(finalizedSlot) <= 0
+          || status.getHeadRoot().equals(targetStatus.getHeadRoot());
+    }
+
+    private void onBatchDownloaded(final Batch batch, final Eth2Peer peer) {
+      synchronized (this) {
+        releaseRequest(peer);
+        if (result.isDone()) {
+          return;
+        }
+        downloadedBlocksCounter.inc(batch.blocks.size());
+        final Optional<UnsignedLong> lastBlockSlot = batch.getLastBlockSlot();
+        if (lastBlockSlot.isPresent() && lastBlockSlot.get().compareTo(batch.getLastSlot()) < 0) {
+          // The peer either limited the number of blocks it returned or the remaining slots are
+          // empty. Request the remaining slots separately so this batch can be imported now.
+          final Batch remainder = batch.splitAfter(lastBlockSlot.get());
+          batchesByStartSlot.put(remainder.startSlot, remainder);
+          requestBatch(remainder);
+        }
+        batch.downloaded = true;
+        batchesAwaitingImport.incrementAndGet();
+      }
+      importNextBatch();
+    }
+
+    private synchronized void onDownloadFailed(
+        final Batch batch, final Eth2Peer peer, final Throwable error) {
+      releaseRequest(peer);
+      if (result.isDone()) {
+        return;
+      }
+      LOG.debug(
+          "Failed to download blocks from slot {} from peer {}", batch.startSlot, peer, error);
+      retryBatch(batch, error);
+    }
+
+    private void releaseRequest(final Eth2Peer peer) {
+      downloadingBatches.decrementAndGet();
+      activeRequestsByPeer.computeIfPresent(peer, (__, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void retryBatch(final Batch batch, final Throwable error) {
+      batch.failedPeers.add(batch.peer);
+      batch.lastError = Optional.of(error);
+      if (batch.attempts >= MAX_BATCH_ATTEMPTS) {
+        fail(error);
+        return;
+      }
+      retriedBatchesCounter.inc();
+      requestBatch(batch);
+    }
+
+    /**
+     * Starts importing the first batch if it has been downloaded. Must not be called while holding
+     * the lock so that block imports never block download callbacks.
+     */
+    private void importNextBatch() {
+      final Batch batch;
+      synchronized (this) {
+        if (importing || result.isDone()) {
+          return;
+        }
+        final Map.Entry<UnsignedLong, Batch> nextEntry = batchesByStartSlot.firstEntry();
+        if (nextEntry == null || !nextEntry.getValue().downloaded) {
+          return;
+        }
+        batch = nextEntry.getValue();
+        importing = true;
+        batchesAwaitingImport.decrementAndGet();
+      }
+      importBatch(batch)
+          .finish(() -> onBatchImported(batch), error -> onImportFailed(batch, error));
+    }
+
+    private SafeFuture<?> importBatch(final Batch batch) {
+      if (batch.blocks.isEmpty()) {
+        return SafeFuture.COMPLETE;
+      }
+      try {
+        return blockImporter.apply(batch.blocks);
+      } catch (final RuntimeException e) {
+        return SafeFuture.failedFuture(e);
+      }
+    }
+
+    private void onBatchImported(final Batch batch) {
+      synchronized (this) {
+        importing = false;
+        batchesByStartSlot.remove(batch.startSlot);
+        fillPipeline();
+      }
+      importNextBatch();
+    }
+
+    private synchronized void onImportFailed(final Batch batch, final Throwable error) {
+      importing = false;
+      if (result.isDone()) {
+        return;
+      }
+      final Throwable rootCause = Throwables.getRootCause(error);
+      if (!(rootCause instanceof FailedBlockImportException)
+          || batch.peer.equals(targetPeer)
+          || !isFailedStateTransition((FailedBlockImportException) rootCause)) {
+        fail(error);
+        return;
+      }
+      LOG.debug(
+          "Disconnecting from peer {} who sent invalid block {}",
+          batch.peer,
+          ((FailedBlockImportException) rootCause).getBlock());
+      batch.peer.disconnectCleanly(DisconnectReason.REMOTE_FAULT);
+      batch.downloaded = false;
+      retryBatch(batch, error);
+    }
+
+    /**
+     * Only a failed state transition proves the peer sent an invalid block. An unknown parent may
+     * be caused by an earlier batch rather than the peer which sent this one.
+     */
+    private boolean isFailedStateTransition(final FailedBlockImportException exception) {
+      return exception.getResult().getFailureReason() == FailureReason.FAILED_STATE_TRANSITION;
+    }
+
+    private void fail(final Throwable error) {
+      batchesAwaitingImport.addAndGet(
+          (int) -batchesByStartSlot.values().stream().filter(batch -> batch.downloaded).count());
+      batchesByStartSlot.clear();
+      result.completeExceptionally(error);
+    }
+  }
+
+  private static class Batch {
+    private final UnsignedLong startSlot;
+    private final Set<Eth2Peer> failedPeers = new HashSet<>();
+    private UnsignedLong count;
+    private List<SignedBeaconBlock> blocks = new ArrayList<>();
+    private Eth2Peer peer;
+    private int attempts = 0;
+    private boolean downloaded = false;
+    private Optional<Throwable> lastError = Optional.empty();
+
+    private Batch(final UnsignedLong startSlot, final UnsignedLong count) {
+      this.startSlot = startSlot;
+      this.count = count;
+    }
+
+    private UnsignedLong getLastSlot() {
+      return startSlot.plus(count).minus(UnsignedLong.ONE);
+    }
+
+    private Optional<UnsignedLong> getLastBlockSlot() {
+      return blocks.isEmpty()
+          ? Optional.empty()
+          : Optional.of(blocks.get(blocks.size() - 1).getSlot());
+    }
+
+    private void startDownload(final Eth2Peer peer) {
+      this.peer = peer;
+      attempts++;
+      blocks = new ArrayList<>();
+    }
+
+    private synchronized SafeFuture<?> onBlock(final SignedBeaconBlock block) {
+      final UnsignedLong slot = block.getSlot();
+      if (slot.compareTo(startSlot) < 0
+          || slot.compareTo(getLastSlot()) > 0
+          || getLastBlockSlot().map(lastSlot -> slot.compareTo(lastSlot) <= 0).orElse(false)) {
+        return SafeFuture.failedFuture(
+            new IllegalStateException(
+                "Peer returned block at slot " + slot + " which was not in the requested order"));
+      }
+      blocks.add(block);
+      return SafeFuture.COMPLETE;
+    }
+
+    /** Shrinks this batch to end at {@code lastSlot} and returns a batch for the slots after it. */
+    private Batch splitAfter(final UnsignedLong lastSlot) {
+      final Batch remainder =
+          new Batch(lastSlot.plus(UnsignedLong.ONE), getLastSlot().minus(lastSlot));
+      count = lastSlot.minus(startSlot).plus(UnsignedLong.ONE);
+      return remainder;
+    }
+  }
+}
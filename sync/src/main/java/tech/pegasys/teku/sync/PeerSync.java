@@ -19,6 +19,8 @@ import static tech.pegasys.teku.util.config.Constants.MAX_BLOCK_BY_RANGE_REQUEST
 import com.google.common.base.Throwables;
 import com.google.common.primitives.UnsignedLong;
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -27,6 +29,7 @@ import org.apache.logging.log4j.Logger;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import tech.pegasys.teku.core.results.BlockImportResult;
 import tech.pegasys.teku.core.results.BlockImportResult.FailureReason;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
@@ -58,6 +61,7 @@ public class PeerSync {
   private final BlockImporter blockImporter;
 
   private final AsyncRunner asyncRunner;
+  private final Optional<BatchSync> batchSync;
   private final Counter blockImportSuccessResult;
   private final Counter blockImportFailureResult;
 
@@ -68,9 +72,32 @@ public class PeerSync {
       final RecentChainData storageClient,
       final BlockImporter blockImporter,
       final MetricsSystem metricsSystem) {
+    this(asyncRunner, storageClient, blockImporter, metricsSystem, Optional.empty());
+  }
+
+  /**
+   * Creates a peer sync which downloads blocks from multiple peers concurrently via {@code
+   * batchSync} instead of making requests to the sync target one at a time.
+   */
+  public PeerSync(
+      final AsyncRunner asyncRunner,
+      final RecentChainData storageClient,
+      final BlockImporter blockImporter,
+      final MetricsSystem metricsSystem,
+      final BatchSync batchSync) {
+    this(asyncRunner, storageClient, blockImporter, metricsSystem, Optional.of(batchSync));
+  }
+
+  private PeerSync(
+      final AsyncRunner asyncRunner,
+      final RecentChainData storageClient,
+      final BlockImporter blockImporter,
+      final MetricsSystem metricsSystem,
+      final Optional<BatchSync> batchSync) {
     this.asyncRunner = asyncRunner;
     this.storageClient = storageClient;
     this.blockImporter = blockImporter;
+    this.batchSync = batchSync;
     final LabelledMetric<Counter> blockImportCounter =
         metricsSystem.createLabelledCounter(
             TekuMetricCategory.BEACON,
@@ -90,7 +117,10 @@ public class PeerSync {
 
     this.startingSlot = firstNonFinalSlot;
 
-    return executeSync(peer, peer.getStatus(), firstNonFinalSlot, SafeFuture.COMPLETE)
+    return batchSync
+        .map(sync -> executeBatchSync(sync, peer, firstNonFinalSlot))
+        .orElseGet(
+            () -> executeSync(peer, peer.getStatus(), firstNonFinalSlot, SafeFuture.COMPLETE))
         .whenComplete(
             (res, err) -> {
               if (err != null) {
@@ -103,6 +133,16 @@ public class PeerSync {
 
   public void stop() {
     stopped.set(true);
+    batchSync.ifPresent(BatchSync::stop);
+  }
+
+  private SafeFuture<PeerSyncResult> executeBatchSync(
+      final BatchSync batchSync, final Eth2Peer peer, final UnsignedLong startSlot) {
+    final PeerStatus status = peer.getStatus();
+    return batchSync
+        .sync(peer, status, startSlot, this::importBatch)
+        .thenCompose(__ -> completeSyncWithPeer(peer, status))
+        .exceptionally(err -> handleFailedRequestToPeer(peer, err));
   }
 
   @SuppressWarnings("FutureReturnValueIgnored")
@@ -227,6 +267,25 @@ public class PeerSync {
             });
   }
 
+  private SafeFuture<?> importBatch(final List<SignedBeaconBlock> blocks) {
+    if (stopped.get()) {
+      throw new CancellationException("Peer sync was cancelled");
+    }
+    return blockImporter
+        .importBlocks(blocks)
+        .thenAccept(
+            (results) -> {
+              for (int i = 0; i < results.size(); i++) {
+                final BlockImportResult result = results.get(i);
+                if (!result.isSuccessful()) {
+                  this.blockImportFailureResult.inc();
+                  throw new FailedBlockImportException(blocks.get(i), result);
+                }
+                this.blockImportSuccessResult.inc();
+              }
+            });
+  }
+
   private void disconnectFromPeer(Eth2Peer peer) {
     peer.disconnectCleanly(DisconnectReason.REMOTE_FAULT);
   }
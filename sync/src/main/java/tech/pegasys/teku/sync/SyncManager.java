@@ -14,6 +14,7 @@
 package tech.pegasys.teku.sync;
 
 import static tech.pegasys.teku.infrastructure.async.SafeFuture.completedFuture;
+import static tech.pegasys.teku.util.config.Constants.MAX_BLOCK_BY_RANGE_REQUEST_SIZE;
 import static tech.pegasys.teku.util.config.Constants.SLOTS_PER_EPOCH;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -82,11 +83,17 @@ public class SyncManager extends Service {
       final RecentChainData storageClient,
       final BlockImporter blockImporter,
       final MetricsSystem metricsSystem) {
+    final BatchSync batchSync =
+        new BatchSync(
+            metricsSystem,
+            network::streamPeers,
+            BatchSync.DEFAULT_MAX_CONCURRENT_BATCHES,
+            MAX_BLOCK_BY_RANGE_REQUEST_SIZE);
     return new SyncManager(
         asyncRunner,
         network,
         storageClient,
-        new PeerSync(asyncRunner, storageClient, blockImporter, metricsSystem));
+        new PeerSync(asyncRunner, storageClient, blockImporter, metricsSystem, batchSync));
   }
 
   @Override
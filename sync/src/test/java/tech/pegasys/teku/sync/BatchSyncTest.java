@@ -0,0 +1,307 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.sync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.primitives.UnsignedLong;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.core.results.BlockImportResult;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.datastructures.networking.libp2p.rpc.StatusMessage;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.networking.eth2.peers.Eth2Peer;
+import tech.pegasys.teku.networking.eth2.peers.PeerStatus;
+import tech.pegasys.teku.networking.eth2.rpc.core.ResponseStreamListener;
+import tech.pegasys.teku.networking.p2p.peer.DisconnectReason;
+import tech.pegasys.teku.util.config.Constants;
+
+public class BatchSyncTest {
+  private static final UnsignedLong BATCH_SIZE = UnsignedLong.valueOf(10);
+  private static final UnsignedLong START_SLOT = UnsignedLong.ONE;
+  private static final Bytes32 HEAD_ROOT = Bytes32.fromHexString("0x1234");
+  private static final PeerStatus PEER_STATUS =
+      createStatus(Bytes32.ZERO, UnsignedLong.ONE, HEAD_ROOT);
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final Eth2Peer targetPeer = mock(Eth2Peer.class);
+  private final Eth2Peer otherPeer = mock(Eth2Peer.class);
+  private final List<BlockRequest> requests = new ArrayList<>();
+  private final List<SignedBeaconBlock> importedBlocks = new ArrayList<>();
+  private Function<List<SignedBeaconBlock>, SafeFuture<?>> blockImporter =
+      blocks -> {
+        importedBlocks.addAll(blocks);
+        return SafeFuture.COMPLETE;
+      };
+
+  private final BatchSync batchSync =
+      new BatchSync(new NoOpMetricsSystem(), () -> Stream.of(otherPeer), 5, BATCH_SIZE);
+
+  @BeforeEach
+  public void setUp() {
+    setupPeer(targetPeer);
+    setupPeer(otherPeer);
+  }
+
+  @Test
+  public void shouldSpreadBatchesAcrossPeers() {
+    final SafeFuture<Void> result = sync();
+
+    assertThat(result).isNotDone();
+    assertThat(requests).hasSize(3);
+    assertRequest(requests.get(0), targetPeer, 1, 10);
+    assertRequest(requests.get(1), otherPeer, 11, 10);
+    assertRequest(requests.get(2), targetPeer, 21, 9);
+  }
+
+  @Test
+  public void shouldImportBatchesInOrder() {
+    final SafeFuture<Void> result = sync();
+    final SignedBeaconBlock block10 = dataStructureUtil.randomSignedBeaconBlock(10);
+    final SignedBeaconBlock block20 = dataStructureUtil.randomSignedBeaconBlock(20);
+    final SignedBeaconBlock block29 = dataStructureUtil.randomSignedBeaconBlock(29);
+
+    requests.get(1).respond(block20);
+    requests.get(2).respond(block29);
+    assertThat(importedBlocks).isEmpty();
+
+    requests.get(0).respond(block10);
+    assertThat(importedBlocks).containsExactly(block10, block20, block29);
+    assertThat(result).isCompleted();
+  }
+
+  @Test
+  public void shouldRequestFailedBatchFromAnotherPeer() {
+    final SafeFuture<Void> result = sync();
+
+    requests.get(0).future.completeExceptionally(new RuntimeException("Nope"));
+
+    assertThat(requests).hasSize(4);
+    assertRequest(requests.get(3), otherPeer, 1, 10);
+    assertThat(result).isNotDone();
+  }
+
+  @Test
+  public void shouldFailWhenNoPeersCanProvideBatch() {
+    final SafeFuture<Void> result = sync();
+
+    requests.get(0).future.completeExceptionally(new RuntimeException("Nope"));
+    requests.get(3).future.completeExceptionally(new RuntimeException("Nope"));
+
+    assertThat(result).isCompletedExceptionally();
+  }
+
+  @Test
+  public void shouldRequestBatchFromAnotherPeerWhenNonTargetPeerSendsInvalidBlock() {
+    final SignedBeaconBlock invalidBlock = dataStructureUtil.randomSignedBeaconBlock(20);
+    blockImporter =
+        blocks -> {
+          if (blocks.contains(invalidBlock)) {
+            throw new FailedBlockImportException(
+                invalidBlock,
+                BlockImportResult.failedStateTransition(new IllegalStateException("Invalid")));
+          }
+          importedBlocks.addAll(blocks);
+          return SafeFuture.COMPLETE;
+        };
+    final SafeFuture<Void> result = sync();
+
+    requests.get(0).respond();
+    requests.get(1).respond(invalidBlock);
+
+    verify(otherPeer).disconnectCleanly(DisconnectReason.REMOTE_FAULT);
+    assertThat(requests).hasSize(4);
+    assertRequest(requests.get(3), targetPeer, 11, 10);
+    assertThat(result).isNotDone();
+  }
+
+  @Test
+  public void shouldFailWithoutDisconnectingWhenNonTargetPeerBatchHasUnknownParent() {
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(20);
+    blockImporter =
+        blocks -> {
+          if (blocks.contains(block)) {
+            throw new FailedBlockImportException(block, BlockImportResult.FAILED_UNKNOWN_PARENT);
+          }
+          importedBlocks.addAll(blocks);
+          return SafeFuture.COMPLETE;
+        };
+    final SafeFuture<Void> result = sync();
+
+    requests.get(0).respond();
+    requests.get(1).respond(block);
+
+    assertThat(result).isCompletedExceptionally();
+    verify(otherPeer, never()).disconnectCleanly(any());
+  }
+
+  @Test
+  public void shouldNotRequestBatchesFromPeersWithDifferentFinalizedCheckpoint() {
+    when(otherPeer.getStatus())
+        .thenReturn(createStatus(Bytes32.fromHexString("0x5678"), UnsignedLong.ONE, HEAD_ROOT));
+
+    sync();
+
+    assertThat(requests).hasSize(3);
+    assertThat(requests).allSatisfy(request -> assertThat(request.peer).isSameAs(targetPeer));
+  }
+
+  @Test
+  public void shouldOnlyRequestFinalizedBatchesFromPeersWithDifferentHead() {
+    // The finalized epoch starts at slot 24 so only the last batch is after it
+    final PeerStatus targetStatus = createStatus(Bytes32.ZERO, UnsignedLong.valueOf(3), HEAD_ROOT);
+    when(targetPeer.getStatus()).thenReturn(targetStatus);
+    when(otherPeer.getStatus())
+        .thenReturn(
+            createStatus(Bytes32.ZERO, UnsignedLong.valueOf(3), Bytes32.fromHexString("0x5678")));
+
+    batchSync.sync(targetPeer, targetStatus, START_SLOT, blocks -> blockImporter.apply(blocks));
+
+    assertThat(requests).hasSize(3);
+    assertRequest(requests.get(0), targetPeer, 1, 10);
+    assertRequest(requests.get(1), otherPeer, 11, 10);
+    assertRequest(requests.get(2), targetPeer, 21, 9);
+  }
+
+  @Test
+  public void shouldFailWhenTargetPeerSendsInvalidBlock() {
+    final SignedBeaconBlock invalidBlock = dataStructureUtil.randomSignedBeaconBlock(10);
+    blockImporter =
+        blocks -> {
+          throw new FailedBlockImportException(
+              blocks.get(0), BlockImportResult.FAILED_UNKNOWN_PARENT);
+        };
+    final SafeFuture<Void> result = sync();
+
+    requests.get(0).respond(invalidBlock);
+
+    assertThat(result).isCompletedExceptionally();
+    verify(targetPeer, never()).disconnectCleanly(any());
+  }
+
+  @Test
+  public void shouldRequestRemainingSlotsWhenPeerReturnsPartialBatch() {
+    final SignedBeaconBlock block5 = dataStructureUtil.randomSignedBeaconBlock(5);
+    final SafeFuture<Void> result = sync();
+
+    requests.get(0).respond(block5);
+
+    assertThat(importedBlocks).containsExactly(block5);
+    assertThat(requests).hasSize(4);
+    assertRequest(requests.get(3), targetPeer, 6, 5);
+    assertThat(result).isNotDone();
+  }
+
+  @Test
+  public void shouldRejectBlocksOutsideOfRequestedRange() {
+    final SafeFuture<Void> result = sync();
+
+    final SafeFuture<?> response =
+        requests.get(0).listener.onResponse(dataStructureUtil.randomSignedBeaconBlock(11));
+
+    assertThat(response).isCompletedExceptionally();
+    assertThat(result).isNotDone();
+  }
+
+  @Test
+  public void shouldFailWhenStopped() {
+    final SafeFuture<Void> result = sync();
+    batchSync.stop();
+
+    requests.get(0).respond();
+
+    assertThat(result).isCompletedExceptionally();
+  }
+
+  private SafeFuture<Void> sync() {
+    return batchSync.sync(
+        targetPeer, PEER_STATUS, START_SLOT, blocks -> blockImporter.apply(blocks));
+  }
+
+  private static PeerStatus createStatus(
+      final Bytes32 finalizedRoot, final UnsignedLong finalizedEpoch, final Bytes32 headRoot) {
+    return PeerStatus.fromStatusMessage(
+        new StatusMessage(
+            Constants.GENESIS_FORK_VERSION,
+            finalizedRoot,
+            finalizedEpoch,
+            headRoot,
+            UnsignedLong.valueOf(29)));
+  }
+
+  private void setupPeer(final Eth2Peer peer) {
+    when(peer.getStatus()).thenReturn(PEER_STATUS);
+    when(peer.requestBlocksByRange(any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final BlockRequest request =
+                  new BlockRequest(
+                      peer,
+                      invocation.getArgument(0),
+                      invocation.getArgument(1),
+                      invocation.getArgument(3));
+              requests.add(request);
+              return request.future;
+            });
+  }
+
+  private void assertRequest(
+      final BlockRequest request,
+      final Eth2Peer expectedPeer,
+      final long expectedStartSlot,
+      final long expectedCount) {
+    assertThat(request.peer).isSameAs(expectedPeer);
+    assertThat(request.startSlot).isEqualTo(UnsignedLong.valueOf(expectedStartSlot));
+    assertThat(request.count).isEqualTo(UnsignedLong.valueOf(expectedCount));
+  }
+
+  private static class BlockRequest {
+    private final Eth2Peer peer;
+    private final UnsignedLong startSlot;
+    private final UnsignedLong count;
+    private final ResponseStreamListener<SignedBeaconBlock> listener;
+    private final SafeFuture<Void> future = new SafeFuture<>();
+
+    private BlockRequest(
+        final Eth2Peer peer,
+        final UnsignedLong startSlot,
+        final UnsignedLong count,
+        final ResponseStreamListener<SignedBeaconBlock> listener) {
+      this.peer = peer;
+      this.startSlot = startSlot;
+      this.count = count;
+      this.listener = listener;
+    }
+
+    private void respond(final SignedBeaconBlock... blocks) {
+      for (SignedBeaconBlock block : blocks) {
+        assertThat(listener.onResponse(block)).isCompleted();
+      }
+      future.complete(null);
+    }
+  }
+}
@@ -20,11 +20,14 @@ import com.google.common.eventbus.EventBus;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.vertx.core.Vertx;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.data.recorder.SSZTransitionRecorder;
 import tech.pegasys.teku.events.EventChannels;
+import tech.pegasys.teku.events.EventQueueConfig;
+import tech.pegasys.teku.events.EventQueueConfig.OverflowPolicy;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.MetricTrackingExecutorFactory;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
@@ -38,6 +41,7 @@ import tech.pegasys.teku.util.cli.VersionProvider;
 import tech.pegasys.teku.util.config.Constants;
 import tech.pegasys.teku.util.config.TekuConfiguration;
 import tech.pegasys.teku.util.time.SystemTimeProvider;
+import tech.pegasys.teku.util.time.channels.TimeTickChannel;
 
 public class BeaconNode {
 
@@ -67,7 +71,15 @@ public class BeaconNode {
     final MetricsSystem metricsSystem = metricsEndpoint.getMetricsSystem();
     final TekuDefaultExceptionHandler subscriberExceptionHandler =
         new TekuDefaultExceptionHandler();
-    this.eventChannels = new EventChannels(subscriberExceptionHandler, metricsSystem);
+    this.eventChannels =
+        new EventChannels(
+            subscriberExceptionHandler,
+            metricsSystem,
+            // Ticks carry no data so a subscriber which has fallen behind only needs the latest one
+            Map.of(
+                TimeTickChannel.class,
+                new EventQueueConfig(
+                    EventQueueConfig.DEFAULT.getCapacity(), OverflowPolicy.COALESCE, 1)));
     final EventBus eventBus = new AsyncEventBus(threadPool, subscriberExceptionHandler);
 
     asyncRunnerFactory = new AsyncRunnerFactory(new MetricTrackingExecutorFactory(metricsSystem));
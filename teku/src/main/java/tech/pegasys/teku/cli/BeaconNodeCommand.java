@@ -329,6 +329,14 @@ public class BeaconNodeCommand implements Callable<Integer> {
             validatorOptions.getValidatorExternalSignerPublicKeys())
         .setValidatorExternalSignerUrl(validatorOptions.getValidatorExternalSignerUrl())
         .setValidatorExternalSignerTimeout(validatorOptions.getValidatorExternalSignerTimeout())
+        .setValidatorExternalSignerConcurrentRequestLimit(
+            validatorOptions.getValidatorExternalSignerConcurrentRequestLimit())
+        .setValidatorExternalSignerMaxRetries(
+            validatorOptions.getValidatorExternalSignerMaxRetries())
+        .setValidatorExternalSignerBulkSigningEnabled(
+            validatorOptions.isValidatorExternalSignerBulkSigningEnabled())
+        .setValidatorSlashingProtectionJournalEnabled(
+            validatorOptions.isValidatorSlashingProtectionJournalEnabled())
         .setGraffiti(validatorOptions.getGraffiti())
         .setEth1DepositContractAddress(depositOptions.getEth1DepositContractAddress())
         .setEth1Endpoint(depositOptions.getEth1Endpoint())
@@ -66,6 +66,39 @@ public class ValidatorOptions {
       arity = "1")
   private int validatorExternalSignerTimeout = 1000;
 
+  @Option(
+      names = {"--validators-external-signer-concurrent-request-limit"},
+      paramLabel = "<INTEGER>",
+      description = "Maximum number of concurrent requests to the external signing service",
+      arity = "1")
+  private int validatorExternalSignerConcurrentRequestLimit = 32;
+
+  @Option(
+      names = {"--validators-external-signer-max-retries"},
+      paramLabel = "<INTEGER>",
+      description =
+          "Number of times a request to the external signing service is retried after a connection failure",
+      arity = "1")
+  private int validatorExternalSignerMaxRetries = 1;
+
+  @Option(
+      names = {"--validators-external-signer-bulk-signing-enabled"},
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Send queued signing requests to the external signing service in a single request",
+      fallbackValue = "true",
+      arity = "0..1")
+  private boolean validatorExternalSignerBulkSigningEnabled = false;
+
+  @Option(
+      names = {"--validators-slashing-protection-journal-enabled"},
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Store slashing protection records in a journal flushed to disk once per batch of updates",
+      fallbackValue = "true",
+      arity = "0..1")
+  private boolean validatorSlashingProtectionJournalEnabled = false;
+
   @Option(
       names = {"--validators-graffiti"},
       converter = GraffitiConverter.class,
@@ -99,6 +132,22 @@ public class ValidatorOptions {
     return validatorExternalSignerTimeout;
   }
 
+  public int getValidatorExternalSignerConcurrentRequestLimit() {
+    return validatorExternalSignerConcurrentRequestLimit;
+  }
+
+  public int getValidatorExternalSignerMaxRetries() {
+    return validatorExternalSignerMaxRetries;
+  }
+
+  public boolean isValidatorExternalSignerBulkSigningEnabled() {
+    return validatorExternalSignerBulkSigningEnabled;
+  }
+
+  public boolean isValidatorSlashingProtectionJournalEnabled() {
+    return validatorSlashingProtectionJournalEnabled;
+  }
+
   public Bytes32 getGraffiti() {
     return graffiti;
   }
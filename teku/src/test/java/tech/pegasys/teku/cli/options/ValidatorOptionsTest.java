@@ -44,9 +44,25 @@ public class ValidatorOptionsTest extends AbstractBeaconNodeCommandTest {
     assertThat(config.getValidatorExternalSignerPublicKeys()).containsExactly(publicKey);
     assertThat(config.getValidatorExternalSignerUrl()).isEqualTo(new URL("https://signer.url/"));
     assertThat(config.getValidatorExternalSignerTimeout()).isEqualTo(1234);
+    assertThat(config.getValidatorExternalSignerConcurrentRequestLimit()).isEqualTo(8);
+    assertThat(config.getValidatorExternalSignerMaxRetries()).isEqualTo(3);
+    assertThat(config.isValidatorExternalSignerBulkSigningEnabled()).isTrue();
+    assertThat(config.isValidatorSlashingProtectionJournalEnabled()).isTrue();
     assertThat(config.getGraffiti()).isEqualTo(graffiti);
   }
 
+  @Test
+  public void slashingProtectionJournal_shouldBeDisabledByDefault() {
+    ValidatorOptions options = new ValidatorOptions();
+    assertThat(options.isValidatorSlashingProtectionJournalEnabled()).isFalse();
+  }
+
+  @Test
+  public void externalSignerBulkSigning_shouldBeDisabledByDefault() {
+    ValidatorOptions options = new ValidatorOptions();
+    assertThat(options.isValidatorExternalSignerBulkSigningEnabled()).isFalse();
+  }
+
   @Test
   public void graffiti_shouldBeEmptyByDefault() {
     ValidatorOptions options = new ValidatorOptions();
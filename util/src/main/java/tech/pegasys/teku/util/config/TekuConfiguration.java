@@ -69,6 +69,10 @@ public class TekuConfiguration implements MetricsConfig {
   private final List<String> validatorExternalSignerPublicKeys;
   private final String validatorExternalSignerUrl;
   private final int validatorExternalSignerTimeout;
+  private final int validatorExternalSignerConcurrentRequestLimit;
+  private final int validatorExternalSignerMaxRetries;
+  private final boolean validatorExternalSignerBulkSigningEnabled;
+  private final boolean validatorSlashingProtectionJournalEnabled;
   private final Bytes32 graffiti;
 
   // Deposit
@@ -151,6 +155,10 @@ public class TekuConfiguration implements MetricsConfig {
       final List<String> validatorExternalSignerPublicKeys,
       final String validatorExternalSignerUrl,
       final int validatorExternalSignerTimeout,
+      final int validatorExternalSignerConcurrentRequestLimit,
+      final int validatorExternalSignerMaxRetries,
+      final boolean validatorExternalSignerBulkSigningEnabled,
+      final boolean validatorSlashingProtectionJournalEnabled,
       final Eth1Address eth1DepositContractAddress,
       final String eth1Endpoint,
       final boolean eth1DepositsFromStorageEnabled,
@@ -213,6 +221,11 @@ public class TekuConfiguration implements MetricsConfig {
     this.validatorExternalSignerPublicKeys = validatorExternalSignerPublicKeys;
     this.validatorExternalSignerUrl = validatorExternalSignerUrl;
     this.validatorExternalSignerTimeout = validatorExternalSignerTimeout;
+    this.validatorExternalSignerConcurrentRequestLimit =
+        validatorExternalSignerConcurrentRequestLimit;
+    this.validatorExternalSignerMaxRetries = validatorExternalSignerMaxRetries;
+    this.validatorExternalSignerBulkSigningEnabled = validatorExternalSignerBulkSigningEnabled;
+    this.validatorSlashingProtectionJournalEnabled = validatorSlashingProtectionJournalEnabled;
     this.eth1DepositContractAddress = eth1DepositContractAddress;
     this.eth1Endpoint = eth1Endpoint;
     this.eth1DepositsFromStorageEnabled = eth1DepositsFromStorageEnabled;
@@ -385,6 +398,22 @@ public class TekuConfiguration implements MetricsConfig {
     return validatorExternalSignerTimeout;
   }
 
+  public int getValidatorExternalSignerConcurrentRequestLimit() {
+    return validatorExternalSignerConcurrentRequestLimit;
+  }
+
+  public int getValidatorExternalSignerMaxRetries() {
+    return validatorExternalSignerMaxRetries;
+  }
+
+  public boolean isValidatorExternalSignerBulkSigningEnabled() {
+    return validatorExternalSignerBulkSigningEnabled;
+  }
+
+  public boolean isValidatorSlashingProtectionJournalEnabled() {
+    return validatorSlashingProtectionJournalEnabled;
+  }
+
   public boolean isEth1Enabled() {
     return !StringUtils.isEmpty(eth1Endpoint);
   }
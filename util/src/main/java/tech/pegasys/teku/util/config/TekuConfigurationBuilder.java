@@ -51,6 +51,10 @@ public class TekuConfigurationBuilder {
   private List<String> validatorExternalSignerPublicKeys;
   private String validatorExternalSignerUrl;
   private int validatorExternalSignerTimeout;
+  private int validatorExternalSignerConcurrentRequestLimit;
+  private int validatorExternalSignerMaxRetries;
+  private boolean validatorExternalSignerBulkSigningEnabled;
+  private boolean validatorSlashingProtectionJournalEnabled;
   private Eth1Address eth1DepositContractAddress;
   private String eth1Endpoint;
   private boolean eth1DepositsFromStorageEnabled;
@@ -240,6 +244,31 @@ public class TekuConfigurationBuilder {
     return this;
   }
 
+  public TekuConfigurationBuilder setValidatorExternalSignerConcurrentRequestLimit(
+      final int validatorExternalSignerConcurrentRequestLimit) {
+    this.validatorExternalSignerConcurrentRequestLimit =
+        validatorExternalSignerConcurrentRequestLimit;
+    return this;
+  }
+
+  public TekuConfigurationBuilder setValidatorExternalSignerMaxRetries(
+      final int validatorExternalSignerMaxRetries) {
+    this.validatorExternalSignerMaxRetries = validatorExternalSignerMaxRetries;
+    return this;
+  }
+
+  public TekuConfigurationBuilder setValidatorExternalSignerBulkSigningEnabled(
+      final boolean validatorExternalSignerBulkSigningEnabled) {
+    this.validatorExternalSignerBulkSigningEnabled = validatorExternalSignerBulkSigningEnabled;
+    return this;
+  }
+
+  public TekuConfigurationBuilder setValidatorSlashingProtectionJournalEnabled(
+      final boolean validatorSlashingProtectionJournalEnabled) {
+    this.validatorSlashingProtectionJournalEnabled = validatorSlashingProtectionJournalEnabled;
+    return this;
+  }
+
   public TekuConfigurationBuilder setEth1DepositContractAddress(
       final Eth1Address eth1DepositContractAddress) {
     this.eth1DepositContractAddress = eth1DepositContractAddress;
@@ -468,6 +497,10 @@ public class TekuConfigurationBuilder {
         validatorExternalSignerPublicKeys,
         validatorExternalSignerUrl,
         validatorExternalSignerTimeout,
+        validatorExternalSignerConcurrentRequestLimit,
+        validatorExternalSignerMaxRetries,
+        validatorExternalSignerBulkSigningEnabled,
+        validatorSlashingProtectionJournalEnabled,
         eth1DepositContractAddress,
         eth1Endpoint,
         eth1DepositsFromStorageEnabled,
@@ -13,7 +13,6 @@
 
 package tech.pegasys.teku.util.hashtree;
 
-import static java.lang.Long.max;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -25,7 +24,6 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
-import org.apache.tuweni.crypto.Hash;
 import org.apache.tuweni.ssz.SSZ;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
@@ -33,6 +31,7 @@ import tech.pegasys.teku.ssz.SSZTypes.Bitvector;
 import tech.pegasys.teku.ssz.SSZTypes.SSZImmutableCollection;
 import tech.pegasys.teku.ssz.SSZTypes.SSZList;
 import tech.pegasys.teku.ssz.SSZTypes.SSZVector;
+import tech.pegasys.teku.ssz.backing.tree.MerkleHasher;
 
 /** This class is a collection of tree hash root convenience methods */
 public final class HashTreeUtil {
@@ -68,8 +67,7 @@ public final class HashTreeUtil {
         .forEach(
             i ->
                 zerohashes.add(
-                    Hash.sha2_256(
-                        Bytes.concatenate(zerohashes.get(i - 1), zerohashes.get(i - 1)))));
+                    MerkleHasher.hashPair(zerohashes.get(i - 1), zerohashes.get(i - 1))));
     return zerohashes;
   }
 
@@ -184,10 +182,9 @@ public final class HashTreeUtil {
         inlineTreeIndex--) {
       mutableSSZChunks.set(
           inlineTreeIndex,
-          Hash.sha2_256(
-              Bytes.concatenate(
-                  mutableSSZChunks.get(inlineTreeIndex * 2),
-                  mutableSSZChunks.get(inlineTreeIndex * 2 + 1))));
+          MerkleHasher.hashPair(
+              mutableSSZChunks.get(inlineTreeIndex * 2),
+              mutableSSZChunks.get(inlineTreeIndex * 2 + 1)));
     }
 
     // Return the root element, which is at index 1. The math is easier this way.
@@ -198,39 +195,14 @@ public final class HashTreeUtil {
     int count = chunks.size();
     if (limit == 0) return zerohashes.get(0);
 
-    int depth = Long.SIZE - Long.numberOfLeadingZeros(max(count - 1, 0));
     int max_depth = Long.SIZE - Long.numberOfLeadingZeros(limit - 1);
-    List<Bytes32> tmp = new ArrayList<>();
-    IntStream.range(0, max_depth + 1).boxed().forEach(i -> tmp.add(null));
-
-    IntStream.range(0, count).forEach(i -> merge(chunks.get(i), i, tmp, count, depth));
-
-    if ((1 << depth) != count) {
-      merge(zerohashes.get(0), count, tmp, count, depth);
-    }
-
-    IntStream.range(depth, max_depth)
-        .forEach(
-            j -> tmp.set(j + 1, Hash.sha2_256(Bytes.concatenate(tmp.get(j), zerohashes.get(j)))));
-
-    return tmp.get(max_depth);
-  }
-
-  static void merge(Bytes32 h, int i, List<Bytes32> tmp, long count, int depth) {
-    int j = 0;
-    while (true) {
-      if ((i & (1 << j)) == 0) {
-        if (i == count && j < depth) {
-          h = Hash.sha2_256(Bytes.concatenate(h, zerohashes.get(j)));
-        } else {
-          break;
-        }
-      } else {
-        h = Hash.sha2_256(Bytes.concatenate(tmp.get(j), h));
-      }
-      j += 1;
+    // Pack the chunks with room for a padding chunk so the hasher can work on the array in place
+    final byte[] packedChunks = new byte[(count + 1) * BYTES_PER_CHUNK];
+    for (int i = 0; i < count; i++) {
+      System.arraycopy(
+          chunks.get(i).toArrayUnsafe(), 0, packedChunks, i * BYTES_PER_CHUNK, BYTES_PER_CHUNK);
     }
-    tmp.set(j, h);
+    return MerkleHasher.merkleize(packedChunks, count, max_depth);
   }
 
   public static Bytes32 merkleize(List<Bytes32> sszChunks) {
@@ -453,9 +425,8 @@ public final class HashTreeUtil {
 
   private static Bytes32 mix_in_length(Bytes32 merkle_root, int length) {
     // Append the little-endian length mixin to the given merkle root, and return its hash.
-    return Hash.sha2_256(
-        Bytes.concatenate(
-            merkle_root, Bytes.ofUnsignedLong(length, LITTLE_ENDIAN), Bytes.wrap(new byte[24])));
+    return MerkleHasher.hashPair(
+        merkle_root, Bytes32.rightPad(Bytes.ofUnsignedLong(length, LITTLE_ENDIAN)));
   }
 
   @VisibleForTesting
@@ -18,7 +18,6 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static tech.pegasys.teku.util.hashtree.HashTreeUtil.is_power_of_two;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import org.apache.tuweni.bytes.Bytes;
@@ -86,23 +85,4 @@ class HashTreeUtilTest {
         Bytes.fromHexString("0x89E40BFF069E391CA393901DA3287BBE35DC429265927ABE3C3F06BEC8E0B9CD");
     assertEquals(expected, HashTreeUtil.merkleize(input));
   }
-
-  @Test
-  void testMerge() {
-    List<Bytes32> result = new ArrayList<Bytes32>(2);
-    result.add(null);
-    result.add(null);
-    HashTreeUtil.merge(
-        Bytes32.fromHexString("0xA99A76ED7796F7BE22D5B7E85DEEB7C5677E88E511E0B337618F8C4EB61349B4"),
-        0,
-        result,
-        2,
-        1);
-    assertEquals(
-        Arrays.asList(
-            Bytes.fromHexString(
-                "0xA99A76ED7796F7BE22D5B7E85DEEB7C5677E88E511E0B337618F8C4EB61349B4"),
-            null),
-        result);
-  }
 }
@@ -23,8 +23,10 @@ import static org.mockserver.model.JsonBody.json;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Duration;
+import java.util.List;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,8 +40,11 @@ import tech.pegasys.teku.bls.BLSKeyPair;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSecretKey;
 import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.validator.client.signer.BulkSigningRequestBody;
 import tech.pegasys.teku.validator.client.signer.ExternalMessageSignerService;
 import tech.pegasys.teku.validator.client.signer.ExternalSignerException;
+import tech.pegasys.teku.validator.client.signer.ExternalSignerHttpClient;
 import tech.pegasys.teku.validator.client.signer.SigningRequestBody;
 
 @ExtendWith(MockServerExtension.class)
@@ -66,7 +71,7 @@ public class ExternalMessageSignerServiceIntegrationTest {
     expectedSignature = BLS.sign(keyPair.getSecretKey(), SIGNING_ROOT);
 
     externalMessageSignerService =
-        new ExternalMessageSignerService(signingServiceUri, keyPair.getPublicKey(), TIMEOUT);
+        new ExternalMessageSignerService(createHttpClient(32, false), keyPair.getPublicKey());
   }
 
   @AfterEach
@@ -78,9 +83,8 @@ public class ExternalMessageSignerServiceIntegrationTest {
   void failsSigningWhenSigningServiceReturnsFailureResponse() {
     final ExternalMessageSignerService externalMessageSignerService =
         new ExternalMessageSignerService(
-            signingServiceUri,
-            BLSPublicKey.fromSSZBytes(Bytes.fromHexString(UNKNOWN_PUBLIC_KEY)),
-            TIMEOUT);
+            createHttpClient(32, false),
+            BLSPublicKey.fromSSZBytes(Bytes.fromHexString(UNKNOWN_PUBLIC_KEY)));
 
     assertThatThrownBy(() -> externalMessageSignerService.signBlock(SIGNING_ROOT).join())
         .hasCauseInstanceOf(ExternalSignerException.class)
@@ -170,6 +174,94 @@ public class ExternalMessageSignerServiceIntegrationTest {
     verifySignRequest(publicKey, signingRequestBody);
   }
 
+  @Test
+  void queuesRequestsBeyondConcurrentRequestLimit() {
+    final Delay delay = new Delay(MILLISECONDS, 100);
+    client
+        .when(request())
+        .respond(response().withBody(expectedSignature.toString()).withDelay(delay));
+    final ExternalSignerHttpClient httpClient = createHttpClient(1, false);
+    final ExternalMessageSignerService signerService =
+        new ExternalMessageSignerService(httpClient, keyPair.getPublicKey());
+
+    final SafeFuture<BLSSignature> first = signerService.signAttestation(SIGNING_ROOT);
+    final SafeFuture<BLSSignature> second = signerService.signAttestation(SIGNING_ROOT);
+    assertThat(httpClient.getQueueSize()).isEqualTo(1);
+
+    assertThat(first.join()).isEqualTo(expectedSignature);
+    assertThat(second.join()).isEqualTo(expectedSignature);
+    assertThat(httpClient.getQueueSize()).isZero();
+  }
+
+  @Test
+  void sendsQueuedRequestsInBulkWhenBulkSigningEnabled() {
+    final Bytes otherSigningRoot = Bytes.fromHexString("0x43");
+    final BLSSignature otherSignature = BLS.sign(keyPair.getSecretKey(), otherSigningRoot);
+    final Delay delay = new Delay(MILLISECONDS, 100);
+    final String bulkResponse =
+        "[\"" + expectedSignature.toString() + "\",\"" + otherSignature.toString() + "\"]";
+    client.when(request().withPath("/signer/sign/bulk")).respond(response().withBody(bulkResponse));
+    client
+        .when(request())
+        .respond(response().withBody(expectedSignature.toString()).withDelay(delay));
+    final ExternalMessageSignerService signerService =
+        new ExternalMessageSignerService(createHttpClient(1, true), keyPair.getPublicKey());
+
+    final SafeFuture<BLSSignature> first = signerService.signAttestation(SIGNING_ROOT);
+    final SafeFuture<BLSSignature> second = signerService.signAttestation(SIGNING_ROOT);
+    final SafeFuture<BLSSignature> third = signerService.signAttestation(otherSigningRoot);
+
+    assertThat(first.join()).isEqualTo(expectedSignature);
+    assertThat(second.join()).isEqualTo(expectedSignature);
+    assertThat(third.join()).isEqualTo(otherSignature);
+
+    final String publicKey = keyPair.getPublicKey().toString();
+    verifySignRequest(publicKey, new SigningRequestBody(SIGNING_ROOT.toHexString()));
+    client.verify(
+        request()
+            .withMethod("POST")
+            .withContentType(MediaType.APPLICATION_JSON)
+            .withBody(
+                json(
+                    List.of(
+                        new BulkSigningRequestBody(publicKey, SIGNING_ROOT.toHexString()),
+                        new BulkSigningRequestBody(publicKey, otherSigningRoot.toHexString()))))
+            .withPath("/signer/sign/bulk"));
+  }
+
+  @Test
+  void failsAllRequestsInBulkWhenBulkSigningFails() {
+    final Delay delay = new Delay(MILLISECONDS, 100);
+    client.when(request().withPath("/signer/sign/bulk")).respond(response().withStatusCode(404));
+    client
+        .when(request())
+        .respond(response().withBody(expectedSignature.toString()).withDelay(delay));
+    final ExternalMessageSignerService signerService =
+        new ExternalMessageSignerService(createHttpClient(1, true), keyPair.getPublicKey());
+
+    final SafeFuture<BLSSignature> first = signerService.signAttestation(SIGNING_ROOT);
+    final SafeFuture<BLSSignature> second = signerService.signAttestation(SIGNING_ROOT);
+    final SafeFuture<BLSSignature> third = signerService.signAttestation(SIGNING_ROOT);
+
+    assertThat(first.join()).isEqualTo(expectedSignature);
+    assertThatThrownBy(second::join)
+        .hasCauseInstanceOf(ExternalSignerException.class)
+        .hasMessageEndingWith(
+            "External signer failed to sign and returned invalid response status code: 404");
+    assertThatThrownBy(third::join).hasCauseInstanceOf(ExternalSignerException.class);
+  }
+
+  private ExternalSignerHttpClient createHttpClient(
+      final int concurrentRequestLimit, final boolean bulkSigningEnabled) {
+    return new ExternalSignerHttpClient(
+        new NoOpMetricsSystem(),
+        signingServiceUri,
+        TIMEOUT,
+        concurrentRequestLimit,
+        0,
+        bulkSigningEnabled);
+  }
+
   private void verifySignRequest(
       final String publicKey, final SigningRequestBody signingRequestBody) {
     client.verify(
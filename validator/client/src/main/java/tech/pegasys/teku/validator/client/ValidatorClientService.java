@@ -18,6 +18,9 @@ import java.util.Map;
 import java.util.Random;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.core.signatures.FileSigningRecordStore;
+import tech.pegasys.teku.core.signatures.JournalSigningRecordStore;
+import tech.pegasys.teku.core.signatures.SigningRecordStore;
 import tech.pegasys.teku.core.signatures.SlashingProtector;
 import tech.pegasys.teku.core.signatures.SyncDataAccessor;
 import tech.pegasys.teku.events.EventChannels;
@@ -36,22 +39,24 @@ import tech.pegasys.teku.validator.client.metrics.MetricRecordingValidatorApiCha
 public class ValidatorClientService extends Service {
   private final EventChannels eventChannels;
   private final ValidatorTimingChannel validatorTimingChannel;
+  private final SigningRecordStore signingRecordStore;
 
   private ValidatorClientService(
-      final EventChannels eventChannels, final ValidatorTimingChannel validatorTimingChannel) {
+      final EventChannels eventChannels,
+      final ValidatorTimingChannel validatorTimingChannel,
+      final SigningRecordStore signingRecordStore) {
     this.eventChannels = eventChannels;
     this.validatorTimingChannel = validatorTimingChannel;
+    this.signingRecordStore = signingRecordStore;
   }
 
   public static ValidatorClientService create(final ServiceConfig config) {
     final EventChannels eventChannels = config.getEventChannels();
     final MetricsSystem metricsSystem = config.getMetricsSystem();
     final AsyncRunner asyncRunner = config.createAsyncRunner("validator");
-    final SlashingProtector slashingProtector =
-        new SlashingProtector(
-            new SyncDataAccessor(),
-            Path.of(config.getConfig().getDataPath(), "validators", "slashprotection"));
-    final ValidatorLoader validatorLoader = new ValidatorLoader(slashingProtector);
+    final SigningRecordStore signingRecordStore = createSigningRecordStore(config);
+    final SlashingProtector slashingProtector = new SlashingProtector(signingRecordStore);
+    final ValidatorLoader validatorLoader = new ValidatorLoader(slashingProtector, metricsSystem);
     final Map<BLSPublicKey, Validator> validators =
         validatorLoader.initializeValidators(config.getConfig());
     final ValidatorApiChannel validatorApiChannel =
@@ -67,7 +72,19 @@ public class ValidatorClientService extends Service {
 
     ValidatorAnticorruptionLayer.initAnticorruptionLayer(config);
 
-    return new ValidatorClientService(eventChannels, dutyScheduler);
+    return new ValidatorClientService(eventChannels, dutyScheduler, signingRecordStore);
+  }
+
+  private static SigningRecordStore createSigningRecordStore(final ServiceConfig config) {
+    final SyncDataAccessor dataAccessor = new SyncDataAccessor();
+    final Path slashingProtectionBaseDir =
+        Path.of(config.getConfig().getDataPath(), "validators", "slashprotection");
+    if (config.getConfig().isValidatorSlashingProtectionJournalEnabled()) {
+      return JournalSigningRecordStore.create(dataAccessor, slashingProtectionBaseDir);
+    }
+    // The journal may hold updates which never reached the per-validator files
+    JournalSigningRecordStore.exportJournal(dataAccessor, slashingProtectionBaseDir);
+    return new FileSigningRecordStore(dataAccessor, slashingProtectionBaseDir);
   }
 
   private static RetryingDutyLoader createDutyLoader(
@@ -96,6 +113,7 @@ public class ValidatorClientService extends Service {
 
   @Override
   protected SafeFuture<?> doStop() {
+    signingRecordStore.close();
     return SafeFuture.COMPLETE;
   }
 }
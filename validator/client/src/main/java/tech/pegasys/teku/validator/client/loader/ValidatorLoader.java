@@ -18,13 +18,16 @@ import static tech.pegasys.teku.logging.StatusLogger.STATUS_LOG;
 
 import java.time.Duration;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.bls.BLSKeyPair;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.core.signatures.LocalMessageSignerService;
@@ -37,13 +40,17 @@ import tech.pegasys.teku.util.bytes.KeyFormatter;
 import tech.pegasys.teku.util.config.TekuConfiguration;
 import tech.pegasys.teku.validator.client.Validator;
 import tech.pegasys.teku.validator.client.signer.ExternalMessageSignerService;
+import tech.pegasys.teku.validator.client.signer.ExternalSignerHttpClient;
 
 public class ValidatorLoader {
 
   private final SlashingProtector slashingProtector;
+  private final MetricsSystem metricsSystem;
 
-  public ValidatorLoader(final SlashingProtector slashingProtector) {
+  public ValidatorLoader(
+      final SlashingProtector slashingProtector, final MetricsSystem metricsSystem) {
     this.slashingProtector = slashingProtector;
+    this.metricsSystem = metricsSystem;
   }
 
   public Map<BLSPublicKey, Validator> initializeValidators(TekuConfiguration config) {
@@ -76,16 +83,26 @@ public class ValidatorLoader {
 
   private Map<BLSPublicKey, Validator> createExternalSignerValidator(
       final TekuConfiguration config) {
-    final Duration timeout = Duration.ofMillis(config.getValidatorExternalSignerTimeout());
-    return config.getValidatorExternalSignerPublicKeys().stream()
+    final List<BLSPublicKey> publicKeys = config.getValidatorExternalSignerPublicKeys();
+    if (publicKeys.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    // All validators share a single client so connections to the signer are reused
+    final ExternalSignerHttpClient httpClient =
+        new ExternalSignerHttpClient(
+            metricsSystem,
+            config.getValidatorExternalSignerUrl(),
+            Duration.ofMillis(config.getValidatorExternalSignerTimeout()),
+            config.getValidatorExternalSignerConcurrentRequestLimit(),
+            config.getValidatorExternalSignerMaxRetries(),
+            config.isValidatorExternalSignerBulkSigningEnabled());
+    return publicKeys.stream()
         .map(
             publicKey ->
                 new Validator(
                     publicKey,
                     createSigner(
-                        publicKey,
-                        new ExternalMessageSignerService(
-                            config.getValidatorExternalSignerUrl(), publicKey, timeout)),
+                        publicKey, new ExternalMessageSignerService(httpClient, publicKey)),
                     Optional.ofNullable(config.getGraffiti())))
         .collect(toMap(Validator::getPublicKey, Function.identity()));
   }
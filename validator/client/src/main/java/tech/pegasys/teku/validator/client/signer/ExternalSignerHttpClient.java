@@ -0,0 +1,309 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.validator.client.signer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Throwables;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.metrics.TekuMetricCategory;
+
+/**
+ * Sends signing requests to an external signing service over a single shared, connection pooled
+ * {@link HttpClient} so that connections are reused across all validators.
+ *
+ * <p>At most {@code concurrentRequestLimit} requests are in flight at once, additional requests are
+ * queued until an earlier request completes. When bulk signing is enabled, requests which queued up
+ * while waiting are sent together in a single request to the bulk signing endpoint.
+ */
+public class ExternalSignerHttpClient {
+  private static final Logger LOG = LogManager.getLogger();
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  static final String SIGN_PATH = "/signer/sign/";
+  static final String BULK_SIGN_PATH = "/signer/sign/bulk";
+  static final int MAX_BULK_SIZE = 64;
+  private static final String BULK_REQUEST_TYPE = "bulk";
+
+  private final HttpClient httpClient;
+  private final URI signingServiceUri;
+  private final Duration timeout;
+  private final int concurrentRequestLimit;
+  private final int maxRetries;
+  private final boolean bulkSigningEnabled;
+  private final LabelledMetric<OperationTimer> requestTimer;
+
+  private final Queue<PendingRequest> queue = new ArrayDeque<>();
+  private int activeRequests = 0;
+
+  public ExternalSignerHttpClient(
+      final MetricsSystem metricsSystem,
+      final URL signingServiceUrl,
+      final Duration timeout,
+      final int concurrentRequestLimit,
+      final int maxRetries,
+      final boolean bulkSigningEnabled) {
+    checkArgument(concurrentRequestLimit > 0, "Concurrent request limit must be positive");
+    checkArgument(maxRetries >= 0, "Max retries must not be negative");
+    try {
+      this.signingServiceUri = signingServiceUrl.toURI();
+    } catch (final URISyntaxException e) {
+      throw new IllegalArgumentException("Invalid external signer URL: " + signingServiceUrl, e);
+    }
+    this.timeout = timeout;
+    this.concurrentRequestLimit = concurrentRequestLimit;
+    this.maxRetries = maxRetries;
+    this.bulkSigningEnabled = bulkSigningEnabled;
+    // HTTP/2 is negotiated for TLS connections, avoiding the h2c upgrade for plain HTTP
+    final HttpClient.Version version =
+        "https".equalsIgnoreCase(signingServiceUri.getScheme())
+            ? HttpClient.Version.HTTP_2
+            : HttpClient.Version.HTTP_1_1;
+    this.httpClient = HttpClient.newBuilder().version(version).build();
+    this.requestTimer =
+        metricsSystem.createLabelledTimer(
+            TekuMetricCategory.VALIDATOR,
+            "external_signer_request_duration",
+            "Time taken for requests to the external signer to complete",
+            "type");
+  }
+
+  /**
+   * Request a signature from the external signer.
+   *
+   * @param publicKey the public key of the validator to sign with
+   * @param signingRoot the signing root to sign
+   * @param signingType the type of message being signed, used to label metrics
+   * @return a future which completes with the signature
+   */
+  public SafeFuture<BLSSignature> sign(
+      final BLSPublicKey publicKey, final Bytes signingRoot, final String signingType) {
+    final PendingRequest request = new PendingRequest(publicKey, signingRoot, signingType);
+    synchronized (this) {
+      queue.add(request);
+    }
+    dispatchRequests();
+    return request.result;
+  }
+
+  public synchronized int getQueueSize() {
+    return queue.size();
+  }
+
+  private void dispatchRequests() {
+    while (true) {
+      final List<PendingRequest> requests = new ArrayList<>();
+      synchronized (this) {
+        if (activeRequests >= concurrentRequestLimit || queue.isEmpty()) {
+          return;
+        }
+        final int maxRequests = bulkSigningEnabled ? MAX_BULK_SIZE : 1;
+        while (requests.size() < maxRequests && !queue.isEmpty()) {
+          requests.add(queue.remove());
+        }
+        activeRequests++;
+      }
+      final SafeFuture<Void> sent =
+          requests.size() == 1 ? send(requests.get(0)) : sendBulk(requests);
+      sent.always(this::onRequestComplete);
+    }
+  }
+
+  private void onRequestComplete() {
+    synchronized (this) {
+      activeRequests--;
+    }
+    dispatchRequests();
+  }
+
+  private SafeFuture<Void> send(final PendingRequest request) {
+    final SafeFuture<BLSSignature> signature =
+        SafeFuture.ofComposed(
+            () -> {
+              final String requestBody =
+                  createRequestBody(new SigningRequestBody(request.signingRoot.toHexString()));
+              final URI uri =
+                  signingServiceUri.resolve(SIGN_PATH + request.getPublicKeyHexString());
+              return sendWithRetries(createHttpRequest(uri, requestBody), request.signingType, 0)
+                  .handle(this::getBlsSignature);
+            });
+    signature.propagateTo(request.result);
+    return signature.thenApply(__ -> null);
+  }
+
+  private SafeFuture<Void> sendBulk(final List<PendingRequest> requests) {
+    final SafeFuture<List<BLSSignature>> signatures =
+        SafeFuture.ofComposed(
+            () -> {
+              final List<BulkSigningRequestBody> bulkRequest = new ArrayList<>();
+              for (PendingRequest request : requests) {
+                bulkRequest.add(
+                    new BulkSigningRequestBody(
+                        request.getPublicKeyHexString(), request.signingRoot.toHexString()));
+              }
+              final URI uri = signingServiceUri.resolve(BULK_SIGN_PATH);
+              return sendWithRetries(
+                      createHttpRequest(uri, createRequestBody(bulkRequest)), BULK_REQUEST_TYPE, 0)
+                  .handle(
+                      (response, throwable) ->
+                          getBlsSignatures(response, throwable, requests.size()));
+            });
+    signatures.finish(
+        result -> {
+          for (int i = 0; i < requests.size(); i++) {
+            requests.get(i).result.complete(result.get(i));
+          }
+        },
+        error -> requests.forEach(request -> request.result.completeExceptionally(error)));
+    return signatures.thenApply(__ -> null);
+  }
+
+  private HttpRequest createHttpRequest(final URI uri, final String requestBody) {
+    return HttpRequest.newBuilder()
+        .uri(uri)
+        .timeout(timeout)
+        .header("Content-Type", "application/json")
+        .POST(BodyPublishers.ofString(requestBody))
+        .build();
+  }
+
+  private SafeFuture<HttpResponse<String>> sendWithRetries(
+      final HttpRequest request, final String requestType, final int attempt) {
+    final TimingContext timingContext = requestTimer.labels(requestType).startTimer();
+    final SafeFuture<HttpResponse<String>> response =
+        SafeFuture.of(httpClient.sendAsync(request, BodyHandlers.ofString()));
+    response.always(timingContext::stopTimer);
+    return response.exceptionallyCompose(
+        error -> {
+          if (attempt < maxRetries && isRetryable(error)) {
+            LOG.debug("Retrying request to external signer after error", error);
+            return sendWithRetries(request, requestType, attempt + 1);
+          }
+          return SafeFuture.failedFuture(error);
+        });
+  }
+
+  private boolean isRetryable(final Throwable error) {
+    // Signing is deterministic so it's safe to resend a request which failed to connect, but
+    // request timeouts aren't retried as that would exceed the timeout the caller requested
+    final Throwable rootCause = Throwables.getRootCause(error);
+    return rootCause instanceof IOException && !(rootCause instanceof HttpTimeoutException);
+  }
+
+  private String createRequestBody(final Object request) {
+    try {
+      return MAPPER.writeValueAsString(request);
+    } catch (final JsonProcessingException e) {
+      throw new ExternalSignerException("Unable to create external signing request", e);
+    }
+  }
+
+  private BLSSignature getBlsSignature(
+      final HttpResponse<String> response, final Throwable throwable) {
+    checkResponse(response, throwable);
+    return parseSignature(response.body());
+  }
+
+  private List<BLSSignature> getBlsSignatures(
+      final HttpResponse<String> response, final Throwable throwable, final int expectedCount) {
+    checkResponse(response, throwable);
+    final List<String> signatures;
+    try {
+      signatures = MAPPER.readValue(response.body(), new TypeReference<List<String>>() {});
+    } catch (final JsonProcessingException e) {
+      throw new ExternalSignerException(
+          "External signer returned an invalid bulk signing response: " + e.getMessage(), e);
+    }
+    if (signatures.size() != expectedCount) {
+      throw new ExternalSignerException(
+          "External signer returned "
+              + signatures.size()
+              + " signatures but "
+              + expectedCount
+              + " were requested");
+    }
+    final List<BLSSignature> result = new ArrayList<>();
+    for (String signature : signatures) {
+      result.add(parseSignature(signature));
+    }
+    return result;
+  }
+
+  private void checkResponse(final HttpResponse<String> response, final Throwable throwable) {
+    if (throwable != null) {
+      throw new ExternalSignerException(
+          "External signer failed to sign due to " + Throwables.getRootCause(throwable),
+          throwable);
+    }
+
+    if (response.statusCode() != 200) {
+      throw new ExternalSignerException(
+          "External signer failed to sign and returned invalid response status code: "
+              + response.statusCode());
+    }
+  }
+
+  private BLSSignature parseSignature(final String signature) {
+    try {
+      return BLSSignature.fromBytesCompressed(Bytes.fromHexString(signature));
+    } catch (final IllegalArgumentException e) {
+      throw new ExternalSignerException(
+          "External signer returned an invalid signature: " + e.getMessage(), e);
+    }
+  }
+
+  private static class PendingRequest {
+    private final BLSPublicKey publicKey;
+    private final Bytes signingRoot;
+    private final String signingType;
+    private final SafeFuture<BLSSignature> result = new SafeFuture<>();
+
+    private PendingRequest(
+        final BLSPublicKey publicKey, final Bytes signingRoot, final String signingType) {
+      this.publicKey = publicKey;
+      this.signingRoot = signingRoot;
+      this.signingType = signingType;
+    }
+
+    private String getPublicKeyHexString() {
+      return publicKey.toBytesCompressed().toString();
+    }
+  }
+}
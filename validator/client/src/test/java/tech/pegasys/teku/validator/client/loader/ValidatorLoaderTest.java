@@ -23,6 +23,7 @@ import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Map;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import tech.pegasys.teku.bls.BLSPublicKey;
@@ -42,13 +43,15 @@ class ValidatorLoaderTest {
 
   private final SlashingProtector slashingProtector = mock(SlashingProtector.class);
 
-  private final ValidatorLoader validatorLoader = new ValidatorLoader(slashingProtector);
+  private final ValidatorLoader validatorLoader =
+      new ValidatorLoader(slashingProtector, new NoOpMetricsSystem());
 
   @Test
   void initializeValidatorsWithExternalMessageSignerWhenConfigHasExternalSigningPublicKeys() {
     final TekuConfiguration tekuConfiguration =
         TekuConfiguration.builder()
             .setValidatorExternalSignerUrl("http://localhost:9000")
+            .setValidatorExternalSignerConcurrentRequestLimit(32)
             .setValidatorExternalSignerPublicKeys(Collections.singletonList(PUBLIC_KEY1))
             .setValidatorKeystoreFiles(emptyList())
             .setValidatorKeystorePasswordFiles(emptyList())
@@ -96,6 +99,7 @@ class ValidatorLoaderTest {
     final TekuConfiguration tekuConfiguration =
         TekuConfiguration.builder()
             .setValidatorExternalSignerUrl("http://localhost:9000")
+            .setValidatorExternalSignerConcurrentRequestLimit(32)
             .setValidatorExternalSignerPublicKeys(Collections.singletonList(PUBLIC_KEY2))
             .setValidatorKeyFile(validatorKeyFile.toAbsolutePath().toString())
             .setValidatorKeystoreFiles(emptyList())
@@ -128,6 +132,7 @@ class ValidatorLoaderTest {
     final TekuConfiguration tekuConfiguration =
         TekuConfiguration.builder()
             .setValidatorExternalSignerUrl("http://localhost:9000")
+            .setValidatorExternalSignerConcurrentRequestLimit(32)
             .setValidatorExternalSignerPublicKeys(Collections.singletonList(PUBLIC_KEY1))
             .setValidatorKeyFile(validatorKeyFile.toAbsolutePath().toString())
             .setValidatorKeystoreFiles(emptyList())
@@ -17,22 +17,15 @@ import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 import static tech.pegasys.teku.datastructures.util.AttestationUtil.get_attesting_indices;
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_epoch_at_slot;
-import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
-import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_beacon_proposer_index;
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_committee_count_per_slot;
-import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.max;
 import static tech.pegasys.teku.datastructures.util.CommitteeUtil.getAggregatorModulo;
 import static tech.pegasys.teku.logging.ValidatorLogger.VALIDATOR_LOGGER;
-import static tech.pegasys.teku.util.config.Constants.GENESIS_SLOT;
 import static tech.pegasys.teku.util.config.Constants.MAX_VALIDATORS_PER_COMMITTEE;
 
 import com.google.common.eventbus.EventBus;
 import com.google.common.primitives.UnsignedLong;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import org.apache.logging.log4j.LogManager;
@@ -52,6 +45,7 @@ import tech.pegasys.teku.datastructures.operations.Attestation;
 import tech.pegasys.teku.datastructures.operations.AttestationData;
 import tech.pegasys.teku.datastructures.operations.SignedAggregateAndProof;
 import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.EpochDutyIndex;
 import tech.pegasys.teku.datastructures.state.ForkInfo;
 import tech.pegasys.teku.datastructures.util.AttestationUtil;
 import tech.pegasys.teku.datastructures.util.CommitteeUtil;
@@ -66,7 +60,6 @@ import tech.pegasys.teku.statetransition.attestation.AttestationManager;
 import tech.pegasys.teku.statetransition.events.block.ProposedBlockEvent;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 import tech.pegasys.teku.sync.SyncStateTracker;
-import tech.pegasys.teku.util.config.Constants;
 import tech.pegasys.teku.validator.api.NodeSyncingException;
 import tech.pegasys.teku.validator.api.ValidatorApiChannel;
 import tech.pegasys.teku.validator.api.ValidatorDuties;
@@ -299,60 +292,34 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
       final BeaconState state,
       final UnsignedLong epoch,
       final Collection<BLSPublicKey> publicKeys) {
-    final Map<Integer, List<UnsignedLong>> proposalSlotsByValidatorIndex =
-        getBeaconProposalSlotsByValidatorIndex(state, epoch);
+    final EpochDutyIndex dutyIndex = CommitteeAssignmentUtil.getEpochDutyIndex(state, epoch);
     return publicKeys.stream()
-        .map(key -> getDutiesForValidator(key, state, epoch, proposalSlotsByValidatorIndex))
+        .map(key -> getDutiesForValidator(key, state, dutyIndex))
         .collect(toList());
   }
 
   private ValidatorDuties getDutiesForValidator(
-      final BLSPublicKey key,
-      final BeaconState state,
-      final UnsignedLong epoch,
-      final Map<Integer, List<UnsignedLong>> proposalSlotsByValidatorIndex) {
+      final BLSPublicKey key, final BeaconState state, final EpochDutyIndex dutyIndex) {
     return ValidatorsUtil.getValidatorIndex(state, key)
-        .map(
-            index -> createValidatorDuties(proposalSlotsByValidatorIndex, key, state, epoch, index))
+        .map(index -> createValidatorDuties(dutyIndex, key, index))
         .orElseGet(() -> ValidatorDuties.noDuties(key));
   }
 
   private ValidatorDuties createValidatorDuties(
-      final Map<Integer, List<UnsignedLong>> proposalSlotsByValidatorIndex,
-      final BLSPublicKey key,
-      final BeaconState state,
-      final UnsignedLong epoch,
-      final Integer validatorIndex) {
-    final List<UnsignedLong> proposerSlots =
-        proposalSlotsByValidatorIndex.getOrDefault(validatorIndex, emptyList());
-    return CommitteeAssignmentUtil.get_committee_assignment(state, epoch, validatorIndex)
+      final EpochDutyIndex dutyIndex, final BLSPublicKey key, final Integer validatorIndex) {
+    final List<UnsignedLong> proposerSlots = dutyIndex.getProposalSlots(validatorIndex);
+    return dutyIndex
+        .getCommitteeAssignment(validatorIndex)
         .map(
             committeeAssignment ->
                 ValidatorDuties.withDuties(
                     key,
                     validatorIndex,
                     Math.toIntExact(committeeAssignment.getCommitteeIndex().longValue()),
-                    committeeAssignment.getCommittee().indexOf(validatorIndex),
+                    dutyIndex.getCommitteePosition(validatorIndex).orElseThrow(),
                     getAggregatorModulo(committeeAssignment.getCommittee().size()),
                     proposerSlots,
                     committeeAssignment.getSlot()))
         .orElseGet(() -> ValidatorDuties.noDuties(key));
   }
-
-  private Map<Integer, List<UnsignedLong>> getBeaconProposalSlotsByValidatorIndex(
-      final BeaconState state, final UnsignedLong epoch) {
-    final UnsignedLong epochStartSlot = compute_start_slot_at_epoch(epoch);
-    // Don't calculate a proposer for the genesis slot
-    final UnsignedLong startSlot = max(epochStartSlot, UnsignedLong.valueOf(GENESIS_SLOT + 1));
-    final UnsignedLong endSlot =
-        epochStartSlot.plus(UnsignedLong.valueOf(Constants.SLOTS_PER_EPOCH));
-    final Map<Integer, List<UnsignedLong>> proposalSlotsByValidatorIndex = new HashMap<>();
-    for (UnsignedLong slot = startSlot;
-        slot.compareTo(endSlot) < 0;
-        slot = slot.plus(UnsignedLong.ONE)) {
-      final Integer proposer = get_beacon_proposer_index(state, slot);
-      proposalSlotsByValidatorIndex.computeIfAbsent(proposer, key -> new ArrayList<>()).add(slot);
-    }
-    return proposalSlotsByValidatorIndex;
-  }
 }